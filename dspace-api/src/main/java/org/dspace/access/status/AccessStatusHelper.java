@@ -9,6 +9,10 @@ package org.dspace.access.status;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Bitstream;
@@ -56,4 +60,66 @@ public interface AccessStatusHelper {
      */
     public AccessStatus getAccessStatusFromBitstream(Context context,
         Bitstream bitstream, LocalDate threshold, String type) throws SQLException;
+
+    /**
+     * Calculate the access status of several items at once. The default implementation
+     * simply calculates the status of each item in turn, implementations should override it
+     * when the statuses can be calculated with fewer queries.
+     *
+     * @param context the DSpace context
+     * @param items the items
+     * @param threshold the embargo threshold date
+     * @param type the type of calculation
+     * @return the access status of each item, keyed by item uuid
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public default Map<UUID, AccessStatus> getAccessStatusFromItems(Context context,
+        List<Item> items, LocalDate threshold, String type) throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = new HashMap<>();
+        for (Item item : items) {
+            accessStatuses.put(item.getID(), getAccessStatusFromItem(context, item, threshold, type));
+        }
+        return accessStatuses;
+    }
+
+    /**
+     * Calculate the anonymous access status of several items at once. The default implementation
+     * simply calculates the status of each item in turn, implementations should override it
+     * when the statuses can be calculated with fewer queries.
+     *
+     * @param context the DSpace context
+     * @param items the items
+     * @param threshold the embargo threshold date
+     * @return the access status of each item, keyed by item uuid
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public default Map<UUID, AccessStatus> getAnonymousAccessStatusFromItems(Context context,
+        List<Item> items, LocalDate threshold) throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = new HashMap<>();
+        for (Item item : items) {
+            accessStatuses.put(item.getID(), getAnonymousAccessStatusFromItem(context, item, threshold));
+        }
+        return accessStatuses;
+    }
+
+    /**
+     * Calculate the access status of several bitstreams at once. The default implementation
+     * simply calculates the status of each bitstream in turn, implementations should override it
+     * when the statuses can be calculated with fewer queries.
+     *
+     * @param context the DSpace context
+     * @param bitstreams the bitstreams
+     * @param threshold the embargo threshold date
+     * @param type the type of calculation
+     * @return the access status of each bitstream, keyed by bitstream uuid
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public default Map<UUID, AccessStatus> getAccessStatusFromBitstreams(Context context,
+        List<Bitstream> bitstreams, LocalDate threshold, String type) throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = new HashMap<>();
+        for (Bitstream bitstream : bitstreams) {
+            accessStatuses.put(bitstream.getID(), getAccessStatusFromBitstream(context, bitstream, threshold, type));
+        }
+        return accessStatuses;
+    }
 }
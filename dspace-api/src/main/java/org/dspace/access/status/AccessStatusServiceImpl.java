@@ -10,6 +10,12 @@ package org.dspace.access.status;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -17,18 +23,32 @@ import org.apache.logging.log4j.Logger;
 import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Bitstream;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.core.service.PluginService;
 import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.services.model.Request;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implementation for the access status calculation service.
+ * <p>
+ * When called within a request, the calculated statuses are cached in a request attribute, and objects announced
+ * through {@link #prefetchAccessStatus(Context, List)} are calculated in a single batch, so that rendering a page
+ * of search results does not run several queries per result.
+ * </p>
  */
 public class AccessStatusServiceImpl implements AccessStatusService {
     private static final Logger log = LogManager.getLogger(AccessStatusServiceImpl.class);
 
+    // Name of the request attribute holding the RequestCache
+    private static final String REQUEST_CACHE_ATTRIBUTE = AccessStatusServiceImpl.class.getName() + ".cache";
+
+    // Calculation type of getAnonymousAccessStatus, which the helper calculates with its dedicated methods
+    private static final String ANONYMOUS_ITEM_STATUS = "anonymous-item";
+
     // Plugin implementation, set from the DSpace configuration by init().
     protected AccessStatusHelper helper = null;
 
@@ -77,17 +97,145 @@ public class AccessStatusServiceImpl implements AccessStatusService {
 
     @Override
     public AccessStatus getAccessStatus(Context context, Item item) throws SQLException {
-        return helper.getAccessStatusFromItem(context, item, forever_date, itemCalculationType);
+        return getCachedItemAccessStatus(context, item, itemCalculationType);
     }
 
     @Override
     public AccessStatus getAnonymousAccessStatus(Context context, Item item) throws SQLException {
-        return helper.getAnonymousAccessStatusFromItem(context, item, forever_date);
+        return getCachedItemAccessStatus(context, item, ANONYMOUS_ITEM_STATUS);
     }
 
     @Override
     public AccessStatus getAccessStatus(Context context, Bitstream bitstream) throws SQLException {
-        return helper.getAccessStatusFromBitstream(context, bitstream, forever_date, bitstreamCalculationType);
+        RequestCache cache = getRequestCache();
+        if (cache == null || bitstream == null) {
+            return helper.getAccessStatusFromBitstream(context, bitstream, forever_date, bitstreamCalculationType);
+        }
+        String prefix = getCacheKeyPrefix(context, bitstreamCalculationType);
+        AccessStatus accessStatus = cache.statuses.get(prefix + bitstream.getID());
+        if (accessStatus == null) {
+            if (cache.pendingBitstreams.containsKey(bitstream.getID())) {
+                List<Bitstream> pending = new ArrayList<>(cache.pendingBitstreams.values());
+                cache.pendingBitstreams.clear();
+                getBitstreamsAccessStatus(context, pending);
+                accessStatus = cache.statuses.get(prefix + bitstream.getID());
+            }
+            if (accessStatus == null) {
+                accessStatus = helper.getAccessStatusFromBitstream(context, bitstream, forever_date,
+                    bitstreamCalculationType);
+                cache.statuses.put(prefix + bitstream.getID(), accessStatus);
+            }
+        }
+        return accessStatus;
+    }
+
+    @Override
+    public Map<UUID, AccessStatus> getItemsAccessStatus(Context context, List<Item> items) throws SQLException {
+        return getItemsAccessStatus(context, items, itemCalculationType);
+    }
+
+    @Override
+    public Map<UUID, AccessStatus> getBitstreamsAccessStatus(Context context, List<Bitstream> bitstreams)
+        throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = helper.getAccessStatusFromBitstreams(context, bitstreams,
+            forever_date, bitstreamCalculationType);
+        RequestCache cache = getRequestCache();
+        if (cache != null) {
+            String prefix = getCacheKeyPrefix(context, bitstreamCalculationType);
+            accessStatuses.forEach((id, accessStatus) -> cache.statuses.put(prefix + id, accessStatus));
+        }
+        return accessStatuses;
+    }
+
+    @Override
+    public void prefetchAccessStatus(Context context, List<? extends DSpaceObject> dsos) {
+        RequestCache cache = getRequestCache();
+        if (cache == null || dsos == null) {
+            return;
+        }
+        for (DSpaceObject dso : dsos) {
+            if (dso instanceof Item) {
+                cache.pendingItems.put(dso.getID(), (Item) dso);
+            } else if (dso instanceof Bitstream) {
+                cache.pendingBitstreams.put(dso.getID(), (Bitstream) dso);
+            }
+        }
+    }
+
+    /**
+     * Get the access status of an item from the request cache, calculating it (along with the
+     * other prefetched items) if needed.
+     */
+    private AccessStatus getCachedItemAccessStatus(Context context, Item item, String type) throws SQLException {
+        RequestCache cache = getRequestCache();
+        if (cache == null || item == null) {
+            return calculateItemAccessStatus(context, item, type);
+        }
+        String prefix = getCacheKeyPrefix(context, type);
+        AccessStatus accessStatus = cache.statuses.get(prefix + item.getID());
+        if (accessStatus == null) {
+            if (cache.pendingItems.containsKey(item.getID())) {
+                List<Item> pending = new ArrayList<>(cache.pendingItems.values());
+                cache.pendingItems.clear();
+                getItemsAccessStatus(context, pending, type);
+                accessStatus = cache.statuses.get(prefix + item.getID());
+            }
+            if (accessStatus == null) {
+                accessStatus = calculateItemAccessStatus(context, item, type);
+                cache.statuses.put(prefix + item.getID(), accessStatus);
+            }
+        }
+        return accessStatus;
+    }
+
+    private Map<UUID, AccessStatus> getItemsAccessStatus(Context context, List<Item> items, String type)
+        throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = ANONYMOUS_ITEM_STATUS.equals(type)
+            ? helper.getAnonymousAccessStatusFromItems(context, items, forever_date)
+            : helper.getAccessStatusFromItems(context, items, forever_date, type);
+        RequestCache cache = getRequestCache();
+        if (cache != null) {
+            String prefix = getCacheKeyPrefix(context, type);
+            accessStatuses.forEach((id, accessStatus) -> cache.statuses.put(prefix + id, accessStatus));
+        }
+        return accessStatuses;
+    }
+
+    private AccessStatus calculateItemAccessStatus(Context context, Item item, String type) throws SQLException {
+        if (ANONYMOUS_ITEM_STATUS.equals(type)) {
+            return helper.getAnonymousAccessStatusFromItem(context, item, forever_date);
+        }
+        return helper.getAccessStatusFromItem(context, item, forever_date, type);
+    }
+
+    /**
+     * The status calculated for the current user depends on who the user is, and whether
+     * the authorization system is turned off.
+     */
+    private String getCacheKeyPrefix(Context context, String type) {
+        if (StringUtils.equalsIgnoreCase(type, DefaultAccessStatusHelper.STATUS_FOR_CURRENT_USER)) {
+            return type + ":" + (context.getCurrentUser() != null ? context.getCurrentUser().getID() : "") + ":"
+                + context.ignoreAuthorization() + ":";
+        }
+        return type + ":";
+    }
+
+    /**
+     * Get the access status cache of the current HTTP request, or null when not called within one.
+     * Command line scripts also run within a (long lived) request, they never use the cache as the
+     * policies may change while they run.
+     */
+    private RequestCache getRequestCache() {
+        Request currentRequest = DSpaceServicesFactory.getInstance().getRequestService().getCurrentRequest();
+        if (currentRequest == null || currentRequest.getHttpServletRequest() == null) {
+            return null;
+        }
+        Object cache = currentRequest.getAttribute(REQUEST_CACHE_ATTRIBUTE);
+        if (!(cache instanceof RequestCache)) {
+            cache = new RequestCache();
+            currentRequest.setAttribute(REQUEST_CACHE_ATTRIBUTE, cache);
+        }
+        return (RequestCache) cache;
     }
 
     private String getAccessStatusCalculationType(String key) {
@@ -100,4 +248,13 @@ public class AccessStatusServiceImpl implements AccessStatusService {
         }
         return value;
     }
+
+    /**
+     * Access statuses calculated during a request, and objects whose status should be calculated together.
+     */
+    private static class RequestCache {
+        private final Map<String, AccessStatus> statuses = new HashMap<>();
+        private final Map<UUID, Item> pendingItems = new LinkedHashMap<>();
+        private final Map<UUID, Bitstream> pendingBitstreams = new LinkedHashMap<>();
+    }
 }
@@ -10,8 +10,13 @@ package org.dspace.access.status;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +30,7 @@ import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
@@ -53,6 +59,8 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
 
     protected ItemService itemService =
             ContentServiceFactory.getInstance().getItemService();
+    protected BitstreamService bitstreamService =
+            ContentServiceFactory.getInstance().getBitstreamService();
     protected ResourcePolicyService resourcePolicyService =
             AuthorizeServiceFactory.getInstance().getResourcePolicyService();
     protected AuthorizeService authorizeService =
@@ -129,6 +137,75 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
         return getAccessStatusFromItem(context, item, threshold, STATUS_FOR_ANONYMOUS);
     }
 
+    /**
+     * Look at the anonymous policies of the primary (or first) bitstream of several items at once.
+     *
+     * @param context       the DSpace context
+     * @param items         the items
+     * @param threshold     the embargo threshold date
+     * @return the access status of each item
+     */
+    @Override
+    public Map<UUID, AccessStatus> getAnonymousAccessStatusFromItems(Context context, List<Item> items,
+        LocalDate threshold) throws SQLException {
+        return getAccessStatusFromItems(context, items, threshold, STATUS_FOR_ANONYMOUS);
+    }
+
+    /**
+     * Look at the primary or first bitstream policies of several items at once. The original
+     * bundles and the read policies of all these items are loaded in a few queries.
+     *
+     * @param context     the DSpace context
+     * @param items       the items to check for embargoes
+     * @param threshold   the embargo threshold date
+     * @param type        the type of calculation
+     * @return the access status of each item
+     */
+    @Override
+    public Map<UUID, AccessStatus> getAccessStatusFromItems(Context context, List<Item> items, LocalDate threshold,
+        String type) throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = new HashMap<>();
+        Map<UUID, Bitstream> bitstreams = new LinkedHashMap<>();
+        itemService.preloadBundles(context, items, Constants.DEFAULT_BUNDLE_NAME);
+        for (Item item : items) {
+            Bitstream bitstream = getPrimaryOrFirstBitstreamInOriginalBundle(item);
+            if (bitstream == null) {
+                accessStatuses.put(item.getID(), new AccessStatus(METADATA_ONLY, null));
+            } else {
+                bitstreams.put(item.getID(), bitstream);
+            }
+        }
+        Map<UUID, AccessStatus> bitstreamStatuses = getAccessStatusFromBitstreams(context,
+            new ArrayList<>(bitstreams.values()), threshold, type);
+        for (Map.Entry<UUID, Bitstream> entry : bitstreams.entrySet()) {
+            accessStatuses.put(entry.getKey(), bitstreamStatuses.get(entry.getValue().getID()));
+        }
+        return accessStatuses;
+    }
+
+    /**
+     * Look at the policies of several bitstreams at once. The read policies of
+     * all the bitstreams are loaded in a single query.
+     *
+     * @param context     the DSpace context
+     * @param bitstreams  the bitstreams to check for embargoes
+     * @param threshold   the embargo threshold date
+     * @param type        the type of calculation
+     * @return the access status of each bitstream
+     */
+    @Override
+    public Map<UUID, AccessStatus> getAccessStatusFromBitstreams(Context context, List<Bitstream> bitstreams,
+        LocalDate threshold, String type) throws SQLException {
+        Map<UUID, AccessStatus> accessStatuses = new HashMap<>();
+        Map<UUID, List<ResourcePolicy>> policies = getReadPolicies(context, bitstreams, type);
+        for (Map.Entry<UUID, List<ResourcePolicy>> entry : policies.entrySet()) {
+            LocalDate availabilityDate = findAvailabilityDate(entry.getValue(), threshold);
+            String accessStatus = getAccessStatusFromAvailabilityDate(availabilityDate, threshold);
+            accessStatuses.put(entry.getKey(), new AccessStatus(accessStatus, availabilityDate));
+        }
+        return accessStatuses;
+    }
+
     /**
      * Look in the item's original bundle. First, try to get the primary bitstream.
      * If the bitstream is null, simply returns the first one.
@@ -171,11 +248,21 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
         List<ResourcePolicy> readPolicies = resourcePolicyService.find(context, dso, Constants.READ);
         // Filter the policies with the anonymous group
         List<ResourcePolicy> filteredPolicies = readPolicies.stream()
-            .filter(p -> p.getGroup() != null && StringUtils.equals(p.getGroup().getName(), Group.ANONYMOUS))
+            .filter(p -> isAnonymousPolicy(p))
             .collect(Collectors.toList());
         return filteredPolicies;
     }
 
+    /**
+     * Whether the policy applies to the anonymous group
+     *
+     * @param policy    the policy
+     * @return true if the policy is given to the anonymous group
+     */
+    private boolean isAnonymousPolicy(ResourcePolicy policy) {
+        return policy.getGroup() != null && StringUtils.equals(policy.getGroup().getName(), Group.ANONYMOUS);
+    }
+
     /**
      * Retrieves the current user read policies for a DSpace object
      *
@@ -195,22 +282,32 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
         // Only consider read policies
         List<ResourcePolicy> policies = resourcePolicyService.find(context, dso, Constants.READ);
         // Only calculate the embargo date for the current user
-        EPerson currentUser = context.getCurrentUser();
         List<ResourcePolicy> readPolicies = new ArrayList<ResourcePolicy>();
         for (ResourcePolicy policy : policies) {
-            EPerson eperson = policy.getEPerson();
-            if (eperson != null && currentUser != null && eperson.getID() == currentUser.getID()) {
-                readPolicies.add(policy);
-                continue;
-            }
-            Group group = policy.getGroup();
-            if (group != null && groupService.isMember(context, currentUser, group)) {
+            if (isCurrentUserPolicy(context, policy)) {
                 readPolicies.add(policy);
             }
         }
         return readPolicies;
     }
 
+    /**
+     * Whether the policy applies to the current user, directly or through one of its groups
+     *
+     * @param context   the DSpace context
+     * @param policy    the policy
+     * @return true if the policy is given to the current user
+     */
+    private boolean isCurrentUserPolicy(Context context, ResourcePolicy policy) throws SQLException {
+        EPerson currentUser = context.getCurrentUser();
+        EPerson eperson = policy.getEPerson();
+        if (eperson != null && currentUser != null && eperson.getID() == currentUser.getID()) {
+            return true;
+        }
+        Group group = policy.getGroup();
+        return group != null && groupService.isMember(context, currentUser, group);
+    }
+
     /**
      * Retrieves the read policies for a DSpace object based on the type
      * 
@@ -232,6 +329,98 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
         }
     }
 
+    /**
+     * Retrieves the read policies for several bitstreams based on the type, with a single
+     * query for all the bitstreams. As for a single object, the policies of a bitstream
+     * are null if the current user can read it.
+     *
+     * @param context     the DSpace context
+     * @param bitstreams  the bitstreams
+     * @param type        the type of calculation
+     * @return the policies of each bitstream, keyed by bitstream uuid
+     */
+    private Map<UUID, List<ResourcePolicy>> getReadPolicies(Context context, List<Bitstream> bitstreams, String type)
+            throws SQLException {
+        boolean forCurrentUser = StringUtils.equalsIgnoreCase(type, STATUS_FOR_CURRENT_USER);
+        Map<UUID, List<ResourcePolicy>> readPolicies = new HashMap<>();
+        // If the current user can read everything, it can't be an embargo or a restriction
+        if (forCurrentUser && (context.ignoreAuthorization() || authorizeService.isAdmin(context))) {
+            for (Bitstream bitstream : bitstreams) {
+                readPolicies.put(bitstream.getID(), null);
+            }
+            return readPolicies;
+        }
+        for (Bitstream bitstream : bitstreams) {
+            readPolicies.put(bitstream.getID(), new ArrayList<>());
+        }
+        // The groups of the current user are loaded once, instead of checking each policy
+        Set<Group> groups = forCurrentUser ? groupService.allMemberGroupsSet(context, context.getCurrentUser())
+            : null;
+        for (ResourcePolicy policy : resourcePolicyService.find(context, bitstreams, Constants.READ)) {
+            List<ResourcePolicy> policies = readPolicies.get(policy.getdSpaceObject().getID());
+            if (policies != null
+                && (forCurrentUser ? isCurrentUserPolicy(context, policy, groups) : isAnonymousPolicy(policy))) {
+                policies.add(policy);
+            }
+        }
+        if (forCurrentUser) {
+            markReadableBitstreams(context, bitstreams, readPolicies);
+        }
+        return readPolicies;
+    }
+
+    /**
+     * Whether the policy applies to the current user, directly or through one of the given groups
+     *
+     * @param context   the DSpace context
+     * @param policy    the policy
+     * @param groups    all the groups of the current user
+     * @return true if the policy is given to the current user
+     */
+    private boolean isCurrentUserPolicy(Context context, ResourcePolicy policy, Set<Group> groups) {
+        EPerson currentUser = context.getCurrentUser();
+        EPerson eperson = policy.getEPerson();
+        if (eperson != null && currentUser != null && eperson.getID().equals(currentUser.getID())) {
+            return true;
+        }
+        return policy.getGroup() != null && groups.contains(policy.getGroup());
+    }
+
+    /**
+     * Set to null the policies of the bitstreams the current user can read. A valid policy of the current
+     * user is enough for the bitstreams of installed items. The authorization service decides for the other
+     * bitstreams, whose custom policies are ignored, and for the administrators of a community, collection
+     * or item, who may read the bitstreams they administer.
+     *
+     * @param context       the DSpace context
+     * @param bitstreams    the bitstreams
+     * @param readPolicies  the current user read policies of each bitstream
+     */
+    private void markReadableBitstreams(Context context, List<Bitstream> bitstreams,
+            Map<UUID, List<ResourcePolicy>> readPolicies) throws SQLException {
+        Set<UUID> installed = bitstreamService.findInInstalledItems(context, bitstreams).stream()
+            .map(Bitstream::getID)
+            .collect(Collectors.toSet());
+        Boolean isParentAdmin = null;
+        for (Bitstream bitstream : bitstreams) {
+            boolean canRead;
+            if (!installed.contains(bitstream.getID())) {
+                canRead = authorizeService.authorizeActionBoolean(context, bitstream, Constants.READ);
+            } else if (readPolicies.get(bitstream.getID()).stream().anyMatch(resourcePolicyService::isDateValid)) {
+                canRead = true;
+            } else {
+                if (isParentAdmin == null) {
+                    isParentAdmin = context.getCurrentUser() != null
+                        && (authorizeService.isComColAdmin(context) || authorizeService.isItemAdmin(context));
+                }
+                canRead = isParentAdmin && authorizeService.authorizeActionBoolean(context, bitstream, Constants.READ);
+            }
+            if (canRead) {
+                readPolicies.put(bitstream.getID(), null);
+            }
+        }
+    }
+
     /**
      * Look at the read policies to retrieve the access status availability date.
      *
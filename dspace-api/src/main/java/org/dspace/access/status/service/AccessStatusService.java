@@ -8,9 +8,13 @@
 package org.dspace.access.status.service;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Bitstream;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 
@@ -66,4 +70,41 @@ public interface AccessStatusService {
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     public AccessStatus getAccessStatus(Context context, Bitstream bitstream) throws SQLException;
+
+    /**
+     * Calculate the access status of several items at once, loading the policies of all of them
+     * in as few queries as possible. Within a request, the results are cached and reused by
+     * {@link #getAccessStatus(Context, Item)}.
+     *
+     * @param context the DSpace context
+     * @param items the items
+     * @return the access status of each item, keyed by item uuid
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public Map<UUID, AccessStatus> getItemsAccessStatus(Context context, List<Item> items) throws SQLException;
+
+    /**
+     * Calculate the access status of several bitstreams at once, loading the policies of all of them
+     * in as few queries as possible. Within a request, the results are cached and reused by
+     * {@link #getAccessStatus(Context, Bitstream)}.
+     *
+     * @param context the DSpace context
+     * @param bitstreams the bitstreams
+     * @return the access status of each bitstream, keyed by bitstream uuid
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public Map<UUID, AccessStatus> getBitstreamsAccessStatus(Context context, List<Bitstream> bitstreams)
+        throws SQLException;
+
+    /**
+     * Announce that the access status of the given items and bitstreams is likely to be requested
+     * during the current request, e.g. because they are rendered on the same page. Nothing is
+     * calculated yet: the first time the status of one of them is requested, the statuses of all
+     * the announced objects of the same type are calculated together and cached for the rest of
+     * the request. Does nothing outside of a request.
+     *
+     * @param context the DSpace context
+     * @param dsos the items and bitstreams, other objects are ignored
+     */
+    public void prefetchAccessStatus(Context context, List<? extends DSpaceObject> dsos);
 }
@@ -350,6 +350,7 @@ public class Harvest extends DSpaceRunnable<HarvestScriptConfiguration> {
                 hc.setHarvestMessage("");
                 hc.setHarvestStatus(HarvestedCollection.STATUS_READY);
                 hc.setHarvestStartTime(null);
+                hc.setResumption(null, null, 0, 0);
                 harvestedCollectionService.update(context, hc);
             }
             context.restoreAuthSystemState();
@@ -538,6 +538,20 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         addPolicies(c, nonAdminPolicies, dest);
     }
 
+    @Override
+    public void inheritPolicies(Context c, DSpaceObject src, List<? extends DSpaceObject> dests)
+        throws SQLException, AuthorizeException {
+        List<ResourcePolicy> nonAdminPolicies = new ArrayList<>();
+        for (ResourcePolicy rp : getPolicies(c, src)) {
+            if (rp.getAction() != Constants.ADMIN && !StringUtils.equals(rp.getRpType(), ResourcePolicy.TYPE_CUSTOM)) {
+                nonAdminPolicies.add(rp);
+            }
+        }
+        for (DSpaceObject dest : dests) {
+            addPolicies(c, nonAdminPolicies, dest);
+        }
+    }
+
     @Override
     public void replaceAllPolicies(Context context, DSpaceObject source, DSpaceObject dest)
             throws SQLException, AuthorizeException {
@@ -9,6 +9,7 @@ package org.dspace.authorize;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.dao.ResourcePolicyDAO;
@@ -115,6 +117,26 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         return resourcePolicyDAO.findByDSoAndAction(c, o, actionId);
     }
 
+    @Override
+    public List<ResourcePolicy> find(Context c, List<? extends DSpaceObject> dsos, int actionId) throws SQLException {
+        List<ResourcePolicy> policies = new ArrayList<>();
+        // keep the number of query parameters reasonable
+        for (List<? extends DSpaceObject> partition : ListUtils.partition(dsos, 1000)) {
+            policies.addAll(resourcePolicyDAO.findByDSosAndAction(c, partition, actionId));
+        }
+        return policies;
+    }
+
+    @Override
+    public List<ResourcePolicy> find(Context c, List<? extends DSpaceObject> dsos, String type) throws SQLException {
+        List<ResourcePolicy> policies = new ArrayList<>();
+        // keep the number of query parameters reasonable
+        for (List<? extends DSpaceObject> partition : ListUtils.partition(dsos, 1000)) {
+            policies.addAll(resourcePolicyDAO.findByDSosAndType(c, partition, type));
+        }
+        return policies;
+    }
+
     @Override
     public List<ResourcePolicy> find(Context c, DSpaceObject dso, Group group, int action) throws SQLException {
         return resourcePolicyDAO.findByTypeGroupAction(c, dso, group, action);
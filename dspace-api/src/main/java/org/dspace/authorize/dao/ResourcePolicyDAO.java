@@ -39,6 +39,31 @@ public interface ResourcePolicyDAO extends GenericDAO<ResourcePolicy> {
 
     public List<ResourcePolicy> findByDSoAndAction(Context context, DSpaceObject dso, int actionId) throws SQLException;
 
+    /**
+     * Find the policies of the given action on any of the given DSpace objects, in a single query.
+     * The group of each policy is fetched with it.
+     *
+     * @param context  DSpace context object
+     * @param dsos     the DSpace objects
+     * @param actionId the action
+     * @return the policies of all the given objects
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> findByDSosAndAction(Context context, List<? extends DSpaceObject> dsos, int actionId)
+        throws SQLException;
+
+    /**
+     * Find the policies of the given type on any of the given DSpace objects, in a single query.
+     *
+     * @param context DSpace context object
+     * @param dsos    the DSpace objects
+     * @param type    the type of the policies
+     * @return the policies of all the given objects, in id order
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> findByDSosAndType(Context context, List<? extends DSpaceObject> dsos, String type)
+        throws SQLException;
+
     public void deleteByDsoAndTypeAndAction(Context context, DSpaceObject dSpaceObject, String type, int action)
         throws SQLException;
 
@@ -346,6 +346,19 @@ public interface AuthorizeService {
      */
     public void inheritPolicies(Context c, DSpaceObject src, DSpaceObject dest) throws SQLException, AuthorizeException;
 
+    /**
+     * Add policies to several objects to match those from a previous object, reading the policies of the
+     * source object only once. TYPE_CUSTOM policies are not inherited.
+     *
+     * @param c     context
+     * @param src   source of policies
+     * @param dests destinations of inherited policies
+     * @throws SQLException       if there's a database problem
+     * @throws AuthorizeException if the current user is not authorized to add these policies
+     */
+    public void inheritPolicies(Context c, DSpaceObject src, List<? extends DSpaceObject> dests)
+        throws SQLException, AuthorizeException;
+
     /**
      * Copies policies from a list of resource policies to a given DSpaceObject
      *
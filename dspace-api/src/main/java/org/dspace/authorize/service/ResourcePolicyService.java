@@ -61,6 +61,30 @@ public interface ResourcePolicyService {
 
     public List<ResourcePolicy> find(Context c, DSpaceObject o, int actionId) throws SQLException;
 
+    /**
+     * Find the policies of the given action on any of the given DSpace objects, using as few
+     * queries as possible.
+     *
+     * @param c        DSpace context object
+     * @param dsos     the DSpace objects
+     * @param actionId the action
+     * @return the policies of all the given objects
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> find(Context c, List<? extends DSpaceObject> dsos, int actionId) throws SQLException;
+
+    /**
+     * Find the policies of the given type on any of the given DSpace objects, using as few
+     * queries as possible.
+     *
+     * @param c    DSpace context object
+     * @param dsos the DSpace objects
+     * @param type the type of the policies
+     * @return the policies of all the given objects
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> find(Context c, List<? extends DSpaceObject> dsos, String type) throws SQLException;
+
     public List<ResourcePolicy> find(Context c, DSpaceObject dso, Group group, int action) throws SQLException;
 
     public List<ResourcePolicy> find(Context context, Group group) throws SQLException;
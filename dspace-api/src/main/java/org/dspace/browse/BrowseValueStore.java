@@ -0,0 +1,286 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.DiscoverResult.FacetResult;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Store of the precomputed value lists of the metadata browse indexes, used by {@link SolrBrowseDAO} to answer
+ * the value browses of anonymous users without a facet query per page.
+ * <p>
+ * A value list holds all the values of a browse index within a scope (the whole repository, a community or a
+ * collection), sorted as in the Solr index and with their frequencies. Pages, counts and jump-to offsets are then
+ * computed in memory with binary searches. Lists are built on first use, and the {@link
+ * org.dspace.discovery.IndexEventConsumer} marks them stale whenever items are (re)indexed. A stale list keeps being
+ * served while a single background thread rebuilds it, at most once every "browse.value-store.refresh-interval"
+ * seconds, so that the number of facet queries no longer depends on the browse traffic. As the items indexed by
+ * other processes do not mark the lists stale, lists older than "browse.value-store.max-age" seconds are rebuilt the
+ * same way.
+ * </p><p>
+ * The store is disabled unless "browse.value-store.enabled" is true. Indexes with more than
+ * "browse.value-store.max-values" values in a scope are not stored, and at most "browse.value-store.max-scopes" value
+ * lists are kept, the least recently used being dropped first.
+ * </p>
+ */
+public class BrowseValueStore {
+
+    private static final Logger log = LogManager.getLogger(BrowseValueStore.class);
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private SearchService searchService;
+
+    // incremented whenever the indexed items change
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<String, ValueList> valueLists = new LinkedHashMap<>(16, 0.75f, true);
+
+    // keys of the value lists being rebuilt
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService refresher;
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("browse.value-store.enabled", false);
+    }
+
+    /**
+     * @return the maximum number of values of a stored value list. The query given to {@link #getValueList} should
+     * be limited to this number of values.
+     */
+    public int getMaxValues() {
+        return configurationService.getIntProperty("browse.value-store.max-values", 1000000);
+    }
+
+    /**
+     * Get the value list of a browse index in a scope, building it with the given query if it is not stored yet.
+     *
+     * @param context    the DSpace context of an anonymous user, used if the value list has to be built now
+     * @param key        identifies the browse index and its scope (facet field and filter queries)
+     * @param query      query returning the values of the index in the scope as a json.facet named after the facet
+     *                   field. It may be run again later from another thread.
+     * @param facetField the facet field of the browse index
+     * @return the value list, or null if the index has too many values in this scope to be stored
+     * @throws BrowseException if the value list cannot be built
+     */
+    public ValueList getValueList(Context context, String key, DiscoverQuery query, String facetField)
+        throws BrowseException {
+        ValueList valueList;
+        synchronized (valueLists) {
+            valueList = valueLists.get(key);
+        }
+        if (valueList == null) {
+            valueList = build(context, key, query, facetField);
+        } else if (isStale(valueList)) {
+            refresh(key, query, facetField);
+        }
+        return valueList.values == null ? null : valueList;
+    }
+
+    /**
+     * A value list is stale when items were indexed since it was built, or when it is older than
+     * "browse.value-store.max-age" seconds, as items may have been indexed by another process (e.g. the command line
+     * tools), whose changes are not seen by this store.
+     *
+     * @param valueList a stored value list
+     * @return whether the value list should be rebuilt
+     */
+    private boolean isStale(ValueList valueList) {
+        long age = System.currentTimeMillis() - valueList.builtAt;
+        if (age >= configurationService.getLongProperty("browse.value-store.max-age", 3600) * 1000) {
+            return true;
+        }
+        return valueList.generation < generation.get()
+            && age >= configurationService.getLongProperty("browse.value-store.refresh-interval", 300) * 1000;
+    }
+
+    /**
+     * Mark all the value lists as stale, so that they are rebuilt in the background on their next use.
+     */
+    public void markStale() {
+        generation.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void refresh(String key, DiscoverQuery query, String facetField) {
+        if (refreshing.add(key)) {
+            getRefresher().execute(() -> {
+                Context context = new Context(Context.Mode.READ_ONLY);
+                try {
+                    build(context, key, query, facetField);
+                } catch (BrowseException e) {
+                    log.error("Unable to refresh the browse values of {}", key, e);
+                } finally {
+                    context.abort();
+                    refreshing.remove(key);
+                }
+            });
+        }
+    }
+
+    private ValueList build(Context context, String key, DiscoverQuery query, String facetField)
+        throws BrowseException {
+        long buildGeneration = generation.get();
+        try {
+            DiscoverResult result = searchService.search(context, query);
+            List<FacetResult> values = result.getFacetResult(facetField);
+            boolean tooLarge = result.getTotalEntries() > getMaxValues();
+            ValueList valueList = new ValueList(tooLarge ? null : new ArrayList<>(values), buildGeneration);
+            synchronized (valueLists) {
+                valueLists.put(key, valueList);
+                int maxScopes = configurationService.getIntProperty("browse.value-store.max-scopes", 20);
+                while (valueLists.size() > maxScopes) {
+                    valueLists.remove(valueLists.keySet().iterator().next());
+                }
+            }
+            return valueList;
+        } catch (SearchServiceException e) {
+            throw new BrowseException(e);
+        }
+    }
+
+    private synchronized ExecutorService getRefresher() {
+        if (refresher == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("browse-value-store-");
+            threadFactory.setDaemon(true);
+            refresher = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        return refresher;
+    }
+
+    /**
+     * The values of a browse index in a scope, in ascending index order.
+     */
+    public static class ValueList {
+
+        private final List<FacetResult> values;
+
+        private final long generation;
+
+        private final long builtAt = System.currentTimeMillis();
+
+        ValueList(List<FacetResult> values, long generation) {
+            this.values = values;
+            this.generation = generation;
+        }
+
+        /**
+         * @param startsWith the prefix of the sort values to match, or null to match all the values
+         * @return the number of values matching the prefix
+         */
+        public int count(String startsWith) {
+            int[] range = getRange(startsWith);
+            return range[1] - range[0];
+        }
+
+        /**
+         * Get a page of the values matching a prefix.
+         *
+         * @param startsWith the prefix of the sort values to match, or null to match all the values
+         * @param ascending  whether to page through the values in ascending or descending order
+         * @param offset     the offset of the page
+         * @param limit      the size of the page, or a negative number for all the values
+         * @return the values of the page
+         */
+        public List<FacetResult> getPage(String startsWith, boolean ascending, int offset, int limit) {
+            int[] range = getRange(startsWith);
+            int size = range[1] - range[0];
+            int from = Math.min(Math.max(offset, 0), size);
+            int to = limit < 0 ? size : (int) Math.min((long) from + limit, size);
+            if (ascending) {
+                return values.subList(range[0] + from, range[0] + to);
+            }
+            List<FacetResult> page = new ArrayList<>(values.subList(range[1] - to, range[1] - from));
+            Collections.reverse(page);
+            return page;
+        }
+
+        /**
+         * Get the position of a sort value among the values matching a prefix.
+         *
+         * @param startsWith the prefix of the sort values to match, or null to match all the values
+         * @param sortValue  the sort value to look for
+         * @param ascending  whether the values are paged through in ascending or descending order
+         * @return the offset of the first value not before the given sort value
+         */
+        public int getOffset(String startsWith, String sortValue, boolean ascending) {
+            int[] range = getRange(startsWith);
+            int position = Math.min(Math.max(lowerBound(sortValue), range[0]), range[1]) - range[0];
+            return ascending ? position : range[1] - range[0] - position;
+        }
+
+        private int[] getRange(String startsWith) {
+            if (startsWith == null || startsWith.isEmpty()) {
+                return new int[] {0, values.size()};
+            }
+            return new int[] {lowerBound(startsWith),
+                lowerBound(startsWith + new String(Character.toChars(Character.MAX_CODE_POINT)))};
+        }
+
+        // index of the first value whose sort value is not lower than the given one
+        private int lowerBound(String sortValue) {
+            int low = 0;
+            int high = values.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(values.get(middle).getSortValue(), sortValue) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // compare by code points, which is the (UTF-8 byte) order of the terms in the Solr index
+        private static int compare(String s1, String s2) {
+            int i1 = 0;
+            int i2 = 0;
+            while (i1 < s1.length() && i2 < s2.length()) {
+                int c1 = s1.codePointAt(i1);
+                int c2 = s2.codePointAt(i2);
+                if (c1 != c2) {
+                    return Integer.compare(c1, c2);
+                }
+                i1 += Character.charCount(c1);
+                i2 += Character.charCount(c2);
+            }
+            return Integer.compare(s1.length() - i1, s2.length() - i2);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CollectionService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer keeping the item counts cached by the {@link ItemCounter} up to date.
+ * <p>
+ * For every item touched by the events of a transaction, the communities and collections which counted it before
+ * and after the transaction are compared, and only the counts of the containers it entered or left are adjusted.
+ * Deleted items are no longer linked to their collections, so their deletion drops the cached counts, which are
+ * then reloaded on next use. Changes which cannot be told from the events (e.g. making an item non discoverable) are
+ * corrected when the counts are reconciled, see "webui.strengths.cache.reconcile.cron".
+ * </p>
+ *
+ * Recommended filter:  Item+Install|Modify|Delete:Collection+Add|Remove
+ */
+public class ItemCountConsumer implements Consumer {
+
+    private static final Logger log = LogManager.getLogger(ItemCountConsumer.class);
+
+    private ItemCounter itemCounter;
+
+    private ItemService itemService;
+
+    private CollectionService collectionService;
+
+    // the changes of each item of the current transaction
+    private final Map<UUID, ItemChange> changes = new HashMap<>();
+
+    private boolean itemDeleted = false;
+
+    @Override
+    public void initialize() throws Exception {
+        itemCounter = DSpaceServicesFactory.getInstance().getServiceManager()
+                                           .getServiceByName(ItemCounter.class.getName(), ItemCounter.class);
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        collectionService = ContentServiceFactory.getInstance().getCollectionService();
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (!itemCounter.isLoaded()) {
+            return;
+        }
+        int subjectType = event.getSubjectType();
+        int eventType = event.getEventType();
+        if (subjectType == Constants.COLLECTION && event.getObjectType() == Constants.ITEM) {
+            ItemChange change = changes.computeIfAbsent(event.getObjectID(), id -> new ItemChange());
+            if (eventType == Event.ADD) {
+                if (!change.removedFrom.remove(event.getSubjectID())) {
+                    change.addedTo.add(event.getSubjectID());
+                }
+            } else if (eventType == Event.REMOVE) {
+                if (!change.addedTo.remove(event.getSubjectID())) {
+                    change.removedFrom.add(event.getSubjectID());
+                }
+            }
+        } else if (subjectType == Constants.ITEM) {
+            if (eventType == Event.DELETE) {
+                itemDeleted = true;
+            } else if (eventType == Event.INSTALL) {
+                changes.computeIfAbsent(event.getSubjectID(), id -> new ItemChange()).installed = true;
+            } else if (eventType == Event.MODIFY && "WITHDRAW".equals(event.getDetail())) {
+                changes.computeIfAbsent(event.getSubjectID(), id -> new ItemChange()).withdrawn = true;
+            } else if (eventType == Event.MODIFY && "REINSTATE".equals(event.getDetail())) {
+                changes.computeIfAbsent(event.getSubjectID(), id -> new ItemChange()).reinstated = true;
+            }
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        try {
+            if (itemDeleted) {
+                itemCounter.invalidate();
+            } else if (itemCounter.isLoaded()) {
+                for (Map.Entry<UUID, ItemChange> entry : changes.entrySet()) {
+                    adjust(ctx, entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            changes.clear();
+            itemDeleted = false;
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+
+    private void adjust(Context ctx, UUID itemId, ItemChange change) throws SQLException {
+        Item item = itemService.find(ctx, itemId);
+        if (item == null) {
+            log.debug("Item {} no longer exists, its counts will be reconciled later", itemId);
+            itemCounter.invalidate();
+            return;
+        }
+        boolean countedAfter = item.isArchived() && !item.isWithdrawn() && item.isDiscoverable();
+        boolean countedBefore;
+        if (change.installed || change.reinstated) {
+            countedBefore = false;
+        } else if (change.withdrawn) {
+            countedBefore = item.isDiscoverable();
+        } else {
+            countedBefore = countedAfter;
+        }
+
+        Set<UUID> collectionsAfter = new HashSet<>();
+        for (Collection collection : item.getCollections()) {
+            collectionsAfter.add(collection.getID());
+        }
+        Set<UUID> collectionsBefore = new HashSet<>(collectionsAfter);
+        collectionsBefore.removeAll(change.addedTo);
+        collectionsBefore.addAll(change.removedFrom);
+
+        Set<UUID> before = countedBefore ? getContainers(ctx, collectionsBefore) : new HashSet<>();
+        Set<UUID> after = countedAfter ? getContainers(ctx, collectionsAfter) : new HashSet<>();
+        Set<UUID> entered = new HashSet<>(after);
+        entered.removeAll(before);
+        before.removeAll(after);
+        itemCounter.adjust(entered, 1);
+        itemCounter.adjust(before, -1);
+    }
+
+    /**
+     * @return the ids of the given collections and of all the communities above them
+     */
+    private Set<UUID> getContainers(Context ctx, Set<UUID> collectionIds) throws SQLException {
+        Set<UUID> containers = new HashSet<>();
+        for (UUID collectionId : collectionIds) {
+            Collection collection = collectionService.find(ctx, collectionId);
+            if (collection != null) {
+                containers.add(collectionId);
+                for (Community community : collection.getCommunities()) {
+                    addCommunity(community, containers);
+                }
+            }
+        }
+        return containers;
+    }
+
+    private void addCommunity(Community community, Set<UUID> containers) {
+        if (containers.add(community.getID())) {
+            for (Community parent : community.getParentCommunities()) {
+                addCommunity(parent, containers);
+            }
+        }
+    }
+
+    /**
+     * What happened to an item within a transaction.
+     */
+    private static class ItemChange {
+
+        private final Set<UUID> addedTo = new HashSet<>();
+
+        private final Set<UUID> removedFrom = new HashSet<>();
+
+        private boolean installed;
+
+        private boolean withdrawn;
+
+        private boolean reinstated;
+    }
+}
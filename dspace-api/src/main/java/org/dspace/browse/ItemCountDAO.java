@@ -7,6 +7,9 @@
  */
 package org.dspace.browse;
 
+import java.util.Map;
+import java.util.UUID;
+
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 
@@ -26,4 +29,13 @@ public interface ItemCountDAO {
      * @return count
      */
     int getCount(Context context, DSpaceObject dso);
+
+    /**
+     * Get the number of items of all the communities and collections at once.
+     *
+     * @param context DSpace context
+     * @return the counts, keyed by Community and Collection id. Containers without items may be missing.
+     * @throws BrowseException if the counts could not be loaded
+     */
+    Map<UUID, Integer> getCounts(Context context) throws BrowseException;
 }
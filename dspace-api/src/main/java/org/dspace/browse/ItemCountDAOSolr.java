@@ -10,6 +10,7 @@ package org.dspace.browse;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
@@ -50,6 +51,11 @@ public class ItemCountDAOSolr implements ItemCountDAO {
      **/
     private Map<String, Integer> collectionsCount = null;
 
+    /**
+     * The error which prevented the counts from being loaded, if any
+     */
+    private SearchServiceException loadError = null;
+
 
     /**
      * Solr search service
@@ -81,6 +87,18 @@ public class ItemCountDAOSolr implements ItemCountDAO {
         }
     }
 
+    @Override
+    public Map<UUID, Integer> getCounts(Context context) throws BrowseException {
+        loadCount(context);
+        if (loadError != null) {
+            throw new BrowseException("Could not load the Community/Collection Item Counts from Solr", loadError);
+        }
+        Map<UUID, Integer> counts = new HashMap<>();
+        communitiesCount.forEach((id, count) -> counts.put(UUID.fromString(id), count));
+        collectionsCount.forEach((id, count) -> counts.put(UUID.fromString(id), count));
+        return counts;
+    }
+
     /**
      * make sure that the counts are actually fetched from Solr (if haven't been
      * cached in a Map yet)
@@ -122,6 +140,7 @@ public class ItemCountDAOSolr implements ItemCountDAO {
             }
         } catch (SearchServiceException e) {
             log.error("Could not initialize Community/Collection Item Counts from Solr: ", e);
+            loadError = e;
         }
     }
 }
@@ -8,6 +8,10 @@
 package org.dspace.browse;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
@@ -25,6 +29,13 @@ import org.springframework.beans.factory.annotation.Autowired;
  *
  * In the event that the data cache is not being used, this class will return direct
  * real time counts of content.
+ *
+ * Otherwise the counts of all the communities and collections are loaded at once
+ * from the {@link ItemCountDAO} on first use, and kept up to date by the
+ * {@link ItemCountConsumer} as items are installed, withdrawn, reinstated, mapped
+ * or moved. Deleting items (whose containers are no longer known) marks the counts
+ * to be reloaded, and {@link #reconcile(Context)} reloads them on a schedule to
+ * correct any drift.
  */
 public class ItemCounter {
     /**
@@ -37,6 +48,9 @@ public class ItemCounter {
     @Autowired
     protected ConfigurationService configurationService;
 
+    // the cached counts, keyed by Community and Collection id, or null when they have to be (re)loaded
+    private volatile Map<UUID, Integer> counts;
+
     /**
      * Construct a new item counter
      */
@@ -65,12 +79,16 @@ public class ItemCounter {
         }
 
         if (useCache) {
-            // NOTE: This bean is NOT Autowired above because it's a "prototype" bean which we want to reload
-            // occasionally. Each time the bean reloads it will update the cached item counts.
-            ItemCountDAO dao =
-                DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName("itemCountDAO",
-                                                                                         ItemCountDAO.class);
-            return dao.getCount(context, dso);
+            Map<UUID, Integer> cachedCounts = counts;
+            if (cachedCounts == null) {
+                try {
+                    cachedCounts = reconcile(context);
+                } catch (BrowseException e) {
+                    log.error("Error loading the cached Item counts :", e);
+                    return -1;
+                }
+            }
+            return cachedCounts.getOrDefault(dso.getID(), 0);
         }
 
         // if we make it this far, we need to manually count
@@ -94,4 +112,78 @@ public class ItemCounter {
 
         return 0;
     }
+
+    /**
+     * Reload the cached counts of all the communities and collections in one pass.
+     * The counts are shared by all the users, so they are loaded with the authorisation system turned off: they
+     * count all the archived, discoverable and not withdrawn items, whoever the current user is.
+     * If the counts cannot be loaded, the cached counts are left unchanged.
+     *
+     * @param context DSpace Context
+     * @return the new counts
+     * @throws BrowseException if the counts could not be loaded
+     */
+    public synchronized Map<UUID, Integer> reconcile(Context context) throws BrowseException {
+        // NOTE: This bean is NOT Autowired above because it's a "prototype" bean, so that each load
+        // gets fresh counts.
+        ItemCountDAO dao =
+            DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName("itemCountDAO",
+                                                                                     ItemCountDAO.class);
+        Map<UUID, Integer> loadedCounts;
+        context.turnOffAuthorisationSystem();
+        try {
+            loadedCounts = new ConcurrentHashMap<>(dao.getCounts(context));
+        } finally {
+            context.restoreAuthSystemState();
+        }
+        counts = loadedCounts;
+        return loadedCounts;
+    }
+
+    /**
+     * Reload the cached counts if they are in use, e.g. from a scheduled task, to correct the changes which the
+     * {@link ItemCountConsumer} could not follow.
+     */
+    public void reconcile() {
+        if (!isLoaded()) {
+            return;
+        }
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            reconcile(context);
+        } catch (BrowseException e) {
+            log.error("Error reconciling the cached Item counts, the previous counts are kept :", e);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Adjust the cached counts after a change, if they are loaded.
+     *
+     * @param containerIds ids of the communities and collections whose count changed
+     * @param delta        number of items added to (or removed from, if negative) each of them
+     */
+    public void adjust(Set<UUID> containerIds, int delta) {
+        Map<UUID, Integer> cachedCounts = counts;
+        if (cachedCounts != null) {
+            for (UUID containerId : containerIds) {
+                cachedCounts.merge(containerId, delta, (count, change) -> Math.max(0, count + change));
+            }
+        }
+    }
+
+    /**
+     * @return whether the counts are cached, i.e. whether they must be maintained
+     */
+    public boolean isLoaded() {
+        return counts != null;
+    }
+
+    /**
+     * Drop the cached counts, so that they are reloaded on next use.
+     */
+    public void invalidate() {
+        counts = null;
+    }
 }
@@ -172,8 +172,15 @@ public class SolrBrowseDAO implements BrowseDAO {
     SearchService searcher = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
         SearchService.class.getName(), SearchService.class);
 
+    BrowseValueStore browseValueStore = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
+        BrowseValueStore.class.getName(), BrowseValueStore.class);
+
     private DiscoverResult sResponse = null;
 
+    private BrowseValueStore.ValueList valueList = null;
+
+    private boolean valueListLoaded = false;
+
     private boolean showFrequencies;
 
     private DiscoverResult getSolrResponse() throws BrowseException {
@@ -187,25 +194,8 @@ public class SolrBrowseDAO implements BrowseDAO {
                 // Example of json.facet query:
                 // {"<fieldName>": {"type":"terms","field": "<fieldName>_filter", "limit":0, "offset":0,
                 // "sort":"index desc", "numBuckets":true, "prefix":"<startsWith>"}}
-                ObjectNode jsonFacet = JsonNodeFactory.instance.objectNode();
-                ObjectNode entriesFacet = JsonNodeFactory.instance.objectNode();
-                entriesFacet.put("type", "terms");
-                entriesFacet.put("field", facetField + "_filter");
-                entriesFacet.put("limit", limit);
-                entriesFacet.put("offset", offset);
-                entriesFacet.put("numBuckets", true);
-                if (ascending) {
-                    entriesFacet.put("sort", "index");
-                } else {
-                    entriesFacet.put("sort", "index desc");
-                }
-                if (StringUtils.isNotBlank(startsWith)) {
-                    // Add the prefix to the json facet query
-                    entriesFacet.put("prefix", startsWith);
-                }
-                jsonFacet.set(facetField, entriesFacet);
                 query.setMaxResults(0);
-                query.addProperty("json.facet", jsonFacet.toString());
+                query.addProperty("json.facet", getJsonFacet(limit, offset, ascending, startsWith));
             } else {
                 query.setMaxResults(limit/* > 0 ? limit : 20*/);
                 if (offset > 0) {
@@ -242,6 +232,51 @@ public class SolrBrowseDAO implements BrowseDAO {
         return sResponse;
     }
 
+    private String getJsonFacet(int limit, int offset, boolean ascending, String prefix) {
+        ObjectNode jsonFacet = JsonNodeFactory.instance.objectNode();
+        ObjectNode entriesFacet = JsonNodeFactory.instance.objectNode();
+        entriesFacet.put("type", "terms");
+        entriesFacet.put("field", facetField + "_filter");
+        entriesFacet.put("limit", limit);
+        entriesFacet.put("offset", offset);
+        entriesFacet.put("numBuckets", true);
+        if (ascending) {
+            entriesFacet.put("sort", "index");
+        } else {
+            entriesFacet.put("sort", "index desc");
+        }
+        if (StringUtils.isNotBlank(prefix)) {
+            // Add the prefix to the json facet query
+            entriesFacet.put("prefix", prefix);
+        }
+        jsonFacet.set(facetField, entriesFacet);
+        return jsonFacet.toString();
+    }
+
+    /**
+     * Get the precomputed values of this distinct browse from the {@link BrowseValueStore}. As the values are shared,
+     * they are only used for anonymous users without special groups, who all see the same items.
+     *
+     * @return the value list, or null if this browse has to be answered by Solr
+     */
+    private BrowseValueStore.ValueList getValueList() throws BrowseException {
+        if (!distinct || browseValueStore == null || !browseValueStore.isEnabled()
+            || context.getCurrentUser() != null || !context.getSpecialGroupUuids().isEmpty()) {
+            return null;
+        }
+        if (!valueListLoaded) {
+            DiscoverQuery query = new DiscoverQuery();
+            addLocationScopeFilter(query);
+            addDefaultFilterQueries(query);
+            query.setMaxResults(0);
+            query.addProperty("json.facet", getJsonFacet(browseValueStore.getMaxValues(), 0, true, null));
+            String key = facetField + "|" + String.join("|", query.getFilterQueries());
+            valueList = browseValueStore.getValueList(context, key, query, facetField);
+            valueListLoaded = true;
+        }
+        return valueList;
+    }
+
     private void addLocationScopeFilter(DiscoverQuery query) {
         if (container != null) {
             if (containerIDField.startsWith("collection")) {
@@ -259,6 +294,10 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     @Override
     public int doCountQuery() throws BrowseException {
+        BrowseValueStore.ValueList values = getValueList();
+        if (values != null) {
+            return values.count(startsWith);
+        }
         DiscoverResult resp = getSolrResponse();
         int count = 0;
         if (distinct) {
@@ -276,9 +315,16 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     @Override
     public List doValueQuery() throws BrowseException {
-        DiscoverResult resp = getSolrResponse();
-        List<FacetResult> facet = resp.getFacetResult(facetField);
-        int count = doCountQuery();
+        BrowseValueStore.ValueList values = getValueList();
+        List<FacetResult> facet;
+        int count;
+        if (values != null) {
+            facet = values.getPage(startsWith, ascending, offset, limit);
+            count = facet.size();
+        } else {
+            facet = getSolrResponse().getFacetResult(facetField);
+            count = doCountQuery();
+        }
         int max = facet.size();
         List<String[]> result = new ArrayList<>();
 
@@ -367,6 +413,10 @@ public class SolrBrowseDAO implements BrowseDAO {
     @Override
     public int doDistinctOffsetQuery(String column, String value,
                                      boolean isAscending) throws BrowseException {
+        BrowseValueStore.ValueList values = getValueList();
+        if (values != null) {
+            return values.getOffset(startsWith, value, isAscending);
+        }
         DiscoverResult resp = getSolrResponse();
         List<FacetResult> facets = resp.getFacetResult(facetField);
         Comparator comparator = new SolrBrowseDAO.FacetValueComparator();
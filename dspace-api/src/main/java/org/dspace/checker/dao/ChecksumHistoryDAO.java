@@ -9,6 +9,7 @@ package org.dspace.checker.dao;
 
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 
 import org.dspace.checker.ChecksumHistory;
 import org.dspace.checker.ChecksumResultCode;
@@ -47,4 +48,13 @@ public interface ChecksumHistoryDAO extends GenericDAO<ChecksumHistory> {
      * @throws SQLException if database error
      */
     public void deleteByBitstream(Context context, Bitstream bitstream) throws SQLException;
+
+    /**
+     * Delete all ChecksumHistory rows for the given Bitstreams, in a single statement.
+     *
+     * @param context    The relevant DSpace Context.
+     * @param bitstreams which bitstreams' checksums to delete
+     * @throws SQLException if database error
+     */
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException;
 }
@@ -35,6 +35,8 @@ public interface MostRecentChecksumDAO extends GenericDAO<MostRecentChecksum> {
 
     public void deleteByBitstream(Context context, Bitstream bitstream) throws SQLException;
 
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException;
+
     public MostRecentChecksum getOldestRecord(Context context) throws SQLException;
 
     public MostRecentChecksum getOldestRecord(Context context, Instant lessThanDate) throws SQLException;
@@ -9,6 +9,7 @@ package org.dspace.checker.dao.impl;
 
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 
 import jakarta.persistence.Query;
 import org.dspace.checker.ChecksumHistory;
@@ -57,4 +58,15 @@ public class ChecksumHistoryDAOImpl extends AbstractHibernateDAO<ChecksumHistory
         query.executeUpdate();
     }
 
+    @Override
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException {
+        if (bitstreams.isEmpty()) {
+            return;
+        }
+        String hql = "delete from ChecksumHistory where bitstream in (:bitstreams)";
+        Query query = createQuery(context, hql);
+        query.setParameter("bitstreams", bitstreams);
+        query.executeUpdate();
+    }
+
 }
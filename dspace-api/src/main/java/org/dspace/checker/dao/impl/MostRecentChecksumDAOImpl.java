@@ -111,6 +111,17 @@ public class MostRecentChecksumDAOImpl extends AbstractHibernateDAO<MostRecentCh
         query.executeUpdate();
     }
 
+    @Override
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException {
+        if (bitstreams.isEmpty()) {
+            return;
+        }
+        String hql = "delete from MostRecentChecksum WHERE bitstream in (:bitstreams)";
+        Query query = createQuery(context, hql);
+        query.setParameter("bitstreams", bitstreams);
+        query.executeUpdate();
+    }
+
     @Override
     public MostRecentChecksum getOldestRecord(Context context) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
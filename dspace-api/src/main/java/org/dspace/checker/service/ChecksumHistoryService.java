@@ -9,6 +9,7 @@ package org.dspace.checker.service;
 
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import org.dspace.checker.ChecksumResultCode;
@@ -34,6 +35,8 @@ public interface ChecksumHistoryService {
 
     public void deleteByBitstream(Context context, Bitstream bitstream) throws SQLException;
 
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException;
+
     /**
      * Prune the history records from the database.
      *
@@ -41,6 +41,8 @@ public interface MostRecentChecksumService {
 
     public void deleteByBitstream(Context context, Bitstream bitstream) throws SQLException;
 
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException;
+
     public MostRecentChecksum findOldestRecord(Context context) throws SQLException;
 
     public MostRecentChecksum findOldestRecord(Context context, Instant lessThanDate) throws SQLException;
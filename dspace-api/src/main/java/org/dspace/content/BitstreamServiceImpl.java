@@ -10,6 +10,7 @@ package org.dspace.content;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
 
 import jakarta.annotation.Nullable;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -343,6 +345,11 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDeletedBitstreams(context, limit, offset);
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        return bitstreamDAO.findDeletedBitstreams(context, after, limit);
+    }
+
     @Override
     public void expunge(Context context, Bitstream bitstream) throws SQLException, AuthorizeException {
         authorizeService.authorizeAction(context, bitstream, Constants.DELETE);
@@ -353,11 +360,39 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         bitstreamDAO.delete(context, bitstream);
     }
 
+    @Override
+    public void expunge(Context context, List<Bitstream> bitstreams) throws SQLException, AuthorizeException {
+        for (Bitstream bitstream : bitstreams) {
+            authorizeService.authorizeAction(context, bitstream, Constants.DELETE);
+            if (!bitstream.isDeleted()) {
+                throw new IllegalStateException("Bitstream " + bitstream.getID().toString()
+                        + " must be deleted before it can be removed from the database.");
+            }
+        }
+        bitstreamDAO.deleteAll(context, bitstreams);
+    }
+
     @Override
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException {
         return bitstreamDAO.findDuplicateInternalIdentifier(context, bitstream);
     }
 
+    @Override
+    public List<String> findSharedInternalIdentifiers(Context context, List<Bitstream> bitstreams)
+        throws SQLException {
+        return bitstreamDAO.findSharedInternalIdentifiers(context, bitstreams);
+    }
+
+    @Override
+    public List<Bitstream> findInInstalledItems(Context context, List<Bitstream> bitstreams) throws SQLException {
+        List<Bitstream> installed = new ArrayList<>();
+        // keep the number of query parameters reasonable
+        for (List<Bitstream> partition : ListUtils.partition(bitstreams, 1000)) {
+            installed.addAll(bitstreamDAO.findInInstalledItems(context, partition));
+        }
+        return installed;
+    }
+
     @Override
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException {
         return bitstreamDAO.findByItem(context, item);
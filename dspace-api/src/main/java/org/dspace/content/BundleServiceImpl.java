@@ -15,12 +15,15 @@ import static org.dspace.core.Constants.WRITE;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeConfiguration;
@@ -135,22 +138,30 @@ public class BundleServiceImpl extends DSpaceObjectServiceImpl<Bundle> implement
     @Override
     public void addBitstream(Context context, Bundle bundle, Bitstream bitstream)
             throws SQLException, AuthorizeException {
+        addBitstreams(context, bundle, List.of(bitstream));
+    }
+
+    @Override
+    public void addBitstreams(Context context, Bundle bundle, List<Bitstream> bitstreams)
+            throws SQLException, AuthorizeException {
         // Check authorisation
         authorizeService.authorizeAction(context, bundle, Constants.ADD);
 
-        log.info(LogHelper.getHeader(context, "add_bitstream", "bundle_id="
-                + bundle.getID() + ",bitstream_id=" + bitstream.getID()));
-
-        // First check that the bitstream isn't already in the list
-        List<Bitstream> bitstreams = bundle.getBitstreams();
-        int topOrder = 0;
-        // First check that the bitstream isn't already in the list
-        for (Bitstream bs : bitstreams) {
-            if (bitstream.getID().equals(bs.getID())) {
-                // Bitstream is already there; no change
-                return;
+        // First check that the bitstreams aren't already in the list
+        Set<UUID> bundleBitstreamIDs = new HashSet<>();
+        for (Bitstream bs : bundle.getBitstreams()) {
+            bundleBitstreamIDs.add(bs.getID());
+        }
+        List<Bitstream> newBitstreams = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            if (bundleBitstreamIDs.add(bitstream.getID())) {
+                newBitstreams.add(bitstream);
             }
         }
+        if (newBitstreams.isEmpty()) {
+            // Bitstreams are already there; no change
+            return;
+        }
 
         // Ensure that the last modified from the item is triggered !
         Item owningItem = (Item) getParentObject(context, bundle);
@@ -159,22 +170,26 @@ public class BundleServiceImpl extends DSpaceObjectServiceImpl<Bundle> implement
             itemService.update(context, owningItem);
         }
 
-        bundle.addBitstream(bitstream);
-        // If a bitstream is moved from one bundle to another it may be temporarily flagged as deleted
-        // (when removed from the original bundle)
-        if (bitstream.isDeleted()) {
-            bitstream.setDeleted(false);
-        }
-        bitstream.getBundles().add(bundle);
+        for (Bitstream bitstream : newBitstreams) {
+            log.info(LogHelper.getHeader(context, "add_bitstream", "bundle_id="
+                    + bundle.getID() + ",bitstream_id=" + bitstream.getID()));
 
+            bundle.addBitstream(bitstream);
+            // If a bitstream is moved from one bundle to another it may be temporarily flagged as deleted
+            // (when removed from the original bundle)
+            if (bitstream.isDeleted()) {
+                bitstream.setDeleted(false);
+            }
+            bitstream.getBundles().add(bundle);
 
-        context.addEvent(new Event(Event.ADD, Constants.BUNDLE, bundle.getID(),
-                Constants.BITSTREAM, bitstream.getID(), String.valueOf(bitstream.getSequenceID()),
-                getIdentifiers(context, bundle)));
+            context.addEvent(new Event(Event.ADD, Constants.BUNDLE, bundle.getID(),
+                    Constants.BITSTREAM, bitstream.getID(), String.valueOf(bitstream.getSequenceID()),
+                    getIdentifiers(context, bundle)));
+        }
 
         // copy authorization policies from bundle to bitstream
         // FIXME: multiple inclusion is affected by this...
-        authorizeService.inheritPolicies(context, bundle, bitstream);
+        authorizeService.inheritPolicies(context, bundle, newBitstreams);
         // The next logic is a bit overly cautious but ensures that if there are any future start dates
         // on the item or bitstream read policies, that we'll skip inheriting anything from the owning collection
         // just in case. In practice, the item install process would overwrite these anyway but it may satisfy
@@ -197,17 +212,21 @@ public class BundleServiceImpl extends DSpaceObjectServiceImpl<Bundle> implement
                 // If this collection is configured with a DEFAULT_BITSTREAM_READ group, overwrite the READ policy
                 // inherited from the bundle with this policy.
                 if (!defaultBitstreamReadGroups.isEmpty()) {
-                    // Remove read policies from the bitstream
-                    authorizeService.removePoliciesActionFilter(context, bitstream, Constants.READ);
-                    for (Group defaultBitstreamReadGroup : defaultBitstreamReadGroups) {
-                        // Inherit this policy as READ, directly from the collection roles
-                        authorizeService.addPolicy(context, bitstream,
-                                Constants.READ, defaultBitstreamReadGroup, ResourcePolicy.TYPE_INHERITED);
+                    for (Bitstream bitstream : newBitstreams) {
+                        // Remove read policies from the bitstream
+                        authorizeService.removePoliciesActionFilter(context, bitstream, Constants.READ);
+                        for (Group defaultBitstreamReadGroup : defaultBitstreamReadGroups) {
+                            // Inherit this policy as READ, directly from the collection roles
+                            authorizeService.addPolicy(context, bitstream,
+                                    Constants.READ, defaultBitstreamReadGroup, ResourcePolicy.TYPE_INHERITED);
+                        }
                     }
                 }
             }
         }
-        bitstreamService.update(context, bitstream);
+        for (Bitstream bitstream : newBitstreams) {
+            bitstreamService.update(context, bitstream);
+        }
     }
 
     @Override
@@ -583,4 +602,19 @@ public class BundleServiceImpl extends DSpaceObjectServiceImpl<Bundle> implement
     public int countTotal(Context context) throws SQLException {
         return bundleDAO.countRows(context);
     }
+
+    @Override
+    public void preloadBitstreams(Context context, List<Bundle> bundles, String name) throws SQLException {
+        // keep the number of query parameters reasonable
+        for (List<Bundle> partition : ListUtils.partition(bundles, 1000)) {
+            List<Bundle> named = new ArrayList<>();
+            // the name of a bundle is one of its metadata values
+            for (Bundle bundle : bundleDAO.findWithMetadata(context, partition)) {
+                if (name == null || name.equals(bundle.getName())) {
+                    named.add(bundle);
+                }
+            }
+            bundleDAO.findWithBitstreams(context, named);
+        }
+    }
 }
@@ -341,6 +341,13 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
         return CollectionUtils.isNotEmpty(metadataValues) ? metadataValues.get(0) : null;
     }
 
+    @Override
+    public MetadataValue addMetadata(Context context, T dso, MetadataField metadataField, String language,
+                            String value, String authority, int confidence, int place) throws SQLException {
+        return addMetadata(context, dso, metadataField, language, Arrays.asList(value), Arrays.asList(authority),
+                           Arrays.asList(confidence), () -> place).stream().findFirst().orElse(null);
+    }
+
     @Override
     public MetadataValue addMetadata(Context context, T dso, String schema, String element, String qualifier,
                              String lang, String value) throws SQLException {
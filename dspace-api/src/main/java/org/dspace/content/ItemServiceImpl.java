@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.requestitem.RequestItem;
@@ -346,6 +347,16 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAll(context, true, limit, offset);
     }
 
+    @Override
+    public Iterator<Item> findAllInRange(Context context, UUID after, UUID upTo) throws SQLException {
+        return itemDAO.findAllInRange(context, true, after, upTo);
+    }
+
+    @Override
+    public List<UUID> findIdBoundaries(Context context, int ranges) throws SQLException {
+        return itemDAO.findIdBoundaries(context, true, ranges);
+    }
+
     @Override
     public Iterator<Item> findAllUnfiltered(Context context) throws SQLException {
         return itemDAO.findAll(context, true, true);
@@ -1688,14 +1699,7 @@ prevent the generation of resource policy entry values with null dspace_object a
         }
         if (item.isModifiedMetadataCache()) {
             log.debug("Called getMetadata for " + item.getID() + " with invalid cache");
-            //rebuild cache
-            List<MetadataValue> dbMetadataValues = item.getMetadata();
-
-            List<MetadataValue> fullMetadataValueList = new LinkedList<>();
-            fullMetadataValueList.addAll(relationshipMetadataService.getRelationshipMetadata(item, true));
-            fullMetadataValueList.addAll(dbMetadataValues);
-
-            item.setCachedMetadata(MetadataValueComparators.sort(fullMetadataValueList));
+            rebuildMetadataCache(null, item);
         }
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
@@ -1711,6 +1715,52 @@ prevent the generation of resource policy entry values with null dspace_object a
         return values;
     }
 
+    @Override
+    public void cacheVirtualMetadata(Context context, Item item) {
+        if (item.isModifiedMetadataCache()) {
+            rebuildMetadataCache(context, item);
+        }
+    }
+
+    @Override
+    public void preloadMetadata(Context context, List<Item> items) throws SQLException {
+        // keep the number of query parameters reasonable
+        for (List<Item> partition : ListUtils.partition(items, 1000)) {
+            itemDAO.findWithMetadata(context, partition);
+        }
+    }
+
+    @Override
+    public void preloadBundles(Context context, List<Item> items, String name) throws SQLException {
+        // keep the number of query parameters reasonable
+        for (List<Item> partition : ListUtils.partition(items, 1000)) {
+            List<Bundle> bundles = new ArrayList<>();
+            for (Item item : itemDAO.findWithBundles(context, partition)) {
+                bundles.addAll(item.getBundles());
+            }
+            bundleService.preloadBitstreams(context, bundles, name);
+        }
+    }
+
+    /**
+     * Rebuild the cache of regular and virtual metadata of the item
+     * @param context the context used to compute the virtual metadata, or null to use a new one
+     * @param item    the item
+     */
+    private void rebuildMetadataCache(Context context, Item item) {
+        List<MetadataValue> dbMetadataValues = item.getMetadata();
+
+        List<MetadataValue> fullMetadataValueList = new LinkedList<>();
+        if (context != null) {
+            fullMetadataValueList.addAll(relationshipMetadataService.getRelationshipMetadata(context, item, true));
+        } else {
+            fullMetadataValueList.addAll(relationshipMetadataService.getRelationshipMetadata(item, true));
+        }
+        fullMetadataValueList.addAll(dbMetadataValues);
+
+        item.setCachedMetadata(MetadataValueComparators.sort(fullMetadataValueList));
+    }
+
     /**
      * Supports moving metadata by adding the metadata value or updating the place of the relationship
      */
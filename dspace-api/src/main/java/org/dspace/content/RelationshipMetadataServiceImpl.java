@@ -55,7 +55,17 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
 
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
-        Context context = new Context();
+        return getRelationshipMetadata(new Context(), item, enableVirtualMetadata);
+    }
+
+    @Override
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item,
+                                                                   boolean enableVirtualMetadata) {
+        List<RelationshipMetadataValue> cachedMetadataValueList =
+            context.getCachedRelationshipMetadata(item, enableVirtualMetadata);
+        if (cachedMetadataValueList != null) {
+            return copyMetadataValues(item, cachedMetadataValueList);
+        }
         List<RelationshipMetadataValue> fullMetadataValueList = new LinkedList<>();
         try {
             EntityType entityType = itemService.getEntityType(context, item);
@@ -74,6 +84,14 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
                 //       from the perspective of this item. In other words, given a relationship with this item,
                 //       the other item should have "latest status" in order to appear in relation.* fields.
                 List<Relationship> relationships = relationshipService.findByItem(context, item, -1, -1, true);
+                if (enableVirtualMetadata) {
+                    // the virtual metadata is read from the related items, load all their metadata at once
+                    itemService.preloadMetadata(context, relationships.stream()
+                        .map(relationship -> item.getID().equals(relationship.getLeftItem().getID())
+                            ? relationship.getRightItem() : relationship.getLeftItem())
+                        .distinct()
+                        .collect(Collectors.toList()));
+                }
                 for (Relationship relationship : relationships) {
                     fullMetadataValueList
                         .addAll(findRelationshipMetadataValueForItemRelationship(context, item, entityType.getLabel(),
@@ -83,10 +101,36 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
             }
         } catch (SQLException e) {
             log.error("Lookup for Relationships for item with uuid: " + item.getID() + " caused DSpace to crash", e);
+            return fullMetadataValueList;
         }
+        context.cacheRelationshipMetadata(item, enableVirtualMetadata, fullMetadataValueList);
         return fullMetadataValueList;
     }
 
+    /**
+     * Copy cached metadata values, which may have been computed for another instance of the same item.
+     * @param item the item the values belong to.
+     * @param metadataValues the cached values.
+     * @return copies of the values, bound to the given item.
+     */
+    private List<RelationshipMetadataValue> copyMetadataValues(Item item,
+                                                               List<RelationshipMetadataValue> metadataValues) {
+        List<RelationshipMetadataValue> copies = new LinkedList<>();
+        for (RelationshipMetadataValue metadataValue : metadataValues) {
+            RelationshipMetadataValue copy = new RelationshipMetadataValue();
+            copy.setMetadataField(metadataValue.getMetadataField());
+            copy.setValue(metadataValue.getValue());
+            copy.setLanguage(metadataValue.getLanguage());
+            copy.setAuthority(metadataValue.getAuthority());
+            copy.setConfidence(metadataValue.getConfidence());
+            copy.setPlace(metadataValue.getPlace());
+            copy.setUseForPlace(metadataValue.isUseForPlace());
+            copy.setDSpaceObject(item);
+            copies.add(copy);
+        }
+        return copies;
+    }
+
     /**
      * Create the list of relation.*.latestForDiscovery virtual metadata values for the given item.
      * @param context the DSpace context.
@@ -13,6 +13,7 @@ import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
@@ -130,18 +131,42 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
         return aliasList.toArray(new String[aliasList.size()]);
     }
 
-    private Transformer transformer = null;
+    private Templates templates = null;
     private File transformFile = null;
     private long transformLastModified = 0;
 
     /**
      * Initialize the Transformation stylesheet from configured stylesheet file.
+     * The compiled stylesheet is cached, and every call gets its own
+     * Transformer, which is not thread-safe, so the same plugin instance can
+     * be used by several threads.
      *
      * @param direction the direction of xwalk, either "submission" or
      *                  "dissemination"
      * @return transformer or null if there was error initializing.
      */
     protected Transformer getTransformer(String direction) {
+        Templates currentTemplates = getTemplates(direction);
+        if (currentTemplates == null) {
+            return null;
+        }
+        try {
+            return currentTemplates.newTransformer();
+        } catch (TransformerConfigurationException e) {
+            LOG.error("Failed to create a transformer for XSLTCrosswalk({}):  {}",
+                      getPluginInstanceName(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Compile the configured stylesheet, the first time or when it changed.
+     *
+     * @param direction the direction of xwalk, either "submission" or
+     *                  "dissemination"
+     * @return the compiled stylesheet or null if there was error initializing.
+     */
+    private synchronized Templates getTemplates(String direction) {
         if (transformFile == null) {
             String myAlias = getPluginInstanceName();
             if (myAlias == null) {
@@ -164,11 +189,11 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
         }
 
         // load if first time, or reload if stylesheet changed:
-        if (transformer == null ||
+        if (templates == null ||
             transformFile.lastModified() > transformLastModified) {
             try {
                 LOG.debug(
-                    (transformer == null ? "Loading {} XSLT stylesheet from {}"
+                    (templates == null ? "Loading {} XSLT stylesheet from {}"
                             : "Reloading {} XSLT stylesheet from {}"),
                     getPluginInstanceName(), transformFile.toString());
 
@@ -176,13 +201,13 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
                     = new StreamSource(new FileInputStream(transformFile));
                 TransformerFactory transformerFactory
                     = TransformerFactory.newInstance();
-                transformer = transformerFactory.newTransformer(transformSource);
+                templates = transformerFactory.newTemplates(transformSource);
                 transformLastModified = transformFile.lastModified();
             } catch (TransformerConfigurationException | FileNotFoundException e) {
                 LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
                           getPluginInstanceName(), e.toString());
             }
         }
-        return transformer;
+        return templates;
     }
 }
@@ -121,7 +121,7 @@ public class XSLTDisseminationCrosswalk
     private boolean preferList = false;
 
     // load the namespace and schema from config
-    private void init()
+    private synchronized void init()
         throws CrosswalkInternalException {
         if (namespaces != null || schemaLocation != null) {
             return;
@@ -31,6 +31,49 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    /**
+     * Find the deleted bitstreams following the given one, in identifier order. Unlike an offset, the position is
+     * not affected by the rows removed in the meantime, and the query does not slow down on the last pages.
+     *
+     * @param context the dspace context
+     * @param after   the identifier of the last bitstream of the previous page, or null for the first page
+     * @param limit   the maximum number of bitstreams to return
+     * @return the deleted bitstreams
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
+    /**
+     * Find which internal identifiers of the given bitstreams are also used by other bitstreams.
+     *
+     * @param context    the dspace context
+     * @param bitstreams the bitstreams
+     * @return the internal identifiers used by bitstreams outside of the given list
+     * @throws SQLException if database error
+     */
+    public List<String> findSharedInternalIdentifiers(Context context, List<Bitstream> bitstreams)
+        throws SQLException;
+
+    /**
+     * Find which of the given bitstreams belong to an archived or withdrawn item, in a single query.
+     *
+     * @param context    the dspace context
+     * @param bitstreams the bitstreams
+     * @return the bitstreams of installed items
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findInInstalledItems(Context context, List<Bitstream> bitstreams) throws SQLException;
+
+    /**
+     * Delete the given bitstreams, with their metadata and policies, in a few bulk statements.
+     * The bitstreams should not be used in the session afterwards.
+     *
+     * @param context    the dspace context
+     * @param bitstreams the bitstreams
+     * @throws SQLException if database error
+     */
+    public void deleteAll(Context context, List<Bitstream> bitstreams) throws SQLException;
+
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException;
@@ -8,6 +8,7 @@
 package org.dspace.content.dao;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import org.dspace.content.Bundle;
 import org.dspace.core.Context;
@@ -22,4 +23,24 @@ import org.dspace.core.Context;
  */
 public interface BundleDAO extends DSpaceObjectLegacySupportDAO<Bundle> {
     int countRows(Context context) throws SQLException;
+
+    /**
+     * Load the given bundles together with their metadata values, in a single query.
+     *
+     * @param context context
+     * @param bundles the bundles
+     * @return the bundles, with their metadata initialized
+     * @throws SQLException if database error
+     */
+    List<Bundle> findWithMetadata(Context context, List<Bundle> bundles) throws SQLException;
+
+    /**
+     * Load the given bundles together with their bitstreams, in a single query.
+     *
+     * @param context context
+     * @param bundles the bundles
+     * @return the bundles, with their bitstreams initialized
+     * @throws SQLException if database error
+     */
+    List<Bundle> findWithBitstreams(Context context, List<Bundle> bundles) throws SQLException;
 }
@@ -33,6 +33,29 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
 
     Iterator<Item> findAll(Context context, boolean archived, int limit, int offset) throws SQLException;
 
+    /**
+     * Find the items within a range of UUIDs, to let parallel consumers share a scan of the items.
+     *
+     * @param context  the DSpace context.
+     * @param archived whether to find archived or non archived items.
+     * @param after    the UUID after which the range starts, or null for the first range.
+     * @param upTo     the last UUID of the range, or null for the last range.
+     * @return iterator over the items of the range, in the order of their UUIDs.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllInRange(Context context, boolean archived, UUID after, UUID upTo) throws SQLException;
+
+    /**
+     * Split the items into ranges of UUIDs of about the same size, see {@link #findAllInRange}.
+     *
+     * @param context  the DSpace context.
+     * @param archived whether to split archived or non archived items.
+     * @param ranges   the number of ranges wanted.
+     * @return the boundaries between the ranges.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findIdBoundaries(Context context, boolean archived, int ranges) throws SQLException;
+
     @Deprecated Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException;
 
     /**
@@ -215,4 +238,24 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
                    boolean discoverable)
         throws SQLException;
 
+    /**
+     * Load the given items together with their metadata values, in a single query.
+     *
+     * @param context context
+     * @param items   the items
+     * @return the items, with their metadata initialized
+     * @throws SQLException if database error
+     */
+    List<Item> findWithMetadata(Context context, List<Item> items) throws SQLException;
+
+    /**
+     * Load the given items together with their bundles, in a single query.
+     *
+     * @param context context
+     * @param items   the items
+     * @return the items, with their bundles initialized
+     * @throws SQLException if database error
+     */
+    List<Item> findWithBundles(Context context, List<Item> items) throws SQLException;
+
 }
@@ -8,11 +8,13 @@
 package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -59,6 +61,68 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery criteriaQuery = getCriteriaQuery(criteriaBuilder, Bitstream.class);
+        Root<Bitstream> bitstreamRoot = criteriaQuery.from(Bitstream.class);
+        criteriaQuery.select(bitstreamRoot);
+        criteriaQuery.orderBy(criteriaBuilder.asc(bitstreamRoot.get(Bitstream_.ID)));
+        if (after == null) {
+            criteriaQuery.where(criteriaBuilder.equal(bitstreamRoot.get(Bitstream_.deleted), true));
+        } else {
+            criteriaQuery.where(criteriaBuilder.and(
+                criteriaBuilder.equal(bitstreamRoot.get(Bitstream_.deleted), true),
+                criteriaBuilder.greaterThan(bitstreamRoot.get(Bitstream_.id), after)
+            ));
+        }
+        return list(context, criteriaQuery, false, Bitstream.class, limit, -1);
+    }
+
+    @Override
+    public List<String> findSharedInternalIdentifiers(Context context, List<Bitstream> bitstreams)
+        throws SQLException {
+        if (bitstreams.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = createQuery(context, "SELECT DISTINCT b.internalId FROM Bitstream b " +
+            "WHERE b.internalId IN (:internalIds) AND b NOT IN (:bitstreams)");
+        query.setParameter("internalIds", bitstreams.stream().map(Bitstream::getInternalId).distinct()
+                                                    .collect(Collectors.toList()));
+        query.setParameter("bitstreams", bitstreams);
+        @SuppressWarnings("unchecked")
+        List<String> internalIds = query.getResultList();
+        return internalIds;
+    }
+
+    @Override
+    public List<Bitstream> findInInstalledItems(Context context, List<Bitstream> bitstreams) throws SQLException {
+        if (bitstreams.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = createQuery(context, "SELECT DISTINCT bit FROM Bundle b JOIN b.bitstreams bit JOIN b.items i " +
+            "WHERE bit IN (:bitstreams) AND (i.inArchive = true OR i.withdrawn = true)");
+        query.setParameter("bitstreams", bitstreams);
+        return findMany(context, query);
+    }
+
+    @Override
+    public void deleteAll(Context context, List<Bitstream> bitstreams) throws SQLException {
+        if (bitstreams.isEmpty()) {
+            return;
+        }
+        // the metadata and policies are cascaded when a single bitstream is removed, remove them first
+        for (String hql : List.of("DELETE FROM MetadataValue WHERE dSpaceObject IN (:bitstreams)",
+                                  "DELETE FROM ResourcePolicy WHERE dSpaceObject IN (:bitstreams)")) {
+            Query query = createQuery(context, hql);
+            query.setParameter("bitstreams", bitstreams);
+            query.executeUpdate();
+        }
+        Query query = createQuery(context, "DELETE FROM Bitstream WHERE id IN (:ids)");
+        query.setParameter("ids", bitstreams.stream().map(Bitstream::getID).collect(Collectors.toList()));
+        query.executeUpdate();
+    }
+
     @Override
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
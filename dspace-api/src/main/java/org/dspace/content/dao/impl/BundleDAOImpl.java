@@ -8,7 +8,9 @@
 package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
+import java.util.List;
 
+import jakarta.persistence.Query;
 import org.dspace.content.Bundle;
 import org.dspace.content.dao.BundleDAO;
 import org.dspace.core.AbstractHibernateDSODAO;
@@ -31,4 +33,26 @@ public class BundleDAOImpl extends AbstractHibernateDSODAO<Bundle> implements Bu
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) from Bundle"));
     }
+
+    @Override
+    public List<Bundle> findWithMetadata(Context context, List<Bundle> bundles) throws SQLException {
+        if (bundles.isEmpty()) {
+            return bundles;
+        }
+        Query query = createQuery(context,
+            "SELECT DISTINCT b FROM Bundle b LEFT JOIN FETCH b.metadata WHERE b IN (:bundles)");
+        query.setParameter("bundles", bundles);
+        return findMany(context, query);
+    }
+
+    @Override
+    public List<Bundle> findWithBitstreams(Context context, List<Bundle> bundles) throws SQLException {
+        if (bundles.isEmpty()) {
+            return bundles;
+        }
+        Query query = createQuery(context, "SELECT DISTINCT b FROM Bundle b LEFT JOIN FETCH b.bitstreams " +
+            "LEFT JOIN FETCH b.primaryBitstream WHERE b IN (:bundles)");
+        query.setParameter("bundles", bundles);
+        return findMany(context, query);
+    }
 }
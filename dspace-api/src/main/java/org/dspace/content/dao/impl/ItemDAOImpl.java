@@ -11,8 +11,10 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.persistence.Query;
@@ -35,6 +37,7 @@ import org.dspace.contentreport.QueryOperator;
 import org.dspace.contentreport.QueryPredicate;
 import org.dspace.core.AbstractHibernateDSODAO;
 import org.dspace.core.Context;
+import org.dspace.core.KeysetIterator;
 import org.dspace.core.UUIDIterator;
 import org.dspace.eperson.EPerson;
 import org.dspace.util.JpaCriteriaBuilderKit;
@@ -54,11 +57,19 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived) throws SQLException {
-        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE inArchive=:in_archive ORDER BY id");
-        query.setParameter("in_archive", archived);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateByKeyset(context, Item.class, "dso.inArchive = :in_archive", Map.of("in_archive", archived));
+    }
+
+    @Override
+    public Iterator<Item> findAllInRange(Context context, boolean archived, UUID after, UUID upTo) throws SQLException {
+        return iterateByKeyset(context, Item.class, "dso.inArchive = :in_archive", Map.of("in_archive", archived),
+                               after, upTo, KeysetIterator.DEFAULT_CHUNK_SIZE);
+    }
+
+    @Override
+    public List<UUID> findIdBoundaries(Context context, boolean archived, int ranges) throws SQLException {
+        return findKeysetBoundaries(context, Item.class, "dso.inArchive = :in_archive",
+                                    Map.of("in_archive", archived), ranges);
     }
 
     @Override
@@ -75,55 +86,37 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException {
-        Query query = createQuery(context,
-                "SELECT i.id FROM Item i WHERE inArchive=:in_archive or withdrawn=:withdrawn ORDER BY id");
-        query.setParameter("in_archive", archived);
-        query.setParameter("withdrawn", withdrawn);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateByKeyset(context, Item.class, "dso.inArchive = :in_archive or dso.withdrawn = :withdrawn",
+                               Map.of("in_archive", archived, "withdrawn", withdrawn));
     }
 
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
         //       It does not include workspace, workflow or template items.
-        Query query = createQuery(
-            context,
-            "SELECT i.id FROM Item as i " +
-            "LEFT JOIN Version as v ON i = v.item " +
-            "WHERE i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL) " +
-            "ORDER BY i.id"
-        );
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateByKeyset(context, Item.class,
+            "dso.inArchive = true or dso.withdrawn = true or " +
+            "(dso.inArchive = false and exists (SELECT v.id FROM Version v WHERE v.item = dso))",
+            Map.of());
     }
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived,
                                   boolean withdrawn, boolean discoverable, Instant lastModified)
         throws SQLException {
-        StringBuilder queryStr = new StringBuilder();
-        queryStr.append("SELECT i.id FROM Item i");
-        queryStr.append(" WHERE (inArchive = :in_archive OR withdrawn = :withdrawn)");
-        queryStr.append(" AND discoverable = :discoverable");
+        StringBuilder where = new StringBuilder();
+        where.append("(dso.inArchive = :in_archive OR dso.withdrawn = :withdrawn)");
+        where.append(" AND dso.discoverable = :discoverable");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("in_archive", archived);
+        parameters.put("withdrawn", withdrawn);
+        parameters.put("discoverable", discoverable);
 
         if (lastModified != null) {
-            queryStr.append(" AND lastModified > :last_modified");
+            where.append(" AND dso.lastModified > :last_modified");
+            parameters.put("last_modified", lastModified);
         }
-        queryStr.append(" ORDER BY i.id");
-
-        Query query = createQuery(context, queryStr.toString());
-        query.setParameter("in_archive", archived);
-        query.setParameter("withdrawn", withdrawn);
-        query.setParameter("discoverable", discoverable);
-        if (lastModified != null) {
-            query.setParameter("last_modified", lastModified);
-        }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateByKeyset(context, Item.class, where.toString(), parameters);
     }
 
     @Override
@@ -307,6 +300,11 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
     @Override
     public Iterator<Item> findArchivedByCollection(Context context, Collection collection, Integer limit,
                                                    Integer offset) throws SQLException {
+        if (limit == null && offset == null) {
+            return iterateByKeyset(context, Item.class,
+                                   "dso.inArchive = true and :collection member of dso.collections",
+                                   Map.of("collection", collection));
+        }
         // Select UUID of all items which have this "collection" in their list of collections and are in_archive
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
         CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
@@ -360,19 +358,9 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAllByCollection(Context context, Collection collection) throws SQLException {
-        // Select UUID of all items which have this "collection" in their list of collections
-        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
-        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
-        Root<Item> itemRoot = criteriaQuery.from(Item.class);
-        criteriaQuery.select(itemRoot.get(Item_.id));
-        criteriaQuery.where(criteriaBuilder.isMember(collection, itemRoot.get(Item_.collections)));
-        criteriaQuery.orderBy(criteriaBuilder.asc(itemRoot.get((Item_.id))));
-
-        // Transform into a query object to execute
-        Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        // Iterate over all items which have this "collection" in their list of collections
+        return iterateByKeyset(context, Item.class, ":collection member of dso.collections",
+                               Map.of("collection", collection));
     }
 
     @Override
@@ -436,6 +424,28 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return count(query);
     }
 
+    @Override
+    public List<Item> findWithMetadata(Context context, List<Item> items) throws SQLException {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Query query = createQuery(context,
+            "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.metadata WHERE i IN (:items)");
+        query.setParameter("items", items);
+        return findMany(context, query);
+    }
+
+    @Override
+    public List<Item> findWithBundles(Context context, List<Item> items) throws SQLException {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Query query = createQuery(context,
+            "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.bundles WHERE i IN (:items)");
+        query.setParameter("items", items);
+        return findMany(context, query);
+    }
+
     @Override
     public Iterator<Item> findByLastModifiedSince(Context context, Instant since)
         throws SQLException {
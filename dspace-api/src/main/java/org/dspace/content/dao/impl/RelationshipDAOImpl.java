@@ -48,6 +48,10 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
         CriteriaQuery<Relationship> criteriaQuery = getCriteriaQuery(criteriaBuilder, Relationship.class);
         Root<Relationship> relationshipRoot = criteriaQuery.from(Relationship.class);
+        // load both items and the type with the relationships, instead of one query per related item
+        relationshipRoot.fetch(Relationship_.leftItem);
+        relationshipRoot.fetch(Relationship_.rightItem);
+        relationshipRoot.fetch(Relationship_.relationshipType);
         criteriaQuery.select(relationshipRoot);
 
         criteriaQuery.where(
@@ -185,6 +185,17 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
      */
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    /**
+     * Retrieve the bitstreams with the deleted flag set to true following the given one, in identifier order
+     *
+     * @param context the dspace context
+     * @param after   the identifier of the last bitstream of the previous page, or null for the first page
+     * @param limit   the maximum number of bitstreams to return
+     * @return a list of bitstreams that have been "deleted"
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
 
     /**
      * Remove a bitstream that has been set to "deleted" from the database
@@ -196,8 +207,42 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
      */
     public void expunge(Context context, Bitstream bitstream) throws SQLException, AuthorizeException;
 
+    /**
+     * Remove bitstreams that have been set to "deleted" from the database, using bulk statements.
+     * The bitstreams must not be used with the context afterwards.
+     *
+     * @param context    the dspace context
+     * @param bitstreams the bitstreams to delete from the database
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public void expunge(Context context, List<Bitstream> bitstreams) throws SQLException, AuthorizeException;
+
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    /**
+     * Find which internal identifiers of the given bitstreams are also used by other bitstreams, whose files
+     * must therefore be kept.
+     *
+     * @param context    the dspace context
+     * @param bitstreams the bitstreams
+     * @return the shared internal identifiers
+     * @throws SQLException if database error
+     */
+    public List<String> findSharedInternalIdentifiers(Context context, List<Bitstream> bitstreams)
+        throws SQLException;
+
+    /**
+     * Find which of the given bitstreams belong to an installed (archived or withdrawn) item,
+     * using as few queries as possible.
+     *
+     * @param context    the dspace context
+     * @param bitstreams the bitstreams
+     * @return the bitstreams of installed items
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findInInstalledItems(Context context, List<Bitstream> bitstreams) throws SQLException;
+
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException;
 
     public Iterator<Bitstream> getCollectionBitstreams(Context context, Collection collection) throws SQLException;
@@ -55,6 +55,19 @@ public interface BundleService extends DSpaceObjectService<Bundle>, DSpaceObject
     public void addBitstream(Context context, Bundle bundle, Bitstream bitstream)
         throws SQLException, AuthorizeException;
 
+    /**
+     * Add several existing bitstreams to this bundle at once. This has the same effect as adding them one by one,
+     * but the owning item is updated and the policies to inherit are read only once.
+     *
+     * @param context    DSpace Context
+     * @param bundle     the bitstream bundle
+     * @param bitstreams the bitstreams to add
+     * @throws AuthorizeException if authorization error
+     * @throws SQLException       if database error
+     */
+    public void addBitstreams(Context context, Bundle bundle, List<Bitstream> bitstreams)
+        throws SQLException, AuthorizeException;
+
 
     /**
      * Remove a bitstream from this bundle - the bitstream is only deleted if
@@ -146,4 +159,15 @@ public interface BundleService extends DSpaceObjectService<Bundle>, DSpaceObject
     public void setOrder(Context context, Bundle bundle, UUID bitstreamIds[]) throws AuthorizeException, SQLException;
 
     int countTotal(Context context) throws SQLException;
+
+    /**
+     * Load the bitstreams of the given bundles having the given name in a couple of queries, instead of
+     * several queries per bundle when they are first accessed.
+     *
+     * @param context DSpace context object
+     * @param bundles the bundles
+     * @param name    the name of the bundles whose bitstreams are loaded, or null for all of them
+     * @throws SQLException if database error
+     */
+    void preloadBitstreams(Context context, List<Bundle> bundles, String name) throws SQLException;
 }
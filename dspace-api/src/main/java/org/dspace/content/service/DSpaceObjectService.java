@@ -312,6 +312,27 @@ public interface DSpaceObjectService<T extends DSpaceObject> {
     public MetadataValue addMetadata(Context context, T dso, MetadataField metadataField, String language,
            String value, String authority, int confidence) throws SQLException;
 
+    /**
+     * Add a single metadata value at the given place, e.g. when copying the metadata of another object. Unlike
+     * {@link #addMetadata(Context, DSpaceObject, String, String, String, String, String, String, int, int)} the
+     * metadata field does not have to be looked up again.
+     *
+     * @param context       DSpace context
+     * @param dso           DSpaceObject
+     * @param metadataField the metadata field to which the value is to be set
+     * @param language      the ISO639 language code, optionally followed by an underscore
+     *                      and the ISO3166 country code. <code>null</code> means the
+     *                      value has no language (for example, a date).
+     * @param value         the value to add.
+     * @param authority     the external authority key for this value (or null)
+     * @param confidence    the authority confidence (default 0)
+     * @param place         the place of the value
+     * @return the MetadataValue added ot the object
+     * @throws SQLException if database error
+     */
+    public MetadataValue addMetadata(Context context, T dso, MetadataField metadataField, String language,
+           String value, String authority, int confidence, int place) throws SQLException;
+
     /**
      * Add a metadatafield. These are appended to existing values.
      * Use <code>clearMetadata</code> to remove values.
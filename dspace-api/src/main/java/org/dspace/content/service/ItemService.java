@@ -117,6 +117,30 @@ public interface ItemService
      */
     Iterator<Item> findAll(Context context, Integer limit, Integer offset) throws SQLException;
 
+    /**
+     * Get the items in the archive within a range of UUIDs, in the order of their UUIDs. Together with
+     * {@link #findIdBoundaries(Context, int)}, this lets parallel consumers, each with its own context, share a
+     * scan of the archive.
+     *
+     * @param context DSpace context object
+     * @param after   the UUID after which the range starts, or null for the first range
+     * @param upTo    the last UUID of the range, or null for the last range
+     * @return an iterator over the items of the range.
+     * @throws SQLException if database error
+     */
+    Iterator<Item> findAllInRange(Context context, UUID after, UUID upTo) throws SQLException;
+
+    /**
+     * Split the items in the archive into ranges of UUIDs of about the same size. Range i goes from boundary i - 1
+     * (or null) to boundary i (or null for the last range).
+     *
+     * @param context DSpace context object
+     * @param ranges  the number of ranges wanted
+     * @return the boundaries between the ranges, fewer than ranges - 1 if there are not enough items.
+     * @throws SQLException if database error
+     */
+    List<UUID> findIdBoundaries(Context context, int ranges) throws SQLException;
+
     /**
      * Get all "final" items in the archive, both archived ("in archive" flag) or
      * withdrawn items are included. The order of the list is indeterminate.
@@ -994,6 +1018,39 @@ public interface ItemService
     List<MetadataValue> getMetadata(Item item, String schema, String element, String qualifier,
                                            String lang, boolean enableVirtualMetadata);
 
+    /**
+     * Build the cache of regular and virtual metadata of the item (if it is not valid), computing the virtual
+     * metadata with the given context. The following calls to
+     * {@link #getMetadata(Item, String, String, String, String)} on this item are answered from this cache,
+     * so callers which hold a context (e.g. indexing) should call this method first instead of letting
+     * getMetadata compute the virtual metadata with a new context.
+     *
+     * @param context DSpace context object
+     * @param item    Item
+     */
+    void cacheVirtualMetadata(Context context, Item item);
+
+    /**
+     * Load the metadata values of all the given items in a single query, instead of one query per item
+     * when their metadata is first accessed.
+     *
+     * @param context DSpace context object
+     * @param items   the items
+     * @throws SQLException if database error
+     */
+    void preloadMetadata(Context context, List<Item> items) throws SQLException;
+
+    /**
+     * Load the bundles of all the given items, and the bitstreams of the bundles having the given name, in
+     * a few queries instead of several queries per item when they are first accessed.
+     *
+     * @param context DSpace context object
+     * @param items   the items
+     * @param name    the name of the bundles whose bitstreams are loaded, or null for all of them
+     * @throws SQLException if database error
+     */
+    void preloadBundles(Context context, List<Item> items, String name) throws SQLException;
+
     /**
      * Retrieve the label of the entity type of the given item.
      * @param item the item.
@@ -8,9 +8,14 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -19,6 +24,8 @@ import org.apache.commons.collections.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.MetadataField;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 
 /**
  * Hibernate implementation used by DSpaceObject Database Access Objects.
@@ -51,6 +58,152 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Iterate over the objects matching a condition in chunks of {@link KeysetIterator#DEFAULT_CHUNK_SIZE}, see
+     * {@link KeysetIterator}.
+     *
+     * @param context    current DSpace context.
+     * @param clazz      DSO subtype to iterate over.
+     * @param where      HQL condition on the objects, aliased "dso", or null for all the objects.
+     * @param parameters the parameters of the condition.
+     * @return the objects, in the order of their UUIDs.
+     */
+    public Iterator<T> iterateByKeyset(Context context, Class<T> clazz, String where, Map<String, Object> parameters) {
+        return iterateByKeyset(context, clazz, where, parameters, null, null, KeysetIterator.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Iterate over the objects matching a condition within a range of UUIDs, see {@link KeysetIterator}.
+     *
+     * @param context    current DSpace context.
+     * @param clazz      DSO subtype to iterate over.
+     * @param where      HQL condition on the objects, aliased "dso", or null for all the objects.
+     * @param parameters the parameters of the condition.
+     * @param lowerBound the UUID after which the iteration starts (exclusive), or null.
+     * @param upperBound the UUID at which the iteration ends (inclusive), or null.
+     * @param chunkSize  number of objects loaded at once.
+     * @return the objects, in the order of their UUIDs.
+     */
+    public Iterator<T> iterateByKeyset(Context context, Class<T> clazz, String where, Map<String, Object> parameters,
+                                       UUID lowerBound, UUID upperBound, int chunkSize) {
+        return new KeysetIterator<>(context, this, clazz, where, parameters, lowerBound, upperBound, chunkSize);
+    }
+
+    /**
+     * Split the objects matching a condition into ranges of UUIDs of about the same size, to be iterated over by
+     * parallel consumers with {@link #iterateByKeyset(Context, Class, String, Map, UUID, UUID, int)}. Consumer i
+     * iterates from boundary i - 1 (or null) to boundary i (or null for the last one).
+     *
+     * @param context    current DSpace context.
+     * @param clazz      DSO subtype to iterate over.
+     * @param where      HQL condition on the objects, aliased "dso", or null for all the objects.
+     * @param parameters the parameters of the condition.
+     * @param ranges     the number of ranges wanted.
+     * @return the ranges - 1 boundaries between the ranges, fewer if there are not enough objects.
+     * @throws SQLException if database error
+     */
+    public List<UUID> findKeysetBoundaries(Context context, Class<T> clazz, String where,
+                                           Map<String, Object> parameters, int ranges) throws SQLException {
+        parameters = parameters != null ? parameters : Map.of();
+        Query countQuery = createQuery(context, "SELECT count(dso.id) FROM " + clazz.getSimpleName() + " dso"
+            + (where != null ? " WHERE " + where : ""));
+        parameters.forEach(countQuery::setParameter);
+        long count = (Long) countQuery.getSingleResult();
+
+        List<UUID> boundaries = new ArrayList<>();
+        for (int i = 1; i < ranges && count > 0; i++) {
+            long position = count * i / ranges;
+            if (position == 0) {
+                continue;
+            }
+            // the boundaries are only looked up once per scan, so offset queries are acceptable here
+            Query query = createQuery(context, "SELECT dso.id FROM " + clazz.getSimpleName() + " dso"
+                + (where != null ? " WHERE " + where : "") + " ORDER BY dso.id");
+            parameters.forEach(query::setParameter);
+            query.setFirstResult((int) position - 1);
+            query.setMaxResults(1);
+            @SuppressWarnings("unchecked")
+            List<UUID> ids = query.getResultList();
+            if (!ids.isEmpty() && !boundaries.contains(ids.get(0))) {
+                boundaries.add(ids.get(0));
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Find the next chunk of UUIDs of a keyset iteration.
+     *
+     * @param context    current DSpace context.
+     * @param clazz      DSO subtype to iterate over.
+     * @param where      HQL condition on the objects, aliased "dso", or null for all the objects.
+     * @param parameters the parameters of the condition.
+     * @param after      the last UUID of the previous chunk, or null for the first chunk.
+     * @param upTo       the last UUID of the iteration, or null.
+     * @param limit      the size of the chunk.
+     * @return the UUIDs, in ascending order.
+     * @throws SQLException if database error
+     */
+    protected List<UUID> findIdsAfter(Context context, Class<T> clazz, String where, Map<String, Object> parameters,
+                                      UUID after, UUID upTo, int limit) throws SQLException {
+        StringBuilder queryStr = new StringBuilder("SELECT dso.id FROM ").append(clazz.getSimpleName())
+                                                                         .append(" dso WHERE 1=1");
+        if (where != null) {
+            queryStr.append(" AND (").append(where).append(")");
+        }
+        if (after != null) {
+            queryStr.append(" AND dso.id > :keyset_after");
+        }
+        if (upTo != null) {
+            queryStr.append(" AND dso.id <= :keyset_up_to");
+        }
+        queryStr.append(" ORDER BY dso.id");
+
+        Query query = createQuery(context, queryStr.toString());
+        parameters.forEach(query::setParameter);
+        if (after != null) {
+            query.setParameter("keyset_after", after);
+        }
+        if (upTo != null) {
+            query.setParameter("keyset_up_to", upTo);
+        }
+        query.setMaxResults(limit);
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = query.getResultList();
+        return ids;
+    }
+
+    /**
+     * Load the objects of a chunk of a keyset iteration in one query.
+     *
+     * @param context current DSpace context.
+     * @param clazz   DSO subtype to load.
+     * @param ids     the UUIDs of the objects.
+     * @return the objects which still exist, in the order of their UUIDs.
+     * @throws SQLException if database error
+     */
+    protected List<T> findByIds(Context context, Class<T> clazz, List<UUID> ids) throws SQLException {
+        Query query = createQuery(context, "SELECT dso FROM " + clazz.getSimpleName()
+            + " dso WHERE dso.id IN (:ids) ORDER BY dso.id");
+        query.setParameter("ids", ids);
+        @SuppressWarnings("unchecked")
+        List<T> objects = query.getResultList();
+        return objects;
+    }
+
+    /**
+     * @param context current DSpace context.
+     * @param clazz   DSO subtype.
+     * @param id      the UUID of an object.
+     * @return true if the object is already loaded in the session of the context.
+     * @throws SQLException if database error
+     */
+    protected boolean isCached(Context context, Class<T> clazz, UUID id) throws SQLException {
+        SessionImplementor session = getHibernateSession(context).unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(clazz);
+        return session.getPersistenceContextInternal().containsEntity(session.generateEntityKey(id, persister));
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
@@ -23,6 +23,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.RelationshipMetadataValue;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
@@ -954,6 +956,29 @@ public class Context implements AutoCloseable {
         }
     }
 
+    /**
+     * Get the relationship metadata of the item computed earlier with this context,
+     * only available in READ_ONLY mode.
+     *
+     * @param item                  the item
+     * @param enableVirtualMetadata whether the metadata includes the virtual metadata
+     * @return the cached metadata, or null if it is not cached
+     */
+    public List<RelationshipMetadataValue> getCachedRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
+        if (isReadOnly()) {
+            return readOnlyCache.getCachedRelationshipMetadata(item, enableVirtualMetadata);
+        } else {
+            return null;
+        }
+    }
+
+    public void cacheRelationshipMetadata(Item item, boolean enableVirtualMetadata,
+                                          List<RelationshipMetadataValue> metadata) {
+        if (isReadOnly()) {
+            readOnlyCache.cacheRelationshipMetadata(item, enableVirtualMetadata, metadata);
+        }
+    }
+
     /**
      * Reload all entities related to this context.
      *
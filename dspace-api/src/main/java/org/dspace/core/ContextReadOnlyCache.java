@@ -8,6 +8,7 @@
 package org.dspace.core;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -15,6 +16,8 @@ import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.RelationshipMetadataValue;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.springframework.util.CollectionUtils;
@@ -41,6 +44,13 @@ public class ContextReadOnlyCache {
      */
     private final HashMap<String, Set<Group>> allMemberGroupsCache = new HashMap<>();
 
+    /**
+     * Relationship (virtual) metadata cache that is used when the context is in READ_ONLY mode.
+     * The key of the cache is: Item ID, Item last modification date, whether virtual metadata is enabled.
+     */
+    private final HashMap<Triple<String, String, Boolean>, List<RelationshipMetadataValue>> relationshipMetadataCache =
+        new HashMap<>();
+
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
         return authorizedActionsCache.get(buildAuthorizedActionKey(dspaceObject, action, eperson));
     }
@@ -79,10 +89,20 @@ public class ContextReadOnlyCache {
         return allMemberGroupsCache.get(buildAllMembersGroupKey(ePerson));
     }
 
+    public List<RelationshipMetadataValue> getCachedRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
+        return relationshipMetadataCache.get(buildRelationshipMetadataKey(item, enableVirtualMetadata));
+    }
+
+    public void cacheRelationshipMetadata(Item item, boolean enableVirtualMetadata,
+                                          List<RelationshipMetadataValue> metadata) {
+        relationshipMetadataCache.put(buildRelationshipMetadataKey(item, enableVirtualMetadata), metadata);
+    }
+
     public void clear() {
         authorizedActionsCache.clear();
         groupMembershipCache.clear();
         allMemberGroupsCache.clear();
+        relationshipMetadataCache.clear();
     }
 
     private String buildAllMembersGroupKey(EPerson ePerson) {
@@ -96,6 +116,13 @@ public class ContextReadOnlyCache {
                                      eperson == null ? "" : eperson.getID().toString());
     }
 
+    private ImmutableTriple<String, String, Boolean> buildRelationshipMetadataKey(Item item,
+                                                                                   boolean enableVirtualMetadata) {
+        return new ImmutableTriple<>(item.getID().toString(),
+                                     String.valueOf(item.getLastModified()),
+                                     enableVirtualMetadata);
+    }
+
     private Pair<String, String> buildGroupMembershipKey(Group group, EPerson eperson) {
         return new ImmutablePair<>(group == null ? "" : group.getName(),
                                    eperson == null ? "" : eperson.getID().toString());
@@ -0,0 +1,140 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.collect.AbstractIterator;
+import org.dspace.content.DSpaceObject;
+
+/**
+ * Iterator over the DSpace objects matching a query, in the order of their UUIDs, which loads them in chunks using
+ * keyset pagination: every chunk is selected with "id &gt; last id of the previous chunk", so reading deep into a
+ * large table costs the same as reading its start, and the iterator is not invalidated by a commit.
+ * <p>
+ * When the caller moves past a chunk, the objects of the chunk which were not already in the session are flushed
+ * and uncached, so that the session does not grow with the number of objects read. Objects of a previous chunk must
+ * therefore be reloaded before being used again. The iteration can be limited to a range of UUIDs, see
+ * {@link AbstractHibernateDSODAO#findKeysetBoundaries}, to let parallel consumers (each with its own Context) share
+ * a scan.
+ * </p>
+ *
+ * @param <T> class type
+ */
+public class KeysetIterator<T extends DSpaceObject> extends AbstractIterator<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final Context context;
+
+    private final AbstractHibernateDSODAO<T> dao;
+
+    private final Class<T> clazz;
+
+    private final String where;
+
+    private final Map<String, Object> parameters;
+
+    private final UUID upperBound;
+
+    private final int chunkSize;
+
+    // the last UUID read, the next chunk starts after it
+    private UUID lastId;
+
+    private boolean exhausted = false;
+
+    private Iterator<T> chunk = Collections.emptyIterator();
+
+    // the objects of the current chunk which this iterator brought into the session
+    private List<T> loaded = new ArrayList<>();
+
+    /**
+     * @param context    The relevant DSpace Context.
+     * @param dao        the DAO of the objects
+     * @param clazz      the class of the objects
+     * @param where      HQL condition on the objects, aliased "dso", or null for all the objects
+     * @param parameters the parameters of the condition
+     * @param lowerBound the UUID after which the iteration starts, or null to start from the first object
+     * @param upperBound the last UUID of the iteration, or null to iterate up to the last object
+     * @param chunkSize  number of objects loaded at once
+     */
+    public KeysetIterator(Context context, AbstractHibernateDSODAO<T> dao, Class<T> clazz, String where,
+                          Map<String, Object> parameters, UUID lowerBound, UUID upperBound, int chunkSize) {
+        this.context = context;
+        this.dao = dao;
+        this.clazz = clazz;
+        this.where = where;
+        this.parameters = parameters != null ? parameters : Collections.emptyMap();
+        this.lastId = lowerBound;
+        this.upperBound = upperBound;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected T computeNext() {
+        try {
+            while (!chunk.hasNext()) {
+                uncacheChunk();
+                if (exhausted) {
+                    return endOfData();
+                }
+                loadChunk();
+            }
+            return chunk.next();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void loadChunk() throws SQLException {
+        List<UUID> ids = dao.findIdsAfter(context, clazz, where, parameters, lastId, upperBound, chunkSize);
+        if (ids.size() < chunkSize) {
+            exhausted = true;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        lastId = ids.get(ids.size() - 1);
+
+        Set<UUID> cached = new HashSet<>();
+        for (UUID id : ids) {
+            if (dao.isCached(context, clazz, id)) {
+                cached.add(id);
+            }
+        }
+        List<T> objects = dao.findByIds(context, clazz, ids);
+        for (T object : objects) {
+            if (!cached.contains(object.getID())) {
+                loaded.add(object);
+            }
+        }
+        chunk = objects.iterator();
+    }
+
+    private void uncacheChunk() throws SQLException {
+        if (!loaded.isEmpty() && context.isValid()) {
+            if (context.getCurrentMode() != Context.Mode.READ_ONLY) {
+                // do not lose the changes made by the caller to the objects
+                dao.getHibernateSession(context).flush();
+            }
+            for (T object : loaded) {
+                context.uncacheEntity(object);
+            }
+        }
+        loaded = new ArrayList<>();
+    }
+}
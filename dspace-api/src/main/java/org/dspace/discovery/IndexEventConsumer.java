@@ -8,11 +8,15 @@
 package org.dspace.discovery;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.apache.logging.log4j.Logger;
+import org.dspace.browse.BrowseValueStore;
 import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Constants;
@@ -50,6 +54,10 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    BrowseValueStore browseValueStore = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                             .getServiceByName(BrowseValueStore.class.getName(),
+                                                                               BrowseValueStore.class);
+
     @Override
     public void initialize() throws Exception {
 
@@ -225,9 +233,20 @@ public class IndexEventConsumer implements Consumer {
                     log.error("Failed while UN-indexing object: " + uid, e);
                 }
             }
-            // update the changed Items not deleted because they were on create list
+            // update the changed Items not deleted because they were on create list, after letting the
+            // index plugins prepare them together
+            List<IndexableObject> toUpdate = new ArrayList<>();
             for (IndexableObject iu : objectsToUpdate) {
-                indexObject(ctx, iu, false);
+                iu.setIndexedObject(ctx.reloadEntity(iu.getIndexedObject()));
+                toUpdate.add(iu);
+            }
+            indexer.prepareIndexContent(ctx, toUpdate);
+            try {
+                for (IndexableObject iu : toUpdate) {
+                    indexObject(ctx, iu, false);
+                }
+            } finally {
+                indexer.prepareIndexContent(ctx, Collections.emptyList());
             }
             // update the created Items with a pre-db status
             for (IndexableObject iu : createdItemsToUpdate) {
@@ -238,6 +257,11 @@ public class IndexEventConsumer implements Consumer {
 
                 indexer.commit();
 
+                // the browse values may have changed with the items
+                if (browseValueStore != null) {
+                    browseValueStore.markStale();
+                }
+
                 // "free" the resources
                 objectsToUpdate.clear();
                 uniqueIdsToDelete.clear();
@@ -9,6 +9,7 @@ package org.dspace.discovery;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -43,6 +44,15 @@ public interface IndexingService {
     void indexContent(Context context, IndexableObject dso,
                       boolean force, boolean commit, boolean preDb) throws SQLException, SearchServiceException;
 
+    /**
+     * Prepare the indexing of the given objects, which are about to be indexed one after the other, so that
+     * the index plugins can load what they need for all of them at once. Call it again with an empty list
+     * once they have been indexed.
+     * @param context           The DSpace Context
+     * @param indexableObjects  The objects about to be indexed
+     */
+    void prepareIndexContent(Context context, List<IndexableObject> indexableObjects);
+
     void unIndexContent(Context context, IndexableObject dso)
         throws SQLException, IOException;
 
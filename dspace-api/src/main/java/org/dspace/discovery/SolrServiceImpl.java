@@ -29,6 +29,7 @@ import java.util.UUID;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.lang3.StringUtils;
@@ -119,6 +120,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected SolrSearchCore solrSearchCore;
     @Autowired
     protected ConfigurationService configurationService;
+    @Autowired(required = false)
+    protected List<SolrServiceIndexPlugin> solrServiceIndexPlugins;
 
     protected SolrServiceImpl() {
 
@@ -345,15 +348,19 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+                    List<IndexableObject> batch = new ArrayList<>();
                     while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
+                        batch.add(indexableObjects.next());
                         indexObject++;
-                        if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
-                            context.uncacheEntities();
+                        if ((indexObject % 100) == 0) {
+                            indexBatch(context, batch, force);
+                            batch.clear();
+                            if (indexableObjectService instanceof ItemIndexFactory) {
+                                context.uncacheEntities();
+                            }
                         }
                     }
+                    indexBatch(context, batch, force);
                 }
             }
             if (solrSearchCore.getSolr() != null) {
@@ -365,6 +372,38 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Index the objects of a batch which need to be, after letting the index plugins prepare them together.
+     *
+     * @param context The DSpace Context
+     * @param batch   The objects to index
+     * @param force   Force update even if not stale
+     */
+    private void indexBatch(Context context, List<IndexableObject> batch, boolean force) throws SQLException {
+        List<IndexableObject> toIndex = new ArrayList<>();
+        for (IndexableObject indexableObject : batch) {
+            try {
+                if (force || requiresIndexing(indexableObject.getUniqueIndexID(),
+                                              indexableObject.getLastModified())) {
+                    toIndex.add(indexableObject);
+                }
+            } catch (IOException | SearchServiceException e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        prepareIndexContent(context, toIndex);
+        try {
+            for (IndexableObject indexableObject : toIndex) {
+                indexContent(context, indexableObject, true);
+            }
+        } finally {
+            prepareIndexContent(context, Collections.emptyList());
+        }
+        for (IndexableObject indexableObject : batch) {
+            context.uncacheEntity(indexableObject.getIndexedObject());
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -1522,6 +1561,18 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public void prepareIndexContent(Context context, List<IndexableObject> indexableObjects) {
+        for (SolrServiceIndexPlugin solrServiceIndexPlugin : ListUtils.emptyIfNull(solrServiceIndexPlugins)) {
+            try {
+                solrServiceIndexPlugin.prepareIndex(context, indexableObjects);
+            } catch (Exception e) {
+                log.error("An error occurred while preparing the indexing of {} objects. Plugin: {}",
+                    indexableObjects.size(), solrServiceIndexPlugin.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
     @Override
     public void commit() throws SearchServiceException {
         try {
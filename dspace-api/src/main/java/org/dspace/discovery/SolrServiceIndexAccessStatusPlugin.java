@@ -8,7 +8,14 @@
 package org.dspace.discovery;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.access.status.DefaultAccessStatusHelper;
 import org.dspace.access.status.factory.AccessStatusServiceFactory;
@@ -21,14 +28,39 @@ import org.dspace.discovery.indexobject.IndexableItem;
 
 /**
  * This plugin enables the indexing of access status for the item as a filter
- * and keyword
+ * and keyword. The access statuses of the items indexed together are calculated
+ * at once by {@link #prepareIndex(Context, List)}.
  * @author paulo-graca
  *
  */
 public class SolrServiceIndexAccessStatusPlugin implements SolrServiceIndexPlugin {
 
+    private static final Logger log = LogManager.getLogger(SolrServiceIndexAccessStatusPlugin.class);
+
     AccessStatusService accessStatusService = AccessStatusServiceFactory.getInstance().getAccessStatusService();
 
+    // access statuses of the items prepared by the indexing thread, removed once used
+    private final ThreadLocal<Map<UUID, AccessStatus>> preparedAccessStatuses = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public void prepareIndex(Context context, List<? extends IndexableObject> indexableObjects) {
+        preparedAccessStatuses.remove();
+        List<Item> items = new ArrayList<>();
+        for (IndexableObject indexableObject : indexableObjects) {
+            if (indexableObject instanceof IndexableItem) {
+                items.add(((IndexableItem) indexableObject).getIndexedObject());
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            preparedAccessStatuses.set(new HashMap<>(accessStatusService.getItemsAccessStatus(context, items)));
+        } catch (SQLException e) {
+            log.error("Could not calculate the access status of {} items", items.size(), e);
+        }
+    }
+
     @Override
     public void additionalIndex(Context context, IndexableObject indexableObject, SolrInputDocument document) {
         if (indexableObject instanceof IndexableItem) {
@@ -62,7 +94,10 @@ public class SolrServiceIndexAccessStatusPlugin implements SolrServiceIndexPlugi
         UNKNOWN = "unknown"
      */
     private String retrieveItemAccessStatus(Context context, Item item) throws SQLException {
-        AccessStatus accessStatus = accessStatusService.getAccessStatus(context, item);
+        AccessStatus accessStatus = preparedAccessStatuses.get().remove(item.getID());
+        if (accessStatus == null) {
+            accessStatus = accessStatusService.getAccessStatus(context, item);
+        }
         return accessStatus.getStatus();
     }
 }
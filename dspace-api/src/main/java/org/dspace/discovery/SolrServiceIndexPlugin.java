@@ -7,6 +7,8 @@
  */
 package org.dspace.discovery;
 
+import java.util.List;
+
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.core.Context;
 
@@ -20,4 +22,15 @@ import org.dspace.core.Context;
 public interface SolrServiceIndexPlugin {
 
     public void additionalIndex(Context context, IndexableObject dso, SolrInputDocument document);
+
+    /**
+     * Called before the given objects are indexed one after the other, so that the plugin can load what it
+     * needs for all of them at once instead of once per object. Whatever was prepared by a previous call is
+     * released, the objects are prepared again with an empty list once they have been indexed.
+     *
+     * @param context          the DSpace context
+     * @param indexableObjects the objects about to be indexed
+     */
+    public default void prepareIndex(Context context, List<? extends IndexableObject> indexableObjects) {
+    }
 }
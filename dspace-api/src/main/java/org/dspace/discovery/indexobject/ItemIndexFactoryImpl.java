@@ -159,7 +159,8 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
             addFacetIndex(doc, "submitter", submitter.getID().toString(), submitter.getFullName());
         }
 
-        // Add the item metadata
+        // Add the item metadata, computing the virtual metadata with the indexing context
+        itemService.cacheVirtualMetadata(context, item);
         List<DiscoveryConfiguration> discoveryConfigurations = SearchUtils.getAllDiscoveryConfigurations(context, item);
         addDiscoveryFields(doc, context, indexableItem.getIndexedObject(), discoveryConfigurations);
 
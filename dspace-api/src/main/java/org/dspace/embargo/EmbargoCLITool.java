@@ -13,6 +13,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +46,11 @@ public class EmbargoCLITool {
 
     private static final EmbargoService embargoService = EmbargoServiceFactory.getInstance().getEmbargoService();
 
+    /**
+     * Number of Items processed (and committed) together
+     */
+    private static final int BATCH_SIZE = 100;
+
     /**
      * Default constructor
      */
@@ -54,6 +60,12 @@ public class EmbargoCLITool {
      * Command-line service to scan for every Item with an expired embargo,
      * and then lift that embargo.
      * <p>
+     * Embargoed Items are found through the lift date index maintained by
+     * {@link EmbargoService#setEmbargo} and the {@link EmbargoLiftConsumer},
+     * and are processed in committed batches. The index of the Items embargoed
+     * before it existed is filled by a database migration; use --reindex to
+     * rebuild it, e.g. after changing the lift date metadata field.
+     * <p>
      * Options:
      * <dl>
      * <dt>-c,--check</dt>
@@ -67,6 +79,9 @@ public class EmbargoCLITool {
      * <dt>-l,--lift</dt>
      * <dd>         Function: ONLY lift embargoes, do NOT check the state
      * of any embargoed Items.</dd>
+     * <dt>-r,--reindex</dt>
+     * <dd>         Rebuild the lift date index from the lift date metadata
+     * of all Items before processing them.</dd>
      * <dt>-n,--dryrun</dt>
      * <dd>         Do not change anything in the data model; print
      * message instead.</dd>
@@ -98,6 +113,8 @@ public class EmbargoCLITool {
 
         options.addOption("a", "adjust", false,
                           "Function: Adjust bitstreams policies");
+        options.addOption("r", "reindex", false,
+                          "Rebuild the lift date index from the lift date metadata of all Items.");
 
         options.addOption("h", "help", false, "help");
         CommandLine line = null;
@@ -144,13 +161,26 @@ public class EmbargoCLITool {
                     }
                 }
             } else {
-                Iterator<Item> ii = embargoService.findItemsByLiftMetadata(context);
-                while (ii.hasNext()) {
-                    Item item = ii.next();
-                    if (processOneItem(context, item, line, now)) {
+                if (line.hasOption('r')) {
+                    Iterator<Item> ii = embargoService.findItemsByLiftMetadata(context);
+                    while (ii.hasNext()) {
+                        Item item = ii.next();
+                        embargoService.updateLiftDate(context, item);
+                        context.uncacheEntity(item);
+                    }
+                    context.commit();
+                }
+                // Items whose embargo has expired, unless only checking
+                if (!line.hasOption('c') || line.hasOption('a')) {
+                    if (processItems(context, line, now, true)) {
+                        status = 1;
+                    }
+                }
+                // Items still under embargo, unless only lifting
+                if (!line.hasOption('l') || line.hasOption('a')) {
+                    if (processItems(context, line, now, false)) {
                         status = 1;
                     }
-                    context.uncacheEntity(item);
                 }
             }
             context.complete();
@@ -172,6 +202,28 @@ public class EmbargoCLITool {
     }
 
 
+    // lift or check embargo on the Items found in the lift date index, a batch at a time
+    // return false on success, true if there was fatal exception on any Item.
+    protected static boolean processItems(Context context, CommandLine line, ZonedDateTime now, boolean expired)
+        throws Exception {
+        boolean status = false;
+        UUID after = null;
+        List<Item> items;
+        do {
+            items = expired ? embargoService.findItemsToLift(context, now.toInstant(), after, BATCH_SIZE)
+                : embargoService.findEmbargoedItems(context, now.toInstant(), after, BATCH_SIZE);
+            for (Item item : items) {
+                if (processOneItem(context, item, line, now)) {
+                    status = true;
+                }
+                after = item.getID();
+            }
+            context.commit();
+            context.uncacheEntities();
+        } while (items.size() == BATCH_SIZE);
+        return status;
+    }
+
     // lift or check embargo on one Item, handle exceptions
     // return false on success, true if there was fatal exception.
     protected static boolean processOneItem(Context context, Item item, CommandLine line, ZonedDateTime now)
@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.embargo;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Database entity representation of the embargo_lift table, which holds the parsed lift date of every Item
+ * carrying the lift date metadata field, so that the embargo lifter can find the Items to lift with an indexed
+ * query. Rows are maintained by the {@link org.dspace.embargo.service.EmbargoService}.
+ */
+@Entity
+@Table(name = "embargo_lift")
+public class EmbargoLift implements ReloadableEntity<UUID> {
+
+    @Id
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    @Column(name = "lift_date", nullable = false)
+    private Instant liftDate;
+
+    protected EmbargoLift() {
+
+    }
+
+    public EmbargoLift(UUID itemId, Instant liftDate) {
+        this.itemId = itemId;
+        this.liftDate = liftDate;
+    }
+
+    @Override
+    public UUID getID() {
+        return itemId;
+    }
+
+    public Instant getLiftDate() {
+        return liftDate;
+    }
+
+    public void setLiftDate(Instant liftDate) {
+        this.liftDate = liftDate;
+    }
+}
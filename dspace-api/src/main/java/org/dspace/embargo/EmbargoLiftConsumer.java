@@ -0,0 +1,71 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.embargo;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.embargo.factory.EmbargoServiceFactory;
+import org.dspace.embargo.service.EmbargoService;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * Consumer keeping the lift date index of the embargo lifter up to date when the lift date metadata of an archived
+ * Item is edited outside of {@link EmbargoService#setEmbargo} (e.g. through the REST API or a bulk edit).
+ * Rows of deleted Items are removed by the database itself.
+ *
+ * Recommended filter:  Item+Modify_Metadata
+ */
+public class EmbargoLiftConsumer implements Consumer {
+
+    private EmbargoService embargoService;
+
+    private ItemService itemService;
+
+    // the Items whose metadata changed in the current transaction
+    private final Set<UUID> itemIds = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        embargoService = EmbargoServiceFactory.getInstance().getEmbargoService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (event.getSubjectType() == Constants.ITEM && event.getEventType() == Event.MODIFY_METADATA) {
+            itemIds.add(event.getSubjectID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        try {
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(ctx, itemId);
+                // not archived Items are indexed by setEmbargo when they are installed
+                if (item != null && item.isArchived()) {
+                    embargoService.updateLiftDate(ctx, item);
+                }
+            }
+        } finally {
+            itemIds.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+}
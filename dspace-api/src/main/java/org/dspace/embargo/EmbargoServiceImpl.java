@@ -9,9 +9,11 @@ package org.dspace.embargo;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -22,6 +24,7 @@ import org.dspace.content.MetadataValue;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.service.PluginService;
+import org.dspace.embargo.dao.EmbargoLiftDAO;
 import org.dspace.embargo.service.EmbargoService;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,6 +82,9 @@ public class EmbargoServiceImpl implements EmbargoService {
     @Autowired(required = true)
     protected PluginService pluginService;
 
+    @Autowired(required = true)
+    protected EmbargoLiftDAO embargoLiftDAO;
+
     protected EmbargoServiceImpl() {
 
     }
@@ -90,6 +96,7 @@ public class EmbargoServiceImpl implements EmbargoService {
         DCDate myLift = getEmbargoTermsAsDate(context, item);
         if (myLift == null) {
             if ((myLift = recoverEmbargoDate(item)) == null) {
+                updateLiftDate(context, item);
                 return;
             }
         }
@@ -103,6 +110,7 @@ public class EmbargoServiceImpl implements EmbargoService {
             setter.setEmbargo(context, item);
 
             itemService.update(context, item);
+            updateLiftDate(context, item);
         } finally {
             context.restoreAuthSystemState();
         }
@@ -159,6 +167,11 @@ public class EmbargoServiceImpl implements EmbargoService {
 
         log.info("Lifting embargo on Item " + item.getHandle());
         itemService.update(context, item);
+
+        EmbargoLift embargoLift = embargoLiftDAO.findByID(context, EmbargoLift.class, item.getID());
+        if (embargoLift != null) {
+            embargoLiftDAO.delete(context, embargoLift);
+        }
     }
 
 
@@ -245,4 +258,35 @@ public class EmbargoServiceImpl implements EmbargoService {
         throws SQLException, IOException, AuthorizeException {
         return itemService.findByMetadataField(context, lift_schema, lift_element, lift_qualifier, Item.ANY);
     }
+
+    @Override
+    public void updateLiftDate(Context context, Item item) throws SQLException {
+        List<MetadataValue> lift = getLiftMetadata(context, item);
+        ZonedDateTime liftDate = lift.isEmpty() ? null : new DCDate(lift.get(0).getValue()).toDate();
+        EmbargoLift embargoLift = embargoLiftDAO.findByID(context, EmbargoLift.class, item.getID());
+        if (liftDate == null) {
+            if (!lift.isEmpty()) {
+                log.warn("Ignoring uninterpretable embargo lift date of Item " + item.getHandle() + ": "
+                             + lift.get(0).getValue());
+            }
+            if (embargoLift != null) {
+                embargoLiftDAO.delete(context, embargoLift);
+            }
+        } else if (embargoLift == null) {
+            embargoLiftDAO.create(context, new EmbargoLift(item.getID(), liftDate.toInstant()));
+        } else {
+            embargoLift.setLiftDate(liftDate.toInstant());
+            embargoLiftDAO.save(context, embargoLift);
+        }
+    }
+
+    @Override
+    public List<Item> findItemsToLift(Context context, Instant now, UUID after, int limit) throws SQLException {
+        return embargoLiftDAO.findItemsByLiftDate(context, null, now, after, limit);
+    }
+
+    @Override
+    public List<Item> findEmbargoedItems(Context context, Instant now, UUID after, int limit) throws SQLException {
+        return embargoLiftDAO.findItemsByLiftDate(context, now, null, after, limit);
+    }
 }
@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.embargo.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.embargo.EmbargoLift;
+
+/**
+ * Database Access Object interface class for the EmbargoLift object.
+ * The implementation of this class is responsible for all database calls for the EmbargoLift object and is autowired
+ * by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface EmbargoLiftDAO extends GenericDAO<EmbargoLift> {
+
+    /**
+     * Find a page of the Items whose lift date is in the given range, ordered by Item id.
+     *
+     * @param context DSpace context
+     * @param from    lift dates after this instant, or null for no lower bound
+     * @param to      lift dates up to (and including) this instant, or null for no upper bound
+     * @param after   only return Items with a greater id (keyset pagination), or null to start from the first Item
+     * @param limit   maximum number of Items to return
+     * @return the Items
+     * @throws SQLException If a database error occurs
+     */
+    public List<Item> findItemsByLiftDate(Context context, Instant from, Instant to, UUID after, int limit)
+        throws SQLException;
+}
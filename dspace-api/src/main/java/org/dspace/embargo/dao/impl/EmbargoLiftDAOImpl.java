@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.embargo.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.content.Item;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.embargo.EmbargoLift;
+import org.dspace.embargo.dao.EmbargoLiftDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the EmbargoLift object.
+ * This class is responsible for all database calls for the EmbargoLift object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class EmbargoLiftDAOImpl extends AbstractHibernateDAO<EmbargoLift> implements EmbargoLiftDAO {
+
+    protected EmbargoLiftDAOImpl() {
+        super();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> findItemsByLiftDate(Context context, Instant from, Instant to, UUID after, int limit)
+        throws SQLException {
+        StringBuilder hql = new StringBuilder("SELECT i FROM Item i, EmbargoLift e WHERE e.itemId = i.id");
+        if (from != null) {
+            hql.append(" AND e.liftDate > :from");
+        }
+        if (to != null) {
+            hql.append(" AND e.liftDate <= :to");
+        }
+        if (after != null) {
+            hql.append(" AND i.id > :after");
+        }
+        hql.append(" ORDER BY i.id");
+
+        Query query = createQuery(context, hql.toString());
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
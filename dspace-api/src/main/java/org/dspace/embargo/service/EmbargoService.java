@@ -9,8 +9,10 @@ package org.dspace.embargo.service;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DCDate;
@@ -101,4 +103,39 @@ public interface EmbargoService {
     public List<MetadataValue> getLiftMetadata(Context context, Item item);
 
     public Iterator<Item> findItemsByLiftMetadata(Context context) throws SQLException, IOException, AuthorizeException;
+
+    /**
+     * Record the lift date held in the lift date metadata of an Item in the lift date index, or remove the Item
+     * from the index if it has no lift date. This is done by {@link #setEmbargo(Context, Item)}; call it directly
+     * only to rebuild the index.
+     *
+     * @param context the DSpace context
+     * @param item    the item
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void updateLiftDate(Context context, Item item) throws SQLException;
+
+    /**
+     * Find a page of the Items whose lift date has passed, using the lift date index.
+     *
+     * @param context the DSpace context
+     * @param now     the current time
+     * @param after   only return Items with a greater id, or null to get the first page
+     * @param limit   maximum number of Items to return
+     * @return the Items, ordered by id
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public List<Item> findItemsToLift(Context context, Instant now, UUID after, int limit) throws SQLException;
+
+    /**
+     * Find a page of the Items which are still under embargo, using the lift date index.
+     *
+     * @param context the DSpace context
+     * @param now     the current time
+     * @param after   only return Items with a greater id, or null to get the first page
+     * @param limit   maximum number of Items to return
+     * @return the Items, ordered by id
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public List<Item> findEmbargoedItems(Context context, Instant now, UUID after, int limit) throws SQLException;
 }
@@ -250,7 +250,8 @@ public class HandlePlugin implements HandleStorage {
 
             String handle = Util.decodeString(theHandle);
 
-            context = new Context();
+            // resolutions are mostly answered by the handle cache of the HandleService
+            context = new Context(Context.Mode.READ_ONLY);
 
             String url = handleService.resolveToURL(context, handle);
 
@@ -7,10 +7,14 @@
  */
 package org.dspace.handle;
 
+import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,6 +23,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.content.service.SiteService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
@@ -26,6 +32,8 @@ import org.dspace.handle.dao.HandleDAO;
 import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Interface to the <a href="https://www.handle.net" target=_new>CNRI Handle
@@ -36,6 +44,14 @@ import org.springframework.beans.factory.annotation.Autowired;
  * are owned by other sites (including other DSpaces) are treated as
  * non-existent.
  * </p>
+ * <p>
+ * If "handle.resolution.cache.enabled" is true, resolutions are cached in the "handles" cache of ehcache.xml, and
+ * unknown handles in the short lived "handles.unknown" cache. A handle created, unbound or moved through this service
+ * is evicted at once, is neither read from nor written to the cache by the transaction which changed it, and is
+ * evicted again once this transaction has been committed or rolled back. Changes made by other processes (command
+ * line tools, other nodes, or the webapp for a separate handle server) are only seen when the entries expire, so the
+ * cache is disabled by default and should only be enabled when handles are changed by a single process.
+ * </p>
  *
  * @author Peter Breton
  */
@@ -50,6 +66,10 @@ public class HandleServiceImpl implements HandleService {
      */
     static final String EXAMPLE_PREFIX = "123456789";
 
+    static final String CACHE_NAME = "handles";
+
+    static final String UNKNOWN_CACHE_NAME = "handles.unknown";
+
     @Autowired(required = true)
     protected HandleDAO handleDAO;
 
@@ -59,6 +79,12 @@ public class HandleServiceImpl implements HandleService {
     @Autowired
     protected SiteService siteService;
 
+    @Autowired(required = false)
+    protected CacheManager cacheManager;
+
+    // the handles changed by the transaction of the current thread, Hibernate binding a session to each thread
+    private final ThreadLocal<PendingChanges> pendingChanges = new ThreadLocal<>();
+
     private static final Pattern[] IDENTIFIER_PATTERNS = {
         Pattern.compile("^hdl:(.*)$"),
         Pattern.compile("^info:hdl/(.*)$"),
@@ -75,9 +101,7 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public String resolveToURL(Context context, String handle)
         throws SQLException {
-        Handle dbhandle = findHandleInternal(context, handle);
-
-        if (dbhandle == null) {
+        if (resolve(context, handle) == null) {
             return null;
         }
 
@@ -114,9 +138,7 @@ public class HandleServiceImpl implements HandleService {
         while (handle.startsWith("/")) {
             handle = handle.substring(1);
         }
-        Handle dbhandle = findHandleInternal(context, handle);
-
-        return (null == dbhandle) ? null : handle;
+        return (null == resolve(context, handle)) ? null : handle;
     }
 
     @Override
@@ -146,6 +168,7 @@ public class HandleServiceImpl implements HandleService {
         dso.addHandle(handle);
         handle.setResourceTypeId(dso.getType());
         handleDAO.save(context, handle);
+        evict(context, handleId);
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -200,6 +223,7 @@ public class HandleServiceImpl implements HandleService {
         handle.setDSpaceObject(dso);
         dso.addHandle(handle);
         handleDAO.save(context, handle);
+        evict(context, suppliedHandle);
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -225,6 +249,7 @@ public class HandleServiceImpl implements HandleService {
 
 
                 handleDAO.save(context, handle);
+                evict(context, handle.getHandle());
 
                 log.debug("Unbound Handle {} from object {} id={}",
                     () -> handle.getHandle(),
@@ -241,6 +266,20 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public DSpaceObject resolveToObject(Context context, String handle)
         throws IllegalStateException, SQLException {
+        ResolvedHandle resolved = resolve(context, handle);
+        if (resolved == null || resolved.getDSpaceObjectId() == null || resolved.getResourceTypeId() == null) {
+            //if handle has been unbound, just return null (as this will result in a PageNotFound)
+            return null;
+        }
+        DSpaceObjectService<? extends DSpaceObject> dsoService =
+            ContentServiceFactory.getInstance().getDSpaceObjectService(resolved.getResourceTypeId());
+        DSpaceObject dso = dsoService.find(context, resolved.getDSpaceObjectId());
+        if (dso != null) {
+            return dso;
+        }
+        // the cached entry is stale, e.g. the object was deleted by another process
+        evict(handle);
+
         Handle dbhandle = findHandleInternal(context, handle);
         // check if handle was allocated previously, but is currently not
         // associated with a DSpaceObject
@@ -304,7 +343,9 @@ public class HandleServiceImpl implements HandleService {
 
     @Override
     public int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException {
-        return handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
+        int updated = handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
+        clearCache(context);
+        return updated;
     }
 
     @Override
@@ -322,6 +363,7 @@ public class HandleServiceImpl implements HandleService {
             dbHandle.setResourceTypeId(newOwner.getType());
             newOwner.getHandles().add(0, dbHandle);
             handleDAO.save(context, dbHandle);
+            evict(context, handle);
         }
 
     }
@@ -346,6 +388,130 @@ public class HandleServiceImpl implements HandleService {
         return handleDAO.findByHandle(context, handle);
     }
 
+    /**
+     * Resolve a handle through the resolution cache, reading the database row on a cache miss.
+     *
+     * @param context DSpace context
+     * @param handle  The handle to resolve
+     * @return The resolved handle, or null if the handle does not exist
+     * @throws SQLException If a database error occurs
+     */
+    protected ResolvedHandle resolve(Context context, String handle) throws SQLException {
+        if (handle == null) {
+            throw new IllegalArgumentException("Handle is null");
+        }
+        Cache cache = getCache(CACHE_NAME);
+        Cache unknownCache = getCache(UNKNOWN_CACHE_NAME);
+        // the handles changed by the current transaction are resolved from the database, as their cached value may
+        // be older, and their new value must not be cached before it is committed
+        PendingChanges changes = pendingChanges.get();
+        boolean cacheable = cache != null && unknownCache != null && (changes == null || !changes.contains(handle));
+        if (cacheable) {
+            ResolvedHandle resolved = cache.get(handle, ResolvedHandle.class);
+            if (resolved != null) {
+                return resolved;
+            }
+            if (unknownCache.get(handle) != null) {
+                return null;
+            }
+        }
+
+        Handle dbhandle = findHandleInternal(context, handle);
+        ResolvedHandle resolved = dbhandle == null ? null : new ResolvedHandle(dbhandle);
+        if (cacheable) {
+            if (resolved == null) {
+                unknownCache.put(handle, Boolean.TRUE);
+            } else {
+                cache.put(handle, resolved);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Remove a handle changed by the current transaction from the resolution cache, now and once this transaction
+     * has ended.
+     *
+     * @param context DSpace context
+     * @param handle  The handle which was created or changed
+     * @throws SQLException If a database error occurs
+     */
+    protected void evict(Context context, String handle) throws SQLException {
+        evict(handle);
+        getPendingChanges(context).handles.add(handle);
+    }
+
+    /**
+     * Remove a handle from the resolution cache.
+     *
+     * @param handle The handle which was created or changed
+     */
+    protected void evict(String handle) {
+        Cache cache = getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evictIfPresent(handle);
+        }
+        Cache unknownCache = getCache(UNKNOWN_CACHE_NAME);
+        if (unknownCache != null) {
+            unknownCache.evictIfPresent(handle);
+        }
+    }
+
+    /**
+     * Remove all the handles from the resolution cache, now and once the current transaction has ended.
+     *
+     * @param context DSpace context
+     * @throws SQLException If a database error occurs
+     */
+    protected void clearCache(Context context) throws SQLException {
+        clearCache();
+        getPendingChanges(context).all = true;
+    }
+
+    /**
+     * Get the changes of the current transaction, registering their eviction at the end of this transaction when
+     * the first change is made.
+     */
+    private PendingChanges getPendingChanges(Context context) throws SQLException {
+        PendingChanges changes = pendingChanges.get();
+        if (changes == null) {
+            PendingChanges newChanges = new PendingChanges();
+            handleDAO.afterTransaction(context, () -> {
+                pendingChanges.remove();
+                if (newChanges.all) {
+                    clearCache();
+                } else {
+                    newChanges.handles.forEach(this::evict);
+                }
+            });
+            pendingChanges.set(newChanges);
+            changes = newChanges;
+        }
+        return changes;
+    }
+
+    /**
+     * Remove all the handles from the resolution cache.
+     */
+    protected void clearCache() {
+        Cache cache = getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.invalidate();
+        }
+        Cache unknownCache = getCache(UNKNOWN_CACHE_NAME);
+        if (unknownCache != null) {
+            unknownCache.invalidate();
+        }
+    }
+
+    private Cache getCache(String name) {
+        if (cacheManager == null
+            || !configurationService.getBooleanProperty("handle.resolution.cache.enabled", false)) {
+            return null;
+        }
+        return cacheManager.getCache(name);
+    }
+
     /**
      * Create/mint a new handle id.
      *
@@ -407,4 +573,44 @@ public class HandleServiceImpl implements HandleService {
     public String[] getAdditionalPrefixes() {
         return configurationService.getArrayProperty("handle.additional.prefixes");
     }
+
+    /**
+     * The handles changed by a transaction in progress.
+     */
+    private static class PendingChanges {
+
+        private final Set<String> handles = new HashSet<>();
+
+        // whether all the handles may have changed
+        private boolean all;
+
+        boolean contains(String handle) {
+            return all || handles.contains(handle);
+        }
+    }
+
+    /**
+     * The cached resolution of an existing handle.
+     */
+    protected static class ResolvedHandle implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Integer resourceTypeId;
+
+        private final UUID dSpaceObjectId;
+
+        ResolvedHandle(Handle handle) {
+            this.resourceTypeId = handle.getResourceTypeId();
+            this.dSpaceObjectId = handle.getDSpaceObject() == null ? null : handle.getDSpaceObject().getID();
+        }
+
+        public Integer getResourceTypeId() {
+            return resourceTypeId;
+        }
+
+        public UUID getDSpaceObjectId() {
+            return dSpaceObjectId;
+        }
+    }
 }
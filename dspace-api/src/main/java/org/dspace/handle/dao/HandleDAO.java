@@ -38,4 +38,13 @@ public interface HandleDAO extends GenericDAO<Handle> {
     int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException;
 
     int countRows(Context context) throws SQLException;
+
+    /**
+     * Run an action once the current transaction of the context has ended, whether it was committed or rolled back.
+     *
+     * @param context DSpace context
+     * @param action  the action to run
+     * @throws SQLException If a database error occurs
+     */
+    void afterTransaction(Context context, Runnable action) throws SQLException;
 }
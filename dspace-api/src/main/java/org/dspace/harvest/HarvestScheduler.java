@@ -8,12 +8,28 @@
 package org.dspace.harvest;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Stack;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -27,9 +43,19 @@ import org.dspace.harvest.factory.HarvestServiceFactory;
 import org.dspace.harvest.service.HarvestedCollectionService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * The class responsible for scheduling harvesting cycles are regular intervals.
+ * <p>
+ * The collections due for a harvest are queued by staleness, the collections harvested the longest time ago coming
+ * first, and run by a pool of "oai.harvester.maxThreads" threads. Whenever a thread is free, it takes the first
+ * queued collection whose OAI-PMH provider is not already harvested by "oai.harvester.maxThreadsPerHost" threads.
+ * Large harvests can be run in slices of "oai.harvester.maxPagesPerSlice" pages, each slice queuing the harvest
+ * again behind the collections waiting for their turn. The position of a harvest waiting for its next slice is
+ * stored with its {@link HarvestedCollection}, and the collections left queued by a previous scheduler are queued
+ * again when the scheduler starts, so that their harvests resume where they stopped.
+ * </p>
  *
  * @author alexey
  */
@@ -43,12 +69,29 @@ public class HarvestScheduler implements Runnable {
 
     public static final Object lock = new Object();
 
-    protected static Stack<HarvestThread> harvestThreads;
+    // the queued harvests, by priority
+    protected static NavigableSet<HarvestThread> harvestThreads;
+
+    // the collections being harvested, and the number of harvests running for each host
+    protected static Set<UUID> activeCollections;
+
+    protected static Map<String, Integer> activeThreadsByHost;
+
+    protected static ExecutorService harvestExecutor;
 
     protected static Integer maxActiveThreads;
 
+    protected static int maxThreadsPerHost;
+
     protected static volatile Integer activeThreads = 0;
 
+    // the number of harvests which ended since the start, successfully or with an error, and of the slices run
+    protected static long completedCount = 0;
+
+    protected static long failedCount = 0;
+
+    protected static long sliceCount = 0;
+
     public static final int HARVESTER_STATUS_RUNNING = 1;
 
     public static final int HARVESTER_STATUS_SLEEPING = 2;
@@ -103,7 +146,60 @@ public class HarvestScheduler implements Runnable {
         return interrupt;
     }
 
+    /**
+     * @return the number of harvests waiting for a thread
+     */
+    public static synchronized int getQueuedCount() {
+        return harvestThreads == null ? 0 : harvestThreads.size();
+    }
+
+    /**
+     * @return the number of harvests running
+     */
+    public static synchronized int getActiveCount() {
+        return activeThreads;
+    }
+
+    /**
+     * @return the number of harvests running for each host of OAI-PMH provider
+     */
+    public static synchronized Map<String, Integer> getActiveCountByHost() {
+        return activeThreadsByHost == null ? Map.of() : new HashMap<>(activeThreadsByHost);
+    }
+
+    /**
+     * @return the number of harvests which completed successfully since the start
+     */
+    public static synchronized long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @return the number of harvests which ended with an error since the start
+     */
+    public static synchronized long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return the number of slices which ended before the end of their harvest since the start
+     */
+    public static synchronized long getSliceCount() {
+        return sliceCount;
+    }
+
+    /**
+     * @return when the harvest waiting the longest for a thread was queued, null if no harvest is queued
+     */
+    public static synchronized Instant getOldestQueuedTime() {
+        if (harvestThreads == null) {
+            return null;
+        }
+        return harvestThreads.stream().map(HarvestThread::getQueuedAt).min(Comparator.naturalOrder()).orElse(null);
+    }
+
     public static String getStatus() {
+        String counts = String.format("(%d harvests active, %d queued) ", getActiveCount(), getQueuedCount());
         switch (status) {
             case HARVESTER_STATUS_RUNNING:
                 switch (interrupt) {
@@ -112,10 +208,10 @@ public class HarvestScheduler implements Runnable {
                     case HARVESTER_INTERRUPT_STOP:
                         return ("The scheduler is shutting down. ");
                     default:
-                        return ("The scheduler is actively harvesting collections. ");
+                        return ("The scheduler is actively harvesting collections. " + counts);
                 }
             case HARVESTER_STATUS_SLEEPING:
-                return ("The scheduler is waiting for collections to harvest. ");
+                return ("The scheduler is waiting for collections to harvest. " + counts);
             case HARVESTER_STATUS_PAUSED:
                 return ("The scheduler is paused. ");
             default:
@@ -132,12 +228,30 @@ public class HarvestScheduler implements Runnable {
                                                 .findByEmail(mainContext, harvestAdminParam);
         }
 
-        harvestThreads = new Stack<>();
-
         maxActiveThreads = configurationService.getIntProperty("oai.harvester.maxThreads");
         if (maxActiveThreads == 0) {
             maxActiveThreads = 3;
         }
+        maxThreadsPerHost = configurationService.getIntProperty("oai.harvester.maxThreadsPerHost", maxActiveThreads);
+        if (maxThreadsPerHost <= 0) {
+            maxThreadsPerHost = maxActiveThreads;
+        }
+
+        synchronized (HarvestScheduler.class) {
+            if (harvestExecutor != null) {
+                // harvests of a previous scheduler which are still running end on their own
+                harvestExecutor.shutdown();
+            }
+            harvestThreads = new TreeSet<>(Comparator.comparing(HarvestThread::getPriority)
+                                                     .thenComparing(HarvestThread::getCollectionId));
+            activeCollections = new HashSet<>();
+            activeThreadsByHost = new HashMap<>();
+            activeThreads = 0;
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("harvest-");
+            threadFactory.setDaemon(true);
+            harvestExecutor = Executors.newFixedThreadPool(maxActiveThreads, threadFactory);
+        }
+        registerMetrics();
         minHeartbeat = configurationService.getIntProperty("oai.harvester.minHeartbeat");
         minHeartbeat = minHeartbeat * 1000; // multiple by 1000 to turn seconds to ms
         if (minHeartbeat == 0) {
@@ -161,6 +275,7 @@ public class HarvestScheduler implements Runnable {
             try {
                 mainContext = new Context();
 
+                boolean stop = false;
                 synchronized (HarvestScheduler.class) {
                     switch (interrupt) {
                         case HARVESTER_INTERRUPT_NONE:
@@ -176,27 +291,44 @@ public class HarvestScheduler implements Runnable {
                             status = HARVESTER_STATUS_PAUSED;
                             break;
                         case HARVESTER_INTERRUPT_STOP:
-                            interrupt = HARVESTER_INTERRUPT_NONE;
-                            status = HARVESTER_STATUS_STOPPED;
-                            return;
+                            stop = true;
+                            break;
                         default:
                             break;
                     }
                 }
 
+                if (stop) {
+                    // the interrupt stays set until the active harvests have seen it
+                    stopHarvests(mainContext);
+                    synchronized (HarvestScheduler.class) {
+                        interrupt = HARVESTER_INTERRUPT_NONE;
+                        status = HARVESTER_STATUS_STOPPED;
+                    }
+                    return;
+                }
+
                 if (status == HARVESTER_STATUS_PAUSED) {
                     while (interrupt != HARVESTER_INTERRUPT_RESUME && interrupt != HARVESTER_INTERRUPT_STOP) {
                         Thread.sleep(1000);
                     }
 
                     if (interrupt != HARVESTER_INTERRUPT_STOP) {
-                        break;
+                        // resume dispatching the queued harvests
+                        setInterrupt(HARVESTER_INTERRUPT_NONE);
+                        status = HARVESTER_STATUS_RUNNING;
+                        dispatch();
                     }
+                    mainContext.complete();
+                    continue;
                 }
 
                 status = HARVESTER_STATUS_RUNNING;
 
-                // Stage #1: if something is ready for harvest, push it onto the ready stack, mark it as "queued"
+                // Stage #1: if something is ready for harvest, queue it up, mark it as "queued"
+                if (i == 0) {
+                    requeue(mainContext);
+                }
                 List<HarvestedCollection> cids = harvestedCollectionService.findReady(mainContext);
                 log.info("Collections ready for immediate harvest: " + cids.toString());
 
@@ -204,32 +336,6 @@ public class HarvestScheduler implements Runnable {
                     addThread(mainContext, harvestedCollection);
                 }
 
-                // Stage #2: start up all the threads currently in the queue up to the maximum number
-                while (!harvestThreads.isEmpty()) {
-                    synchronized (HarvestScheduler.class) {
-                        activeThreads++;
-                    }
-                    Thread activeThread = new Thread(harvestThreads.pop());
-                    activeThread.start();
-                    log.info("Thread started: " + activeThread.toString());
-
-                    /* Wait while the number of threads running is greater than or equal to max */
-                    while (activeThreads >= maxActiveThreads) {
-                        /* Wait a second */
-                        Thread.sleep(1000);
-                    }
-                }
-
-                // Finally, wait for the last few remaining threads to finish
-                // TODO: this step might be unnecessary. Theoretically a single very long harvest process
-                // could then lock out all the other ones from starting on their next iteration.
-                // FIXME: also, this might lead to a situation when a single thread getting stuck without
-                // throwing an exception would shut down the whole scheduler
-                while (activeThreads != 0) {
-                    /* Wait a second */
-                    Thread.sleep(1000);
-                }
-
                 // Commit everything
                 try {
                     mainContext.complete();
@@ -239,6 +345,10 @@ public class HarvestScheduler implements Runnable {
                     mainContext.abort();
                 }
 
+                // Stage #2: start the queued harvests up to the maximum number of threads. The next ones are
+                // started as soon as a thread is free, without waiting for the next iteration.
+                dispatch();
+
             } catch (IOException | InterruptedException | SQLException | AuthorizeException e) {
                 log.error("Exception on iteration: " + i);
                 e.printStackTrace();
@@ -298,18 +408,155 @@ public class HarvestScheduler implements Runnable {
     public void addThread(Context context, HarvestedCollection harvestedCollection)
         throws SQLException, IOException, AuthorizeException {
         log.debug("****** Entered the addThread method. Active threads: " + harvestThreads.toString());
+        UUID collectionId = harvestedCollection.getCollection().getID();
+        synchronized (HarvestScheduler.class) {
+            if (activeCollections.contains(collectionId)
+                || harvestThreads.stream().anyMatch(ht -> ht.getCollectionId().equals(collectionId))) {
+                log.info("Harvest of collection " + collectionId + " is already queued up");
+                return;
+            }
+        }
         context.setCurrentUser(harvestAdmin);
 
         harvestedCollection.setHarvestStatus(HarvestedCollection.STATUS_QUEUED);
         harvestedCollectionService.update(context, harvestedCollection);
         context.dispatchEvents();
 
-        HarvestThread ht = new HarvestThread(harvestedCollection.getCollection().getID());
-        harvestThreads.push(ht);
+        // the collections harvested the longest time ago come first
+        Instant priority = harvestedCollection.getHarvestDate() != null ?
+            harvestedCollection.getHarvestDate() : Instant.EPOCH;
+        HarvestThread ht = new HarvestThread(collectionId, getHost(harvestedCollection.getOaiSource()), priority);
+        synchronized (HarvestScheduler.class) {
+            harvestThreads.add(ht);
+        }
 
         log.debug("****** Queued up a thread. Active threads: " + harvestThreads.toString());
         log.info("Thread queued up: " + ht.toString());
     }
 
+    /**
+     * Queue again the collections left queued by a previous scheduler, e.g. while waiting for the next slice of a
+     * harvest, which resumes from the position stored with the collection.
+     *
+     * @param context The relevant DSpace Context.
+     * @throws IOException        A general class of exceptions produced by failed or interrupted I/O operations.
+     * @throws SQLException       An exception that provides information on a database access error or other errors.
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    protected void requeue(Context context) throws SQLException, IOException, AuthorizeException {
+        for (HarvestedCollection harvestedCollection
+            : harvestedCollectionService.findByStatus(context, HarvestedCollection.STATUS_QUEUED)) {
+            log.info("Queuing again the harvest of collection " + harvestedCollection.getCollection().getID());
+            addThread(context, harvestedCollection);
+        }
+    }
+
+    /**
+     * Start queued harvests while threads are free, skipping the harvests from the hosts which already have
+     * "oai.harvester.maxThreadsPerHost" harvests running. Nothing is started while the scheduler pauses or stops.
+     */
+    protected static synchronized void dispatch() {
+        if (harvestExecutor == null || harvestExecutor.isShutdown() || status == HARVESTER_STATUS_PAUSED
+            || interrupt == HARVESTER_INTERRUPT_PAUSE || interrupt == HARVESTER_INTERRUPT_STOP) {
+            return;
+        }
+        Iterator<HarvestThread> queued = harvestThreads.iterator();
+        while (activeThreads < maxActiveThreads && queued.hasNext()) {
+            HarvestThread ht = queued.next();
+            if (activeThreadsByHost.getOrDefault(ht.getHost(), 0) >= maxThreadsPerHost) {
+                continue;
+            }
+            queued.remove();
+            activeThreads++;
+            activeThreadsByHost.merge(ht.getHost(), 1, Integer::sum);
+            activeCollections.add(ht.getCollectionId());
+            harvestExecutor.execute(ht);
+            log.info("Thread started: " + ht.toString());
+        }
+        log.debug("Harvests active: {}, queued: {}, by host: {}", activeThreads, harvestThreads.size(),
+                  activeThreadsByHost);
+    }
+
+    /**
+     * Called by a harvest thread when it ends. A harvest which ended with a slice is queued again, behind the
+     * harvests already waiting, and the free thread takes the next queued harvest.
+     *
+     * @param ht the harvest thread
+     */
+    protected static synchronized void harvestFinished(HarvestThread ht) {
+        activeThreads = Math.max(0, activeThreads - 1);
+        activeThreadsByHost.computeIfPresent(ht.getHost(), (host, count) -> count > 1 ? count - 1 : null);
+        activeCollections.remove(ht.getCollectionId());
+        if (ht.isSuspended()) {
+            sliceCount++;
+            ht.priority = Instant.now();
+            ht.queuedAt = ht.priority;
+            harvestThreads.add(ht);
+        } else if (ht.isFailed()) {
+            failedCount++;
+        } else {
+            completedCount++;
+        }
+        dispatch();
+    }
+
+    /**
+     * Wait for the active harvests to stop, and mark the queued collections as ready again.
+     *
+     * @param context The relevant DSpace Context.
+     * @throws SQLException         An exception that provides information on a database access error or other errors.
+     * @throws InterruptedException if interrupted while waiting for the active harvests
+     */
+    protected void stopHarvests(Context context) throws SQLException, InterruptedException {
+        harvestExecutor.shutdown();
+        // the active harvests stop before their next record when they see the STOP interrupt
+        if (!harvestExecutor.awaitTermination(10, TimeUnit.MINUTES)) {
+            log.warn("Some harvests did not stop, {} harvests are still active", activeThreads);
+        }
+        List<HarvestThread> queued;
+        synchronized (HarvestScheduler.class) {
+            queued = new ArrayList<>(harvestThreads);
+            harvestThreads.clear();
+        }
+        for (HarvestThread ht : queued) {
+            HarvestedCollection hc = harvestedCollectionService
+                .find(context, collectionService.find(context, ht.getCollectionId()));
+            if (hc != null) {
+                hc.setHarvestStatus(HarvestedCollection.STATUS_READY);
+                harvestedCollectionService.update(context, hc);
+            }
+        }
+        context.complete();
+    }
+
+    /**
+     * Register the metrics of the scheduler with the platform MBean server, see {@link HarvestSchedulerMXBean}.
+     */
+    protected static synchronized void registerMetrics() {
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(HarvestSchedulerMXBean.OBJECT_NAME);
+            if (!mbs.isRegistered(name)) {
+                mbs.registerMBean(new HarvestSchedulerMetrics(), name);
+            }
+        } catch (JMException e) {
+            log.warn("Cannot register the metrics of the harvest scheduler: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param oaiSource the base URL of an OAI-PMH provider
+     * @return the host of the provider
+     */
+    protected static String getHost(String oaiSource) {
+        try {
+            String host = URI.create(oaiSource).getHost();
+            return host != null ? host.toLowerCase() : oaiSource;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return oaiSource;
+        }
+    }
+
 
 }
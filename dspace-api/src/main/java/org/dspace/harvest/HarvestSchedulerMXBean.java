@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.util.Map;
+
+/**
+ * Metrics of the {@link HarvestScheduler} of the JVM, registered with the platform MBean server under
+ * {@link #OBJECT_NAME} when a scheduler starts, so that they can be read with any JMX client or exporter while the
+ * scheduler runs (e.g. in the "harvest -S" process).
+ */
+public interface HarvestSchedulerMXBean {
+
+    String OBJECT_NAME = "org.dspace:type=HarvestScheduler";
+
+    /**
+     * @return the status of the scheduler: running, sleeping, paused or stopped
+     */
+    String getStatus();
+
+    /**
+     * @return the number of harvests running
+     */
+    int getActiveCount();
+
+    /**
+     * @return the number of harvests waiting for a thread
+     */
+    int getQueuedCount();
+
+    /**
+     * @return the number of harvests running for each host of OAI-PMH provider
+     */
+    Map<String, Integer> getActiveCountByHost();
+
+    /**
+     * @return the number of seconds waited by the harvest queued the longest time ago, 0 if no harvest is queued
+     */
+    long getOldestQueuedSeconds();
+
+    /**
+     * @return the number of harvests which completed successfully since the JVM started
+     */
+    long getCompletedCount();
+
+    /**
+     * @return the number of harvests which ended with an error since the JVM started
+     */
+    long getFailedCount();
+
+    /**
+     * @return the number of slices which ended before the end of their harvest since the JVM started
+     */
+    long getSliceCount();
+}
@@ -0,0 +1,66 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Reads the metrics of the {@link HarvestScheduler} for JMX clients.
+ */
+public class HarvestSchedulerMetrics implements HarvestSchedulerMXBean {
+
+    @Override
+    public String getStatus() {
+        if (HarvestScheduler.hasStatus(HarvestScheduler.HARVESTER_STATUS_RUNNING)) {
+            return "running";
+        } else if (HarvestScheduler.hasStatus(HarvestScheduler.HARVESTER_STATUS_SLEEPING)) {
+            return "sleeping";
+        } else if (HarvestScheduler.hasStatus(HarvestScheduler.HARVESTER_STATUS_PAUSED)) {
+            return "paused";
+        }
+        return "stopped";
+    }
+
+    @Override
+    public int getActiveCount() {
+        return HarvestScheduler.getActiveCount();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return HarvestScheduler.getQueuedCount();
+    }
+
+    @Override
+    public Map<String, Integer> getActiveCountByHost() {
+        return HarvestScheduler.getActiveCountByHost();
+    }
+
+    @Override
+    public long getOldestQueuedSeconds() {
+        Instant oldest = HarvestScheduler.getOldestQueuedTime();
+        return oldest != null ? Duration.between(oldest, Instant.now()).getSeconds() : 0;
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return HarvestScheduler.getCompletedCount();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return HarvestScheduler.getFailedCount();
+    }
+
+    @Override
+    public long getSliceCount() {
+        return HarvestScheduler.getSliceCount();
+    }
+}
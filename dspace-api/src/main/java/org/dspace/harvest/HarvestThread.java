@@ -8,6 +8,7 @@
 package org.dspace.harvest;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
@@ -19,21 +20,73 @@ import org.dspace.harvest.factory.HarvestServiceFactory;
 import org.dspace.harvest.service.HarvestedCollectionService;
 
 /**
- * A harvester thread used to execute a single harvest cycle on a collection
+ * A harvest task, run by the executor of the {@link HarvestScheduler} to execute a single harvest cycle on a
+ * collection, or a slice of it when the harvest of large collections is time-sliced.
  *
  * @author alexey
  */
-public class HarvestThread extends Thread {
+public class HarvestThread implements Runnable {
 
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(HarvestThread.class);
     protected UUID collectionId;
+    // the host of the OAI-PMH provider, to limit the number of concurrent harvests from it
+    protected String host;
+    // tasks with the oldest priority date are run first
+    protected Instant priority;
+    // when the harvest was last queued
+    protected Instant queuedAt;
+    // how the last run ended: with a slice of the harvest, or with an error
+    protected volatile boolean suspended;
+    protected volatile boolean failed;
     protected CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
     protected HarvestedCollectionService harvestedCollectionService =
         HarvestServiceFactory.getInstance().getHarvestedCollectionService();
 
 
     protected HarvestThread(UUID collectionId) throws SQLException {
+        this(collectionId, null, Instant.EPOCH);
+    }
+
+    protected HarvestThread(UUID collectionId, String host, Instant priority) {
         this.collectionId = collectionId;
+        this.host = host;
+        this.priority = priority;
+        this.queuedAt = Instant.now();
+    }
+
+    public UUID getCollectionId() {
+        return collectionId;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public Instant getPriority() {
+        return priority;
+    }
+
+    public Instant getQueuedAt() {
+        return queuedAt;
+    }
+
+    /**
+     * @return true if the last run ended with a slice of the harvest, and the harvest should be queued again
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * @return true if the last run ended with an error
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "HarvestThread[collection=" + collectionId + ", host=" + host + "]";
     }
 
     @Override
@@ -46,29 +99,49 @@ public class HarvestThread extends Thread {
         Context context;
         Collection dso;
         HarvestedCollection hc = null;
+        suspended = false;
+        failed = true;
         try {
             context = new Context();
             dso = collectionService.find(context, collectionId);
             hc = harvestedCollectionService.find(context, dso);
+            String error = null;
             try {
 
                 dso = hc.getCollection();
                 OAIHarvester harvester = new OAIHarvester(context, dso, hc);
+                harvester.setSliced(true);
                 harvester.runHarvest();
             } catch (RuntimeException e) {
                 log.error("Runtime exception in thread: " + this.toString());
                 log.error(e.getMessage() + " " + e.getCause());
-                hc.setHarvestMessage("Runtime error occurred while generating an OAI response");
-                hc.setHarvestStatus(HarvestedCollection.STATUS_UNKNOWN_ERROR);
+                error = "Runtime error occurred while generating an OAI response";
             } catch (Exception ex) {
                 log.error("General exception in thread: " + this.toString());
                 log.error(ex.getMessage() + " " + ex.getCause());
-                hc.setHarvestMessage("Error occurred while generating an OAI response");
-                hc.setHarvestStatus(HarvestedCollection.STATUS_UNKNOWN_ERROR);
+                error = "Error occurred while generating an OAI response";
             } finally {
                 try {
+                    // The harvester reloads its own copy of the harvest row at each commit, and completes the
+                    // context when it records an error itself: read the final state of the row again.
+                    boolean reopened = !context.isValid();
+                    if (reopened) {
+                        context = new Context();
+                    }
+                    hc = context.reloadEntity(hc);
+                    if (error != null) {
+                        hc.setResumption(null, null, 0, 0);
+                        hc.setHarvestMessage(error);
+                        hc.setHarvestStatus(HarvestedCollection.STATUS_UNKNOWN_ERROR);
+                    }
+                    // the position of a suspended harvest is stored with the collection, see OAIHarvester
+                    suspended = hc.getResumptionToken() != null;
+                    failed = hc.getHarvestStatus() == HarvestedCollection.STATUS_OAI_ERROR
+                        || hc.getHarvestStatus() == HarvestedCollection.STATUS_UNKNOWN_ERROR;
                     harvestedCollectionService.update(context, hc);
-                    context.restoreAuthSystemState();
+                    if (!reopened) {
+                        context.restoreAuthSystemState();
+                    }
                     context.complete();
                 } catch (RuntimeException e) {
                     log.error("Unexpected exception while recovering from a harvesting error: " + e.getMessage(), e);
@@ -77,15 +150,13 @@ public class HarvestThread extends Thread {
                     log.error("Unexpected exception while recovering from a harvesting error: " + e.getMessage(), e);
                     context.abort();
                 }
-
-                synchronized (HarvestScheduler.class) {
-                    HarvestScheduler.activeThreads--;
-                }
             }
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
+        } finally {
+            HarvestScheduler.harvestFinished(this);
         }
 
-        log.info("Thread for collection " + hc.getCollection().getID() + " completes.");
+        log.info("Thread for collection " + collectionId + " completes.");
     }
 }
@@ -65,6 +65,19 @@ public class HarvestedCollection implements ReloadableEntity<Integer> {
     @Column(name = "last_harvested", columnDefinition = "timestamp with time zone")
     private Instant lastHarvested;
 
+    // position of a harvest run in slices by the HarvestScheduler, while it waits for its next slice
+    @Column(name = "resumption_token")
+    private String resumptionToken;
+
+    @Column(name = "resumption_start_time", columnDefinition = "timestamp with time zone")
+    private Instant resumptionStartTime;
+
+    @Column(name = "resumption_record")
+    private Long resumptionRecord;
+
+    @Column(name = "resumption_list_size")
+    private Long resumptionListSize;
+
     @Transient
     public static final int TYPE_NONE = 0;
     @Transient
@@ -165,6 +178,22 @@ public class HarvestedCollection implements ReloadableEntity<Integer> {
         this.harvestStartTime = date;
     }
 
+    /**
+     * Keep the position of a harvest run in slices, or clear it.
+     *
+     * @param token     the resumption token to resume the harvest from, null to clear the position
+     * @param startTime when the first slice of the harvest started, which becomes the date of the harvest once
+     *                  complete
+     * @param record    the number of records harvested so far
+     * @param listSize  the number of records of the harvest, as announced by the OAI-PMH provider
+     */
+    public void setResumption(String token, Instant startTime, long record, long listSize) {
+        this.resumptionToken = token;
+        this.resumptionStartTime = token != null ? startTime : null;
+        this.resumptionRecord = token != null ? record : null;
+        this.resumptionListSize = token != null ? listSize : null;
+    }
+
 
     /* Getting for the appropriate harvesting-related columns */
     public Collection getCollection() {
@@ -206,4 +235,23 @@ public class HarvestedCollection implements ReloadableEntity<Integer> {
     public Instant getHarvestStartTime() {
         return harvestStartTime;
     }
+
+    /**
+     * @return the token to resume a harvest run in slices from, null if the harvest is not waiting for a slice
+     */
+    public String getResumptionToken() {
+        return resumptionToken;
+    }
+
+    public Instant getResumptionStartTime() {
+        return resumptionStartTime;
+    }
+
+    public long getResumptionRecord() {
+        return resumptionRecord != null ? resumptionRecord : 0;
+    }
+
+    public long getResumptionListSize() {
+        return resumptionListSize != null ? resumptionListSize : 0;
+    }
 }
@@ -12,6 +12,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.net.ConnectException;
 import java.sql.SQLException;
 import java.time.Instant;
@@ -27,12 +28,15 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathExpressionException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.app.client.DSpaceHttpClientFactory;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.content.BitstreamFormat;
@@ -128,6 +132,9 @@ public class OAIHarvester {
     private Namespace metadataNS;
     private String metadataKey;
 
+    // Whether the harvest is run in slices by the HarvestScheduler, rather than in one go
+    private boolean sliced = false;
+
     // DOMbuilder class for the DOM -> JDOM conversions
     private static final DOMBuilder db = new DOMBuilder();
     // The point at which this thread should terminate itself
@@ -234,6 +241,18 @@ public class OAIHarvester {
     }
 
 
+    /**
+     * Run the harvest in slices of at most "oai.harvester.maxPagesPerSlice" pages of records. When a slice ends
+     * before the last page, {@link #runHarvest()} returns with the collection queued and the position of the harvest
+     * stored with the {@link HarvestedCollection}, and the next call resumes the harvest from there, even after a
+     * restart.
+     *
+     * @param sliced whether the harvest runs in slices
+     */
+    public void setSliced(boolean sliced) {
+        this.sliced = sliced;
+    }
+
     /**
      * Performs a harvest cycle on this collection. This will query the remote OAI-PMH provider, check for updates
      * since last
@@ -265,7 +284,24 @@ public class OAIHarvester {
 
         long totalListSize = 0;
         long currentRecord = 0;
-        Instant startTime = Instant.now();
+        Instant sliceStartTime = Instant.now();
+        Instant startTime = sliceStartTime;
+
+        // resume a harvest run in slices where its previous slice stopped
+        int maxPages = 0;
+        String resumeToken = null;
+        if (sliced) {
+            maxPages = configurationService.getIntProperty("oai.harvester.maxPagesPerSlice", 0);
+            resumeToken = harvestRow.getResumptionToken();
+            if (resumeToken != null) {
+                startTime = harvestRow.getResumptionStartTime();
+                currentRecord = harvestRow.getResumptionRecord();
+                totalListSize = harvestRow.getResumptionListSize();
+            }
+        }
+        // the position is kept again if this slice is not the last one
+        harvestRow.setResumption(null, null, 0, 0);
+        boolean suspended = false;
         String toDate = processDate(startTime, 0);
 
         String dateGranularity;
@@ -303,14 +339,12 @@ public class OAIHarvester {
                             .getURI());
             }
 
-            Document oaiResponse = null;
-            Element root = null;
             String resumptionToken;
 
             // set the status indicating the collection is currently being processed
             harvestRow.setHarvestStatus(HarvestedCollection.STATUS_BUSY);
             harvestRow.setHarvestMessage("Collection harvesting is initializing...");
-            harvestRow.setHarvestStartTime(startTime);
+            harvestRow.setHarvestStartTime(sliceStartTime);
             harvestedCollectionService.update(ourContext, harvestRow);
             intermediateCommit();
 
@@ -320,98 +354,131 @@ public class OAIHarvester {
                 expirationInterval = 24;
             }
 
-            Instant expirationTime = startTime.plus(expirationInterval, ChronoUnit.HOURS);
+            Instant expirationTime = sliceStartTime.plus(expirationInterval, ChronoUnit.HOURS);
 
-            // main loop to keep requesting more objects until we're done
-            List<Element> records;
-            Set<String> errorSet = new HashSet<>();
+            // number of records ingested between two commits, and whether the next page is fetched while the
+            // records of the current one are ingested
+            int commitBatchSize = Math.max(1, configurationService.getIntProperty("oai.harvester.commitBatchSize", 1));
+            boolean pipelined = configurationService.getBooleanProperty("oai.harvester.pipelined", false);
 
-            ListRecords listRecords = new ListRecords(oaiSource, fromDate, toDate, oaiSetId, descMDPrefix);
+            // main loop to keep requesting more objects until we're done
             log.debug(
                 "Harvesting request parameters: listRecords " + oaiSource + " " + fromDate + " " + toDate + " " +
                     oaiSetId + " " + descMDPrefix);
-            log.info("HTTP Request: " + listRecords.getRequestURL());
-
-            while (listRecords != null) {
-                records = new ArrayList<>();
-                oaiResponse = db.build(listRecords.getDocument());
 
-                if (listRecords.getErrors() != null && listRecords.getErrors().getLength() > 0) {
-                    for (int i = 0; i < listRecords.getErrors().getLength(); i++) {
-                        String errorCode = listRecords.getErrors().item(i).getAttributes().getNamedItem("code")
-                                                      .getTextContent();
-                        errorSet.add(errorCode);
-                    }
-                    if (errorSet.contains("noRecordsMatch")) {
-                        log.info("noRecordsMatch: OAI server did not contain any updates");
-                        harvestRow.setHarvestStartTime(Instant.now());
-                        harvestRow.setHarvestMessage("OAI server did not contain any updates");
-                        harvestRow.setHarvestStatus(HarvestedCollection.STATUS_READY);
-                        harvestedCollectionService.update(ourContext, harvestRow);
-                        return;
+            try (OAIListRecordsReader reader = pipelined ?
+                new OAIListRecordsReader(DSpaceHttpClientFactory.getInstance().build(), oaiSource) : null) {
+                OAIListRecordsReader.Page page = null;
+                if (resumeToken != null) {
+                    log.info("Resuming the harvest of collection {} after {} records", targetCollection.getID(),
+                             currentRecord);
+                    if (reader != null) {
+                        page = reader.fetch(resumeToken);
                     } else {
-                        throw new HarvestingException(errorSet.toString());
+                        page = getPage(new ListRecords(oaiSource, resumeToken));
                     }
-                } else {
-                    root = oaiResponse.getRootElement();
-                    records.addAll(root.getChild("ListRecords", OAI_NS).getChildren("record", OAI_NS));
-
-                    Element resumptionElement = root.getChild("ListRecords", OAI_NS)
-                                                    .getChild("resumptionToken", OAI_NS);
-                    if (resumptionElement != null && resumptionElement.getAttribute("completeListSize") != null) {
-                        String value = resumptionElement.getAttribute("completeListSize").getValue();
-                        if (StringUtils.isNotBlank(value)) {
-                            totalListSize = Long.parseLong(value);
-                        }
+                    if (page.getErrors().contains("badResumptionToken")) {
+                        // the token expired while the harvest was waiting for its next slice
+                        log.warn("Resumption token of collection {} expired, restarting its harvest",
+                                 targetCollection.getID());
+                        currentRecord = 0;
+                        page = null;
+                    }
+                }
+                if (page == null) {
+                    if (reader != null) {
+                        page = reader.fetch(fromDate, toDate, oaiSetId, descMDPrefix);
+                    } else {
+                        page = getPage(new ListRecords(oaiSource, fromDate, toDate, oaiSetId, descMDPrefix));
                     }
                 }
 
-                // Process the obtained records
-                if (!records.isEmpty()) {
-                    log.info("Found {} records to process", records::size);
-                    for (Element record : records) {
-                        // check for STOP interrupt from the scheduler
-                        if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
-                            throw new HarvestingException("Harvest process for " + targetCollection
-                                .getID() + " interrupted by stopping the scheduler.");
-                        }
-                        // check for timeout
-                        if (expirationTime.isBefore(Instant.now())) {
-                            throw new HarvestingException(
-                                "runHarvest method timed out for collection " + targetCollection.getID());
+                int pages = 0;
+                while (page != null) {
+                    if (!page.getErrors().isEmpty()) {
+                        if (page.getErrors().contains("noRecordsMatch")) {
+                            log.info("noRecordsMatch: OAI server did not contain any updates");
+                            harvestRow.setHarvestStartTime(Instant.now());
+                            harvestRow.setHarvestMessage("OAI server did not contain any updates");
+                            harvestRow.setHarvestStatus(HarvestedCollection.STATUS_READY);
+                            harvestedCollectionService.update(ourContext, harvestRow);
+                            return;
+                        } else {
+                            throw new HarvestingException(page.getErrors().toString());
                         }
+                    }
+                    if (page.getCompleteListSize() >= 0) {
+                        totalListSize = page.getCompleteListSize();
+                    }
 
-                        currentRecord++;
+                    // start downloading the next page before ingesting this one, unless this slice ends with it
+                    resumptionToken = page.getResumptionToken();
+                    pages++;
+                    boolean endOfSlice = maxPages > 0 && pages >= maxPages && StringUtils.isNotEmpty(resumptionToken);
+                    Future<OAIListRecordsReader.Page> nextPage = null;
+                    if (reader != null && StringUtils.isNotEmpty(resumptionToken) && !endOfSlice) {
+                        nextPage = reader.prefetch(resumptionToken);
+                    }
+
+                    // Process the obtained records
+                    List<Element> records = page.getRecords();
+                    if (!records.isEmpty()) {
+                        log.info("Found {} records to process", records::size);
+                        int uncommitted = 0;
+                        for (Element record : records) {
+                            // check for STOP interrupt from the scheduler
+                            if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
+                                throw new HarvestingException("Harvest process for " + targetCollection
+                                    .getID() + " interrupted by stopping the scheduler.");
+                            }
+                            // check for timeout
+                            if (expirationTime.isBefore(Instant.now())) {
+                                throw new HarvestingException(
+                                    "runHarvest method timed out for collection " + targetCollection.getID());
+                            }
+
+                            currentRecord++;
+
+                            processRecord(record, OREPrefix, currentRecord, totalListSize);
+                            // the remaining records of the page are committed with the page below
+                            if (++uncommitted >= commitBatchSize) {
+                                ourContext.dispatchEvents();
+                                intermediateCommit();
+                                uncommitted = 0;
+                            }
+                        }
+                    }
 
-                        processRecord(record, OREPrefix, currentRecord, totalListSize);
-                        ourContext.dispatchEvents();
+                    ourContext.turnOffAuthorisationSystem();
+                    try {
+                        collectionService.update(ourContext, targetCollection);
 
-                        intermediateCommit();
+                        harvestRow.setHarvestMessage(String
+                                                         .format("Collection is currently being harvested " +
+                                                                     "(item %d of %d)",
+                                                                 currentRecord, totalListSize));
+                        harvestedCollectionService.update(ourContext, harvestRow);
+                    } finally {
+                        //In case of an exception, make sure to restore our authentication state to the previous state
+                        ourContext.restoreAuthSystemState();
                     }
-                }
 
-                // keep going if there are more records to process
-                resumptionToken = listRecords.getResumptionToken();
-                if (resumptionToken == null || resumptionToken.length() == 0) {
-                    listRecords = null;
-                } else {
-                    listRecords = new ListRecords(oaiSource, resumptionToken);
-                }
-                ourContext.turnOffAuthorisationSystem();
-                try {
-                    collectionService.update(ourContext, targetCollection);
-
-                    harvestRow.setHarvestMessage(String
-                                                     .format("Collection is currently being harvested (item %d of %d)",
-                                                             currentRecord, totalListSize));
-                    harvestedCollectionService.update(ourContext, harvestRow);
-                } finally {
-                    //In case of an exception, make sure to restore our authentication state to the previous state
-                    ourContext.restoreAuthSystemState();
+                    ourContext.dispatchEvents();
+                    intermediateCommit();
+
+                    // keep going if there are more records to process
+                    if (endOfSlice) {
+                        harvestRow.setResumption(resumptionToken, startTime, currentRecord, totalListSize);
+                        suspended = true;
+                        page = null;
+                    } else if (nextPage != null) {
+                        page = awaitPage(nextPage);
+                    } else if (reader == null && StringUtils.isNotEmpty(resumptionToken)) {
+                        page = getPage(new ListRecords(oaiSource, resumptionToken));
+                    } else {
+                        page = null;
+                    }
                 }
-
-                ourContext.dispatchEvents();
-                intermediateCommit();
             }
         } catch (HarvestingException hex) {
             log.error("Harvesting error occurred while processing an OAI record: " + hex.getMessage(), hex);
@@ -441,6 +508,17 @@ public class OAIHarvester {
             ourContext.restoreAuthSystemState();
         }
 
+        if (suspended) {
+            log.info("Harvest of collection {} yields after {} records, it will resume when its turn comes",
+                     targetCollection.getID(), currentRecord);
+            harvestRow.setHarvestMessage(String.format("Collection harvest is waiting to resume (item %d of %d)",
+                                                       currentRecord, totalListSize));
+            harvestRow.setHarvestStatus(HarvestedCollection.STATUS_QUEUED);
+            harvestedCollectionService.update(ourContext, harvestRow);
+            ourContext.setMode(originalMode);
+            return;
+        }
+
         // If we got to this point, it means the harvest was completely successful
         Instant finishTime = Instant.now();
         long timeTaken = finishTime.toEpochMilli() - startTime.toEpochMilli();
@@ -456,6 +534,64 @@ public class OAIHarvester {
         ourContext.setMode(originalMode);
     }
 
+    /**
+     * Read a page of records requested through the OCLC harvester.
+     *
+     * @param listRecords the ListRecords request
+     * @return the records, errors and resumption token of the response
+     * @throws IOException              if the response cannot be read
+     * @throws XPathExpressionException if the errors or resumption token cannot be read
+     * @throws NoSuchFieldException     if the OAI-PMH version of the response is not supported
+     */
+    private OAIListRecordsReader.Page getPage(ListRecords listRecords)
+        throws IOException, XPathExpressionException, NoSuchFieldException {
+        log.info("HTTP Request: " + listRecords.getRequestURL());
+        Set<String> errorSet = new HashSet<>();
+        if (listRecords.getErrors() != null && listRecords.getErrors().getLength() > 0) {
+            for (int i = 0; i < listRecords.getErrors().getLength(); i++) {
+                String errorCode = listRecords.getErrors().item(i).getAttributes().getNamedItem("code")
+                                              .getTextContent();
+                errorSet.add(errorCode);
+            }
+            return new OAIListRecordsReader.Page(Collections.emptyList(), errorSet, null, -1);
+        }
+
+        Element root = db.build(listRecords.getDocument()).getRootElement();
+        List<Element> records = new ArrayList<>(root.getChild("ListRecords", OAI_NS).getChildren("record", OAI_NS));
+        long completeListSize = -1;
+        Element resumptionElement = root.getChild("ListRecords", OAI_NS).getChild("resumptionToken", OAI_NS);
+        if (resumptionElement != null && resumptionElement.getAttribute("completeListSize") != null) {
+            String value = resumptionElement.getAttribute("completeListSize").getValue();
+            if (StringUtils.isNotBlank(value)) {
+                completeListSize = Long.parseLong(value);
+            }
+        }
+        return new OAIListRecordsReader.Page(records, errorSet, listRecords.getResumptionToken(), completeListSize);
+    }
+
+    /**
+     * Wait for a page prefetched by the {@link OAIListRecordsReader}.
+     *
+     * @param nextPage the page to come
+     * @return the page
+     * @throws IOException         if the page could not be fetched or parsed
+     * @throws HarvestingException if the harvest was interrupted while waiting
+     */
+    private OAIListRecordsReader.Page awaitPage(Future<OAIListRecordsReader.Page> nextPage)
+        throws IOException, HarvestingException {
+        try {
+            return nextPage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HarvestingException("Harvest process for " + targetCollection.getID() + " interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
     private void intermediateCommit() throws SQLException {
         ourContext.commit();
         reloadRequiredEntities();
@@ -0,0 +1,294 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.util.XMLUtils;
+import org.jdom2.Content;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.StAXStreamBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Reader of the pages of an OAI-PMH ListRecords response, used by the pipelined mode of the {@link OAIHarvester}.
+ * <p>
+ * Pages are parsed as a stream: only the record elements are built as JDOM elements, instead of building a DOM
+ * document of the whole page and converting it to JDOM. The next page can be requested with {@link #prefetch} as
+ * soon as its resumption token is known, so that it is downloaded and parsed by a background thread while the
+ * records of the current page are ingested.
+ * </p>
+ */
+public class OAIListRecordsReader implements Closeable {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String OAI_NS = "http://www.openarchives.org/OAI/2.0/";
+
+    // number of times a request answered with "503 Service Unavailable" is retried
+    private static final int MAX_RETRIES = 3;
+
+    // longest Retry-After delay honoured, in seconds
+    private static final int MAX_RETRY_AFTER = 300;
+
+    private final CloseableHttpClient httpClient;
+
+    private final String oaiSource;
+
+    private ExecutorService prefetcher;
+
+    /**
+     * @param httpClient the client used to send the requests, closed with this reader
+     * @param oaiSource  the base URL of the OAI-PMH provider
+     */
+    public OAIListRecordsReader(CloseableHttpClient httpClient, String oaiSource) {
+        this.httpClient = httpClient;
+        this.oaiSource = oaiSource;
+    }
+
+    /**
+     * Request the first page of records.
+     *
+     * @param from           lower bound of the record datestamps, or null
+     * @param until          upper bound of the record datestamps, or null
+     * @param set            the set to harvest, or null for all the records
+     * @param metadataPrefix the metadata format to harvest
+     * @return the first page
+     * @throws IOException if the page cannot be fetched or parsed
+     */
+    public Page fetch(String from, String until, String set, String metadataPrefix) throws IOException {
+        try {
+            URIBuilder uriBuilder = new URIBuilder(oaiSource).addParameter("verb", "ListRecords");
+            if (from != null) {
+                uriBuilder.addParameter("from", from);
+            }
+            if (until != null) {
+                uriBuilder.addParameter("until", until);
+            }
+            if (set != null) {
+                uriBuilder.addParameter("set", set);
+            }
+            uriBuilder.addParameter("metadataPrefix", metadataPrefix);
+            return fetch(uriBuilder);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid OAI-PMH source " + oaiSource, e);
+        }
+    }
+
+    /**
+     * Request the page of records identified by a resumption token.
+     *
+     * @param resumptionToken the resumption token given by the previous page
+     * @return the page
+     * @throws IOException if the page cannot be fetched or parsed
+     */
+    public Page fetch(String resumptionToken) throws IOException {
+        try {
+            return fetch(new URIBuilder(oaiSource).addParameter("verb", "ListRecords")
+                                                  .addParameter("resumptionToken", resumptionToken));
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid OAI-PMH source " + oaiSource, e);
+        }
+    }
+
+    /**
+     * Start fetching the page of records identified by a resumption token in the background.
+     *
+     * @param resumptionToken the resumption token given by the previous page
+     * @return the page to come, failing with an {@link UncheckedIOException} if it cannot be fetched or parsed
+     */
+    public CompletableFuture<Page> prefetch(String resumptionToken) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetch(resumptionToken);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, getPrefetcher());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+        }
+        httpClient.close();
+    }
+
+    private Page fetch(URIBuilder uriBuilder) throws IOException, URISyntaxException {
+        HttpGet request = new HttpGet(uriBuilder.build());
+        log.info("HTTP Request: {}", request.getURI());
+        for (int attempt = 0; ; attempt++) {
+            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                int status = response.getStatusLine().getStatusCode();
+                if (status == HttpStatus.SC_SERVICE_UNAVAILABLE && attempt < MAX_RETRIES) {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    waitBeforeRetry(response.getFirstHeader("Retry-After"));
+                    continue;
+                }
+                if (status != HttpStatus.SC_OK || response.getEntity() == null) {
+                    throw new IOException("OAI-PMH request " + request.getURI() + " failed with status " + status);
+                }
+                try (InputStream in = response.getEntity().getContent()) {
+                    return parse(in);
+                }
+            }
+        }
+    }
+
+    private void waitBeforeRetry(Header retryAfter) throws IOException {
+        int seconds = 10;
+        if (retryAfter != null && StringUtils.isNumeric(retryAfter.getValue())) {
+            seconds = Math.min(Integer.parseInt(retryAfter.getValue()), MAX_RETRY_AFTER);
+        }
+        try {
+            Thread.sleep(seconds * 1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to retry an OAI-PMH request", e);
+        }
+    }
+
+    /**
+     * Parse a ListRecords response.
+     *
+     * @param in the response
+     * @return the page of records
+     * @throws IOException if the response is not well formed
+     */
+    protected static Page parse(InputStream in) throws IOException {
+        Page page = new Page();
+        StAXStreamBuilder builder = new StAXStreamBuilder();
+        XMLStreamReader reader = null;
+        try {
+            reader = XMLUtils.getXMLInputFactory().createXMLStreamReader(in);
+            int event = reader.next();
+            while (event != XMLStreamConstants.END_DOCUMENT) {
+                if (event == XMLStreamConstants.START_ELEMENT && OAI_NS.equals(reader.getNamespaceURI())) {
+                    String name = reader.getLocalName();
+                    if ("record".equals(name)) {
+                        Content record = builder.fragment(reader);
+                        page.records.add((Element) record);
+                        // the reader is left on the end of the record, or on the event after it
+                        event = reader.getEventType();
+                        if (event == XMLStreamConstants.END_ELEMENT && "record".equals(reader.getLocalName())) {
+                            event = reader.next();
+                        }
+                        continue;
+                    } else if ("error".equals(name)) {
+                        page.errors.add(reader.getAttributeValue(null, "code"));
+                    } else if ("resumptionToken".equals(name)) {
+                        String completeListSize = reader.getAttributeValue(null, "completeListSize");
+                        if (StringUtils.isNumeric(completeListSize)) {
+                            page.completeListSize = Long.parseLong(completeListSize);
+                        }
+                        page.resumptionToken = StringUtils.trimToNull(reader.getElementText());
+                    }
+                }
+                event = reader.next();
+            }
+        } catch (XMLStreamException | JDOMException | ClassCastException e) {
+            throw new IOException("Unable to parse the OAI-PMH response", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    log.debug("Unable to close the OAI-PMH response reader", e);
+                }
+            }
+        }
+        return page;
+    }
+
+    private synchronized ExecutorService getPrefetcher() {
+        if (prefetcher == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("oai-harvester-prefetch-");
+            threadFactory.setDaemon(true);
+            prefetcher = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        return prefetcher;
+    }
+
+    /**
+     * A page of a ListRecords response.
+     */
+    public static class Page {
+
+        private final List<Element> records = new ArrayList<>();
+
+        private final Set<String> errors = new LinkedHashSet<>();
+
+        private String resumptionToken;
+
+        private long completeListSize = -1;
+
+        Page() {
+        }
+
+        Page(List<Element> records, Set<String> errors, String resumptionToken, long completeListSize) {
+            this.records.addAll(records);
+            this.errors.addAll(errors);
+            this.resumptionToken = resumptionToken;
+            this.completeListSize = completeListSize;
+        }
+
+        /**
+         * @return the record elements of the page
+         */
+        public List<Element> getRecords() {
+            return records;
+        }
+
+        /**
+         * @return the codes of the OAI-PMH errors of the response
+         */
+        public Set<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return the token of the next page, or null if this is the last page
+         */
+        public String getResumptionToken() {
+            return resumptionToken;
+        }
+
+        /**
+         * @return the total number of records announced by the provider, or -1 if unknown
+         */
+        public long getCompleteListSize() {
+            return completeListSize;
+        }
+    }
+}
@@ -12,10 +12,17 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.cli.CommandLine;
@@ -25,6 +32,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
@@ -47,6 +55,7 @@ import org.dspace.identifier.service.DOIService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * @author Marsa Haoua
@@ -56,9 +65,15 @@ public class DOIOrganiser {
 
     private static final Logger LOG = LogManager.getLogger(DOIOrganiser.class);
 
+    // Configuration property names
+    static final String CFG_THREADS = "identifier.doi.organiser.threads";
+    static final String CFG_BATCH_SIZE = "identifier.doi.organiser.batchSize";
+
     private final DOIIdentifierProvider provider;
     private final Context context;
     private boolean quiet;
+    // number of DOIs processed concurrently by the -s, -r, -u and -d options
+    private int threads;
     protected HandleService handleService;
     protected ItemService itemService;
     protected DOIService doiService;
@@ -81,6 +96,7 @@ public class DOIOrganiser {
         this.configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
         this.filter = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
                 "always_true_filter", TrueFilter.class);
+        this.threads = configurationService.getIntProperty(CFG_THREADS, 1);
     }
 
     /**
@@ -127,6 +143,8 @@ public class DOIOrganiser {
                           "Perform online deletion for all identifiers queued for deletion.");
         options.addOption("q", "quiet", false,
                           "Turn the command line output off.");
+        options.addOption("t", "threads", true,
+                          "Number of identifiers processed concurrently by the -s, -r, -u and -d options.");
 
         Option filterDoi = Option.builder().optionalArg(true).longOpt("filter").hasArg().argName("filterName")
                 .desc("Use the specified filter name instead of the provider's filter. Defaults to a special " +
@@ -197,6 +215,16 @@ public class DOIOrganiser {
             organiser.setQuiet();
         }
 
+        if (line.hasOption('t')) {
+            int threads = NumberUtils.toInt(line.getOptionValue('t'), 0);
+            if (threads < 1) {
+                System.err.println("The number of threads must be a positive integer: " + line.getOptionValue('t'));
+                helpformater.printHelp("\nDOI organiser\n", options);
+                return;
+            }
+            organiser.threads = threads;
+        }
+
         if (line.hasOption('l')) {
             organiser.list("reservation", null, null, DOIIdentifierProvider.TO_BE_RESERVED);
             organiser.list("registration", null, null, DOIIdentifierProvider.TO_BE_REGISTERED);
@@ -224,19 +252,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be reserved.");
                 }
-
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.reserve(doi);
-                        context.commit();
-                    } catch (RuntimeException e) {
-                        System.err.format("DOI %s for object %s reservation failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
-                    }
-                }
+                organiser.processAll(dois, "reservation", (worker, doi) -> worker.reserve(doi));
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -251,18 +267,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be registered.");
                 }
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.register(doi);
-                        context.commit();
-                    } catch (SQLException e) {
-                        System.err.format("DOI %s for object %s registration failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
-                    }
-                }
+                organiser.processAll(dois, "registration", (worker, doi) -> worker.register(doi));
             } catch (SQLException ex) {
                 System.err.format("Error in database connection:  %s%n", ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -281,12 +286,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "whose metadata needs an update.");
                 }
-
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    organiser.update(doi);
-                    context.commit();
-                }
+                organiser.processAll(dois, "update", (worker, doi) -> worker.update(doi));
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -301,19 +301,7 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be deleted.");
                 }
-
-                for (DOI doi : dois) {
-                    doi = context.reloadEntity(doi);
-                    try {
-                        organiser.delete(doi.getDoi());
-                        context.commit();
-                    } catch (SQLException e) {
-                        System.err.format("DOI %s for object %s deletion failed, skipping:  %s%n",
-                                doi.getDSpaceObject().getID().toString(),
-                                doi.getDoi(), e.getMessage());
-                        context.rollback();
-                    }
-                }
+                organiser.processAll(dois, "deletion", (worker, doi) -> worker.delete(doi.getDoi()));
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
@@ -381,6 +369,153 @@ public class DOIOrganiser {
 
     }
 
+    /**
+     * An operation on a DOI queued in the database.
+     */
+    @FunctionalInterface
+    protected interface DOIAction {
+        /**
+         * @param organiser the organiser to use, bound to the Context of the current thread
+         * @param doi       the DOI, loaded in the Context of the organiser
+         * @throws SQLException if database error
+         */
+        void process(DOIOrganiser organiser, DOI doi) throws SQLException;
+    }
+
+    /**
+     * Apply an action to a list of DOIs, committing the changes made to the doi table every
+     * "identifier.doi.organiser.batchSize" DOIs rather than after each of them.
+     * <p>
+     * With more than one thread, the DOIs are shared by a pool of workers, each with its own Context and its own
+     * organiser: the Context is not thread-safe, while the DOI provider and its connector are. The requests sent to
+     * the registration agency remain limited by the rate of the connector, see
+     * {@link DataCiteConnector#sendHttpRequest}.
+     * </p>
+     * <p>
+     * A DOI which fails is skipped. The DOIs processed before it in the current batch are already known to the
+     * registration agency, so their changes are committed before handling the failure. Only if this commit fails
+     * are the changes of the batch rolled back, and these DOIs then keep their status to be processed again on the
+     * next run.
+     * </p>
+     *
+     * @param dois        the DOIs to process
+     * @param processName name of the action for display
+     * @param action      the action to apply to every DOI
+     * @throws SQLException if database error
+     */
+    protected void processAll(List<DOI> dois, String processName, DOIAction action) throws SQLException {
+        Queue<String> queue = new ConcurrentLinkedQueue<>();
+        for (DOI doi : dois) {
+            queue.add(doi.getDoi());
+        }
+        if (threads <= 1 || queue.size() <= 1) {
+            processQueue(queue, processName, action);
+            return;
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("doi-organiser-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < Math.min(threads, queue.size()); i++) {
+                futures.add(executor.submit(() -> {
+                    Context workerContext = new Context();
+                    try {
+                        workerContext.turnOffAuthorisationSystem();
+                        DOIOrganiser worker = new DOIOrganiser(workerContext, provider);
+                        worker.quiet = quiet;
+                        worker.filter = filter;
+                        worker.processQueue(queue, processName, action);
+                        workerContext.complete();
+                    } finally {
+                        if (workerContext.isValid()) {
+                            workerContext.abort();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while processing the DOIs queued for " + processName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Apply an action to the DOIs taken from a queue, until the queue is empty.
+     *
+     * @param queue       the DOIs to process, without the "doi:" scheme
+     * @param processName name of the action for display
+     * @param action      the action to apply to every DOI
+     * @throws SQLException if database error
+     */
+    protected void processQueue(Queue<String> queue, String processName, DOIAction action) throws SQLException {
+        int batchSize = Math.max(1, configurationService.getIntProperty(CFG_BATCH_SIZE, 100));
+        int pending = 0;
+        String identifier;
+        while ((identifier = queue.poll()) != null) {
+            try {
+                DOI doi = doiService.findByDoi(context, identifier);
+                if (null == doi) {
+                    // removed since the list was read
+                    continue;
+                }
+                action.process(this, doi);
+                pending++;
+                if (pending >= batchSize) {
+                    context.commit();
+                    context.uncacheEntities();
+                    pending = 0;
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // the DOI could not be processed, nothing was changed in the database
+                System.err.format("DOI %s %s failed, skipping:  %s%n", DOI.SCHEME + identifier, processName,
+                                  e.getMessage());
+            } catch (SQLException | RuntimeException e) {
+                System.err.format("DOI %s %s failed, skipping:  %s%n", DOI.SCHEME + identifier, processName,
+                                  e.getMessage());
+                commitAfterFailure(processName, pending);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            context.commit();
+        }
+    }
+
+    /**
+     * Commit the changes of the DOIs processed before a failure, which the registration agency already knows about.
+     * The status of a DOI is changed last by the online operations of the provider, so a partial change of the
+     * failed DOI leaves it queued to be processed again. If the Context cannot be committed, the changes are rolled
+     * back.
+     *
+     * @param processName name of the action for display
+     * @param pending     the number of DOIs processed since the last commit
+     * @throws SQLException if the changes can neither be committed nor rolled back
+     */
+    private void commitAfterFailure(String processName, int pending) throws SQLException {
+        try {
+            context.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (pending > 0) {
+                LOG.error("Unable to save the {} of {} DOIs, they will be processed again on the next run.",
+                          processName, pending, e);
+            }
+            context.rollback();
+        }
+    }
+
     /**
      * list DOIs queued for reservation or registration
      * @param processName   - process name for display
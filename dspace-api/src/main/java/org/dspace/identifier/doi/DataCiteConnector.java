@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
@@ -83,6 +84,9 @@ public class DataCiteConnector
         = "crosswalk.dissemination.DataCite.hostingInstitution";
     static final String CFG_NAMESPACE
         = "crosswalk.dissemination.DataCite.namespace";
+    static final String CFG_RATE = "identifier.doi.rate";
+    static final String CFG_RETRIES = "identifier.doi.retries";
+    static final String CFG_RETRY_BACKOFF = "identifier.doi.retry.backoff";
 
     /**
      * Stores the scheme used to connect to the DataCite server. It will be set
@@ -125,6 +129,13 @@ public class DataCiteConnector
     @Autowired
     protected HandleService handleService;
 
+    /**
+     * Token bucket shared by all the threads sending requests to DataCite, or null if the requests are not limited.
+     * Created on first use from {@link #CFG_RATE}.
+     */
+    private RateLimiter rateLimiter;
+    private boolean rateLimiterLoaded = false;
+
     public DataCiteConnector() {
         this.xwalk = null;
         this.USERNAME = null;
@@ -703,6 +714,13 @@ public class DataCiteConnector
 
     /**
      * Internal method to send requests prepared by the caller to DataCite.
+     * <p>
+     * Requests wait for a token of the rate limit configured by {@link #CFG_RATE}, so that DSpace stays within the
+     * quota of the registry however many threads use this connector. Transient failures (an internal error, too many
+     * requests, an unavailable service or a broken connection) are retried up to {@link #CFG_RETRIES} times, waiting
+     * twice as long before every attempt, starting with {@link #CFG_RETRY_BACKOFF} milliseconds. All the requests of
+     * the DataCite MDS API are idempotent, so that sending one again is harmless.
+     * </p>
      *
      * @param req Extended version of the HttpRequest interface that provides convenience methods to access request
      *            properties such as request URI and method type.
@@ -711,6 +729,68 @@ public class DataCiteConnector
      * @throws DOIIdentifierException if registrar returns an error.
      */
     protected DataCiteResponse sendHttpRequest(HttpUriRequest req, String doi)
+        throws DOIIdentifierException {
+        int retries = configurationService.getIntProperty(CFG_RETRIES, 3);
+        long backoff = configurationService.getLongProperty(CFG_RETRY_BACKOFF, 1000);
+        RateLimiter limiter = getRateLimiter();
+        for (int attempt = 0; ; attempt++) {
+            if (null != limiter) {
+                limiter.acquire();
+            }
+            try {
+                DataCiteResponse response = executeHttpRequest(req, doi);
+                if (attempt >= retries || !isTransient(response.getStatusCode())) {
+                    return response;
+                }
+                log.warn("DataCite answered {} with http status code {}, retrying.", req.getURI(),
+                         response.getStatusCode());
+            } catch (DOIIdentifierException e) {
+                if (attempt >= retries || e.getCode() != DOIIdentifierException.INTERNAL_ERROR) {
+                    throw e;
+                }
+                log.warn("DataCite has an internal error while managing DOI {}, retrying.", doi);
+            } catch (RuntimeException e) {
+                if (attempt >= retries || !(e.getCause() instanceof IOException)) {
+                    throw e;
+                }
+                log.warn("Unable to reach DataCite while managing DOI {}, retrying.", doi);
+            }
+
+            try {
+                Thread.sleep(backoff << Math.min(attempt, 16));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting to retry a request to DataCite.", e);
+            }
+        }
+    }
+
+    /**
+     * @param statusCode http status code of a response
+     * @return true if the request may succeed when sent again later
+     */
+    protected boolean isTransient(int statusCode) {
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    protected synchronized RateLimiter getRateLimiter() {
+        if (!rateLimiterLoaded) {
+            int rate = configurationService.getIntProperty(CFG_RATE, 0);
+            rateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+            rateLimiterLoaded = true;
+        }
+        return rateLimiter;
+    }
+
+    /**
+     * Send a request to DataCite once.
+     *
+     * @param req the request
+     * @param doi DOI string to operate on
+     * @return response from DataCite
+     * @throws DOIIdentifierException if registrar returns an error.
+     */
+    protected DataCiteResponse executeHttpRequest(HttpUriRequest req, String doi)
         throws DOIIdentifierException {
         CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         credentialsProvider.setCredentials(new AuthScope(HOST, 443),
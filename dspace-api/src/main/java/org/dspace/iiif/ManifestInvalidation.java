@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Database entity representation of the iiif_manifest_invalidation table, which records the Items whose stored IIIF
+ * manifest may be out of date. Rows are written by the IIIF event consumer of any DSpace process (web application
+ * or command line) and removed by the web application once the manifests have been regenerated. A row without
+ * Item invalidates every stored manifest.
+ */
+@Entity
+@Table(name = "iiif_manifest_invalidation")
+public class ManifestInvalidation implements ReloadableEntity<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    // no foreign key, the manifests of deleted Items must be invalidated too
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    @Column(name = "invalidated", nullable = false)
+    private Instant invalidated;
+
+    protected ManifestInvalidation() {
+
+    }
+
+    public ManifestInvalidation(UUID itemId, Instant invalidated) {
+        this.id = UUID.randomUUID();
+        this.itemId = itemId;
+        this.invalidated = invalidated;
+    }
+
+    @Override
+    public UUID getID() {
+        return id;
+    }
+
+    /**
+     * @return the Item whose manifest is invalidated, or null if every manifest is
+     */
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public Instant getInvalidated() {
+        return invalidated;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+
+/**
+ * Records in the database which stored IIIF manifests may be out of date, so that every DSpace process (web
+ * application or command line) can invalidate the manifest store maintained by the web application.
+ */
+public interface ManifestInvalidationService {
+
+    /**
+     * @return true if the manifest store is enabled ("iiif.manifest.store.enabled")
+     */
+    boolean isEnabled();
+
+    /**
+     * Invalidate the stored manifest of an Item, in the transaction of the given context.
+     *
+     * @param context DSpace context
+     * @param itemId  the Item uuid
+     * @throws SQLException If a database error occurs
+     */
+    void invalidate(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Invalidate every stored manifest, used when the modified Items cannot be identified.
+     *
+     * @param context DSpace context
+     * @throws SQLException If a database error occurs
+     */
+    void invalidateAll(Context context) throws SQLException;
+
+    /**
+     * Check whether the manifest of an Item stored at the given instant has been invalidated since.
+     *
+     * @param context DSpace context
+     * @param itemId  the Item uuid
+     * @param stored  when the manifest was stored
+     * @return true if the stored manifest may be out of date
+     * @throws SQLException If a database error occurs
+     */
+    boolean isInvalidated(Context context, UUID itemId, Instant stored) throws SQLException;
+
+    /**
+     * Find the oldest pending invalidations.
+     *
+     * @param context DSpace context
+     * @param limit   maximum number of invalidations to return
+     * @return the invalidations, oldest first
+     * @throws SQLException If a database error occurs
+     */
+    List<ManifestInvalidation> findInvalidations(Context context, int limit) throws SQLException;
+
+    /**
+     * Delete invalidations once the manifests have been regenerated.
+     *
+     * @param context       DSpace context
+     * @param invalidations the invalidations to delete
+     * @throws SQLException If a database error occurs
+     */
+    void delete(Context context, List<ManifestInvalidation> invalidations) throws SQLException;
+}
@@ -0,0 +1,66 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+import org.dspace.iiif.dao.ManifestInvalidationDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Database implementation of the {@link ManifestInvalidationService}.
+ */
+public class ManifestInvalidationServiceImpl implements ManifestInvalidationService {
+
+    @Autowired(required = true)
+    protected ManifestInvalidationDAO manifestInvalidationDAO;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    protected ManifestInvalidationServiceImpl() {
+
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("iiif.manifest.store.enabled", false);
+    }
+
+    @Override
+    public void invalidate(Context context, UUID itemId) throws SQLException {
+        manifestInvalidationDAO.create(context, new ManifestInvalidation(itemId, Instant.now()));
+    }
+
+    @Override
+    public void invalidateAll(Context context) throws SQLException {
+        manifestInvalidationDAO.create(context, new ManifestInvalidation(null, Instant.now()));
+    }
+
+    @Override
+    public boolean isInvalidated(Context context, UUID itemId, Instant stored) throws SQLException {
+        return manifestInvalidationDAO.countByItem(context, itemId, stored) > 0;
+    }
+
+    @Override
+    public List<ManifestInvalidation> findInvalidations(Context context, int limit) throws SQLException {
+        return manifestInvalidationDAO.findOldest(context, limit);
+    }
+
+    @Override
+    public void delete(Context context, List<ManifestInvalidation> invalidations) throws SQLException {
+        for (ManifestInvalidation invalidation : invalidations) {
+            manifestInvalidationDAO.delete(context, invalidation);
+        }
+    }
+}
@@ -62,6 +62,9 @@ public class CanvasDimensionCLI {
         boolean isQuiet = false;
         // default to no limit
         int max2Process = Integer.MAX_VALUE;
+        // default to reading images sequentially
+        int threads = configurationService.getIntProperty("iiif.canvasdimensions.threads", 1);
+        int batchSize = configurationService.getIntProperty("iiif.canvasdimensions.batch-size", 100);
 
         String identifier = null;
         String eperson = null;
@@ -84,6 +87,10 @@ public class CanvasDimensionCLI {
             "do not print anything except in the event of errors");
         options.addOption("m", "maximum", true,
             "process no more than maximum items");
+        options.addOption("t", "threads", true,
+            "number of threads reading image dimensions concurrently");
+        options.addOption("b", "batch-size", true,
+            "number of bitstreams updated per transaction");
         options.addOption("h", "help", false,
             "display help");
 
@@ -147,6 +154,22 @@ public class CanvasDimensionCLI {
                 max2Process = Integer.MAX_VALUE;
             }
         }
+        if (line.hasOption('t')) {
+            threads = Integer.parseInt(line.getOptionValue('t'));
+            if (threads < 1) {
+                System.out.println("Invalid threads value '" +
+                    line.getOptionValue('t') + "' - ignoring");
+                threads = 1;
+            }
+        }
+        if (line.hasOption('b')) {
+            batchSize = Integer.parseInt(line.getOptionValue('b'));
+            if (batchSize < 1) {
+                System.out.println("Invalid batch size value '" +
+                    line.getOptionValue('b') + "' - ignoring");
+                batchSize = 100;
+            }
+        }
         String[] skipIds;
 
         if (line.hasOption('s')) {
@@ -201,6 +224,8 @@ public class CanvasDimensionCLI {
         canvasProcessor.setForceProcessing(force);
         canvasProcessor.setMax2Process(max2Process);
         canvasProcessor.setIsQuiet(isQuiet);
+        canvasProcessor.setThreads(threads);
+        canvasProcessor.setBatchSize(batchSize);
 
         int processed = 0;
         switch (dso.getType()) {
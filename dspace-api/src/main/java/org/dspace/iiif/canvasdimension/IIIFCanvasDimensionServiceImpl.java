@@ -15,9 +15,21 @@ import static org.dspace.iiif.util.IIIFSharedUtils.METADATA_IIIF_WIDTH_QUALIFIER
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
@@ -35,10 +47,17 @@ import org.dspace.iiif.IIIFApiQueryService;
 import org.dspace.iiif.canvasdimension.service.IIIFCanvasDimensionService;
 import org.dspace.iiif.util.IIIFSharedUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * This service sets canvas dimensions for bitstreams. Processes communities,
  * collections, and individual items.
+ * <p>
+ * Image bitstreams needing canvas metadata are queued and processed in batches of
+ * {@link #setBatchSize(int)} bitstreams: the dimensions of a batch are read by up to {@link #setThreads(int)}
+ * concurrent workers, each one using its own read-only Context, then the metadata of the whole batch is
+ * written and committed at once.
+ * </p>
  *
  * @author Michael Spalti mspalti@willamette.edu
  */
@@ -60,6 +79,13 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
     private List<String> skipList = null;
     private int max2Process = Integer.MAX_VALUE;
     private int processed = 0;
+    private int threads = 1;
+    private int batchSize = 100;
+
+    // bitstreams waiting for their dimensions, mapped to the id of their item
+    private final Map<UUID, UUID> queue = new LinkedHashMap<>();
+    private final Set<UUID> queuedItems = new LinkedHashSet<>();
+    private ExecutorService executor;
 
     // used to check for existing canvas dimension
     private static final String IIIF_WIDTH_METADATA = METADATA_IIIF_SCHEMA + "." + METADATA_IIIF_IMAGE_ELEMENT +
@@ -85,6 +111,16 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         this.skipList = skipList;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
     @Override
     public int processCommunity(Context context, Community community) throws Exception {
         if (!inSkipList(community.getHandle())) {
@@ -104,66 +140,71 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
     public int processCollection(Context context, Collection collection) throws Exception {
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                processItem(context, itemIterator.next());
+            while (itemIterator.hasNext() && processed + queuedItems.size() < max2Process) {
+                queueItem(context, itemIterator.next());
             }
+            processQueue(context);
         }
         return processed;
     }
 
     @Override
     public void processItem(Context context, Item item) throws Exception {
+        queueItem(context, item);
+        processQueue(context);
+    }
+
+    /**
+     * Queue the image bitstreams of an item which need canvas metadata. The queue is processed first
+     * if it already holds a full batch, so that the bitstreams of an item always belong to the same batch.
+     * @param context
+     * @param item
+     * @throws Exception
+     */
+    private void queueItem(Context context, Item item) throws Exception {
         if (!inSkipList(item.getHandle())) {
             boolean isIIIFItem = IIIFSharedUtils.isIIIFItem(item);
             if (isIIIFItem) {
-                if (processItemBundles(context, item)) {
-                    ++processed;
+                if (queue.size() >= batchSize) {
+                    processQueue(context);
                 }
+                queueItemBundles(context, item);
                 context.uncacheEntity(item);
             }
         }
     }
 
     /**
-     * Process all IIIF bundles for an item.
+     * Queue the bitstreams of all IIIF bundles for an item.
      * @param context
      * @param item
-     * @return
      * @throws Exception
      */
-    private boolean processItemBundles(Context context, Item item) throws Exception {
+    private void queueItemBundles(Context context, Item item) throws Exception {
         List<Bundle> bundles = IIIFSharedUtils.getIIIFBundles(item);
-        boolean done = false;
         for (Bundle bundle : bundles) {
             List<Bitstream> bitstreams = bundle.getBitstreams();
             for (Bitstream bit : bitstreams) {
-                done |= processBitstream(context, bit);
-                context.uncacheEntity(bit);
-            }
-        }
-        if (done) {
-            if (!isQuiet) {
-                System.out.println("Updated canvas metadata for item: " + item.getID());
+                if (needsProcessing(context, bit)) {
+                    // kept in the session until the batch is processed
+                    queue.put(bit.getID(), item.getID());
+                    queuedItems.add(item.getID());
+                } else {
+                    context.uncacheEntity(bit);
+                }
             }
         }
-        return done;
-
     }
 
     /**
-     * Gets image height and width for the bitstream. For jp2 images, height and width are
-     * obtained from the IIIF image server. For other formats supported by ImageIO these values
-     * are read from the actual DSpace bitstream content. If bitstream width metadata already exists,
-     * the bitstream is processed when forceProcessing is true.
+     * Tests whether canvas metadata must be set for the bitstream, i.e. if it is an image and
+     * either bitstream width metadata does not exist yet or forceProcessing is true.
      * @param context
      * @param bitstream
      * @return
-     * @throws Exception
+     * @throws SQLException
      */
-    private boolean processBitstream(Context context, Bitstream bitstream) throws SQLException, AuthorizeException,
-        IOException {
-
-        boolean processed = false;
+    private boolean needsProcessing(Context context, Bitstream bitstream) throws SQLException {
         boolean isImage = bitstream.getFormat(context).getMIMEType().contains("image/");
         if (isImage) {
             Optional<MetadataValue> op = bitstream.getMetadata().stream()
@@ -173,34 +214,141 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
                 if (forceProcessing && !isQuiet) {
                     System.out.println("Force processing for bitstream: " + bitstream.getID());
                 }
-                int[] dims;
-                InputStream stream = null;
-                try {
-                    stream = bitstreamService.retrieve(context, bitstream);
-                    try {
-                        dims = ImageDimensionReader.getImageDimensions(stream);
-                        if (dims == null) {
-                            // If image dimensions are not available try the iiif image server.
-                            dims = iiifApiQuery.getImageDimensions(bitstream);
-                        }
-                    } catch (IOException e) {
-                        // If an exception was raised by ImageIO, try the iiif image server.
-                        dims = iiifApiQuery.getImageDimensions(bitstream);
-                    }
-                } finally {
-                    if (stream != null) {
-                        stream.close();
-                    }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the dimensions of all the queued bitstreams, then sets their canvas metadata and
+     * commits the batch.
+     * @param context
+     * @throws Exception
+     */
+    private void processQueue(Context context) throws Exception {
+        if (queue.isEmpty()) {
+            return;
+        }
+        Map<UUID, int[]> dimensions = readDimensions(context, queue.keySet());
+        Set<UUID> updatedItems = new LinkedHashSet<>();
+        for (Map.Entry<UUID, UUID> entry : queue.entrySet()) {
+            Bitstream bitstream = bitstreamService.find(context, entry.getKey());
+            if (bitstream == null) {
+                continue;
+            }
+            int[] dims = dimensions.get(entry.getKey());
+            if (dims != null) {
+                setBitstreamMetadata(context, bitstream, dims);
+                // update the bitstream
+                bitstreamService.update(context, bitstream);
+                updatedItems.add(entry.getValue());
+            }
+            context.uncacheEntity(bitstream);
+        }
+        queue.clear();
+        queuedItems.clear();
+        if (!updatedItems.isEmpty()) {
+            if (!isQuiet) {
+                for (UUID itemId : updatedItems) {
+                    System.out.println("Updated canvas metadata for item: " + itemId);
+                }
+            }
+            processed += updatedItems.size();
+            context.commit();
+        }
+    }
+
+    /**
+     * Reads the dimensions of the given bitstreams, concurrently when more than one thread is configured.
+     * @param context
+     * @param bitstreamIds
+     * @return the dimensions of each bitstream, null when they are not available
+     * @throws Exception
+     */
+    private Map<UUID, int[]> readDimensions(Context context, Set<UUID> bitstreamIds) throws Exception {
+        Map<UUID, int[]> dimensions = new HashMap<>();
+        if (threads <= 1 || bitstreamIds.size() == 1) {
+            for (UUID bitstreamId : bitstreamIds) {
+                Bitstream bitstream = bitstreamService.find(context, bitstreamId);
+                if (bitstream != null) {
+                    dimensions.put(bitstreamId, readDimensions(context, bitstream));
+                }
+            }
+            return dimensions;
+        }
+        Map<UUID, Future<int[]>> futures = new LinkedHashMap<>();
+        for (UUID bitstreamId : bitstreamIds) {
+            futures.put(bitstreamId, getExecutor().submit(() -> readDimensions(bitstreamId)));
+        }
+        for (Map.Entry<UUID, Future<int[]>> future : futures.entrySet()) {
+            try {
+                dimensions.put(future.getKey(), future.getValue().get());
+            } catch (ExecutionException e) {
+                futures.values().forEach(f -> f.cancel(true));
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
                 }
+                throw e;
+            }
+        }
+        return dimensions;
+    }
 
-                if (dims != null) {
-                    processed = setBitstreamMetadata(context, bitstream, dims);
-                    // update the bitstream
-                    bitstreamService.update(context, bitstream);
+    /**
+     * Reads the dimensions of a bitstream from a worker thread, using a dedicated read-only Context.
+     * @param bitstreamId
+     * @return image dimensions or null if they are not available
+     * @throws Exception
+     */
+    private int[] readDimensions(UUID bitstreamId) throws Exception {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            context.turnOffAuthorisationSystem();
+            Bitstream bitstream = bitstreamService.find(context, bitstreamId);
+            return bitstream != null ? readDimensions(context, bitstream) : null;
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Gets image height and width for the bitstream. For jp2 images, height and width are
+     * obtained from the IIIF image server. For other formats supported by ImageIO these values
+     * are read from the header of the actual DSpace bitstream content.
+     * @param context
+     * @param bitstream
+     * @return image dimensions or null if they are not available
+     * @throws Exception
+     */
+    private int[] readDimensions(Context context, Bitstream bitstream) throws SQLException, AuthorizeException,
+        IOException {
+        int[] dims;
+        try (InputStream stream = bitstreamService.retrieve(context, bitstream)) {
+            try {
+                dims = ImageDimensionReader.getImageDimensions(stream);
+                if (dims == null) {
+                    // If image dimensions are not available try the iiif image server.
+                    dims = iiifApiQuery.getImageDimensions(bitstream);
                 }
+            } catch (IOException e) {
+                // If an exception was raised by ImageIO, try the iiif image server.
+                dims = iiifApiQuery.getImageDimensions(bitstream);
             }
         }
-        return processed;
+        return dims;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("iiif-canvas-dimensions-");
+            threadFactory.setDaemon(true);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
     }
 
     /**
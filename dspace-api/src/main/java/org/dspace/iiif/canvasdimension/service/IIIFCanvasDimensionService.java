@@ -66,4 +66,17 @@ public interface IIIFCanvasDimensionService {
      */
     void setSkipList(List<String> skipList);
 
+    /**
+     * Set the number of threads reading image dimensions concurrently.
+     * @param threads
+     */
+    void setThreads(int threads);
+
+    /**
+     * Set the number of bitstreams whose canvas metadata is written
+     * and committed together.
+     * @param batchSize
+     */
+    void setBatchSize(int batchSize);
+
 }
@@ -19,10 +19,13 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
+import org.dspace.iiif.ManifestInvalidationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 
 /**
- * This consumer is used to evict modified items from the manifests cache.
+ * This consumer is used to evict modified items from the manifests cache. When the manifest store is enabled, the
+ * stored manifests of the modified items are also invalidated through the {@link ManifestInvalidationService}.
  */
 public class IIIFCacheEventConsumer implements Consumer {
 
@@ -37,8 +40,12 @@ public class IIIFCacheEventConsumer implements Consumer {
     // Collects modified bitstreams for individual removal from canvas dimension cache.
     private final Set<DSpaceObject> toEvictFromCanvasCache = new HashSet<>();
 
+    private ManifestInvalidationService manifestInvalidationService;
+
     @Override
     public void initialize() throws Exception {
+        manifestInvalidationService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(ManifestInvalidationService.class.getName(), ManifestInvalidationService.class);
     }
 
     @Override
@@ -132,30 +139,44 @@ public class IIIFCacheEventConsumer implements Consumer {
 
     @Override
     public void end(Context ctx) throws Exception {
-        // Get the eviction service beans.
-        ManifestsCacheEvictService manifestsCacheEvictService = CacheEvictBeanLocator.getManifestsCacheEvictService();
-        CanvasCacheEvictService canvasCacheEvictService = CacheEvictBeanLocator.getCanvasCacheEvictService();
-
-        if (manifestsCacheEvictService != null) {
-            if (clearAll) {
-                manifestsCacheEvictService.evictAllCacheValues();
-            } else {
-                for (DSpaceObject dso : toEvictFromManifestCache) {
-                    UUID uuid = dso.getID();
-                    manifestsCacheEvictService.evictSingleCacheValue(uuid.toString());
+        try {
+            // Get the eviction service beans.
+            ManifestsCacheEvictService manifestsCacheEvictService
+                = CacheEvictBeanLocator.getManifestsCacheEvictService();
+            CanvasCacheEvictService canvasCacheEvictService = CacheEvictBeanLocator.getCanvasCacheEvictService();
+
+            // Record the invalidation of the stored manifests in this transaction, so that the store of the web
+            // application is also invalidated by the other DSpace processes (e.g. command line scripts).
+            if (manifestInvalidationService.isEnabled()) {
+                if (clearAll) {
+                    manifestInvalidationService.invalidateAll(ctx);
+                } else {
+                    for (DSpaceObject dso : toEvictFromManifestCache) {
+                        manifestInvalidationService.invalidate(ctx, dso.getID());
+                    }
                 }
             }
-        }
-        if (canvasCacheEvictService != null) {
-            for (DSpaceObject dso : toEvictFromCanvasCache) {
-                UUID uuid = dso.getID();
-                canvasCacheEvictService.evictSingleCacheValue(uuid.toString());
+            if (manifestsCacheEvictService != null) {
+                if (clearAll) {
+                    manifestsCacheEvictService.evictAllCacheValues();
+                } else {
+                    for (DSpaceObject dso : toEvictFromManifestCache) {
+                        UUID uuid = dso.getID();
+                        manifestsCacheEvictService.evictSingleCacheValue(uuid.toString());
+                    }
+                }
             }
+            if (canvasCacheEvictService != null) {
+                for (DSpaceObject dso : toEvictFromCanvasCache) {
+                    UUID uuid = dso.getID();
+                    canvasCacheEvictService.evictSingleCacheValue(uuid.toString());
+                }
+            }
+        } finally {
+            clearAll = false;
+            toEvictFromManifestCache.clear();
+            toEvictFromCanvasCache.clear();
         }
-
-        clearAll = false;
-        toEvictFromManifestCache.clear();
-        toEvictFromCanvasCache.clear();
     }
 
     @Override
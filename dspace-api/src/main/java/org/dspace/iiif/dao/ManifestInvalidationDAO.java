@@ -0,0 +1,48 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.iiif.ManifestInvalidation;
+
+/**
+ * Database Access Object interface class for the ManifestInvalidation object.
+ * The implementation of this class is responsible for all database calls for the ManifestInvalidation object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface ManifestInvalidationDAO extends GenericDAO<ManifestInvalidation> {
+
+    /**
+     * Count the invalidations of the manifest of an Item (including the ones of every manifest) recorded after the
+     * given instant.
+     *
+     * @param context DSpace context
+     * @param itemId  the Item uuid
+     * @param since   only count the invalidations recorded after this instant
+     * @return the number of invalidations
+     * @throws SQLException If a database error occurs
+     */
+    public int countByItem(Context context, UUID itemId, Instant since) throws SQLException;
+
+    /**
+     * Find the oldest invalidations.
+     *
+     * @param context DSpace context
+     * @param limit   maximum number of invalidations to return
+     * @return the invalidations, oldest first
+     * @throws SQLException If a database error occurs
+     */
+    public List<ManifestInvalidation> findOldest(Context context, int limit) throws SQLException;
+}
@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.iiif.ManifestInvalidation;
+import org.dspace.iiif.dao.ManifestInvalidationDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the ManifestInvalidation object.
+ * This class is responsible for all database calls for the ManifestInvalidation object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class ManifestInvalidationDAOImpl extends AbstractHibernateDAO<ManifestInvalidation>
+    implements ManifestInvalidationDAO {
+
+    protected ManifestInvalidationDAOImpl() {
+        super();
+    }
+
+    @Override
+    public int countByItem(Context context, UUID itemId, Instant since) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(*) FROM ManifestInvalidation m"
+            + " WHERE (m.itemId = :itemId OR m.itemId IS NULL) AND m.invalidated > :since");
+        query.setParameter("itemId", itemId);
+        query.setParameter("since", since);
+        return count(query);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ManifestInvalidation> findOldest(Context context, int limit) throws SQLException {
+        Query query = createQuery(context, "FROM ManifestInvalidation m ORDER BY m.invalidated, m.id");
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
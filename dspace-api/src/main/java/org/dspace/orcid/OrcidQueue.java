@@ -10,6 +10,7 @@ package org.dspace.orcid;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
+import java.time.Instant;
 import java.util.Objects;
 
 import jakarta.persistence.Column;
@@ -100,6 +101,13 @@ public class OrcidQueue implements ReloadableEntity<Integer> {
     @Column(name = "attempts")
     private Integer attempts = 0;
 
+    /**
+     * The time the record was queued, null for the records queued before this
+     * column existed.
+     */
+    @Column(name = "creation_date")
+    private Instant creationDate = Instant.now();
+
     public boolean isInsertAction() {
         return entity != null && isEmpty(putCode);
     }
@@ -205,6 +213,14 @@ public class OrcidQueue implements ReloadableEntity<Integer> {
         this.attempts = attempts;
     }
 
+    public Instant getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Instant creationDate) {
+        this.creationDate = creationDate;
+    }
+
     @Override
     public String toString() {
         return "OrcidQueue [id=" + id + ", profileItem=" + profileItem + ", entity=" + entity + ", description="
@@ -8,6 +8,7 @@
 package org.dspace.orcid.dao;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,6 +51,25 @@ public interface OrcidQueueDAO extends GenericDAO<OrcidQueue> {
      */
     long countByProfileItemId(Context context, UUID profileItemId) throws SQLException;
 
+    /**
+     * Count all the orcid queue records.
+     *
+     * @param  context      DSpace context object
+     * @return              the count result
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+
+    /**
+     * Returns the creation date of the oldest orcid queue record.
+     *
+     * @param  context      DSpace context object
+     * @return              the oldest creation date, or null if the queue is
+     *                      empty or holds only records without creation date
+     * @throws SQLException if an SQL error occurs
+     */
+    Instant findOldestCreationDate(Context context) throws SQLException;
+
     /**
      * Returns all the orcid queue records with the given profileItem and entity
      * items.
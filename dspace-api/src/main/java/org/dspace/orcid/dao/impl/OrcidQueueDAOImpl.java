@@ -8,6 +8,7 @@
 package org.dspace.orcid.dao.impl;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -56,6 +57,18 @@ public class OrcidQueueDAOImpl extends AbstractHibernateDAO<OrcidQueue> implemen
         return (long) query.getSingleResult();
     }
 
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(queue) FROM OrcidQueue queue");
+        return (long) query.getSingleResult();
+    }
+
+    @Override
+    public Instant findOldestCreationDate(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT MIN(queue.creationDate) FROM OrcidQueue queue");
+        return (Instant) query.getSingleResult();
+    }
+
     @Override
     public List<OrcidQueue> findByProfileItemOrEntity(Context context, Item item) throws SQLException {
         Query query = createQuery(context, "FROM OrcidQueue WHERE profileItem.id= :itemId OR entity.id = :itemId");
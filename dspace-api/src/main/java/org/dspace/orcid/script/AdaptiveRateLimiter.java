@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.script;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Rate limiter shared by the threads sending requests to ORCID, which adapts
+ * its rate to the answers of the registry: the rate is halved every time ORCID
+ * throttles a request, and grows back by a twentieth of the maximum rate with
+ * every successful request (additive increase, multiplicative decrease).
+ */
+public class AdaptiveRateLimiter {
+
+    private final double maxRate;
+
+    private final double minRate;
+
+    private final RateLimiter rateLimiter;
+
+    /**
+     * @param maxRate the maximum number of requests per second, as the quota of
+     *                the ORCID client
+     * @param minRate the number of requests per second below which the rate is
+     *                never decreased
+     */
+    public AdaptiveRateLimiter(double maxRate, double minRate) {
+        this.maxRate = maxRate;
+        this.minRate = Math.min(minRate, maxRate);
+        this.rateLimiter = RateLimiter.create(maxRate);
+    }
+
+    /**
+     * Wait until a request can be sent.
+     */
+    public void acquire() {
+        rateLimiter.acquire();
+    }
+
+    /**
+     * Record a request accepted by ORCID.
+     */
+    public synchronized void onSuccess() {
+        double rate = rateLimiter.getRate();
+        if (rate < maxRate) {
+            rateLimiter.setRate(Math.min(maxRate, rate + maxRate / 20));
+        }
+    }
+
+    /**
+     * Record a request throttled by ORCID.
+     */
+    public synchronized void onThrottled() {
+        rateLimiter.setRate(Math.max(minRate, rateLimiter.getRate() / 2));
+    }
+
+    /**
+     * @return the current number of requests per second
+     */
+    public double getRate() {
+        return rateLimiter.getRate();
+    }
+
+}
@@ -12,10 +12,21 @@ import static org.dspace.profile.OrcidSynchronizationMode.BATCH;
 import static org.dspace.profile.OrcidSynchronizationMode.MANUAL;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.apache.commons.cli.ParseException;
@@ -38,11 +49,21 @@ import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Script that perform the bulk synchronization with ORCID registry of all the
  * ORCID queue records that has an profileItem that configure the
  * synchronization mode equals to BATCH.
+ * <p>
+ * The records superseded by a later record for the same resource are removed
+ * without being sent, see {@link OrcidQueueCoalescer}. The records of different
+ * profiles are sent concurrently by "orcid.bulk-synchronization.threads"
+ * workers, each with its own Context, while the records of a profile are sent
+ * in queue order by a single worker. All the workers share an
+ * {@link AdaptiveRateLimiter}, and the records throttled by ORCID are sent
+ * again after a backoff.
+ * </p>
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
@@ -67,6 +88,14 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
 
     private boolean ignoreMaxAttempts = false;
 
+    private AdaptiveRateLimiter rateLimiter;
+
+    private final LongAdder synchronizedRecords = new LongAdder();
+
+    private final LongAdder totalQueueLatency = new LongAdder();
+
+    private final LongAccumulator maxQueueLatency = new LongAccumulator(Long::max, 0);
+
     @Override
     public void setup() throws ParseException {
         OrcidServiceFactory orcidServiceFactory = OrcidServiceFactory.getInstance();
@@ -79,6 +108,9 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
             ignoreMaxAttempts = true;
         }
 
+        this.rateLimiter = new AdaptiveRateLimiter(
+            configurationService.getIntProperty("orcid.bulk-synchronization.rate", 24), 1);
+
     }
 
     @Override
@@ -90,7 +122,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
 
         context = new Context();
-        assignCurrentUserInContext();
+        assignCurrentUserInContext(context);
 
         try {
             context.turnOffAuthorisationSystem();
@@ -113,10 +145,101 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         List<OrcidQueue> queueRecords = findQueueRecordsToSynchronize();
         handler.logInfo("Found " + queueRecords.size() + " queue records to synchronize with ORCID");
 
-        for (OrcidQueue queueRecord : queueRecords) {
-            performSynchronization(queueRecord);
+        List<OrcidQueue> supersededRecords = new ArrayList<>();
+        List<OrcidQueue> recordsToSynchronize = OrcidQueueCoalescer.coalesce(queueRecords, supersededRecords);
+        deleteSupersededRecords(supersededRecords);
+
+        Queue<List<Integer>> recordIdsByProfileItem = new ConcurrentLinkedQueue<>();
+        for (List<OrcidQueue> profileItemRecords : OrcidQueueCoalescer.groupByProfileItem(recordsToSynchronize)
+            .values()) {
+            recordIdsByProfileItem.add(profileItemRecords.stream()
+                .map(OrcidQueue::getID)
+                .collect(Collectors.toList()));
+        }
+        int profileItems = recordIdsByProfileItem.size();
+
+        long start = System.currentTimeMillis();
+        int threads = configurationService.getIntProperty("orcid.bulk-synchronization.threads", 1);
+        if (threads <= 1 || profileItems <= 1) {
+            performSynchronization(context, recordIdsByProfileItem);
+        } else {
+            performConcurrentSynchronization(recordIdsByProfileItem, Math.min(threads, profileItems));
+        }
+
+        LOGGER.info(getStatisticsMessage(profileItems, System.currentTimeMillis() - start));
+
+    }
+
+    /**
+     * Remove from the queue the records superseded by a later record of the same
+     * resource.
+     */
+    private void deleteSupersededRecords(List<OrcidQueue> supersededRecords) throws SQLException {
+        if (supersededRecords.isEmpty()) {
+            return;
+        }
+        for (OrcidQueue queueRecord : supersededRecords) {
+            orcidQueueService.delete(context, queueRecord);
+        }
+        commitTransaction(context);
+        handler.logInfo("Removed " + supersededRecords.size() + " queue records superseded by a later change");
+    }
+
+    /**
+     * Synchronize the records of the given profiles with a pool of workers, each
+     * taking all the records of a profile at once.
+     */
+    private void performConcurrentSynchronization(Queue<List<Integer>> recordIdsByProfileItem, int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("orcid-bulk-push-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    Context workerContext = new Context();
+                    try {
+                        assignCurrentUserInContext(workerContext);
+                        workerContext.turnOffAuthorisationSystem();
+                        performSynchronization(workerContext, recordIdsByProfileItem);
+                        workerContext.complete();
+                    } finally {
+                        if (workerContext.isValid()) {
+                            workerContext.abort();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while synchronizing the ORCID queue", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
+    /**
+     * Synchronize the records of the profiles taken from the given queue, until
+     * the queue is empty.
+     */
+    private void performSynchronization(Context context, Queue<List<Integer>> recordIdsByProfileItem)
+        throws SQLException {
+        List<Integer> recordIds;
+        while ((recordIds = recordIdsByProfileItem.poll()) != null) {
+            for (Integer recordId : recordIds) {
+                OrcidQueue queueRecord = orcidQueueService.find(context, recordId);
+                if (queueRecord != null) {
+                    performSynchronization(context, queueRecord);
+                }
+            }
+            context.uncacheEntities();
+        }
     }
 
     /**
@@ -147,34 +270,115 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
     /**
      * Try to synchronize the given queue record with ORCID, handling any errors.
      */
-    private void performSynchronization(OrcidQueue queueRecord) {
+    private void performSynchronization(Context context, OrcidQueue queueRecord) {
 
         try {
 
-            queueRecord = reload(queueRecord);
+            queueRecord = reload(context, queueRecord);
 
-            handler.logInfo(getOperationInfoMessage(queueRecord));
+            logInfo(getOperationInfoMessage(queueRecord));
 
-            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(context, queueRecord, false);
+            Instant creationDate = queueRecord.getCreationDate();
+
+            OrcidHistory orcidHistory = synchronizeWithOrcid(context, queueRecord);
+
+            logInfo(getSynchronizationResultMessage(orcidHistory));
 
-            handler.logInfo(getSynchronizationResultMessage(orcidHistory));
+            commitTransaction(context);
 
-            commitTransaction();
+            recordQueueLatency(creationDate);
 
         } catch (OrcidValidationException ex) {
-            rollbackTransaction();
-            handler.logError(getValidationErrorMessage(ex));
+            rollbackTransaction(context);
+            logError(getValidationErrorMessage(ex));
         } catch (Exception ex) {
-            rollbackTransaction();
+            rollbackTransaction(context);
             String errorMessage = getUnexpectedErrorMessage(ex);
             LOGGER.error(errorMessage, ex);
-            handler.logError(errorMessage);
+            logError(errorMessage);
         } finally {
-            incrementAttempts(queueRecord);
+            incrementAttempts(context, queueRecord);
         }
 
     }
 
+    /**
+     * Send the given queue record to ORCID within the rate limit, sending it again
+     * after a growing delay as long as ORCID throttles it, up to
+     * "orcid.bulk-synchronization.max-retries" times.
+     */
+    private OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue queueRecord) throws SQLException {
+        int maxRetries = configurationService.getIntProperty("orcid.bulk-synchronization.max-retries", 3);
+        long backoff = configurationService.getLongProperty("orcid.bulk-synchronization.retry-backoff", 1000);
+
+        for (int attempt = 0; ; attempt++) {
+            rateLimiter.acquire();
+            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(context, queueRecord, false);
+            if (!isThrottled(orcidHistory)) {
+                rateLimiter.onSuccess();
+                return orcidHistory;
+            }
+
+            rateLimiter.onThrottled();
+            if (attempt >= maxRetries) {
+                return orcidHistory;
+            }
+
+            // forget the history record of the throttled attempt
+            rollbackTransaction(context);
+            LOGGER.warn("ORCID throttled the synchronization of {}, retrying at {} requests per second",
+                queueRecord, rateLimiter.getRate());
+            try {
+                Thread.sleep(backoff << Math.min(attempt, 16));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting to retry an ORCID synchronization", e);
+            }
+
+            queueRecord = reload(context, queueRecord);
+            if (queueRecord == null) {
+                return orcidHistory;
+            }
+        }
+    }
+
+    private boolean isThrottled(OrcidHistory orcidHistory) {
+        return orcidHistory.getStatus() == 429 || orcidHistory.getStatus() == 503;
+    }
+
+    /**
+     * Record the time a synchronized record waited in the queue.
+     */
+    private void recordQueueLatency(Instant creationDate) {
+        synchronizedRecords.increment();
+        if (creationDate != null) {
+            long latency = Duration.between(creationDate, Instant.now()).toMillis();
+            totalQueueLatency.add(latency);
+            maxQueueLatency.accumulate(latency);
+        }
+    }
+
+    /**
+     * Returns an info log message with the number of synchronized records, the
+     * time they waited in the queue and the depth of the queue after the
+     * synchronization.
+     */
+    private String getStatisticsMessage(int profileItems, long duration) throws SQLException {
+        long records = synchronizedRecords.sum();
+        String message = "Synchronized " + records + " queue records of " + profileItems + " profiles in "
+            + duration / 1000 + " seconds";
+        if (records > 0) {
+            message += ", waited in the queue " + totalQueueLatency.sum() / records / 1000 + " seconds on average and "
+                + maxQueueLatency.get() / 1000 + " seconds at most";
+        }
+        message += ". " + orcidQueueService.countAll(context) + " records remain in the queue";
+        Instant oldest = orcidQueueService.findOldestCreationDate(context).orElse(null);
+        if (oldest != null) {
+            message += ", the oldest since " + oldest;
+        }
+        return message;
+    }
+
     /**
      * Returns the Synchronization mode related to the given profile item.
      */
@@ -257,8 +461,8 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         return "An unexpected error occurs during the synchronization: " + getRootMessage(ex);
     }
 
-    private void incrementAttempts(OrcidQueue queueRecord) {
-        queueRecord = reload(queueRecord);
+    private void incrementAttempts(Context context, OrcidQueue queueRecord) {
+        queueRecord = reload(context, queueRecord);
         if (queueRecord == null) {
             return;
         }
@@ -266,13 +470,31 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         try {
             queueRecord.setAttempts(queueRecord.getAttempts() != null ? queueRecord.getAttempts() + 1 : 1);
             orcidQueueService.update(context, queueRecord);
-            commitTransaction();
+            commitTransaction(context);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
 
     }
 
+    /**
+     * Log an info message, the handler being shared by the workers.
+     */
+    private void logInfo(String message) {
+        synchronized (handler) {
+            handler.logInfo(message);
+        }
+    }
+
+    /**
+     * Log an error message, the handler being shared by the workers.
+     */
+    private void logError(String message) {
+        synchronized (handler) {
+            handler.logError(message);
+        }
+    }
+
     /**
      * This method will assign the currentUser to the {@link Context}. The instance
      * of the method in this class will fetch the EPersonIdentifier from this class,
@@ -280,7 +502,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
      * used to find the {@link EPerson} associated with it and this {@link EPerson}
      * will be set as the currentUser of the created {@link Context}
      */
-    private void assignCurrentUserInContext() throws SQLException {
+    private void assignCurrentUserInContext(Context context) throws SQLException {
         UUID uuid = getEpersonIdentifier();
         if (uuid != null) {
             EPerson ePerson = EPersonServiceFactory.getInstance().getEPersonService().find(context, uuid);
@@ -288,7 +510,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private OrcidQueue reload(OrcidQueue queueRecord) {
+    private OrcidQueue reload(Context context, OrcidQueue queueRecord) {
         try {
             return context.reloadEntity(queueRecord);
         } catch (SQLException e) {
@@ -296,7 +518,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private void commitTransaction() {
+    private void commitTransaction(Context context) {
         try {
             context.commit();
         } catch (SQLException e) {
@@ -304,7 +526,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private void rollbackTransaction() {
+    private void rollbackTransaction(Context context) {
         try {
             context.rollback();
         } catch (SQLException e) {
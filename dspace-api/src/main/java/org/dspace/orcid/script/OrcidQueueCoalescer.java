@@ -0,0 +1,102 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.script;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.orcid.OrcidOperation;
+import org.dspace.orcid.OrcidQueue;
+
+/**
+ * Coalesces the ORCID queue records which target the same resource of the same
+ * profile, so that repeated changes of an entity are sent to ORCID once.
+ * <p>
+ * The records are grouped by profile, entity (or put code for the deletion
+ * records, which have no entity), record type and metadata signature. The
+ * entities and the profile sections are read when the record is synchronized,
+ * so the latest record of a group is enough to send the latest state: the
+ * records queued before it are superseded. The only exception are the deletions
+ * of another put code than the one of the latest record, which must still be
+ * sent.
+ * </p>
+ */
+public final class OrcidQueueCoalescer {
+
+    private static final Comparator<OrcidQueue> BY_ID = Comparator.comparing(OrcidQueue::getID);
+
+    private OrcidQueueCoalescer() {
+    }
+
+    /**
+     * Coalesce the given records.
+     *
+     * @param  records    the queue records to synchronize
+     * @param  superseded the list receiving the records which do not need to be
+     *                    sent, and can be removed from the queue
+     * @return            the records to send, in queue order
+     */
+    public static List<OrcidQueue> coalesce(List<OrcidQueue> records, List<OrcidQueue> superseded) {
+
+        Map<List<Object>, List<OrcidQueue>> recordsByTarget = new LinkedHashMap<>();
+        records.stream()
+            .sorted(BY_ID)
+            .forEach(record -> recordsByTarget.computeIfAbsent(getTarget(record), key -> new ArrayList<>())
+                .add(record));
+
+        List<OrcidQueue> coalesced = new ArrayList<>();
+        for (List<OrcidQueue> group : recordsByTarget.values()) {
+            OrcidQueue latest = group.get(group.size() - 1);
+            for (OrcidQueue record : group.subList(0, group.size() - 1)) {
+                if (isDeletionOfAnotherPutCode(record, latest)) {
+                    coalesced.add(record);
+                } else {
+                    superseded.add(record);
+                }
+            }
+            coalesced.add(latest);
+        }
+
+        coalesced.sort(BY_ID);
+        return coalesced;
+    }
+
+    /**
+     * Group the given records by profile item, keeping their order.
+     *
+     * @param  records the queue records
+     * @return         the records of every profile item
+     */
+    public static Map<UUID, List<OrcidQueue>> groupByProfileItem(List<OrcidQueue> records) {
+        Map<UUID, List<OrcidQueue>> recordsByProfileItem = new LinkedHashMap<>();
+        for (OrcidQueue record : records) {
+            recordsByProfileItem.computeIfAbsent(record.getProfileItem().getID(), key -> new ArrayList<>())
+                .add(record);
+        }
+        return recordsByProfileItem;
+    }
+
+    private static List<Object> getTarget(OrcidQueue record) {
+        Item entity = record.getEntity();
+        Object target = entity != null ? entity.getID() : "putCode:" + record.getPutCode();
+        return Arrays.asList(record.getProfileItem().getID(), target, record.getRecordType(), record.getMetadata());
+    }
+
+    private static boolean isDeletionOfAnotherPutCode(OrcidQueue record, OrcidQueue latest) {
+        return record.getOperation() == OrcidOperation.DELETE
+            && !Objects.equals(record.getPutCode(), latest.getPutCode());
+    }
+
+}
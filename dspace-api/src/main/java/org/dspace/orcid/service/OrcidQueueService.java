@@ -8,7 +8,9 @@
 package org.dspace.orcid.service;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -195,6 +197,27 @@ public interface OrcidQueueService {
      */
     long countByProfileItemId(Context context, UUID profileItemId) throws SQLException;
 
+    /**
+     * Returns the number of records on the OrcidQueue, that is the depth of the
+     * queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the record's count
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+
+    /**
+     * Returns the creation date of the oldest record on the OrcidQueue, from
+     * which the time waited by the records before being synchronized can be
+     * computed.
+     *
+     * @param  context      DSpace context object
+     * @return              the oldest creation date, if any
+     * @throws SQLException if an SQL error occurs
+     */
+    Optional<Instant> findOldestCreationDate(Context context) throws SQLException;
+
     /**
      * Delete the OrcidQueue record with the given id.
      *
@@ -8,6 +8,7 @@
 package org.dspace.orcid.service.impl;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -80,6 +81,16 @@ public class OrcidQueueServiceImpl implements OrcidQueueService {
         return orcidQueueDAO.countByProfileItemId(context, profileItemId);
     }
 
+    @Override
+    public long countAll(Context context) throws SQLException {
+        return orcidQueueDAO.countAll(context);
+    }
+
+    @Override
+    public Optional<Instant> findOldestCreationDate(Context context) throws SQLException {
+        return Optional.ofNullable(orcidQueueDAO.findOldestCreationDate(context));
+    }
+
     @Override
     public List<OrcidQueue> findAll(Context context) throws SQLException {
         return orcidQueueDAO.findAll(context, OrcidQueue.class);
@@ -10,8 +10,6 @@ package org.dspace.statistics;
 import static java.lang.Integer.parseInt;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
-import static java.util.Arrays.asList;
-import static java.util.Collections.singletonList;
 import static org.apache.commons.cli.Option.builder;
 import static org.apache.logging.log4j.LogManager.getLogger;
 import static org.dspace.core.LogHelper.getHeader;
@@ -19,11 +17,9 @@ import static org.dspace.core.LogHelper.getHeader;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -31,9 +27,8 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.Logger;
-import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
 import org.dspace.core.Context;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -170,37 +165,44 @@ public class AnonymizeStatistics {
 
 
     /**
-     * Anonymize the relevant solr documents, returned by the getDocuments method.
+     * Anonymize the relevant solr documents: the non-anonymized documents which are older than the time period
+     * configured by the 'anonymize_statistics.time_threshold' config (or 90 days, if not configured).
+     * The documents are read with a cursor and updated in place, the time slices of the statistics cores being
+     * processed by separate threads.
      */
     private static void anonymizeStatistics() {
         try {
-            long updated = 0;
-            long total = getDocuments().getResults().getNumFound();
+            String filterQuery = "time:[* TO " + TIME_LIMIT + "] AND -dns:" + DNS_MASK + " AND ip:*";
+            long total = solrLoggerService.query("*:*", filterQuery, null, 0, -1, null, null, null, null,
+                                                 null, false, -1, false).getResults().getNumFound();
             printInfo(total + " documents to update");
 
-            // The documents will be processed in separate threads.
-            ExecutorService executorService = Executors.newFixedThreadPool(threads);
-
-            QueryResponse documents;
-            do {
-                documents = getDocuments();
-
-                // list of the processing callables to execute
-                Collection<DoProcessing> callables = new ArrayList<>();
-
-                for (SolrDocument document : documents.getResults()) {
-                    updated++;
-                    callables.add(new DoProcessing(document, updated));
-                }
-
-                // execute the processing callables
-                executorService.invokeAll(callables);
-
-                // Commit the solr core
-                solrLoggerService.commit();
-
-                printInfo("processed " + updated + " records");
-            } while (documents.getResults().getNumFound() > 0);
+            AtomicLong processed = new AtomicLong();
+            long updated = solrLoggerService.bulkUpdate(filterQuery, List.of("ip"), threads, batchSize,
+                                                        new SolrLoggerService.DocumentUpdater() {
+                    @Override
+                    public SolrInputDocument update(SolrDocument document) throws IOException {
+                        SolrInputDocument update = new SolrInputDocument();
+                        update.addField("ip", Map.of("set",
+                            solrLoggerService.anonymizeIp(document.getFieldValue("ip").toString())));
+                        update.addField("dns", Map.of("set", DNS_MASK));
+                        processed.incrementAndGet();
+                        return update;
+                    }
+
+                    @Override
+                    public void afterBatch() {
+                        printInfo("processed " + processed.get() + " records");
+                        if (sleep > 0) {
+                            try {
+                                sleep(sleep);
+                            } catch (InterruptedException e) {
+                                printError(e);
+                                currentThread().interrupt();
+                            }
+                        }
+                    }
+                });
 
             printInfo(updated + " documents updated");
             if (updated == total) {
@@ -212,70 +214,4 @@ public class AnonymizeStatistics {
             printError(e);
         }
     }
-
-    /**
-     * Get the documents to anonymize.
-     * @return
-     *      Non-anonymized documents, which are older than the time period configured by the
-     *      'anonymize_statistics.time_threshold' config (or 90 days, if not configured)
-     */
-    private static QueryResponse getDocuments() throws SolrServerException, IOException {
-
-        if (sleep > 0) {
-            try {
-                printInfo("sleep " + sleep + "ms");
-                sleep(sleep);
-            } catch (InterruptedException e) {
-                printError(e);
-                currentThread().interrupt();
-            }
-        }
-
-        return solrLoggerService.query(
-            "ip:*",
-            "time:[* TO " + TIME_LIMIT + "] AND -dns:" + DNS_MASK,
-            null, batchSize, -1, null, null, null, null,
-            null, false, -1, false
-        );
-    }
-
-    /**
-     * {@link Callable} implementation to process a solr document to be anonymized.
-     * It will return true if the anonymization succeeded.
-     */
-    public static class DoProcessing implements Callable<Boolean> {
-
-        private final SolrDocument document;
-        private final long updated;
-
-        public DoProcessing(SolrDocument document, long updated) {
-            this.document = document;
-            this.updated = updated;
-        }
-
-        @Override
-        public Boolean call() {
-            try {
-                solrLoggerService.update(
-                    "uid:" + document.getFieldValue("uid"),
-                    "replace",
-                    asList(
-                        "ip",
-                        "dns"
-                    ),
-                    asList(
-                        singletonList(solrLoggerService.anonymizeIp(document.getFieldValue("ip").toString())),
-                        singletonList(DNS_MASK)
-                    ),
-                    false
-                );
-                printInfo(updated + ": updated document with uid " + document.getFieldValue("uid") + " " +
-                              Instant.now());
-                return true;
-            } catch (Exception e) {
-                printError(e);
-                return false;
-            }
-        }
-    }
 }
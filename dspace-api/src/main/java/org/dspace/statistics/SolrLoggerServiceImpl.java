@@ -8,11 +8,8 @@
 package org.dspace.statistics;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
@@ -34,6 +31,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,15 +39,24 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -78,6 +85,7 @@ import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CommonParams;
 import org.apache.solr.common.params.CoreAdminParams.CoreAdminAction;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.MapSolrParams;
 import org.apache.solr.common.params.ModifiableSolrParams;
@@ -107,6 +115,7 @@ import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Static holder for a HttpSolrClient connection pool to issue
@@ -130,9 +139,37 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected boolean useProxies;
 
-    private static final List<String> statisticYearCores = new ArrayList<>();
+    private static final List<String> statisticYearCores = new CopyOnWriteArrayList<>();
     private static boolean statisticYearCoresInit = false;
 
+    /** The time partitions among the statistics cores, by their entry in {@link #statisticYearCores} */
+    private static final Map<String, StatisticsPartition> statisticPartitions = new ConcurrentHashMap<>();
+
+    /** Clients of the statistics cores other than the main one, by core name */
+    private static final Map<String, SolrClient> statisticCoreClients = new ConcurrentHashMap<>();
+
+    /** Client of the core of the daily rollups of the views, see {@link StatisticsRollup} */
+    private static volatile SolrClient rollupClient;
+
+    /** The first day which is not rolled up yet, and when it was read from the rollup core */
+    private static volatile Instant rollupWatermark;
+    private static volatile long rollupWatermarkRead = 0;
+
+    /** Number of documents read and updated at once by the bulk updates */
+    private static final int BULK_UPDATE_BATCH_SIZE = 1000;
+
+    /** Minimum time between two lookups of a missing partition, in milliseconds */
+    private static final long PARTITION_LOOKUP_INTERVAL = 60_000;
+
+    /** When a missing partition was last looked up */
+    private static final AtomicLong partitionLookup = new AtomicLong();
+
+    /** Pseudo-field giving the core of a document returned by a query spanning several cores */
+    private static final String SHARD_FIELD = "[shard]";
+
+    /** A top-level time range of a filter query, as generated by StatisticsSolrDateFilter */
+    private static final Pattern TIME_RANGE = Pattern.compile("time:\\[(\\S+) TO (\\S+)\\]");
+
     private static final String IP_V4_REGEX = "^((?:\\d{1,3}\\.){3})\\d{1,3}$";
     private static final String IP_V6_REGEX = "^(.*):.*:.*$";
 
@@ -253,11 +290,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
+            SolrClient target = getSolrFor(doc1);
+            target.add(doc1);
             // commits are executed automatically using the solr autocommit
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
             if (!useAutoCommit) {
-                solr.commit(false, false);
+                target.commit(false, false);
             }
 
         } catch (RuntimeException re) {
@@ -299,11 +337,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
+            SolrClient target = getSolrFor(doc1);
+            target.add(doc1);
             // commits are executed automatically using the solr autocommit
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
             if (!useAutoCommit) {
-                solr.commit(false, false);
+                target.commit(false, false);
             }
 
         } catch (RuntimeException re) {
@@ -568,7 +607,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            getSolrFor(solrDoc).add(solrDoc);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -617,7 +656,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            getSolrFor(solrDoc).add(solrDoc);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
@@ -670,8 +709,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void removeIndex(String query) throws IOException,
         SolrServerException {
-        solr.deleteByQuery(query);
-        solr.commit();
+        deleteByQuery(query);
+        commit();
     }
 
     @Override
@@ -700,11 +739,16 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     public class ResultProcessor {
 
+        // the statistics core of the document being processed, when the query spans several cores
+        private String shard;
+
         private SolrInputDocument toSolrInputDocument(SolrDocument d) {
             SolrInputDocument doc = new SolrInputDocument();
 
             for (String name : d.getFieldNames()) {
-                doc.addField(name, d.getFieldValue(name));
+                if (!SHARD_FIELD.equals(name)) {
+                    doc.addField(name, d.getFieldValue(name));
+                }
             }
 
             return doc;
@@ -716,6 +760,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             params.put("rows", "10");
             if (0 < statisticYearCores.size()) {
                 params.put(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ','));
+                params.put("fl", "*," + SHARD_FIELD);
             }
             MapSolrParams solrParams = new MapSolrParams(params);
             QueryResponse response = solr.query(solrParams);
@@ -725,6 +770,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             // process the first batch
             for (SolrDocument result : results) {
+                shard = (String) result.getFieldValue(SHARD_FIELD);
                 process(toSolrInputDocument(result));
             }
 
@@ -735,14 +781,22 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 response = solr.query(solrParams);
                 results = response.getResults();
                 for (SolrDocument result : results) {
+                    shard = (String) result.getFieldValue(SHARD_FIELD);
                     process(toSolrInputDocument(result));
                 }
             }
 
         }
 
+        /**
+         * @return the client of the statistics core holding the document being processed, to update it in place
+         */
+        protected SolrClient getSolrOfDocument() {
+            return getSolrForShard(shard);
+        }
+
         public void commit() throws IOException, SolrServerException {
-            solr.commit();
+            SolrLoggerServiceImpl.this.commit();
         }
 
         /**
@@ -773,27 +827,25 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void markRobots() {
-        ResultProcessor processor = new ResultProcessor() {
-            @Override
-            public void process(SolrInputDocument doc)
-                    throws IOException, SolrServerException {
-                String clientIP = (String) doc.getFieldValue("ip");
-                String hostname = (String) doc.getFieldValue("dns");
-                String agent = (String) doc.getFieldValue("userAgent");
-                if (SpiderDetector.isSpider(clientIP, null, hostname, agent)) {
-                    doc.removeField("isBot");
-                    doc.addField("isBot", true);
-                    solr.add(doc);
-                    log.info("Marked {} / {} / {} as a robot in record {}.",
-                            clientIP, hostname, agent,
-                            doc.getField("uid").getValue());
-                }
-            }
-        };
-
         try {
-            processor.execute("-isBot:true");
-            solr.commit();
+            Set<LocalDate> days = ConcurrentHashMap.newKeySet();
+            long marked = bulkUpdate("-isBot:true", List.of("ip", "dns", "userAgent", "time"), getBulkUpdateThreads(),
+                                     BULK_UPDATE_BATCH_SIZE, document -> {
+                    String clientIP = (String) document.getFieldValue("ip");
+                    String hostname = (String) document.getFieldValue("dns");
+                    String agent = (String) document.getFieldValue("userAgent");
+                    if (!SpiderDetector.isSpider(clientIP, null, hostname, agent)) {
+                        return null;
+                    }
+                    log.debug("Marked {} / {} / {} as a robot in record {}.",
+                              clientIP, hostname, agent, document.getFieldValue("uid"));
+                    days.add(getDay(document));
+                    SolrInputDocument update = new SolrInputDocument();
+                    update.addField("isBot", Map.of("set", true));
+                    return update;
+                });
+            log.info("Marked {} records as robot accesses.", marked);
+            rollupDays(days);
         } catch (SolrServerException | IOException ex) {
             log.error("Failed while marking robot accesses.", ex);
         }
@@ -802,7 +854,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void deleteRobots() {
         try {
-            solr.deleteByQuery("isBot:true");
+            deleteByQuery("isBot:true");
+            commit();
         } catch (IOException | SolrServerException e) {
             log.error("Failed while deleting robot accesses.", e);
         }
@@ -819,68 +872,224 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     public void update(String query, String action,
                        List<String> fieldNames, List<List<Object>> fieldValuesList, boolean commit)
             throws SolrServerException, IOException {
+        // the actions are atomic update operations, which do not need to read the documents
+        String operation;
+        if (action.equals("addOne")) {
+            operation = "add";
+        } else if (action.equals("replace")) {
+            operation = "set";
+        } else if (action.equals("remOne")) {
+            operation = "remove";
+        } else {
+            return;
+        }
+        if (fieldNames.isEmpty()) {
+            return;
+        }
+        SolrInputDocument update = new SolrInputDocument();
+        for (int j = 0; j < fieldNames.size(); j++) {
+            update.addField(fieldNames.get(j), Map.of(operation, fieldValuesList.get(j)));
+        }
 
-        // Since there is NO update
-        // We need to get our documents
-        // QueryResponse queryResponse = solr.query()//query(query, null, -1,
-        // null, null, null);
+        // called while handling requests, e.g. by the StatisticsLoggingConsumer: update in the current thread only
+        bulkUpdate(getStatisticsCores(), query, List.of(), 1, BULK_UPDATE_BATCH_SIZE, commit,
+                   document -> update.deepCopy());
+        // the rollups keep these fields of the views, e.g. their owners, so they are updated along with them
+        SolrClient rollups = getRollupClient();
+        if (rollups != null && StatisticsRollup.KEY_FIELDS.containsAll(fieldNames)) {
+            bulkUpdate(List.of(rollups), query, List.of(), 1, BULK_UPDATE_BATCH_SIZE, commit,
+                       document -> update.deepCopy());
+        }
+    }
 
-        List<SolrInputDocument> docsToUpdate = new ArrayList<>();
+    @Override
+    public long bulkUpdate(String filterQuery, List<String> fields, int threads, int batchSize,
+                           DocumentUpdater updater)
+        throws SolrServerException, IOException {
+        return bulkUpdate(getStatisticsCores(), filterQuery, fields, threads, batchSize, true, updater);
+    }
 
-        ResultProcessor processor = new ResultProcessor() {
-            @Override
-            public void process(SolrInputDocument document) {
-                docsToUpdate.add(document);
+    /**
+     * See {@link #bulkUpdate(String, List, int, int, DocumentUpdater)}.
+     *
+     * @param cores  the cores to update
+     * @param commit whether to commit the updates at the end, otherwise they are only committed in batches
+     */
+    protected long bulkUpdate(List<SolrClient> cores, String filterQuery, List<String> fields, int threads,
+                              int batchSize, boolean commit, DocumentUpdater updater)
+        throws SolrServerException, IOException {
+        List<Callable<Long>> slices = new ArrayList<>();
+        for (SolrClient core : cores) {
+            if (threads <= 1) {
+                // no need to split the documents which are updated one slice after the other
+                slices.add(() -> bulkUpdateSlice(core, filterQuery, null, fields, batchSize, updater));
+                continue;
             }
-        };
-
-        processor.execute(query);
+            for (String timeRange : getBulkUpdateSlices(core, filterQuery)) {
+                slices.add(() -> bulkUpdateSlice(core, filterQuery, timeRange, fields, batchSize, updater));
+            }
+        }
 
-        // Add the new (updated once
-        for (int i = 0; i < docsToUpdate.size(); i++) {
-            SolrInputDocument solrDocument = docsToUpdate.get(i);
+        long updated = 0;
+        if (threads <= 1 || slices.size() <= 1) {
+            for (Callable<Long> slice : slices) {
+                try {
+                    updated += slice.call();
+                } catch (SolrServerException | IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        } else {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("statistics-update-");
+            threadFactory.setDaemon(true);
+            ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+            try {
+                List<Future<Long>> futures = new ArrayList<>();
+                for (Callable<Long> slice : slices) {
+                    futures.add(executor.submit(slice));
+                }
+                for (Future<Long> future : futures) {
+                    updated += future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while updating the statistics", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SolrServerException) {
+                    throw (SolrServerException) e.getCause();
+                } else if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
 
-            // Delete the document from the solr client
-            solr.deleteByQuery("uid:" + solrDocument.getFieldValue("uid"));
+        if (commit) {
+            commit();
+        }
+        return updated;
+    }
 
-            // Now loop over our fieldname actions
-            for (int j = 0; j < fieldNames.size(); j++) {
-                String fieldName = fieldNames.get(j);
-                List<Object> fieldValues = fieldValuesList.get(j);
+    /**
+     * Split the documents of a core matching a filter query in years, which can be updated in parallel.
+     *
+     * @param core        the statistics core
+     * @param filterQuery filter of the documents, or null
+     * @return the time ranges of the slices, as filter queries
+     */
+    private List<String> getBulkUpdateSlices(SolrClient core, String filterQuery)
+        throws SolrServerException, IOException {
+        String start = "NOW/YEAR-" + (Year.now().getValue() - 2000) + "YEARS";
+        String end = "NOW/YEAR+1YEAR";
+        SolrQuery yearQuery = new SolrQuery("*:*");
+        if (StringUtils.isNotBlank(filterQuery)) {
+            yearQuery.addFilterQuery(filterQuery);
+        }
+        yearQuery.setRows(0);
+        yearQuery.setFacet(true);
+        yearQuery.add(FacetParams.FACET_RANGE, "time");
+        yearQuery.add(FacetParams.FACET_RANGE_START, start);
+        yearQuery.add(FacetParams.FACET_RANGE_END, end);
+        yearQuery.add(FacetParams.FACET_RANGE_GAP, "+1YEAR");
+        yearQuery.setFacetMinCount(1);
+        QueryResponse response = core.query(yearQuery);
+        if (response.getResults().getNumFound() == 0) {
+            return List.of();
+        }
 
-                if (action.equals("addOne") || action.equals("replace")) {
-                    if (action.equals("replace")) {
-                        solrDocument.removeField(fieldName);
-                    }
+        List<String> slices = new ArrayList<>();
+        // the documents outside of the faceted years, if any
+        slices.add("time:[* TO " + start + "} OR time:[" + end + " TO *]");
+        List<RangeFacet.Count> years = response.getFacetRanges().get(0).getCounts();
+        for (RangeFacet.Count year : years) {
+            String yearStart = year.getValue();
+            slices.add("time:[" + yearStart + " TO " + yearStart + "+1YEAR}");
+        }
+        return slices;
+    }
 
-                    for (Object fieldValue : fieldValues) {
-                        solrDocument.addField(fieldName, fieldValue);
-                    }
-                } else if (action.equals("remOne")) {
-                    // Remove the field
-                    java.util.Collection<Object> values = solrDocument
-                        .getFieldValues(fieldName);
-                    solrDocument.removeField(fieldName);
-                    for (Object value : values) {
-                        // Keep all the values besides the one we need to remove
-                        if (!fieldValues.contains((value))) {
-                            solrDocument.addField(fieldName, value);
-                        }
-                    }
+    /**
+     * Update the documents of a slice, read with a cursor on their unique key.
+     *
+     * @param timeRange the time range of the slice, as a filter query, or null for all the documents
+     */
+    private long bulkUpdateSlice(SolrClient core, String filterQuery, String timeRange, List<String> fields,
+                                 int batchSize, DocumentUpdater updater)
+        throws SolrServerException, IOException, SQLException {
+        SolrQuery query = new SolrQuery("*:*");
+        if (StringUtils.isNotBlank(filterQuery)) {
+            query.addFilterQuery(filterQuery);
+        }
+        if (timeRange != null) {
+            query.addFilterQuery(timeRange);
+        }
+        query.setFields("uid");
+        for (String field : fields) {
+            query.addField(field);
+        }
+        query.setRows(batchSize);
+        query.setSort("uid", SolrQuery.ORDER.asc);
+
+        int commitSize = configurationService.getIntProperty("usage-statistics.bulk-update.commitSize", 100000);
+        long updated = 0;
+        long uncommitted = 0;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = core.query(query);
+
+            List<SolrInputDocument> updates = new ArrayList<>();
+            for (SolrDocument document : response.getResults()) {
+                SolrInputDocument update = updater.update(document);
+                if (update != null && !update.isEmpty()) {
+                    update.setField("uid", document.getFieldValue("uid"));
+                    updates.add(update);
                 }
             }
+            if (!updates.isEmpty()) {
+                core.add(updates);
+                updated += updates.size();
+                uncommitted += updates.size();
+                if (uncommitted >= commitSize) {
+                    core.commit(false, false);
+                    uncommitted = 0;
+                }
+            }
+            updater.afterBatch();
 
-            // see https://stackoverflow.com/questions/26941260/normalizing-solr-records-for-sharding-version-issues
-            solrDocument.removeField("_version_");
-
-            solr.add(solrDocument);
-
-            if (commit) {
-                commit();
+            String nextCursorMark = response.getNextCursorMark();
+            if (cursorMark.equals(nextCursorMark)) {
+                break;
             }
+            cursorMark = nextCursorMark;
         }
-        // System.out.println("SolrLogger.update(\""+query+"\"):"+(new
-        // Date().getTime() - start)+"ms,"+numbFound+"records");
+        return updated;
+    }
+
+    /**
+     * @return the clients of all the statistics cores, the main one first
+     */
+    private List<SolrClient> getStatisticsCores() {
+        initSolrYearCores();
+        List<SolrClient> cores = new ArrayList<>();
+        cores.add(solr);
+        cores.addAll(statisticCoreClients.values());
+        return cores;
+    }
+
+    /**
+     * @return the day of a usage event, in UTC
+     */
+    private LocalDate getDay(SolrDocument document) {
+        return LocalDate.ofInstant(((Date) document.getFieldValue("time")).toInstant(), ZoneOffset.UTC);
+    }
+
+    private int getBulkUpdateThreads() {
+        return configurationService.getIntProperty("usage-statistics.bulk-update.threads", 4);
     }
 
     @Override
@@ -894,6 +1103,15 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                                          String filterQuery, String facetField, int max, boolean showTotal,
                                          List<String> facetQueries, int facetMinCount)
             throws SolrServerException, IOException {
+        if (isRollupQuery(query, filterQuery, facetField, null, null)) {
+            StatisticsRollup.Counts counts = queryCounts(query, filterQuery, facetField, max, null, null, null, null);
+            List<Map.Entry<String, Long>> values = counts.getValues(max, facetMinCount);
+            if (values.isEmpty()) {
+                return new ObjectCount[0];
+            }
+            return toObjectCounts(values, showTotal ? counts.getTotal() : null, null);
+        }
+
         QueryResponse queryResponse = query(query, filterQuery, facetField,
                                             0, max, null, null, null, facetQueries, null, false, facetMinCount);
         if (queryResponse == null) {
@@ -931,6 +1149,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                                         String filterQuery, int max, String dateType, String dateStart,
                                         String dateEnd, boolean showTotal, Context context, int facetMinCount)
             throws SolrServerException, IOException {
+        if (isRollupQuery(query, filterQuery, null, dateType, null)) {
+            StatisticsRollup.Counts counts = queryCounts(query, filterQuery, null, max, dateType, dateStart, dateEnd,
+                                                         null);
+            return toObjectCounts(counts.getTimes(facetMinCount), showTotal ? counts.getTotal() : null, dateType);
+        }
+
         QueryResponse queryResponse = query(query, filterQuery, null, 0, max,
                                             dateType, dateStart, dateEnd, null, null, false, facetMinCount);
         if (queryResponse == null) {
@@ -968,6 +1192,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     public Map<String, Integer> queryFacetQuery(String query, String filterQuery, List<String> facetQueries,
                                                 int facetMinCount)
         throws SolrServerException, IOException {
+        if (isRollupQuery(query, filterQuery, null, null, facetQueries)) {
+            return queryCounts(query, filterQuery, null, 1, null, null, null, facetQueries).getQueries();
+        }
+
         QueryResponse response = query(query, filterQuery, null, 0, 1, null, null,
                                        null, facetQueries, null, false, facetMinCount);
         return response.getFacetQuery();
@@ -976,6 +1204,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public ObjectCount queryTotal(String query, String filterQuery, int facetMinCount)
         throws SolrServerException, IOException {
+        if (isRollupQuery(query, filterQuery, null, null, null)) {
+            ObjectCount objCount = new ObjectCount();
+            objCount.setCount(queryCounts(query, filterQuery, null, -1, null, null, null, null).getTotal());
+            return objCount;
+        }
+
         QueryResponse queryResponse = query(query, filterQuery, null, 0, -1, null,
                                             null, null, null, null, false, facetMinCount);
         ObjectCount objCount = new ObjectCount();
@@ -1036,7 +1270,8 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         SolrQuery solrQuery = new SolrQuery().setRows(rows).setQuery(query)
                                              .setFacetMinCount(facetMinCount);
-        addAdditionalSolrYearCores(solrQuery);
+        Instant[] timeRange = getTimeRange(filterQuery);
+        addAdditionalSolrYearCores(solrQuery, timeRange[0], timeRange[1]);
 
         // Set the date facet if present
         if (dateType != null) {
@@ -1071,24 +1306,47 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             solrQuery.setFacetLimit(max);
         }
 
+        if (sort != null) {
+            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
+        }
+
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        QueryResponse response;
+        try {
+            // solr.set
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        return response;
+    }
+
+    /**
+     * Add the filters applied by default to the queries on the usage events.
+     *
+     * @param solrQuery the query
+     */
+    protected void addDefaultFilterQueries(SolrQuery solrQuery) {
         // A filter is used instead of a regular query to improve
         // performance and ensure the search result ordering will
         // not be influenced
 
         // Choose to filter by isBot field, may be overridden in future
         // to allow views on stats based on bots.
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
-                "solr-statistics.query.filter.isBot", true)) {
+        if (configurationService.getBooleanProperty("solr-statistics.query.filter.isBot", true)) {
             solrQuery.addFilterQuery("-isBot:true");
         }
 
-        if (sort != null) {
-            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
-        }
-
         String[] bundles = configurationService.getArrayProperty("solr-statistics.query.filter.bundles");
-        if (defaultFilterQueries && bundles != null && bundles.length > 0) {
-
+        if (bundles != null && bundles.length > 0) {
             /**
              * The code below creates a query that will allow only records which do not have a bundle name
              * (items, collections, ...) or bitstreams that have a configured bundle name
@@ -1108,20 +1366,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrQuery.addFilterQuery(bundleQuery.toString());
         }
-
-        if (filterQuery != null) {
-            solrQuery.addFilterQuery(filterQuery);
-        }
-
-        QueryResponse response;
-        try {
-            // solr.set
-            response = solr.query(solrQuery);
-        } catch (SolrServerException | IOException e) {
-            log.error("Error searching Solr usage events using query {}", query, e);
-            throw e;
-        }
-        return response;
     }
 
     @Override
@@ -1315,125 +1559,63 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception {
-        if (!(solr instanceof HttpSolrClient)) {
-            return;
-        }
-
         Context context = new Context();
 
         try {
-            //First of all retrieve the total number of records to be updated
-            SolrQuery query = new SolrQuery();
-            query.setQuery("*:*");
-            query.addFilterQuery("type:" + Constants.BITSTREAM);
-            //Only retrieve records which do not have a bundle name
-            query.addFilterQuery("-bundleName:[* TO *]");
-            query.setRows(0);
-            addAdditionalSolrYearCores(query);
-            long totalRecords = solr.query(query).getResults().getNumFound();
-
-            File tempDirectory = new File(
-                configurationService.getProperty("dspace.dir") + File.separator + "temp" + File.separator);
-            tempDirectory.mkdirs();
-            List<File> tempCsvFiles = new ArrayList<>();
-            for (int i = 0; i < totalRecords; i += 10000) {
-                Map<String, String> params = new HashMap<>();
-                params.put(CommonParams.Q, "*:*");
-                params.put(CommonParams.FQ, "-bundleName:[* TO *] AND type:" + Constants.BITSTREAM);
-                params.put(CommonParams.WT, "csv");
-                params.put(CommonParams.ROWS, String.valueOf(10000));
-                params.put(CommonParams.START, String.valueOf(i));
-
-                String solrRequestUrl = ((HttpSolrClient) solr).getBaseURL() + "/select";
-                solrRequestUrl = generateURL(solrRequestUrl, params);
-
-                HttpGet get = new HttpGet(solrRequestUrl);
-                List<String[]> rows;
-                try (CloseableHttpClient hc = DSpaceHttpClientFactory.getInstance().buildWithoutProxy()) {
-                    HttpResponse response = hc.execute(get);
-                    InputStream csvOutput = response.getEntity().getContent();
-                    Reader csvReader = new InputStreamReader(csvOutput);
-                    rows = new CSVReader(csvReader).readAll();
-                }
-                String[][] csvParsed = rows.toArray(new String[rows.size()][]);
-                String[] header = csvParsed[0];
-                //Attempt to find the bitstream id index !
-                int idIndex = 0;
-                for (int j = 0; j < header.length; j++) {
-                    if (header[j].equals("id")) {
-                        idIndex = j;
-                    }
-                }
-
-                File tempCsv = new File(tempDirectory.getPath() + File.separatorChar + "temp." + i + ".csv");
-                tempCsvFiles.add(tempCsv);
-                CSVWriter csvp = new CSVWriter(new FileWriter(tempCsv));
-                //csvp.setAlwaysQuote(false);
-
-                //Write the header !
-                csvp.writeNext((String[]) ArrayUtils.add(header, "bundleName"));
-                Map<String, String> bitBundleCache = new HashMap<>();
-                //Loop over each line (skip the headers though)!
-                for (int j = 1; j < csvParsed.length; j++) {
-                    String[] csvLine = csvParsed[j];
-                    //Write the default line !
-                    String bitstreamId = csvLine[idIndex];
-                    //Attempt to retrieve our bundle name from the cache !
-                    String bundleName = bitBundleCache.get(bitstreamId);
-                    if (bundleName == null) {
-                        //Nothing found retrieve the bitstream
-                        Bitstream bitstream = bitstreamService.findByIdOrLegacyId(context, bitstreamId);
-                        //Attempt to retrieve our bitstream !
-                        if (bitstream != null) {
-                            List<Bundle> bundles = bitstream.getBundles();
-                            if (bundles != null && 0 < bundles.size()) {
-                                Bundle bundle = bundles.get(0);
-                                bundleName = bundle.getName();
-                            } else {
-                                //No bundle found, we are either a collection or a community logo, check for it !
-                                DSpaceObject parentObject = bitstreamService.getParentObject(context, bitstream);
-                                if (parentObject instanceof Collection) {
-                                    bundleName = "LOGO-COLLECTION";
-                                } else if (parentObject instanceof Community) {
-                                    bundleName = "LOGO-COMMUNITY";
-                                }
-
+            String bitstreamsWithoutBundle = "-bundleName:[* TO *] AND type:" + Constants.BITSTREAM;
+            Map<String, String> bitBundleCache = new HashMap<>();
+            Set<LocalDate> days = new HashSet<>();
+            // a single thread, as the bitstreams are read with the one Context
+            bulkUpdate(bitstreamsWithoutBundle, List.of("id", "time"), 1, BULK_UPDATE_BATCH_SIZE, document -> {
+                String bitstreamId = String.valueOf(document.getFieldValue("id"));
+                days.add(getDay(document));
+                //Attempt to retrieve our bundle name from the cache !
+                String bundleName = bitBundleCache.get(bitstreamId);
+                if (bundleName == null) {
+                    //Nothing found retrieve the bitstream
+                    Bitstream bitstream = bitstreamService.findByIdOrLegacyId(context, bitstreamId);
+                    //Attempt to retrieve our bitstream !
+                    if (bitstream != null) {
+                        List<Bundle> bundles = bitstream.getBundles();
+                        if (bundles != null && 0 < bundles.size()) {
+                            Bundle bundle = bundles.get(0);
+                            bundleName = bundle.getName();
+                        } else {
+                            //No bundle found, we are either a collection or a community logo, check for it !
+                            DSpaceObject parentObject = bitstreamService.getParentObject(context, bitstream);
+                            if (parentObject instanceof Collection) {
+                                bundleName = "LOGO-COLLECTION";
+                            } else if (parentObject instanceof Community) {
+                                bundleName = "LOGO-COMMUNITY";
                             }
-                            //Cache the bundle name
-                            bitBundleCache.put(bitstream.getID().toString(), bundleName);
-                            //Remove the bitstream from cache
-                        }
-                        //Check if we don't have a bundlename
-                        //If we don't have one & we do not need to delete the deleted bitstreams ensure that a
-                        // BITSTREAM_DELETED bundle name is given !
-                        if (bundleName == null && !removeDeletedBitstreams) {
-                            bundleName = "BITSTREAM_DELETED";
+
                         }
+                        //Cache the bundle name
+                        bitBundleCache.put(bitstreamId, bundleName);
+                    }
+                    //Check if we don't have a bundlename
+                    //If we don't have one & we do not need to delete the deleted bitstreams ensure that a
+                    // BITSTREAM_DELETED bundle name is given !
+                    if (bundleName == null && !removeDeletedBitstreams) {
+                        bundleName = "BITSTREAM_DELETED";
                     }
-                    csvp.writeNext((String[]) ArrayUtils.add(csvLine, bundleName));
                 }
-
-                //Loop over our parsed csv
-                csvp.flush();
-                csvp.close();
-            }
-
-            //Add all the separate csv files
-            for (File tempCsv : tempCsvFiles) {
-                ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update");
-                contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-                contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-                contentStreamUpdateRequest.addFile(tempCsv, "text/csv;charset=utf-8");
-
-                solr.request(contentStreamUpdateRequest);
+                if (bundleName == null) {
+                    // left without a bundle name, to be deleted below
+                    return null;
+                }
+                SolrInputDocument update = new SolrInputDocument();
+                update.addField("bundleName", Map.of("set", bundleName));
+                return update;
+            });
+
+            if (removeDeletedBitstreams) {
+                //Now that all our bitstream stats have a bundle name, delete the ones of the deleted bitstreams !
+                deleteByQuery(bitstreamsWithoutBundle);
+                //Commit everything to wrap up
+                commit();
             }
-
-            //Now that all our new bitstream stats are in place, delete all the old ones !
-            solr.deleteByQuery("-bundleName:[* TO *] AND type:" + Constants.BITSTREAM);
-            //Commit everything to wrap up
-            solr.commit(true, true);
-            //Clean up our directory !
-            FileUtils.deleteDirectory(tempDirectory);
+            rollupDays(days);
         } catch (Exception e) {
             log.error("Error while updating the bitstream statistics", e);
             throw e;
@@ -1489,6 +1671,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void commit() throws IOException, SolrServerException {
         solr.commit();
+        for (SolrClient coreClient : statisticCoreClients.values()) {
+            coreClient.commit();
+        }
+        if (getRollupClient() != null) {
+            getRollupClient().commit();
+        }
     }
 
     protected void addDocumentsToFile(Context context, SolrDocumentList docs, File exportOutput)
@@ -1542,15 +1730,505 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     }
 
     protected void addAdditionalSolrYearCores(SolrQuery solrQuery) {
+        addAdditionalSolrYearCores(solrQuery, null, null);
+    }
+
+    /**
+     * Add the statistics cores to a query, leaving out the time partitions outside of a time range.
+     *
+     * @param solrQuery the query
+     * @param from      lower bound of the time range of the query, or null if unbounded
+     * @param to        upper bound of the time range of the query, or null if unbounded
+     */
+    protected void addAdditionalSolrYearCores(SolrQuery solrQuery, Instant from, Instant to) {
         //Only add if needed
         initSolrYearCores();
         if (0 < statisticYearCores.size()) {
+            List<String> shards = new ArrayList<>();
+            for (String shard : statisticYearCores) {
+                StatisticsPartition partition = statisticPartitions.get(shard);
+                if (partition == null || partition.overlaps(from, to)) {
+                    shards.add(shard);
+                }
+            }
             //The shards are a comma separated list of the urls to the cores
-            solrQuery.add(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ","));
+            solrQuery.add(ShardParams.SHARDS, StringUtils.join(shards.iterator(), ","));
         }
 
     }
 
+    /**
+     * Determine the time range of a filter query, from its time ranges which are combined with AND, as generated
+     * by StatisticsSolrDateFilter. Any other form of time condition is ignored.
+     *
+     * @param filterQuery the filter query, or null
+     * @return the lower and upper bounds of the range, either of which is null if unbounded
+     */
+    protected Instant[] getTimeRange(String filterQuery) {
+        Instant[] range = new Instant[2];
+        if (StringUtils.isBlank(filterQuery) || filterQuery.contains(" OR ") || filterQuery.contains("||")) {
+            return range;
+        }
+        Matcher matcher = TIME_RANGE.matcher(filterQuery);
+        while (matcher.find()) {
+            // only a range which is a condition of its own, not negated
+            String before = StringUtils.stripEnd(filterQuery.substring(0, matcher.start()), "( ");
+            if (!before.isEmpty() && !before.endsWith(" AND") && !before.endsWith("&&")) {
+                continue;
+            }
+            try {
+                Instant from = "*".equals(matcher.group(1)) ? null : Instant.parse(matcher.group(1));
+                Instant to = "*".equals(matcher.group(2)) ? null : Instant.parse(matcher.group(2));
+                if (from != null && (range[0] == null || from.isAfter(range[0]))) {
+                    range[0] = from;
+                }
+                if (to != null && (range[1] == null || to.isBefore(range[1]))) {
+                    range[1] = to;
+                }
+            } catch (DateTimeParseException e) {
+                // date math, the range is not used to select the partitions
+            }
+        }
+        return range;
+    }
+
+    /**
+     * @return the period of the time partitions receiving the usage events, or null if they are not partitioned
+     */
+    protected StatisticsPartition.Granularity getPartitionGranularity() {
+        if (!(solr instanceof HttpSolrClient) || statisticsCoreBase == null) {
+            return null;
+        }
+        try {
+            return StatisticsPartition.Granularity.fromConfig(
+                configurationService.getProperty("usage-statistics.partitionBy"));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid usage-statistics.partitionBy, the usage events are not partitioned", e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the client of the statistics core which receives a new usage event: the time partition of the event if
+     * the statistics are partitioned and the partition exists, the main statistics core otherwise.
+     * <p>
+     * The partitions are created in advance by "stats-util -p", possibly in another JVM, and never on this path: a
+     * missing partition is looked up in the background, and meanwhile its events go to the main core, which is
+     * always queried.
+     * </p>
+     *
+     * @param doc the usage event
+     * @return the client of the core
+     */
+    protected SolrClient getSolrFor(SolrInputDocument doc) {
+        StatisticsPartition.Granularity granularity = getPartitionGranularity();
+        Object time = doc.getFieldValue("time");
+        if (granularity == null || time == null) {
+            return solr;
+        }
+        Instant instant = time instanceof Date ? ((Date) time).toInstant() : Instant.parse(time.toString());
+        StatisticsPartition partition = StatisticsPartition.forTime(statisticsCoreBase, instant, granularity);
+        SolrClient client = statisticCoreClients.get(partition.getCoreName());
+        if (client == null) {
+            lookupPartition(partition);
+            return solr;
+        }
+        return client;
+    }
+
+    /**
+     * Look up in the background a partition which is not known yet, at most once every
+     * {@link #PARTITION_LOOKUP_INTERVAL} milliseconds, and add it to the statistics cores if it exists.
+     *
+     * @param partition the partition
+     */
+    protected void lookupPartition(StatisticsPartition partition) {
+        long now = System.currentTimeMillis();
+        long last = partitionLookup.get();
+        if (now - last < PARTITION_LOOKUP_INTERVAL || !partitionLookup.compareAndSet(last, now)) {
+            return;
+        }
+        String coreName = partition.getCoreName();
+        String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
+        CompletableFuture.runAsync(() -> {
+            HttpSolrClient client = new HttpSolrClient.Builder(baseSolrUrl + coreName).build();
+            try {
+                client.ping();
+                synchronized (statisticCoreClients) {
+                    if (!statisticCoreClients.containsKey(coreName)) {
+                        registerCore(coreName, client);
+                        return;
+                    }
+                }
+            } catch (IOException | RemoteSolrException | SolrServerException e) {
+                log.warn("The statistics partition {} does not exist, its usage events are sent to the main core"
+                             + " until it is created by \"dspace stats-util -p\"", coreName);
+            }
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.debug("Cannot close the client of {}", coreName, e);
+            }
+        });
+    }
+
+    /**
+     * Get the client of a time partition, creating its core if it doesn't exist yet.
+     *
+     * @param partition the partition
+     * @return the client of the partition
+     * @throws IOException         if the core cannot be created
+     * @throws SolrServerException if the core cannot be created
+     */
+    protected SolrClient getPartitionClient(StatisticsPartition partition) throws IOException, SolrServerException {
+        SolrClient client = statisticCoreClients.get(partition.getCoreName());
+        if (client != null) {
+            return client;
+        }
+        initSolrYearCores();
+        synchronized (statisticCoreClients) {
+            client = statisticCoreClients.get(partition.getCoreName());
+            if (client == null) {
+                client = createCore((HttpSolrClient) solr, partition.getCoreName());
+                registerCore(partition.getCoreName(), client);
+                log.info("Created statistics partition {}", partition.getCoreName());
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Add a statistics core to the cores queried and updated along with the main one.
+     *
+     * @param coreName the name of the core
+     * @param client   the client of the core
+     */
+    private void registerCore(String coreName, SolrClient client) {
+        String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
+        String shard = baseSolrUrl.replace("http://", "").replace("https://", "") + coreName;
+        statisticCoreClients.put(coreName, client);
+        statisticPartitions.put(shard, StatisticsPartition.forCoreName(statisticsCoreBase, coreName));
+        if (!statisticYearCores.contains(shard)) {
+            statisticYearCores.add(shard);
+        }
+    }
+
+    /**
+     * @param shard a statistics core, as given by the [shard] field of a document, or null
+     * @return the client of the core, the main statistics core if unknown
+     */
+    protected SolrClient getSolrForShard(String shard) {
+        if (shard == null) {
+            return solr;
+        }
+        SolrClient client = statisticCoreClients.get(StringUtils.substringAfterLast(shard, "/"));
+        return client != null ? client : solr;
+    }
+
+    /**
+     * Delete the documents matching a query from all the statistics cores.
+     *
+     * @param query the query
+     * @throws IOException         if a core cannot be reached
+     * @throws SolrServerException if a core cannot be reached
+     */
+    protected void deleteByQuery(String query) throws IOException, SolrServerException {
+        initSolrYearCores();
+        solr.deleteByQuery(query);
+        for (SolrClient coreClient : statisticCoreClients.values()) {
+            coreClient.deleteByQuery(query);
+        }
+        // the rollups have the fields of the views, so they match the same queries
+        if (getRollupClient() != null) {
+            getRollupClient().deleteByQuery(query);
+        }
+    }
+
+    @Override
+    public void createPartitions() throws IOException, SolrServerException {
+        StatisticsPartition.Granularity granularity = getPartitionGranularity();
+        if (granularity == null) {
+            log.warn("The usage statistics are not partitioned, see usage-statistics.partitionBy");
+            return;
+        }
+        StatisticsPartition current = StatisticsPartition.forTime(statisticsCoreBase, Instant.now(), granularity);
+        getPartitionClient(current);
+        getPartitionClient(current.next(granularity));
+    }
+
+    /**
+     * @return the name of the core of the daily rollups of the views
+     */
+    protected String getRollupCoreName() {
+        return configurationService.getProperty("usage-statistics.rollup.core", statisticsCoreBase + "-rollup");
+    }
+
+    /**
+     * Get the client of the core of the daily rollups of the views, creating the core if it doesn't exist yet.
+     *
+     * @return the client, or null if the rollups are not enabled
+     */
+    protected SolrClient getRollupClient() {
+        if (rollupClient != null || !(solr instanceof HttpSolrClient) || statisticsCoreBase == null
+            || !configurationService.getBooleanProperty("usage-statistics.rollup.enabled", false)) {
+            return rollupClient;
+        }
+        synchronized (SolrLoggerServiceImpl.class) {
+            if (rollupClient == null) {
+                try {
+                    rollupClient = createCore((HttpSolrClient) solr, getRollupCoreName());
+                } catch (IOException | SolrServerException e) {
+                    log.error("Unable to reach the statistics rollup core {}", getRollupCoreName(), e);
+                }
+            }
+        }
+        return rollupClient;
+    }
+
+    /**
+     * Get the first day whose views are not rolled up yet: the views before it are counted in the rollup core, the
+     * following ones in the statistics cores. It is read from the rollup core at most every few minutes.
+     *
+     * @param refresh true to read it from the rollup core now
+     * @return the start of the day, or null if there are no rollups
+     */
+    protected Instant getRollupWatermark(boolean refresh) {
+        SolrClient client = getRollupClient();
+        if (client == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (refresh || now - rollupWatermarkRead > configurationService
+            .getLongProperty("usage-statistics.rollup.refresh", 300) * 1000) {
+            SolrQuery lastDay = new SolrQuery("*:*").setRows(1).setFields("time")
+                                                    .addSort("time", SolrQuery.ORDER.desc);
+            try {
+                SolrDocumentList last = client.query(lastDay).getResults();
+                rollupWatermark = last.isEmpty() ? null
+                    : getDay(last.get(0)).plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            } catch (IOException | SolrServerException e) {
+                log.error("Unable to read the last day of the statistics rollups", e);
+                rollupWatermark = null;
+            }
+            rollupWatermarkRead = now;
+        }
+        return rollupWatermark;
+    }
+
+    /**
+     * Check whether a query can be answered by the daily rollups of the views, see
+     * {@link StatisticsRollup#supports(String, String, String, String, List)}.
+     */
+    protected boolean isRollupQuery(String query, String filterQuery, String facetField, String dateType,
+                                    List<String> facetQueries) {
+        return StatisticsRollup.supports(query, filterQuery, facetField, dateType, facetQueries)
+            && getRollupWatermark(false) != null;
+    }
+
+    /**
+     * Count the views matching a query: the views of the days rolled up are summed in the rollup core, the
+     * following ones are counted in the statistics cores. The values of a facet field are the most viewed ones of
+     * either part, and the views of all these values are then counted again in both parts, so that a value among
+     * the most viewed of one part only still gets the views of the other part.
+     *
+     * @param query        the query
+     * @param filterQuery  the filter query, or null
+     * @param facetField   the field whose values are counted, or null
+     * @param max          the number of values to count, -1 for the default of Solr
+     * @param dateType     the period of the counts by time (DAY, MONTH or YEAR), or null
+     * @param dateStart    the start of the counts by time, as a number of periods relative to now
+     * @param dateEnd      the end of the counts by time, as a number of periods relative to now
+     * @param facetQueries the queries whose documents are counted, or null
+     * @return the counts
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws IOException         A general class of exceptions produced by failed or interrupted I/O operations.
+     */
+    protected StatisticsRollup.Counts queryCounts(String query, String filterQuery, String facetField, int max,
+                                                  String dateType, String dateStart, String dateEnd,
+                                                  List<String> facetQueries)
+        throws SolrServerException, IOException {
+        Instant watermark = getRollupWatermark(false);
+        // both parts use the same date math, even when they are not run at the same millisecond
+        String now = String.valueOf(System.currentTimeMillis());
+        StatisticsRollup.Counts counts = new StatisticsRollup.Counts();
+        List<String> filterQueries = new ArrayList<>();
+        if (filterQuery != null) {
+            filterQueries.add(filterQuery);
+        }
+        addCounts(counts, watermark, now, query, filterQueries, facetField, max, dateType, dateStart, dateEnd,
+                  facetQueries);
+
+        Set<String> values = counts.getValueNames();
+        if (facetField != null && !values.isEmpty()) {
+            StringBuilder valuesFilter = new StringBuilder();
+            for (String value : values) {
+                valuesFilter.append(valuesFilter.length() == 0 ? facetField + ":(" : " OR ")
+                            .append(ClientUtils.escapeQueryChars(value));
+            }
+            filterQueries.add(valuesFilter.append(")").toString());
+            StatisticsRollup.Counts valueCounts = new StatisticsRollup.Counts();
+            addCounts(valueCounts, watermark, now, query, filterQueries, facetField, values.size(), null, null, null,
+                      null);
+            counts.setValues(valueCounts);
+        }
+        return counts;
+    }
+
+    /**
+     * Add the counts of the views matching a query in the rollup core and in the statistics cores, see
+     * {@link #queryCounts(String, String, String, int, String, String, String, List)}.
+     *
+     * @param counts        the counts to add to
+     * @param watermark     the first day which is not rolled up
+     * @param now           the time used by the date math of both parts, in milliseconds
+     * @param filterQueries the filter queries
+     */
+    private void addCounts(StatisticsRollup.Counts counts, Instant watermark, String now, String query,
+                           List<String> filterQueries, String facetField, int max, String dateType, String dateStart,
+                           String dateEnd, List<String> facetQueries)
+        throws SolrServerException, IOException {
+        for (boolean rollup : new boolean[] {true, false}) {
+            SolrQuery solrQuery = new SolrQuery(query).setRows(0);
+            solrQuery.set("NOW", now);
+            solrQuery.add("json.facet", StatisticsRollup.getJsonFacet(rollup, facetField, max, dateType, dateStart,
+                                                                      dateEnd, facetQueries));
+            addDefaultFilterQueries(solrQuery);
+            for (String filterQuery : filterQueries) {
+                solrQuery.addFilterQuery(filterQuery);
+            }
+            if (rollup) {
+                solrQuery.addFilterQuery("time:[* TO " + watermark + "}");
+                counts.add(getRollupClient().query(solrQuery), true, facetQueries);
+            } else {
+                solrQuery.addFilterQuery("time:[" + watermark + " TO *]");
+                addAdditionalSolrYearCores(solrQuery, watermark, null);
+                counts.add(solr.query(solrQuery), false, facetQueries);
+            }
+        }
+    }
+
+    private ObjectCount[] toObjectCounts(List<Map.Entry<String, Long>> counts, Long total, String dateType) {
+        ObjectCount[] result = new ObjectCount[counts.size() + (total != null ? 1 : 0)];
+        for (int i = 0; i < counts.size(); i++) {
+            result[i] = new ObjectCount();
+            result[i].setCount(counts.get(i).getValue());
+            result[i].setValue(dateType != null ? getDateView(counts.get(i).getKey(), dateType)
+                                                : counts.get(i).getKey());
+        }
+        if (total != null) {
+            result[result.length - 1] = new ObjectCount();
+            result[result.length - 1].setCount(total);
+            result[result.length - 1].setValue("total");
+        }
+        return result;
+    }
+
+    @Override
+    public void rollupStatistics() throws IOException, SolrServerException {
+        if (getRollupClient() == null) {
+            log.warn("The statistics rollups are not enabled, see usage-statistics.rollup.enabled");
+            return;
+        }
+        Instant watermark = getRollupWatermark(true);
+        LocalDate day;
+        if (watermark != null) {
+            day = LocalDate.ofInstant(watermark, ZoneOffset.UTC);
+        } else {
+            // start from the first view
+            SolrQuery firstView = new SolrQuery("*:*").setRows(1).setFields("time")
+                                                      .addSort("time", SolrQuery.ORDER.asc);
+            firstView.addFilterQuery(StatisticsRollup.VIEWS_FILTER);
+            addAdditionalSolrYearCores(firstView, null, null);
+            SolrDocumentList first = solr.query(firstView).getResults();
+            if (first.isEmpty()) {
+                return;
+            }
+            day = getDay(first.get(0));
+        }
+
+        // the views of today are still coming
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (; day.isBefore(today); day = day.plusDays(1)) {
+            rollupDay(day);
+        }
+        getRollupWatermark(true);
+    }
+
+    /**
+     * Roll up again the days which are already rolled up among the given ones, after their views were updated.
+     *
+     * @param days the days
+     * @throws IOException         if a core cannot be reached
+     * @throws SolrServerException if a core cannot be reached
+     */
+    protected void rollupDays(Set<LocalDate> days) throws IOException, SolrServerException {
+        Instant watermark = getRollupWatermark(true);
+        if (watermark == null) {
+            return;
+        }
+        for (LocalDate day : new TreeSet<>(days)) {
+            if (day.atStartOfDay(ZoneOffset.UTC).toInstant().isBefore(watermark)) {
+                rollupDay(day);
+            }
+        }
+    }
+
+    /**
+     * Replace the rollups of a day with the counts of its views in the statistics cores.
+     *
+     * @param day the day
+     * @throws IOException         if a core cannot be reached
+     * @throws SolrServerException if a core cannot be reached
+     */
+    protected void rollupDay(LocalDate day) throws IOException, SolrServerException {
+        initSolrYearCores();
+        Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        List<SolrClient> cores = new ArrayList<>();
+        cores.add(solr);
+        for (Map.Entry<String, SolrClient> core : statisticCoreClients.entrySet()) {
+            if (StatisticsPartition.forCoreName(statisticsCoreBase, core.getKey()).overlaps(start, end)) {
+                cores.add(core.getValue());
+            }
+        }
+
+        StatisticsRollup rollup = new StatisticsRollup(day);
+        for (SolrClient core : cores) {
+            SolrQuery query = new SolrQuery("*:*");
+            query.addFilterQuery(StatisticsRollup.VIEWS_FILTER);
+            query.addFilterQuery(StatisticsRollup.getDayRange(day));
+            query.setFields("uid");
+            for (String field : StatisticsRollup.KEY_FIELDS) {
+                query.addField(field);
+            }
+            query.setRows(BULK_UPDATE_BATCH_SIZE);
+            query.setSort("uid", SolrQuery.ORDER.asc);
+
+            String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            while (true) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                QueryResponse response = core.query(query);
+                for (SolrDocument view : response.getResults()) {
+                    rollup.add(view);
+                }
+                String nextCursorMark = response.getNextCursorMark();
+                if (cursorMark.equals(nextCursorMark)) {
+                    break;
+                }
+                cursorMark = nextCursorMark;
+            }
+        }
+
+        SolrClient client = getRollupClient();
+        client.deleteByQuery(StatisticsRollup.getDayRange(day));
+        List<SolrInputDocument> documents = rollup.getDocuments();
+        if (!documents.isEmpty()) {
+            client.add(documents);
+        }
+        client.commit();
+        log.info("Rolled up the views of {} in {} documents", day, documents.size());
+    }
+
     /*
      * The statistics shards should not be initialized until all tomcat webapps
      * are fully initialized.  DS-3457 uncovered an issue in DSpace 6x in which
@@ -1559,8 +2237,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
      * initialization at the same time.
      */
     protected synchronized void initSolrYearCores() {
-        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient) || !configurationService.getBooleanProperty(
-            "usage-statistics.shardedByYear", false)) {
+        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient)
+            || (!configurationService.getBooleanProperty("usage-statistics.shardedByYear", false)
+            && getPartitionGranularity() == null)) {
             return;
         }
 
@@ -1577,7 +2256,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             List<String> statCoreNames = new ArrayList<>(coreStatuses.size());
             for (Map.Entry<String, Object> coreStatus : coreStatuses) {
                 String coreName = coreStatus.getKey();
-                if (coreName.startsWith(statisticsCoreBase)) {
+                if (coreName.startsWith(statisticsCoreBase) && !coreName.equals(getRollupCoreName())) {
                     statCoreNames.add(coreName);
                 }
             }
@@ -1585,10 +2264,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             for (String statCoreName : statCoreNames) {
                 log.info("Loading core with name: " + statCoreName);
 
-                createCore((HttpSolrClient) solr, statCoreName);
+                HttpSolrClient coreClient = createCore((HttpSolrClient) solr, statCoreName);
                 //Add it to our cores list so we can query it !
-                statisticYearCores
-                    .add(baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName);
+                if (statCoreName.equals(statisticsCoreBase)) {
+                    statisticYearCores
+                        .add(baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName);
+                } else {
+                    registerCore(statCoreName, coreClient);
+                }
             }
             var baseCore = ((HttpSolrClient) solr)
                     .getBaseURL()
@@ -0,0 +1,134 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A Solr core holding the usage events of a period (a year or a month), see "usage-statistics.partitionBy".
+ * Partitions are named after the statistics core, followed by the period: "statistics-2024" for a year, as the
+ * cores created by {@link SolrLoggerServiceImpl#shardSolrIndex()}, or "statistics-2024-05" for a month.
+ */
+public class StatisticsPartition {
+
+    /**
+     * The period covered by a partition.
+     */
+    public enum Granularity {
+        YEAR, MONTH;
+
+        /**
+         * @param value the configured granularity, "year" or "month"
+         * @return the granularity, or null if the value is blank or "none"
+         * @throws IllegalArgumentException if the value is unknown
+         */
+        public static Granularity fromConfig(String value) {
+            if (StringUtils.isBlank(value) || "none".equalsIgnoreCase(value.trim())) {
+                return null;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final String baseCore;
+
+    private final String coreName;
+
+    // the start of the period, inclusive, or null for a core which is not a partition of a known period
+    private final Instant start;
+
+    // the end of the period, exclusive
+    private final Instant end;
+
+    private StatisticsPartition(String baseCore, String coreName, Instant start, Instant end) {
+        this.baseCore = baseCore;
+        this.coreName = coreName;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param baseCore    name of the statistics core
+     * @param time        time of a usage event
+     * @param granularity the period of the partitions
+     * @return the partition receiving the usage events of this time
+     */
+    public static StatisticsPartition forTime(String baseCore, Instant time, Granularity granularity) {
+        YearMonth month = YearMonth.from(time.atZone(ZoneOffset.UTC));
+        if (granularity == Granularity.YEAR) {
+            return forPeriod(baseCore, month.withMonth(1), 12, String.valueOf(month.getYear()));
+        }
+        return forPeriod(baseCore, month, 1, MONTH_FORMAT.format(month));
+    }
+
+    /**
+     * @param baseCore name of the statistics core
+     * @param coreName name of a core whose name starts with the one of the statistics core
+     * @return the partition, without a period if the name does not end with a year or a month
+     */
+    public static StatisticsPartition forCoreName(String baseCore, String coreName) {
+        String suffix = StringUtils.removeStart(StringUtils.removeStart(coreName, baseCore), "-");
+        try {
+            if (suffix.matches("\\d{4}")) {
+                return forPeriod(baseCore, YearMonth.of(Integer.parseInt(suffix), 1), 12, suffix);
+            } else if (suffix.matches("\\d{4}-\\d{2}")) {
+                return forPeriod(baseCore, YearMonth.parse(suffix, MONTH_FORMAT), 1, suffix);
+            }
+        } catch (DateTimeParseException e) {
+            // not a period
+        }
+        return new StatisticsPartition(baseCore, coreName, null, null);
+    }
+
+    private static StatisticsPartition forPeriod(String baseCore, YearMonth first, int months, String suffix) {
+        Instant start = first.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = first.plusMonths(months).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return new StatisticsPartition(baseCore, baseCore + "-" + suffix, start, end);
+    }
+
+    /**
+     * @param granularity the period of the partitions
+     * @return the partition of the period following this one, or null if this partition has no period
+     */
+    public StatisticsPartition next(Granularity granularity) {
+        return end != null ? forTime(baseCore, end, granularity) : null;
+    }
+
+    /**
+     * @param from lower bound of a time range, inclusive, or null if unbounded
+     * @param to   upper bound of a time range, inclusive, or null if unbounded
+     * @return true if this partition may hold usage events of the range
+     */
+    public boolean overlaps(Instant from, Instant to) {
+        if (start == null) {
+            return true;
+        }
+        return (to == null || !to.isBefore(start)) && (from == null || from.isBefore(end));
+    }
+
+    public String getCoreName() {
+        return coreName;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,365 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.json.BucketBasedJsonFacet;
+import org.apache.solr.client.solrj.response.json.BucketJsonFacet;
+import org.apache.solr.client.solrj.response.json.NestableJsonFacet;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Daily aggregates of the views, kept in a separate core when "usage-statistics.rollup.enabled" is set.
+ * A rollup document counts the views of a day sharing the same object, owners, bundle, country and bot flag, so
+ * that the usage reports of large collections and communities sum a few documents per day instead of faceting over
+ * every view. The rollups have the fields of the usage events they aggregate (see {@link #KEY_FIELDS}), the number
+ * of views in {@link #COUNT_FIELD} and, as time, the middle of their day: a time range whose bounds fall on days
+ * selects a whole day or none of it, whether its bounds are inclusive or not.
+ */
+public class StatisticsRollup {
+
+    /**
+     * Filter of the views, including the old usage events without a statistics type. The rollups only aggregate
+     * views, so only the queries restricted by this filter can be answered by the rollups.
+     */
+    public static final String VIEWS_FILTER = "-(statistics_type:[* TO *] AND -statistics_type:"
+        + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+
+    /** Field of a rollup document holding the number of views */
+    public static final String COUNT_FIELD = "count";
+
+    /** The fields of the usage events kept in the rollups: the views are counted per distinct values of these */
+    public static final List<String> KEY_FIELDS = List.of("type", "id", "owningItem", "owningColl", "owningComm",
+                                                          "bundleName", "countryCode", "isBot");
+
+    /** The fields which can be queried in the rollups */
+    private static final Set<String> QUERY_FIELDS = new TreeSet<>(KEY_FIELDS);
+
+    static {
+        QUERY_FIELDS.add("time");
+        QUERY_FIELDS.add("statistics_type");
+    }
+
+    /** The field names of a query: the unescaped words followed by a colon */
+    private static final Pattern FIELD = Pattern.compile("(?<![\\w\\\\])([A-Za-z_]\\w*)\\s*:");
+
+    private static final Pattern TIME_RANGE =
+        Pattern.compile("time\\s*:\\s*[\\[{]\\s*(\\S+)\\s+TO\\s+(\\S+?)\\s*[\\]}]");
+
+    /** A bound of a time range falling on the start of a day */
+    private static final Pattern DAY_BOUND = Pattern.compile("\\*|(NOW/(DAY|MONTH|YEAR)"
+        + "|\\d{4}-\\d{2}-\\d{2}T00:00:00(\\.0+)?Z(/(DAY|MONTH|YEAR))?)([+-]\\d+(DAY|MONTH|YEAR)S?)*");
+
+    private static final Set<String> DATE_TYPES = Set.of("DAY", "MONTH", "YEAR");
+
+    private final LocalDate day;
+
+    // the rollup documents of the day and their number of views, by their key
+    private final Map<String, SolrInputDocument> documents = new HashMap<>();
+
+    private final Map<String, Long> counts = new HashMap<>();
+
+    /**
+     * @param day the day of the views aggregated by this rollup
+     */
+    public StatisticsRollup(LocalDate day) {
+        this.day = day;
+    }
+
+    /**
+     * Count a view.
+     *
+     * @param event the usage event of the view, with at least the {@link #KEY_FIELDS}
+     */
+    public void add(SolrDocument event) {
+        StringBuilder key = new StringBuilder();
+        for (String field : KEY_FIELDS) {
+            Collection<Object> values = event.getFieldValues(field);
+            if (values != null) {
+                TreeSet<String> sorted = new TreeSet<>();
+                for (Object value : values) {
+                    sorted.add(String.valueOf(value));
+                }
+                key.append(String.join(",", sorted));
+            }
+            key.append('|');
+        }
+        String uid = day + "-" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+
+        counts.merge(uid, 1L, Long::sum);
+        documents.computeIfAbsent(uid, k -> {
+            SolrInputDocument document = new SolrInputDocument();
+            document.addField("uid", uid);
+            document.addField("time", Date.from(day.atTime(LocalTime.NOON).toInstant(ZoneOffset.UTC)));
+            document.addField("statistics_type", SolrLoggerServiceImpl.StatisticsType.VIEW.text());
+            for (String field : KEY_FIELDS) {
+                Collection<Object> values = event.getFieldValues(field);
+                if (values != null) {
+                    for (Object value : values) {
+                        document.addField(field, value);
+                    }
+                }
+            }
+            return document;
+        });
+    }
+
+    /**
+     * @return the rollup documents of the views counted so far
+     */
+    public List<SolrInputDocument> getDocuments() {
+        List<SolrInputDocument> result = new ArrayList<>(documents.size());
+        for (Map.Entry<String, SolrInputDocument> document : documents.entrySet()) {
+            document.getValue().setField(COUNT_FIELD, counts.get(document.getKey()));
+            result.add(document.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @return the filter query of the views of a day, with an exclusive upper bound
+     */
+    public static String getDayRange(LocalDate day) {
+        return "time:[" + day.atStartOfDay(ZoneOffset.UTC).toInstant() + " TO "
+            + day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() + "}";
+    }
+
+    /**
+     * Check whether the rollups hold all the information needed to answer a query on the usage events: the query
+     * must be restricted to the views, only use the fields kept in the rollups, and be at least as coarse as a day.
+     *
+     * @param query        the query
+     * @param filterQuery  the filter query, or null
+     * @param facetField   the field whose values are counted, or null
+     * @param dateType     the period of the counts by time (DAY, MONTH or YEAR), or null
+     * @param facetQueries the queries whose documents are counted, or null
+     * @return true if the counts can be computed from the rollups
+     */
+    public static boolean supports(String query, String filterQuery, String facetField, String dateType,
+                                   List<String> facetQueries) {
+        String all = StringUtils.defaultString(query) + " " + StringUtils.defaultString(filterQuery);
+        if (!all.contains(VIEWS_FILTER)) {
+            return false;
+        }
+        if (facetField != null && !KEY_FIELDS.contains(facetField)) {
+            return false;
+        }
+        if (dateType != null && !DATE_TYPES.contains(dateType)) {
+            return false;
+        }
+        if (facetQueries != null) {
+            all += " " + String.join(" ", facetQueries);
+        }
+
+        Matcher field = FIELD.matcher(all);
+        while (field.find()) {
+            if (!QUERY_FIELDS.contains(field.group(1))) {
+                return false;
+            }
+        }
+        Matcher timeRange = TIME_RANGE.matcher(all);
+        while (timeRange.find()) {
+            if (!DAY_BOUND.matcher(timeRange.group(1)).matches()
+                || !DAY_BOUND.matcher(timeRange.group(2)).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the json.facet counting the usage events, or the views of the rollups.
+     *
+     * @param rollup       true to sum the counts of rollup documents, false to count usage events
+     * @param facetField   the field whose values are counted, or null
+     * @param max          the number of values to count, -1 for the default of Solr
+     * @param dateType     the period of the counts by time (DAY, MONTH or YEAR), or null
+     * @param dateStart    the start of the counts by time, as a number of periods relative to now
+     * @param dateEnd      the end of the counts by time, as a number of periods relative to now
+     * @param facetQueries the queries whose documents are counted, or null
+     * @return the json.facet parameter
+     */
+    public static String getJsonFacet(boolean rollup, String facetField, int max, String dateType, String dateStart,
+                                      String dateEnd, List<String> facetQueries) {
+        ObjectNode jsonFacet = JsonNodeFactory.instance.objectNode();
+        ObjectNode sum = JsonNodeFactory.instance.objectNode();
+        sum.put("views", "sum(" + COUNT_FIELD + ")");
+        if (rollup) {
+            jsonFacet.put("views", "sum(" + COUNT_FIELD + ")");
+        }
+        if (facetField != null) {
+            ObjectNode values = JsonNodeFactory.instance.objectNode();
+            values.put("type", "terms");
+            values.put("field", facetField);
+            values.put("limit", max != -1 ? max : 100);
+            if (rollup) {
+                values.put("sort", "views desc");
+                values.set("facet", sum);
+            }
+            jsonFacet.set("values", values);
+        }
+        if (dateType != null) {
+            // the same range as SolrLoggerServiceImpl#query
+            ObjectNode time = JsonNodeFactory.instance.objectNode();
+            time.put("type", "range");
+            time.put("field", "time");
+            time.put("start", "NOW/" + dateType + dateStart + dateType + "S");
+            time.put("end", "NOW/" + dateType + dateEnd + dateType);
+            time.put("gap", "+1" + dateType);
+            time.put("mincount", 0);
+            if (rollup) {
+                time.set("facet", sum);
+            }
+            jsonFacet.set("time", time);
+        }
+        if (facetQueries != null) {
+            for (int i = 0; i < facetQueries.size(); i++) {
+                ObjectNode facetQuery = JsonNodeFactory.instance.objectNode();
+                facetQuery.put("type", "query");
+                facetQuery.put("q", facetQueries.get(i));
+                if (rollup) {
+                    facetQuery.set("facet", sum);
+                }
+                jsonFacet.set("query" + i, facetQuery);
+            }
+        }
+        return jsonFacet.toString();
+    }
+
+    /**
+     * The counts of a query, summed over the rollups and the usage events not rolled up yet.
+     */
+    public static class Counts {
+
+        private long total;
+
+        private final Map<String, Long> values = new LinkedHashMap<>();
+
+        private final Map<String, Long> times = new LinkedHashMap<>();
+
+        private final Map<String, Integer> queries = new LinkedHashMap<>();
+
+        /**
+         * Add the counts of a response to a query with a json.facet built by {@link #getJsonFacet}.
+         *
+         * @param response     the response
+         * @param rollup       true if the response is the one of the rollups
+         * @param facetQueries the queries of the json.facet, or null
+         */
+        public void add(QueryResponse response, boolean rollup, List<String> facetQueries) {
+            NestableJsonFacet facets = response.getJsonFacetingResponse();
+            total += rollup ? getViews(facets) : response.getResults().getNumFound();
+            if (facets == null) {
+                return;
+            }
+            addBuckets(values, facets.getBucketBasedFacets("values"), rollup);
+            addBuckets(times, facets.getBucketBasedFacets("time"), rollup);
+            if (facetQueries != null) {
+                for (int i = 0; i < facetQueries.size(); i++) {
+                    NestableJsonFacet facetQuery = facets.getQueryFacet("query" + i);
+                    long count = facetQuery == null ? 0 : rollup ? getViews(facetQuery) : facetQuery.getCount();
+                    queries.merge(facetQueries.get(i), (int) count, Integer::sum);
+                }
+            }
+        }
+
+        private void addBuckets(Map<String, Long> counts, BucketBasedJsonFacet facet, boolean rollup) {
+            if (facet == null) {
+                return;
+            }
+            for (BucketJsonFacet bucket : facet.getBuckets()) {
+                Object value = bucket.getVal();
+                String name = value instanceof Date ? ((Date) value).toInstant().toString() : String.valueOf(value);
+                counts.merge(name, rollup ? getViews(bucket) : bucket.getCount(), Long::sum);
+            }
+        }
+
+        private long getViews(NestableJsonFacet facet) {
+            Object views = facet != null ? facet.getStatValue("views") : null;
+            return views instanceof Number ? ((Number) views).longValue() : 0;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return the values of the facet field counted so far
+         */
+        public Set<String> getValueNames() {
+            return values.keySet();
+        }
+
+        /**
+         * Replace the counts of the values of the facet field with the ones of other counts, e.g. counts restricted
+         * to these values.
+         *
+         * @param counts the other counts
+         */
+        public void setValues(Counts counts) {
+            values.clear();
+            values.putAll(counts.values);
+        }
+
+        /**
+         * @param max      the number of values to keep, -1 for the default of Solr
+         * @param minCount the minimum count of a value
+         * @return the values of the facet field with the most views first
+         */
+        public List<Map.Entry<String, Long>> getValues(int max, int minCount) {
+            List<Map.Entry<String, Long>> result = new ArrayList<>();
+            for (Map.Entry<String, Long> value : values.entrySet()) {
+                if (value.getValue() >= minCount) {
+                    result.add(value);
+                }
+            }
+            result.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+            int limit = max != -1 ? max : 100;
+            return result.size() > limit ? result.subList(0, limit) : result;
+        }
+
+        /**
+         * @param minCount the minimum count of a period
+         * @return the periods of the counts by time, in chronological order, with their views
+         */
+        public List<Map.Entry<String, Long>> getTimes(int minCount) {
+            List<Map.Entry<String, Long>> result = new ArrayList<>();
+            for (Map.Entry<String, Long> time : times.entrySet()) {
+                if (time.getValue() >= minCount) {
+                    result.add(time);
+                }
+            }
+            return result;
+        }
+
+        public Map<String, Integer> getQueries() {
+            return queries;
+        }
+    }
+}
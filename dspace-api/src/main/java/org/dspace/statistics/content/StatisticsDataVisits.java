@@ -11,11 +11,17 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -42,12 +48,15 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.statistics.Dataset;
 import org.dspace.statistics.ObjectCount;
-import org.dspace.statistics.SolrLoggerServiceImpl;
+import org.dspace.statistics.StatisticsRollup;
 import org.dspace.statistics.content.filter.StatisticsFilter;
 import org.dspace.statistics.content.filter.StatisticsSolrDateFilter;
 import org.dspace.statistics.factory.StatisticsServiceFactory;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Query factory associated with a DSpaceObject.
@@ -68,6 +77,16 @@ import org.dspace.statistics.util.LocationUtils;
  * Time: 12:25:20
  */
 public class StatisticsDataVisits extends StatisticsData {
+    /**
+     * Name of the cache of the datasets, see usage-statistics.dataset.cache.enabled
+     */
+    public static final String DATASET_CACHE = "statistics.datasets";
+
+    /**
+     * Pool running the independent Solr queries of the reports, shared by all of them to bound the load on Solr.
+     */
+    private static ExecutorService queryExecutor;
+
     /**
      * Current DSpaceObject for which to generate the statistics.
      */
@@ -180,26 +199,22 @@ public class StatisticsDataVisits extends StatisticsData {
         }
 
         // Determine our filterQuery
-        String filterQuery = "";
-        for (int i = 0; i < getFilters().size(); i++) {
-            StatisticsFilter filter = getFilters().get(i);
-
-            filterQuery += "(" + filter.toQuery() + ")";
-            if (i != (getFilters().size() - 1)) {
-                filterQuery += " AND ";
-            }
-        }
-        if (StringUtils.isNotBlank(filterQuery)) {
-            filterQuery += " AND ";
-        }
-        //Only use the view type and make sure old data (where no view type is present) is also supported
-        //Solr doesn't explicitly apply boolean logic, so this query cannot be simplified to an OR query
-        filterQuery += "-(statistics_type:[* TO *] AND -statistics_type:" + SolrLoggerServiceImpl.StatisticsType.VIEW
-            .text() + ")";
+        String filterQuery = getFilterQuery();
 
 
 //        System.out.println("FILTERQUERY: " + filterQuery);
 
+        // A report asked again within a few minutes is served from the cache
+        Cache datasetCache = getDatasetCache();
+        String cacheKey = null;
+        if (datasetCache != null) {
+            cacheKey = getCacheKey(datasetQueries, showTotal, filterQuery, facetMinCount);
+            Cache.ValueWrapper cached = datasetCache.get(cacheKey);
+            if (cached != null) {
+                return (Dataset) cached.get();
+            }
+        }
+
         // We determine our values on the queries resolved above
         Dataset dataset = null;
 
@@ -235,14 +250,22 @@ public class StatisticsDataVisits extends StatisticsData {
                         ObjectCount[] maxObjectCounts = solrLoggerService
                             .queryFacetField(query, filterQuery, dataSetQuery.getFacetField(), dataSetQuery.getMax(),
                                              false, null, facetMinCount);
-                        for (int j = 0; j < maxObjectCounts.length; j++) {
-                            ObjectCount firstCount = maxObjectCounts[j];
+                        // The date facets of the objects are independent, so they are queried concurrently
+                        List<QueryTask<ObjectCount[]>> dateFacetQueries = new ArrayList<>();
+                        for (ObjectCount firstCount : maxObjectCounts) {
                             String newQuery = dataSetQuery.getFacetField() + ":" + ClientUtils
                                 .escapeQueryChars(firstCount.getValue()) + " AND " + query;
-                            ObjectCount[] maxDateFacetCounts = solrLoggerService
-                                .queryFacetDate(newQuery, filterQuery, dataSetQuery.getMax(), dateFacet.getDateType(),
-                                                dateFacet.getStartDate(), dateFacet.getEndDate(), showTotal, context,
-                                                facetMinCount);
+                            DatasetTimeGenerator timeGenerator = dateFacet;
+                            boolean includeTotal = showTotal;
+                            dateFacetQueries.add(() -> solrLoggerService
+                                .queryFacetDate(newQuery, filterQuery, dataSetQuery.getMax(),
+                                                timeGenerator.getDateType(), timeGenerator.getStartDate(),
+                                                timeGenerator.getEndDate(), includeTotal, context, facetMinCount));
+                        }
+                        List<ObjectCount[]> dateFacetResults = runQueries(dateFacetQueries);
+                        for (int j = 0; j < maxObjectCounts.length; j++) {
+                            ObjectCount firstCount = maxObjectCounts[j];
+                            ObjectCount[] maxDateFacetCounts = dateFacetResults.get(j);
 
                             // Make sure we have a dataSet
                             if (dataset == null) {
@@ -306,6 +329,20 @@ public class StatisticsDataVisits extends StatisticsData {
 
                     facetQueries.add(facetQuery);
                 }
+                // The facet queries of the first dataset values are independent, so they are run concurrently
+                List<QueryTask<Map<String, Integer>>> facetQueryQueries = new ArrayList<>();
+                for (ObjectCount count1 : topCounts1) {
+                    String query = firsDataset.getFacetField() + ":" + ClientUtils.escapeQueryChars(count1.getValue());
+                    // Check if we also have a type present (if so this should be put into the query)
+                    if ("id".equals(firsDataset.getFacetField()) && firsDataset.getQueries().get(0)
+                                                                               .getDsoType() != -1) {
+                        query += " AND type:" + firsDataset.getQueries().get(0).getDsoType();
+                    }
+                    String facetQueryQuery = query;
+                    facetQueryQueries.add(() -> solrLoggerService
+                        .queryFacetQuery(facetQueryQuery, filterQuery, facetQueries, facetMinCount));
+                }
+                List<Map<String, Integer>> facetQueryResults = runQueries(facetQueryQueries);
                 for (int i = 0; i < topCounts1.length; i++) {
                     ObjectCount count1 = topCounts1[i];
 
@@ -316,15 +353,7 @@ public class StatisticsDataVisits extends StatisticsData {
                     dataset.setColLabel(i, getResultName(count1.getValue(), firsDataset, context));
                     dataset.setColLabelAttr(i, getAttributes(count1.getValue(), firsDataset, context));
 
-                    String query = firsDataset.getFacetField() + ":" + ClientUtils.escapeQueryChars(count1.getValue());
-                    // Check if we also have a type present (if so this should be put into the query)
-                    if ("id".equals(firsDataset.getFacetField()) && firsDataset.getQueries().get(0)
-                                                                               .getDsoType() != -1) {
-                        query += " AND type:" + firsDataset.getQueries().get(0).getDsoType();
-                    }
-
-                    Map<String, Integer> facetResult = solrLoggerService
-                        .queryFacetQuery(query, filterQuery, facetQueries, facetMinCount);
+                    Map<String, Integer> facetResult = facetQueryResults.get(i);
 
 
                     // TODO: the show total
@@ -401,9 +430,161 @@ public class StatisticsDataVisits extends StatisticsData {
         } else {
             dataset = new Dataset(0, 0);
         }
+        if (datasetCache != null) {
+            datasetCache.put(cacheKey, dataset);
+        }
         return dataset;
     }
 
+    /**
+     * Build the filter query of the report from its filters, restricted to the views.
+     *
+     * @return the filter query
+     */
+    protected String getFilterQuery() {
+        String filterQuery = "";
+        for (int i = 0; i < getFilters().size(); i++) {
+            StatisticsFilter filter = getFilters().get(i);
+
+            filterQuery += "(" + filter.toQuery() + ")";
+            if (i != (getFilters().size() - 1)) {
+                filterQuery += " AND ";
+            }
+        }
+        if (StringUtils.isNotBlank(filterQuery)) {
+            filterQuery += " AND ";
+        }
+        //Only use the view type and make sure old data (where no view type is present) is also supported
+        //Solr doesn't explicitly apply boolean logic, so this query cannot be simplified to an OR query
+        //This filter also lets the counts be read from the daily rollups of the views, when they are enabled
+        filterQuery += StatisticsRollup.VIEWS_FILTER;
+        return filterQuery;
+    }
+
+    /**
+     * Run independent Solr queries, concurrently if "usage-statistics.query.threads" is greater than 1.
+     *
+     * @param queries the queries to run
+     * @param <T>     the type of the results
+     * @return the results, in the order of the queries
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws IOException         A general class of exceptions produced by failed or interrupted I/O operations.
+     */
+    protected <T> List<T> runQueries(List<QueryTask<T>> queries) throws SolrServerException, IOException {
+        List<T> results = new ArrayList<>(queries.size());
+        int threads = configurationService.getIntProperty("usage-statistics.query.threads", 4);
+        if (threads <= 1 || queries.size() <= 1) {
+            for (QueryTask<T> query : queries) {
+                results.add(query.run());
+            }
+            return results;
+        }
+
+        ExecutorService executor = getQueryExecutor(threads);
+        List<Future<T>> futures = new ArrayList<>(queries.size());
+        for (QueryTask<T> query : queries) {
+            futures.add(executor.submit(query::run));
+        }
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while querying the statistics", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof SolrServerException) {
+                throw (SolrServerException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+        return results;
+    }
+
+    private static synchronized ExecutorService getQueryExecutor(int threads) {
+        if (queryExecutor == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("statistics-query-");
+            threadFactory.setDaemon(true);
+            queryExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+        }
+        return queryExecutor;
+    }
+
+    /**
+     * @return the cache of the datasets, or null if it is disabled
+     */
+    protected Cache getDatasetCache() {
+        if (!configurationService.getBooleanProperty("usage-statistics.dataset.cache.enabled", false)) {
+            return null;
+        }
+        CacheManager cacheManager = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                         .getServiceByName("cacheManager", CacheManager.class);
+        return cacheManager != null ? cacheManager.getCache(DATASET_CACHE) : null;
+    }
+
+    /**
+     * Build the key of a dataset in the cache from everything the dataset depends on: the object, the generators
+     * with their parameters, the queries, the filters and the current day, as the date ranges of the reports are
+     * relative to it.
+     */
+    protected String getCacheKey(List<DatasetQuery> datasetQueries, boolean showTotal, String filterQuery,
+                                 int facetMinCount) {
+        StringBuilder key = new StringBuilder();
+        key.append(currentDso != null ? currentDso.getID() : "site");
+        for (DatasetGenerator generator : getDatasetGenerators()) {
+            key.append('|');
+            appendGeneratorKey(key, generator);
+        }
+        key.append('|').append(facetMinCount).append('|').append(showTotal)
+           .append('|').append(filterQuery);
+        for (DatasetQuery datasetQuery : datasetQueries) {
+            key.append('|').append(datasetQuery.getName()).append(',').append(datasetQuery.getFacetField())
+               .append(',').append(datasetQuery.getMax());
+            for (Query query : datasetQuery.getQueries()) {
+                key.append(',').append(query.getQuery()).append(',').append(query.getDsoType())
+                   .append(',').append(query.getDsoLength());
+            }
+        }
+        key.append('|').append(LocalDate.now(ZoneOffset.UTC));
+        return key.toString();
+    }
+
+    /**
+     * Append a generator and its parameters to the key of a dataset.
+     */
+    private void appendGeneratorKey(StringBuilder key, DatasetGenerator generator) {
+        key.append(generator.getClass().getName()).append(',').append(generator.getDatasetType())
+           .append(',').append(generator.isIncludeTotal());
+        if (generator instanceof DatasetTimeGenerator) {
+            DatasetTimeGenerator timeAxis = (DatasetTimeGenerator) generator;
+            key.append(',').append(timeAxis.getType()).append(',').append(timeAxis.getDateType())
+               .append(',').append(timeAxis.getStartDate()).append(',').append(timeAxis.getEndDate())
+               .append(',').append(timeAxis.getActualStartDate()).append(',').append(timeAxis.getActualEndDate());
+        } else if (generator instanceof DatasetDSpaceObjectGenerator) {
+            for (DSORepresentation dsoRepresentation
+                : ((DatasetDSpaceObjectGenerator) generator).getDsoRepresentations()) {
+                key.append(',').append(dsoRepresentation.getType()).append(',').append(dsoRepresentation.getMax())
+                   .append(',').append(dsoRepresentation.getSeparate())
+                   .append(',').append(dsoRepresentation.getNameLength());
+            }
+        } else if (generator instanceof DatasetTypeGenerator) {
+            DatasetTypeGenerator typeAxis = (DatasetTypeGenerator) generator;
+            key.append(',').append(typeAxis.getType()).append(',').append(typeAxis.getMax());
+            if (generator instanceof DatasetSearchGenerator) {
+                DatasetSearchGenerator searchAxis = (DatasetSearchGenerator) generator;
+                key.append(',').append(searchAxis.getMode()).append(',').append(searchAxis.isPercentage())
+                   .append(',').append(searchAxis.isRetrievePageViews());
+            }
+        }
+    }
+
     protected void processAxis(Context context, DatasetGenerator datasetGenerator, List<DatasetQuery> queries)
         throws SQLException {
         if (datasetGenerator instanceof DatasetDSpaceObjectGenerator) {
@@ -715,6 +896,16 @@ public class StatisticsDataVisits extends StatisticsData {
                                                  dataset.getMax(), false, null, facetMinCount);
     }
 
+    /**
+     * A query to the statistics core, run by {@link #runQueries(List)}.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    protected interface QueryTask<T> {
+        T run() throws SolrServerException, IOException;
+    }
+
     public static class DatasetQuery {
         private String name;
         private int max;
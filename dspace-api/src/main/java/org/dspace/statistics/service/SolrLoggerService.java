@@ -16,6 +16,7 @@ import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
@@ -264,6 +265,44 @@ public interface SolrLoggerService {
 
     public void shardSolrIndex() throws IOException, SolrServerException;
 
+    /**
+     * Update the statistics documents matching a filter query with atomic updates, in all the statistics cores.
+     * The documents are read with a cursor in slices of one year per core, which are updated in parallel, and
+     * committed in batches as well as at the end.
+     *
+     * @param filterQuery filter of the documents to update, or null for all of them
+     * @param fields      the fields of the documents needed by the updater, the unique key "uid" is always read
+     * @param threads     number of slices updated in parallel
+     * @param batchSize   number of documents read and updated at once
+     * @param updater     gives the update of each document
+     * @return the number of documents updated
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws IOException         A general class of exceptions produced by failed or interrupted I/O operations.
+     */
+    public long bulkUpdate(String filterQuery, List<String> fields, int threads, int batchSize,
+                           DocumentUpdater updater)
+        throws SolrServerException, IOException;
+
+    /**
+     * Create the time partitions of the current and of the next period, when the usage events are partitioned (see
+     * usage-statistics.partitionBy). The partitions are not created when logging the events, which are sent to the
+     * main core until the partition of their period exists.
+     *
+     * @throws IOException         if a partition cannot be created
+     * @throws SolrServerException if a partition cannot be created
+     */
+    public void createPartitions() throws IOException, SolrServerException;
+
+    /**
+     * Aggregate the views of the past days which are not rolled up yet into daily counts, in the rollup core
+     * (see usage-statistics.rollup.enabled). The reports restricted to views are then counted from the rollups for
+     * these days, instead of faceting over every view.
+     *
+     * @throws IOException         if a core cannot be reached
+     * @throws SolrServerException if a core cannot be reached
+     */
+    public void rollupStatistics() throws IOException, SolrServerException;
+
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception;
 
     /**
@@ -286,4 +325,25 @@ public interface SolrLoggerService {
      */
     public Object anonymizeIp(String ip) throws UnknownHostException;
 
+
+    /**
+     * Gives the atomic update of a statistics document, see {@link #bulkUpdate}.
+     */
+    public interface DocumentUpdater {
+
+        /**
+         * @param document a statistics document, with the requested fields only
+         * @return the fields to update, with their atomic update operation (e.g. {@code Map.of("set", value)}),
+         *         or null to leave the document unchanged. The unique key is added by the caller.
+         * @throws IOException  if the update cannot be determined
+         * @throws SQLException if the update cannot be determined
+         */
+        SolrInputDocument update(SolrDocument document) throws IOException, SQLException;
+
+        /**
+         * Called after each batch of documents is sent to Solr, e.g. to throttle the updates.
+         */
+        default void afterBatch() {
+        }
+    }
 }
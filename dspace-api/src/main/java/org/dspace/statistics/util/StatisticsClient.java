@@ -73,6 +73,10 @@ public class StatisticsClient {
                           "While indexing the bundle names remove the statistics about deleted bitstreams");
         options.addOption("s", "shard-solr-index", false,
                           "Split the data from the main Solr core into separate Solr cores per year");
+        options.addOption("p", "create-partitions", false,
+                          "Create the Solr cores of the current and next period when the statistics are partitioned");
+        options.addOption("a", "rollup", false,
+                          "Aggregate the views of the past days into the daily counts of the statistics rollup core");
         options.addOption("h", "help", false, "help");
 
         CommandLine line = parser.parse(options, args);
@@ -95,6 +99,10 @@ public class StatisticsClient {
             solrLoggerService.exportHits();
         } else if (line.hasOption('s')) {
             solrLoggerService.shardSolrIndex();
+        } else if (line.hasOption('p')) {
+            solrLoggerService.createPartitions();
+        } else if (line.hasOption('a')) {
+            solrLoggerService.rollupStatistics();
         } else {
             printHelp(options, 0);
         }
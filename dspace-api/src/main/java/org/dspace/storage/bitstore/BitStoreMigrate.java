@@ -7,6 +7,9 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -62,6 +65,15 @@ public class BitStoreMigrate {
                               "Delete file from losing assetstore. (Default: Keep bitstream in old assetstore)");
             options.addOption("p", "print", false, "Print out current assetstore information");
             options.addOption("s", "size", true, "Batch commit size. (Default: 1, commit after each file transfer)");
+            options.addOption("t", "threads", true,
+                              "Number of bitstreams copied concurrently. (Default: 1)");
+            options.addOption("v", "verify", false,
+                              "Read back each copy from the destination assetstore to verify its checksum");
+            options.addOption("r", "rate", true,
+                              "Maximum transfer rate in MB per second, for all threads together. (Default: no limit)");
+            options.addOption("l", "ledger", true,
+                              "File recording the verified copies, to resume an interrupted migration without " +
+                                  "copying them again");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -103,8 +115,22 @@ public class BitStoreMigrate {
                     batchCommitSize = Integer.parseInt(line.getOptionValue('s'));
                 }
 
+                int threads = 1;
+                if (line.hasOption('t')) {
+                    threads = Integer.parseInt(line.getOptionValue('t'));
+                }
+                long maxBytesPerSecond = 0;
+                if (line.hasOption('r')) {
+                    maxBytesPerSecond = (long) (Double.parseDouble(line.getOptionValue('r')) * 1024 * 1024);
+                }
+                Path ledger = null;
+                if (line.hasOption('l')) {
+                    ledger = Paths.get(line.getOptionValue('l'));
+                }
+
                 bitstreamStorageService
-                    .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize);
+                    .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize, threads,
+                             line.hasOption('v'), maxBytesPerSecond, ledger);
             } else {
                 printHelp(options);
                 System.exit(0);
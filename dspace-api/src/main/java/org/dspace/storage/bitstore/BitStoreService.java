@@ -79,6 +79,19 @@ public interface BitStoreService {
      */
     public void remove(Bitstream bitstream) throws IOException;
 
+    /**
+     * Remove several assets from the asset store. Stores which support it should override this method to
+     * remove them with a single request.
+     *
+     * @param bitstreams The bitstreams of the assets to delete
+     * @throws java.io.IOException If a problem occurs while removing the assets
+     */
+    public default void removeAll(List<Bitstream> bitstreams) throws IOException {
+        for (Bitstream bitstream : bitstreams) {
+            remove(bitstream);
+        }
+    }
+
     /**
      * Determines if a store has been initialized
      * 
@@ -7,19 +7,40 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.RateLimiter;
 import jakarta.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -33,6 +54,7 @@ import org.dspace.core.Utils;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * <P>
@@ -87,6 +109,11 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
      */
     protected final String REGISTERED_FLAG = "-R";
 
+    /**
+     * Number of deleted bitstreams handled per transaction by the set-based cleanup
+     */
+    protected static final int CLEANUP_BATCH_SIZE = 1000;
+
     protected BitstreamStorageServiceImpl() {
 
     }
@@ -342,6 +369,169 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         }
     }
 
+    @Override
+    public void cleanup(boolean deleteDbRecords, boolean verbose, int threads)
+        throws SQLException, IOException, AuthorizeException {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        ExecutorService executor = null;
+        if (threads > 1) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bitstore-cleanup-");
+            threadFactory.setDaemon(true);
+            executor = Executors.newFixedThreadPool(threads, threadFactory);
+        }
+
+        int deletedBitstreamCount = bitstreamService.countDeletedBitstreams(context);
+        System.out.println("Found " + deletedBitstreamCount + " deleted bitstream to cleanup");
+
+        int cleanedBitstreamCount = 0;
+        UUID last = null;
+        try {
+            context.turnOffAuthorisationSystem();
+
+            List<Bitstream> storage;
+            while (!(storage = bitstreamService.findDeletedBitstreams(context, last, CLEANUP_BATCH_SIZE)).isEmpty()) {
+                last = storage.get(storage.size() - 1).getID();
+
+                // look up all the files of the batch concurrently
+                List<Callable<Map<String, Object>>> lookups = new ArrayList<>();
+                for (Bitstream bitstream : storage) {
+                    BitStoreService store = this.getStore(bitstream.getStoreNumber());
+                    lookups.add(() -> store.about(bitstream, List.of("size_bytes", "modified")));
+                }
+                List<Map<String, Object>> receivedMetadata = invokeAll(executor, lookups);
+
+                List<Bitstream> toExpunge = new ArrayList<>();
+                List<Bitstream> present = new ArrayList<>();
+                for (int i = 0; i < storage.size(); i++) {
+                    Bitstream bitstream = storage.get(i);
+                    Map<String, Object> metadata = receivedMetadata.get(i);
+                    if (MapUtils.isEmpty(metadata)) {
+                        // Make sure entries which do not exist are removed
+                        log.debug("bitstore.about is empty, so file is not present");
+                        if (deleteDbRecords) {
+                            toExpunge.add(bitstream);
+                        }
+                    } else if (isRecent(Long.valueOf(metadata.get("modified").toString()))) {
+                        // This is a small chance that this is a file which is
+                        // being stored -- get it next time.
+                        log.debug("file is recent");
+                    } else {
+                        if (deleteDbRecords) {
+                            toExpunge.add(bitstream);
+                        }
+                        if (!isRegisteredBitstream(bitstream.getInternalId())) {
+                            present.add(bitstream);
+                        }
+                    }
+                }
+
+                // Since versioning allows for multiple bitstreams, only remove the files which are not used by
+                // any bitstream left in the database, once per file
+                Set<String> sharedInternalIds =
+                    new HashSet<>(bitstreamService.findSharedInternalIdentifiers(context, present));
+                Map<Integer, Map<String, Bitstream>> filesByStore = new HashMap<>();
+                for (Bitstream bitstream : present) {
+                    if (!sharedInternalIds.contains(bitstream.getInternalId())) {
+                        filesByStore.computeIfAbsent(bitstream.getStoreNumber(), store -> new LinkedHashMap<>())
+                                    .putIfAbsent(bitstream.getInternalId(), bitstream);
+                    }
+                }
+                List<Callable<Void>> removals = new ArrayList<>();
+                for (Map.Entry<Integer, Map<String, Bitstream>> files : filesByStore.entrySet()) {
+                    BitStoreService store = this.getStore(files.getKey());
+                    List<Bitstream> bitstreams = new ArrayList<>(files.getValue().values());
+                    int partitionSize = (bitstreams.size() + Math.max(1, threads) - 1) / Math.max(1, threads);
+                    for (List<Bitstream> partition : ListUtils.partition(bitstreams, partitionSize)) {
+                        removals.add(() -> {
+                            store.removeAll(partition);
+                            return null;
+                        });
+                    }
+                }
+                invokeAll(executor, removals);
+                for (Map<String, Bitstream> files : filesByStore.values()) {
+                    for (Bitstream bitstream : files.values()) {
+                        String message = ("Deleted bitstreamID " + bitstream.getID() + ", internalID " +
+                            bitstream.getInternalId());
+                        if (log.isDebugEnabled()) {
+                            log.debug(message);
+                        }
+                        if (verbose) {
+                            System.out.println(message);
+                        }
+                    }
+                }
+
+                if (!toExpunge.isEmpty()) {
+                    if (verbose) {
+                        System.out.println(" - Deleting " + toExpunge.size() + " bitstream records from database");
+                    }
+                    checksumHistoryService.deleteByBitstreams(context, toExpunge);
+                    bitstreamService.expunge(context, toExpunge);
+                }
+
+                // Commit actual changes to DB after dispatch events
+                System.out.print("Performing incremental commit to the database...");
+                context.commit();
+                context.uncacheEntities();
+                System.out.println(" Incremental commit done!");
+
+                cleanedBitstreamCount = cleanedBitstreamCount + storage.size();
+                System.out.println("Processed " + cleanedBitstreamCount + " of " + deletedBitstreamCount +
+                                       " deleted bitstreams");
+            }
+
+            System.out.print("Committing changes to the database...");
+            context.complete();
+            System.out.println(" Done!");
+        } catch (SQLException | IOException sqle) {
+            // Aborting will leave the DB objects around, even if the
+            // bitstreams are deleted. This is OK; deleting them next
+            // time around will be a no-op.
+            if (verbose) {
+                System.err.println("Error: " + sqle.getMessage());
+            }
+            context.abort();
+            throw sqle;
+        } finally {
+            context.restoreAuthSystemState();
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Run the given tasks with the executor, or in the current thread if there is none, and return their results
+     * in the same order.
+     *
+     * @throws IOException the first failure of the tasks
+     */
+    private <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>();
+        try {
+            if (executor == null) {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } else {
+                for (Future<T> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        return results;
+    }
+
     @Nullable
     @Override
     public Long getLastModified(Bitstream bitstream) throws IOException {
@@ -402,34 +592,111 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     @Override
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException {
+        migrate(context, assetstoreSource, assetstoreDestination, deleteOld, batchCommitSize, 1, false, 0, null);
+    }
+
+    /**
+     * Migrates all assets off of one assetstore to another.
+     * <p>
+     * The bitstreams are copied by a pool of workers, in batches of at least one bitstream per worker. Every copy
+     * is checked against the checksum recorded in the database (and optionally read back from the destination)
+     * before the batch is committed, and the source copies are only removed once the database points to the
+     * destination. Verified copies are recorded in the ledger file, so that a migration which was stopped can be
+     * resumed without transferring them again.
+     * </p>
+     */
+    @Override
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, boolean verify, long maxBytesPerSecond, Path ledger)
+        throws IOException, SQLException, AuthorizeException {
         //Find all the bitstreams on the old source, copy it to new destination, update store_number, save, remove old
+        BitStoreService sourceStore = this.getStore(assetstoreSource);
+        BitStoreService destinationStore = this.getStore(assetstoreDestination);
+        long total = bitstreamService.countByStoreNumber(context, assetstoreSource);
         Iterator<Bitstream> allBitstreamsInSource = bitstreamService.findByStoreNumber(context, assetstoreSource);
-        int processedCounter = 0;
-
-        while (allBitstreamsInSource.hasNext()) {
-            Bitstream bitstream = allBitstreamsInSource.next();
-            log.info("Copying bitstream:" + bitstream
-                .getID() + " from assetstore[" + assetstoreSource + "] to assetstore[" + assetstoreDestination + "] " +
-                         "Name:" + bitstream
-                .getName() + ", SizeBytes:" + bitstream.getSizeBytes());
-
-            InputStream inputStream = retrieve(context, bitstream);
-            this.getStore(assetstoreDestination).put(bitstream, inputStream);
-            bitstream.setStoreNumber(assetstoreDestination);
-            bitstreamService.update(context, bitstream);
+        int batchSize = Math.max(batchCommitSize, threads);
+        RateLimiter rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+        ExecutorService executor = null;
+        if (threads > 1) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bitstore-migrate-");
+            threadFactory.setDaemon(true);
+            executor = Executors.newFixedThreadPool(threads, threadFactory);
+        }
 
-            if (deleteOld) {
-                log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
-                this.getStore(assetstoreSource).remove(bitstream);
-            }
+        int processedCounter = 0;
+        long transferredBytes = 0;
+        long start = System.currentTimeMillis();
+        try (MigrationLedger migrationLedger = new MigrationLedger(ledger)) {
+            while (allBitstreamsInSource.hasNext()) {
+                List<MigrationTask> batch = new ArrayList<>();
+                while (batch.size() < batchSize && allBitstreamsInSource.hasNext()) {
+                    Bitstream bitstream = allBitstreamsInSource.next();
+                    log.info("Copying bitstream:" + bitstream
+                        .getID() + " from assetstore[" + assetstoreSource + "] to assetstore[" +
+                                 assetstoreDestination + "] " + "Name:" + bitstream
+                        .getName() + ", SizeBytes:" + bitstream.getSizeBytes());
+                    MigrationTask task = new MigrationTask(bitstream);
+                    Callable<Void> copy = () -> {
+                        copyBitstream(sourceStore, destinationStore, task, verify, rateLimiter, migrationLedger);
+                        return null;
+                    };
+                    if (executor == null) {
+                        // copy in the current thread, stopping at the first failure
+                        try {
+                            copy.call();
+                        } catch (IOException e) {
+                            task.restore();
+                            throw e;
+                        } catch (Exception e) {
+                            task.restore();
+                            throw new IOException(e);
+                        }
+                    } else {
+                        task.future = executor.submit(copy);
+                    }
+                    batch.add(task);
+                }
 
-            processedCounter++;
-            context.uncacheEntity(bitstream);
+                // wait for the whole batch, and only then report the first failure
+                IOException failure = null;
+                for (MigrationTask task : batch) {
+                    try {
+                        task.await();
+                    } catch (IOException e) {
+                        task.restore();
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
 
-            //modulo
-            if ((processedCounter % batchCommitSize) == 0) {
+                for (MigrationTask task : batch) {
+                    task.bitstream.setStoreNumber(assetstoreDestination);
+                    bitstreamService.update(context, task.bitstream);
+                    context.uncacheEntity(task.bitstream);
+                    transferredBytes += task.bitstream.getSizeBytes();
+                }
+                processedCounter += batch.size();
                 log.info("Migration Commit Checkpoint: " + processedCounter);
                 context.commit();
+
+                // the database now points to the destination, the source copies can go
+                if (deleteOld) {
+                    for (MigrationTask task : batch) {
+                        log.info("Removing bitstream:" + task.bitstream.getID() + " from assetstore[" +
+                                     assetstoreSource + "]");
+                        sourceStore.remove(task.bitstream);
+                    }
+                }
+
+                reportProgress(processedCounter, total, transferredBytes, start);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
             }
         }
 
@@ -438,6 +705,64 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                 "] completed. " + processedCounter + " objects were transferred.");
     }
 
+    /**
+     * Copy a bitstream to the destination store and check the copy.
+     *
+     * @throws IOException if the copy failed or does not match the checksum of the bitstream
+     */
+    private void copyBitstream(BitStoreService sourceStore, BitStoreService destinationStore, MigrationTask task,
+                               boolean verify, RateLimiter rateLimiter, MigrationLedger ledger) throws IOException {
+        Bitstream bitstream = task.bitstream;
+        if (ledger.contains(bitstream.getID(), task.checksum)) {
+            Map<String, Object> copy = destinationStore.about(bitstream, List.of("size_bytes"));
+            if (MapUtils.isNotEmpty(copy)
+                && String.valueOf(task.sizeBytes).equals(String.valueOf(copy.get("size_bytes")))) {
+                log.info("Bitstream:" + bitstream.getID() + " was already copied, skipping transfer");
+                return;
+            }
+        }
+
+        InputStream inputStream = sourceStore.get(bitstream);
+        if (rateLimiter != null) {
+            inputStream = new ThrottledInputStream(inputStream, rateLimiter);
+        }
+        try (InputStream in = inputStream) {
+            destinationStore.put(bitstream, in);
+        }
+
+        // put computed the checksum of the bytes read from the source
+        if (task.checksum != null && StringUtils.equals(task.checksumAlgorithm, bitstream.getChecksumAlgorithm())
+            && !task.checksum.equals(bitstream.getChecksum())) {
+            throw new IOException("Checksum mismatch while copying bitstream " + bitstream.getID() + ": expected " +
+                                      task.checksum + " but read " + bitstream.getChecksum());
+        }
+        if (verify) {
+            Map<String, Object> copy = destinationStore.about(bitstream, List.of("checksum"));
+            Object checksum = MapUtils.isEmpty(copy) ? null : copy.get("checksum");
+            if (checksum == null || !checksum.toString().equals(bitstream.getChecksum())) {
+                throw new IOException("Checksum mismatch in the destination copy of bitstream " +
+                                          bitstream.getID() + ": expected " + bitstream.getChecksum() +
+                                          " but found " + checksum);
+            }
+        }
+        ledger.record(bitstream.getID(), task.checksum);
+    }
+
+    /**
+     * Print the throughput and the estimated remaining time of a migration.
+     */
+    private void reportProgress(int processed, long total, long transferredBytes, long start) {
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        double megabytesPerSecond = transferredBytes * 1000d / elapsed / (1024 * 1024);
+        long remaining = Math.max(0, total - processed);
+        String eta = processed > 0
+            ? DurationFormatUtils.formatDuration(elapsed * remaining / processed, "HH:mm:ss") : "unknown";
+        String message = String.format("Migrated %d/%d bitstreams (%d MB) at %.2f MB/s, ETA %s", processed, total,
+                                       transferredBytes / (1024 * 1024), megabytesPerSecond, eta);
+        log.info(message);
+        System.out.println(message);
+    }
+
     @Override
     public void printStores(Context context) {
         try {
@@ -502,4 +827,122 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return bitStoreService;
     }
 
+    /**
+     * A bitstream being migrated, with the values the destination store will overwrite.
+     */
+    private static class MigrationTask {
+        private final Bitstream bitstream;
+        private final String checksum;
+        private final String checksumAlgorithm;
+        private final long sizeBytes;
+        private Future<Void> future;
+
+        MigrationTask(Bitstream bitstream) {
+            this.bitstream = bitstream;
+            this.checksum = bitstream.getChecksum();
+            this.checksumAlgorithm = bitstream.getChecksumAlgorithm();
+            this.sizeBytes = bitstream.getSizeBytes();
+        }
+
+        void await() throws IOException {
+            if (future == null) {
+                return;
+            }
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+
+        /**
+         * Undo the changes of a failed copy, so that they are not saved with the rest of the batch.
+         */
+        void restore() {
+            bitstream.setChecksum(checksum);
+            bitstream.setChecksumAlgorithm(checksumAlgorithm);
+            bitstream.setSizeBytes(sizeBytes);
+        }
+    }
+
+    /**
+     * Append-only file of the bitstreams whose copy was verified, one "uuid checksum" line each.
+     */
+    private static class MigrationLedger implements Closeable {
+        private final Map<UUID, String> copied = new ConcurrentHashMap<>();
+        private final BufferedWriter writer;
+
+        MigrationLedger(Path path) throws IOException {
+            if (path == null) {
+                writer = null;
+                return;
+            }
+            if (Files.exists(path)) {
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    String[] fields = StringUtils.split(line, ' ');
+                    if (fields.length == 2) {
+                        copied.put(UUID.fromString(fields[0]), fields[1]);
+                    }
+                }
+                log.info("Resuming migration, " + copied.size() + " copies recorded in " + path);
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                             StandardOpenOption.APPEND);
+        }
+
+        boolean contains(UUID id, String checksum) {
+            return checksum != null && checksum.equals(copied.get(id));
+        }
+
+        synchronized void record(UUID id, String checksum) throws IOException {
+            if (writer != null && checksum != null) {
+                writer.write(id + " " + checksum);
+                writer.newLine();
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Input stream which limits the rate at which it can be read, with a limiter shared by all the workers.
+     */
+    private static class ThrottledInputStream extends FilterInputStream {
+        private final RateLimiter rateLimiter;
+
+        ThrottledInputStream(InputStream in, RateLimiter rateLimiter) {
+            super(in);
+            this.rateLimiter = rateLimiter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                rateLimiter.acquire();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                rateLimiter.acquire(read);
+            }
+            return read;
+        }
+    }
 }
@@ -55,6 +55,9 @@ public class Cleanup {
 
             options.addOption("l", "leave", false, "Leave database records but delete file from assetstore");
             options.addOption("v", "verbose", false, "Provide verbose output");
+            options.addOption("t", "threads", true,
+                              "Clean up in batches, with the given number of threads looking up and removing " +
+                                  "files, and bulk database deletes");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -77,8 +80,14 @@ public class Cleanup {
                 deleteDbRecords = false;
             }
             log.debug("leave db records = " + deleteDbRecords);
-            StorageServiceFactory.getInstance().getBitstreamStorageService()
-                                 .cleanup(deleteDbRecords, line.hasOption('v'));
+            if (line.hasOption('t')) {
+                StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                     .cleanup(deleteDbRecords, line.hasOption('v'),
+                                              Integer.parseInt(line.getOptionValue('t')));
+            } else {
+                StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                     .cleanup(deleteDbRecords, line.hasOption('v'));
+            }
 
             System.exit(0);
         } catch (IOException | SQLException | AuthorizeException e) {
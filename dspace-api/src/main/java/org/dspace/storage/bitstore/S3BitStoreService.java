@@ -32,6 +32,7 @@ import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.transfer.Download;
@@ -45,6 +46,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -83,6 +85,11 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     static final String CSA = "MD5";
 
+    /**
+     * Maximum number of keys of a DeleteObjects request
+     */
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
     // These settings control the way an identifier is hashed into
     // directory and file names
     //
@@ -390,6 +397,26 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Remove several assets from the asset store, with one DeleteObjects request per 1000 assets.
+     *
+     * @param bitstreams The bitstreams of the assets to delete
+     * @throws java.io.IOException If a problem occurs while removing the assets
+     */
+    @Override
+    public void removeAll(List<Bitstream> bitstreams) throws IOException {
+        for (List<Bitstream> partition : ListUtils.partition(bitstreams, MAX_KEYS_PER_DELETE)) {
+            String[] keys = partition.stream().map(bitstream -> getFullKey(bitstream.getInternalId()))
+                                     .toArray(String[]::new);
+            try {
+                s3Service.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keys).withQuiet(true));
+            } catch (AmazonClientException e) {
+                log.error("removeAll(" + keys.length + " keys)", e);
+                throw new IOException(e);
+            }
+        }
+    }
+
     /**
      * Utility Method: Prefix the key with a subfolder, if this instance assets are stored within subfolder
      *
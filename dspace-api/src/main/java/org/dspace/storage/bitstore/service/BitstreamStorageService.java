@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
@@ -141,6 +142,25 @@ public interface BitstreamStorageService {
      */
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException;
 
+    /**
+     * Clean up the bitstream storage area in a set-based way, for repositories with many deleted bitstreams.
+     * The deleted bitstreams are read in pages following the last identifier of the previous page, their files
+     * are looked up and removed concurrently (in a single request per page when the store supports it) and their
+     * database records are removed with bulk statements. Like {@link #cleanup(boolean, boolean)}, bitstreams
+     * whose file is less than 1 hour old are left for the next run.
+     *
+     * @param deleteDbRecords if true deletes the database records otherwise it
+     *                        only deletes the files and directories in the assetstore
+     * @param verbose         verbosity flag
+     * @param threads         number of concurrent file lookups and removals
+     * @throws IOException        If a problem occurs while cleaning up
+     * @throws SQLException       If a problem occurs accessing the RDBMS
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void cleanup(boolean deleteDbRecords, boolean verbose, int threads)
+        throws SQLException, IOException, AuthorizeException;
+
     /**
      * Clone the given bitstream to a new bitstream with a new ID.
      * Metadata of the given bitstream are also copied to the new bitstream.
@@ -180,6 +200,30 @@ public interface BitstreamStorageService {
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Migrate all the assets from assetstoreSource to assetstoreDestination, with several workers.
+     * Each copy is checked against the checksum of the bitstream before the database is updated, and the source
+     * copy is only removed once the database update is committed.
+     *
+     * @param context               The relevant DSpace Context.
+     * @param assetstoreSource      source assetstore
+     * @param assetstoreDestination destination assetstore
+     * @param deleteOld             whether to delete files from the source assetstore after migration
+     * @param batchCommitSize       batch size, raised to the number of threads if lower
+     * @param threads               number of bitstreams copied concurrently
+     * @param verify                whether to read back the destination copy to verify its checksum
+     * @param maxBytesPerSecond     maximum transfer rate of all the workers together, 0 for no limit
+     * @param ledger                file recording the verified copies, used to resume an interrupted migration
+     *                              without copying them again, or null
+     * @throws IOException        A general class of exceptions produced by failed or interrupted I/O operations.
+     * @throws SQLException       An exception that provides information on a database access error or other errors.
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, boolean verify, long maxBytesPerSecond, Path ledger)
+        throws IOException, SQLException, AuthorizeException;
+
 
     /**
      * Gets the last modified timestamp of the the given bitstream's content, if known.
@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.rdbms.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.DCDate;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fill the embargo_lift table (created by V10.0_2026.10.18) from the lift date metadata of the Items embargoed
+ * before it existed. The lift date metadata field is taken from the "embargo.field.lift" configuration, and the
+ * dates are parsed the same way as by the embargo lifter.
+ */
+public class V10_0_2026_10_18_1__Embargo_Lift_Backfill extends BaseJavaMigration {
+
+    private static final Logger log = LogManager.getLogger(V10_0_2026_10_18_1__Embargo_Lift_Backfill.class);
+
+    // Number of rows inserted together
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String lift = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                           .getProperty("embargo.field.lift");
+        if (StringUtils.isBlank(lift)) {
+            return;
+        }
+        String[] field = lift.split("\\.", 3);
+        int count = backfill(context.getConnection(), field[0], field.length > 1 ? field[1] : null,
+                             field.length > 2 ? field[2] : null);
+        log.info("Indexed the embargo lift date of {} Items", count);
+    }
+
+    /**
+     * Index the lift date of the Items which are not indexed yet.
+     *
+     * @param connection the database connection
+     * @param schema     schema of the lift date metadata field
+     * @param element    element of the lift date metadata field
+     * @param qualifier  qualifier of the lift date metadata field, or null
+     * @return the number of Items indexed
+     * @throws SQLException if a database error occurs
+     */
+    public static int backfill(Connection connection, String schema, String element, String qualifier)
+        throws SQLException {
+        String select = "SELECT mv.dspace_object_id, mv.text_value FROM metadatavalue mv"
+            + " JOIN metadatafieldregistry mf ON mf.metadata_field_id = mv.metadata_field_id"
+            + " JOIN metadataschemaregistry ms ON ms.metadata_schema_id = mf.metadata_schema_id"
+            + " JOIN item i ON i.uuid = mv.dspace_object_id"
+            + " WHERE ms.short_id = ? AND mf.element = ? AND "
+            + (qualifier == null ? "mf.qualifier IS NULL" : "mf.qualifier = ?")
+            + " AND NOT EXISTS (SELECT 1 FROM embargo_lift el WHERE el.item_id = mv.dspace_object_id)"
+            + " ORDER BY mv.dspace_object_id, mv.place";
+        int count = 0;
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+        try (PreparedStatement query = connection.prepareStatement(select);
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO embargo_lift (item_id, lift_date) VALUES (?, ?)")) {
+            query.setString(1, schema);
+            query.setString(2, element);
+            if (qualifier != null) {
+                query.setString(3, qualifier);
+            }
+            UUID previous = null;
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    UUID itemId = rs.getObject(1, UUID.class);
+                    // only the first value of an Item is its lift date
+                    if (itemId.equals(previous)) {
+                        continue;
+                    }
+                    previous = itemId;
+                    String value = rs.getString(2);
+                    ZonedDateTime liftDate = new DCDate(value).toDate();
+                    if (liftDate == null) {
+                        log.warn("Ignoring uninterpretable embargo lift date of Item {}: {}", itemId, value);
+                        continue;
+                    }
+                    insert.setObject(1, itemId);
+                    // stored in UTC, as Hibernate does (hibernate.jdbc.time_zone)
+                    insert.setTimestamp(2, Timestamp.from(liftDate.toInstant()), utc);
+                    insert.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        return count;
+    }
+}
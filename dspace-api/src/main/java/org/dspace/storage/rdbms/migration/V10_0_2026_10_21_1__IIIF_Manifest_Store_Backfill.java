@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.rdbms.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Invalidate every IIIF manifest stored before the iiif_manifest_invalidation table (created by V10.0_2026.10.21)
+ * existed. Those manifests may have been generated with the permissions of the user who first requested them, so
+ * they are regenerated anonymously by the web application before being served again.
+ */
+public class V10_0_2026_10_21_1__IIIF_Manifest_Store_Backfill extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        backfill(context.getConnection(), Instant.now());
+    }
+
+    /**
+     * Invalidate every stored manifest.
+     *
+     * @param connection  the database connection
+     * @param invalidated the invalidation instant
+     * @throws SQLException if a database error occurs
+     */
+    public static void backfill(Connection connection, Instant invalidated) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+            "INSERT INTO iiif_manifest_invalidation (id, item_id, invalidated) VALUES (?, NULL, ?)")) {
+            insert.setObject(1, UUID.randomUUID());
+            // stored in UTC, as Hibernate does (hibernate.jdbc.time_zone)
+            insert.setTimestamp(2, Timestamp.from(invalidated),
+                                Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC)));
+            insert.executeUpdate();
+        }
+    }
+}
@@ -17,6 +17,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,13 +33,20 @@ import org.dspace.core.Email;
 import org.dspace.core.I18nUtil;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
 import org.dspace.subscriptions.service.SubscriptionGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Implementation class of SubscriptionGenerator
  * which will handle the logic of sending the emails
- * in case of 'content' subscriptionType
+ * in case of 'content' subscriptionType.
+ * <p>
+ * Within a run (see {@link #startRun(Context)}), the description of an item is rendered once and reused for all its
+ * subscribers. The emails are rendered by the calling thread, as the crosswalks need its Context, and are sent by
+ * "subscription.email.threads" threads of the run.
+ * </p>
  */
 @SuppressWarnings("rawtypes")
 public class ContentGenerator implements SubscriptionGenerator<IndexableObject> {
@@ -47,54 +59,139 @@ public class ContentGenerator implements SubscriptionGenerator<IndexableObject>
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     @Override
     public void notifyForSubscriptions(Context context, EPerson ePerson,
                                        List<IndexableObject> indexableComm,
                                        List<IndexableObject> indexableColl) {
+        Run<IndexableObject> run = startRun(context);
         try {
-            if (Objects.nonNull(ePerson)) {
-                Locale supportedLocale = I18nUtil.getEPersonLocale(ePerson);
-                Email email = Email.getEmail(I18nUtil.getEmailFilename(supportedLocale, "subscriptions_content"));
-                email.addRecipient(ePerson.getEmail());
-
-                String bodyCommunities = generateBodyMail(context, indexableComm);
-                String bodyCollections = generateBodyMail(context, indexableColl);
-                if (bodyCommunities.equals(EMPTY) && bodyCollections.equals(EMPTY)) {
-                    log.debug("subscription(s) of eperson {} do(es) not match any new items: nothing to send" +
-                            " - exit silently", ePerson::getID);
-                    return;
+            run.notifyForSubscriptions(ePerson, indexableComm, indexableColl);
+        } finally {
+            run.finish();
+        }
+    }
+
+    @Override
+    public Run<IndexableObject> startRun(Context context) {
+        return new ContentRun(context);
+    }
+
+    /**
+     * A run of notifications, with the rendered items and the email senders of this run only.
+     */
+    private class ContentRun implements Run<IndexableObject> {
+
+        private final Context context;
+
+        // rendered description of each item, only used by the thread of the run
+        private final Map<UUID, byte[]> renderedItems = new HashMap<>();
+
+        // null to send the emails from the thread of the run
+        private final ExecutorService sender;
+
+        ContentRun(Context context) {
+            this.context = context;
+            int threads = configurationService.getIntProperty("subscription.email.threads", 1);
+            if (threads > 1) {
+                CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("subscription-email-");
+                threadFactory.setDaemon(true);
+                sender = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * 10), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+            } else {
+                sender = null;
+            }
+        }
+
+        @Override
+        public void notifyForSubscriptions(EPerson ePerson, List<IndexableObject> indexableComm,
+                                           List<IndexableObject> indexableColl) {
+            try {
+                if (Objects.nonNull(ePerson)) {
+                    Locale supportedLocale = I18nUtil.getEPersonLocale(ePerson);
+                    Email email = Email.getEmail(I18nUtil.getEmailFilename(supportedLocale, "subscriptions_content"));
+                    email.addRecipient(ePerson.getEmail());
+
+                    String bodyCommunities = generateBodyMail(indexableComm);
+                    String bodyCollections = generateBodyMail(indexableColl);
+                    if (bodyCommunities.equals(EMPTY) && bodyCollections.equals(EMPTY)) {
+                        log.debug("subscription(s) of eperson {} do(es) not match any new items: nothing to send" +
+                                " - exit silently", ePerson::getID);
+                        return;
+                    }
+                    email.addArgument(bodyCommunities);
+                    email.addArgument(bodyCollections);
+                    send(ePerson, email);
                 }
-                email.addArgument(bodyCommunities);
-                email.addArgument(bodyCollections);
-                email.send();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+                log.warn("Cannot email user eperson_id: {} eperson_email: {}", ePerson::getID, ePerson::getEmail);
             }
-        } catch (Exception e) {
-            log.error(e.getMessage(), e);
-            log.warn("Cannot email user eperson_id: {} eperson_email: {}", ePerson::getID, ePerson::getEmail);
         }
-    }
 
-    private String generateBodyMail(Context context, List<IndexableObject> indexableObjects) {
-        if (indexableObjects == null || indexableObjects.isEmpty()) {
+        private String generateBodyMail(List<IndexableObject> indexableObjects) {
+            if (indexableObjects == null || indexableObjects.isEmpty()) {
+                return EMPTY;
+            }
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                out.write("\n".getBytes(UTF_8));
+                for (IndexableObject indexableObject : indexableObjects) {
+                    out.write("\n".getBytes(UTF_8));
+                    Item item = (Item) indexableObject.getIndexedObject();
+                    byte[] rendered = renderedItems.get(item.getID());
+                    if (rendered == null) {
+                        ByteArrayOutputStream itemOut = new ByteArrayOutputStream();
+                        String entityType = itemService.getEntityTypeLabel(item);
+                        Optional.ofNullable(entityType2Disseminator.get(entityType))
+                                .orElseGet(() -> entityType2Disseminator.get("Item"))
+                                .disseminate(context, item, itemOut);
+                        rendered = itemOut.toByteArray();
+                        renderedItems.put(item.getID(), rendered);
+                    }
+                    out.write(rendered);
+                }
+                out.close();
+                return out.toString();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
             return EMPTY;
         }
-        try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            out.write("\n".getBytes(UTF_8));
-            for (IndexableObject indexableObject : indexableObjects) {
-                out.write("\n".getBytes(UTF_8));
-                Item item = (Item) indexableObject.getIndexedObject();
-                String entityType = itemService.getEntityTypeLabel(item);
-                Optional.ofNullable(entityType2Disseminator.get(entityType))
-                        .orElseGet(() -> entityType2Disseminator.get("Item"))
-                        .disseminate(context, item, out);
+
+        private void send(EPerson ePerson, Email email) throws Exception {
+            if (sender == null) {
+                email.send();
+                return;
+            }
+            // a full queue makes the calling thread send the email itself
+            sender.execute(() -> {
+                try {
+                    email.send();
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                    log.warn("Cannot email user eperson_id: {} eperson_email: {}", ePerson::getID,
+                             ePerson::getEmail);
+                }
+            });
+        }
+
+        @Override
+        public void finish() {
+            if (sender != null) {
+                sender.shutdown();
+                try {
+                    if (!sender.awaitTermination(1, TimeUnit.HOURS)) {
+                        log.warn("Timed out waiting for the subscription emails to be sent");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
             }
-            out.close();
-            return out.toString();
-        } catch (Exception e) {
-            log.error(e.getMessage(), e);
+            renderedItems.clear();
         }
-        return EMPTY;
     }
 
     public void setEntityType2Disseminator(Map<String, StreamDisseminationCrosswalk> entityType2Disseminator) {
@@ -15,20 +15,21 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.service.AuthorizeService;
-import org.dspace.content.Collection;
-import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchServiceException;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Subscription;
 import org.dspace.eperson.service.SubscribeService;
@@ -65,76 +66,96 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void perform(Context context, DSpaceRunnableHandler handler, String subscriptionType, String frequency) {
-        List<IndexableObject> communityItems = new ArrayList<>();
-        List<IndexableObject> collectionsItems = new ArrayList<>();
+        // Here is verified if SubscriptionType is "content" Or "statistics" as them are configured
+        if (!subscriptionType2generators.keySet().contains(subscriptionType)) {
+            IllegalArgumentException e = new IllegalArgumentException("Currently this SubscriptionType:" +
+                                                                       subscriptionType + " is not supported!");
+            log.error(e.getMessage(), e);
+            handler.handleException(e);
+            context.abort();
+            return;
+        }
+        SubscriptionGenerator.Run run = subscriptionType2generators.get(subscriptionType).startRun(context);
+        // the updates of each subscribed object, as all its subscribers share the same frequency in this run
+        Map<UUID, List<IndexableObject>> updates = new HashMap<>();
+        // whether anonymous users can read an object, in which case every subscriber can
+        Map<UUID, Boolean> anonymousRead = new HashMap<>();
         try {
-            List<Subscription> subscriptions =
-                               findAllSubscriptionsBySubscriptionTypeAndFrequency(context, subscriptionType, frequency);
-            // Here is verified if SubscriptionType is "content" Or "statistics" as them are configured
-            if (subscriptionType2generators.keySet().contains(subscriptionType)) {
-                // the list of the person who has subscribed
-                int iterator = 0;
-                for (Subscription subscription : subscriptions) {
+            // the subscriptions are ordered by eperson id, so we send them by ePerson
+            Map<EPerson, List<Subscription>> subscriptionsByEPerson =
+                findAllSubscriptionsBySubscriptionTypeAndFrequency(context, subscriptionType, frequency)
+                    .stream()
+                    .collect(Collectors.groupingBy(Subscription::getEPerson, LinkedHashMap::new,
+                                                   Collectors.toList()));
+            for (Map.Entry<EPerson, List<Subscription>> entry : subscriptionsByEPerson.entrySet()) {
+                EPerson ePerson = entry.getKey();
+                List<IndexableObject> communityItems = new ArrayList<>();
+                List<IndexableObject> collectionsItems = new ArrayList<>();
+                for (Subscription subscription : entry.getValue()) {
                     DSpaceObject dSpaceObject = subscription.getDSpaceObject();
-                    EPerson ePerson = subscription.getEPerson();
-
-                    if (!authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject, READ, true)) {
-                        iterator++;
+                    if (!canRead(context, ePerson, dSpaceObject, anonymousRead)) {
                         continue;
                     }
 
                     if (dSpaceObject.getType() == COMMUNITY) {
-                        List<IndexableObject> indexableCommunityItems = contentUpdates
-                                .get(Community.class.getSimpleName().toLowerCase())
-                                .findUpdates(context, dSpaceObject, frequency);
-                        communityItems.addAll(getItems(context, ePerson, indexableCommunityItems));
+                        communityItems.addAll(getItems(context, ePerson,
+                            findUpdates(context, "community", dSpaceObject, frequency, updates), anonymousRead));
                     } else if (dSpaceObject.getType() == COLLECTION) {
-                        List<IndexableObject> indexableCollectionItems = contentUpdates
-                                .get(Collection.class.getSimpleName().toLowerCase())
-                                .findUpdates(context, dSpaceObject, frequency);
-                        collectionsItems.addAll(getItems(context, ePerson, indexableCollectionItems));
+                        collectionsItems.addAll(getItems(context, ePerson,
+                            findUpdates(context, "collection", dSpaceObject, frequency, updates), anonymousRead));
                     } else {
                         log.warn("found an invalid DSpace Object type ({}) among subscriptions to send",
                                  dSpaceObject.getType());
-                        continue;
                     }
-
-                    if (iterator < subscriptions.size() - 1) {
-                        // as the subscriptions are ordered by eperson id, so we send them by ePerson
-                        if (ePerson.equals(subscriptions.get(iterator + 1).getEPerson())) {
-                            iterator++;
-                            continue;
-                        } else {
-                            subscriptionType2generators.get(subscriptionType)
-                                      .notifyForSubscriptions(context, ePerson, communityItems, collectionsItems);
-                            communityItems.clear();
-                            collectionsItems.clear();
-                        }
-                    } else {
-                        //in the end of the iteration
-                        subscriptionType2generators.get(subscriptionType)
-                                        .notifyForSubscriptions(context, ePerson, communityItems, collectionsItems);
-                    }
-                    iterator++;
                 }
-            } else {
-                throw new IllegalArgumentException("Currently this SubscriptionType:" + subscriptionType +
-                                                   " is not supported!");
+                run.notifyForSubscriptions(ePerson, communityItems, collectionsItems);
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             handler.handleException(e);
             context.abort();
+        } finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Find the updates of a subscribed object, computed once per object.
+     */
+    @SuppressWarnings("rawtypes")
+    private List<IndexableObject> findUpdates(Context context, String type,
+                                              DSpaceObject dSpaceObject, String frequency,
+                                              Map<UUID, List<IndexableObject>> updates)
+        throws SearchServiceException {
+        List<IndexableObject> objectUpdates = updates.get(dSpaceObject.getID());
+        if (objectUpdates == null) {
+            objectUpdates = contentUpdates.get(type)
+                                          .findUpdates(context, dSpaceObject, frequency);
+            updates.put(dSpaceObject.getID(), objectUpdates);
+        }
+        return objectUpdates;
+    }
+
+    /**
+     * Check whether an EPerson can read an object. Objects readable by anonymous users are only checked once.
+     */
+    private boolean canRead(Context context, EPerson ePerson, DSpaceObject dSpaceObject,
+                            Map<UUID, Boolean> anonymousRead) throws SQLException {
+        Boolean anonymous = anonymousRead.get(dSpaceObject.getID());
+        if (anonymous == null) {
+            anonymous = authorizeService.authorizeActionBoolean(context, null, dSpaceObject, READ, true);
+            anonymousRead.put(dSpaceObject.getID(), anonymous);
         }
+        return anonymous || authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject, READ, true);
     }
 
     @SuppressWarnings("rawtypes")
-    private List<IndexableObject> getItems(Context context, EPerson ePerson, List<IndexableObject> indexableItems)
-            throws SQLException {
+    private List<IndexableObject> getItems(Context context, EPerson ePerson, List<IndexableObject> indexableItems,
+                                           Map<UUID, Boolean> anonymousRead) throws SQLException {
         List<IndexableObject> items = new ArrayList<IndexableObject>();
         for (IndexableObject indexableitem : indexableItems) {
             Item item = (Item) indexableitem.getIndexedObject();
-            if (authorizeService.authorizeActionBoolean(context, ePerson, item, READ, true)) {
+            if (canRead(context, ePerson, item, anonymousRead)) {
                 items.add(indexableitem);
             }
         }
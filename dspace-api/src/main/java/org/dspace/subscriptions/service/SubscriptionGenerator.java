@@ -22,4 +22,38 @@ public interface SubscriptionGenerator<T> {
 
     public void notifyForSubscriptions(Context c, EPerson ePerson, List<T> comm, List<T> coll);
 
+    /**
+     * Start a run sending the notifications of many EPersons, which may share work between them. Each run keeps
+     * its own state, so that runs do not interfere with each other.
+     *
+     * @param c DSpace context, used by all the notifications of the run
+     * @return the run, to be finished by the caller
+     */
+    public default Run<T> startRun(Context c) {
+        return new Run<T>() {
+            @Override
+            public void notifyForSubscriptions(EPerson ePerson, List<T> comm, List<T> coll) {
+                SubscriptionGenerator.this.notifyForSubscriptions(c, ePerson, comm, coll);
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+    }
+
+    /**
+     * The notifications of one run of a {@link SubscriptionGenerator}.
+     */
+    public interface Run<T> {
+
+        public void notifyForSubscriptions(EPerson ePerson, List<T> comm, List<T> coll);
+
+        /**
+         * Called once all the notifications of the run have been requested: wait until they are sent and release
+         * whatever was kept for the run.
+         */
+        public void finish();
+    }
+
 }
\ No newline at end of file
@@ -8,17 +8,31 @@
 package org.dspace.util;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -27,25 +41,30 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
 import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CoreAdminParams;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
+import org.apache.solr.common.util.ContentStreamBase;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Utility class to export, clear and import Solr indexes.
@@ -63,9 +82,25 @@ public class SolrImportExport {
     private static final String INDEX_NAME_OPTION = "i";
     private static final String KEEP_OPTION = "k";
     private static final String LAST_OPTION = "l";
+    private static final String RESUME_OPTION = "r";
+    private static final String THREADS_OPTION = "t";
 
     public static final int ROWS_PER_FILE = 10_000;
 
+    /**
+     * Default number of months exported, or of files imported, in parallel.
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    private static final String CSV_SUFFIX = ".csv";
+    private static final String GZIP_SUFFIX = ".gz";
+
+    // marks a month of an export as complete, so that a resumed export skips it
+    private static final String DONE_SUFFIX = ".done";
+
+    // lists the files of an import already sent to Solr, so that a resumed import skips them
+    private static final String IMPORT_PROGRESS_SUFFIX = "_import.progress";
+
     private static final String MULTIPLE_VALUES_SPLITTER = ",";
 
     private static final Logger log = LogManager.getLogger(SolrImportExport.class);
@@ -103,6 +138,16 @@ public class SolrImportExport {
             String directoryName = makeDirectoryName(line.getOptionValue(DIRECTORY_OPTION));
 
             String action = line.getOptionValue(ACTION_OPTION, "export");
+            int threads = DEFAULT_THREADS;
+            if (line.hasOption(THREADS_OPTION)) {
+                try {
+                    threads = Math.max(1, Integer.parseInt(line.getOptionValue(THREADS_OPTION)));
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid number of threads " + line.getOptionValue(THREADS_OPTION));
+                    printHelpAndExit(options, 1);
+                }
+            }
+            boolean resume = line.hasOption(RESUME_OPTION);
             if ("import".equals(action)) {
                 for (String indexName : indexNames) {
                     File importDir = new File(directoryName);
@@ -116,7 +161,7 @@ public class SolrImportExport {
                     try {
                         String solrUrl = makeSolrUrl(indexName);
                         boolean clear = line.hasOption(CLEAR_OPTION);
-                        importIndex(indexName, importDir, solrUrl, clear);
+                        importIndex(indexName, importDir, solrUrl, clear, threads, resume);
                     } catch (IOException | SolrServerException | SolrImportExportException e) {
                         System.err.println("Problem encountered while trying to import index " + indexName + ".");
                         e.printStackTrace(System.err);
@@ -146,7 +191,7 @@ public class SolrImportExport {
                         String solrUrl = makeSolrUrl(indexName);
                         String timeField = makeTimeField(indexName);
                         exportIndex(indexName, exportDir, solrUrl, timeField, lastValue,
-                                    line.hasOption(OVERWRITE_OPTION));
+                                    line.hasOption(OVERWRITE_OPTION), threads, resume);
                     } catch (SolrServerException | IOException | SolrImportExportException e) {
                         System.err.println("Problem encountered while trying to export index " + indexName + ".");
                         e.printStackTrace(System.err);
@@ -157,7 +202,7 @@ public class SolrImportExport {
                     try {
                         boolean keepExport = line.hasOption(KEEP_OPTION);
                         boolean overwrite = line.hasOption(OVERWRITE_OPTION);
-                        reindex(indexName, directoryName, keepExport, overwrite);
+                        reindex(indexName, directoryName, keepExport, overwrite, threads);
                     } catch (IOException | SolrServerException | SolrImportExportException e) {
                         e.printStackTrace();
                     }
@@ -197,6 +242,11 @@ public class SolrImportExport {
             " a number, in which case the last [number] of days are exported, through to now (use 0 for today's data)" +
             "." +
             " Date calculation is done in UTC. If omitted, all documents are exported.");
+        options.addOption(RESUME_OPTION, "resume", false, "When exporting, skip the months completed by a previous" +
+            " export and export the others again. When importing, skip the files imported by a previous import" +
+            " (the index is then not cleared).");
+        options.addOption(THREADS_OPTION, "threads", true, "The number of months exported, or of files imported," +
+            " in parallel. Default: " + DEFAULT_THREADS + ".");
         return options;
     }
 
@@ -211,8 +261,10 @@ public class SolrImportExport {
      *                      export directory was created by this method, the export directory will be deleted at the
      *                      end of the reimport.
      * @param overwrite     allow export files to be overwritten during re-index
+     * @param threads       the number of months exported, or of files imported, in parallel
      */
-    private static void reindex(String indexName, String exportDirName, boolean keepExport, boolean overwrite)
+    private static void reindex(String indexName, String exportDirName, boolean keepExport, boolean overwrite,
+                                int threads)
         throws IOException, SolrServerException, SolrImportExportException {
         String tempIndexName = indexName + "-temp";
 
@@ -305,10 +357,10 @@ public class SolrImportExport {
 
             try {
                 // export from the actual core (from temp core name, actual data dir)
-                exportIndex(indexName, exportDir, tempSolrUrl, timeField, overwrite);
+                exportIndex(indexName, exportDir, tempSolrUrl, timeField, null, overwrite, threads, false);
 
                 // clear actual core (temp core name, clearing actual data dir) & import
-                importIndex(indexName, exportDir, tempSolrUrl, true);
+                importIndex(indexName, exportDir, tempSolrUrl, true, threads, false);
             } catch (IOException | SolrServerException | SolrImportExportException e) {
                 // we ran into some problems with the export/import -- keep going to try and restore the solr cores
                 System.err.println(
@@ -330,9 +382,9 @@ public class SolrImportExport {
             // export all docs from now-temp core into export directory -- this won't cause name collisions with the
             // actual export
             // because the core name for the temporary export has -temp in it while the actual core doesn't
-            exportIndex(tempIndexName, exportDir, tempSolrUrl, timeField, overwrite);
+            exportIndex(tempIndexName, exportDir, tempSolrUrl, timeField, null, overwrite, threads, false);
             // ...and import them into the now-again-actual core *without* clearing
-            importIndex(tempIndexName, exportDir, origSolrUrl, false);
+            importIndex(tempIndexName, exportDir, origSolrUrl, false, threads, false);
 
             // commit changes
             origSolr.commit();
@@ -387,6 +439,30 @@ public class SolrImportExport {
      */
     public static void importIndex(final String indexName, File fromDir, String solrUrl, boolean clear)
         throws IOException, SolrServerException, SolrImportExportException {
+        importIndex(indexName, fromDir, solrUrl, clear, 1, false);
+    }
+
+    /**
+     * Import previously exported documents (or externally created CSV files that have the appropriate structure)
+     * into the specified index. The files are streamed to Solr by several threads, each sending one file at a
+     * time, and the index is committed once all the files are imported.
+     *
+     * @param indexName the index to import.
+     * @param fromDir   the source directory. Must exist and be readable.
+     *                  The importer will look for files whose name starts with <pre>indexName</pre>
+     *                  and ends with .csv or .csv.gz (to match what is generated by #makeExportFilename).
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param clear     if true, clear the index before importing.
+     * @param threads   the number of files imported in parallel.
+     * @param resume    if true, skip the files imported by a previous import, as recorded in the progress file of
+     *                  the index in fromDir, and do not clear the index if that import started.
+     * @throws IOException               if there is a problem reading the files or communicating with Solr.
+     * @throws SolrServerException       if there is a problem reading the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem communicating with Solr.
+     */
+    public static void importIndex(final String indexName, File fromDir, String solrUrl, boolean clear, int threads,
+                                   boolean resume)
+        throws IOException, SolrServerException, SolrImportExportException {
         if (StringUtils.isBlank(solrUrl)) {
             throw new SolrImportExportException(
                 "Could not construct solr URL for index" + indexName + ", aborting export.");
@@ -403,14 +479,23 @@ public class SolrImportExport {
         // must get multivalue fields before clearing
         List<String> multivaluedFields = getMultiValuedFields(solr);
 
-        if (clear) {
-            clearIndex(solrUrl);
+        File progressFile = new File(fromDir, indexName + IMPORT_PROGRESS_SUFFIX);
+        Set<String> imported = new HashSet<>();
+        if (resume && progressFile.exists()) {
+            imported.addAll(FileUtils.readLines(progressFile, StandardCharsets.UTF_8));
+            log.info("Resuming the import of index " + indexName + ", " + imported.size() + " files already imported");
+        } else {
+            FileUtils.deleteQuietly(progressFile);
+            if (clear) {
+                clearIndex(solrUrl);
+            }
         }
 
         File[] files = fromDir.listFiles(new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
-                return name.startsWith(indexName + EXPORT_SEP) && name.endsWith(".csv");
+                return name.startsWith(indexName + EXPORT_SEP)
+                    && (name.endsWith(CSV_SUFFIX) || name.endsWith(CSV_SUFFIX + GZIP_SUFFIX));
             }
         });
 
@@ -421,22 +506,71 @@ public class SolrImportExport {
 
         Arrays.sort(files);
 
-        for (File file : files) {
-            log.info("Importing file " + file.getCanonicalPath());
-            ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update/csv");
-            contentStreamUpdateRequest.setParam("skip", "_version_");
-            for (String mvField : multivaluedFields) {
-                contentStreamUpdateRequest.setParam("f." + mvField + ".split", "true");
-                contentStreamUpdateRequest.setParam("f." + mvField + ".separator", MULTIPLE_VALUES_SPLITTER);
+        ExecutorService executor = makeExecutor(threads, "solr-import-");
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (File file : files) {
+                if (imported.contains(file.getName())) {
+                    log.info("Skipping file " + file.getCanonicalPath() + ", already imported");
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    importFile(solr, file, multivaluedFields);
+                    synchronized (progressFile) {
+                        FileUtils.writeLines(progressFile, StandardCharsets.UTF_8.name(), List.of(file.getName()),
+                                             true);
+                    }
+                    return null;
+                }));
             }
-            contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-            contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-            contentStreamUpdateRequest.addFile(file, "text/csv;charset=utf-8");
-
-            solr.request(contentStreamUpdateRequest);
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
         }
 
         solr.commit(true, true);
+        FileUtils.deleteQuietly(progressFile);
+    }
+
+    /**
+     * Send a file of documents to Solr, without committing them.
+     *
+     * @param solr              the solr server to send the file to.
+     * @param file              the CSV file, compressed with gzip if its name ends with .gz.
+     * @param multivaluedFields the multi-valued fields, whose values are split.
+     * @throws IOException         if there is a problem reading the file or communicating with Solr.
+     * @throws SolrServerException if there is a problem communicating with Solr.
+     */
+    private static void importFile(HttpSolrClient solr, File file, List<String> multivaluedFields)
+        throws IOException, SolrServerException {
+        log.info("Importing file " + file.getCanonicalPath());
+        ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update/csv");
+        contentStreamUpdateRequest.setParam("skip", "_version_");
+        for (String mvField : multivaluedFields) {
+            contentStreamUpdateRequest.setParam("f." + mvField + ".split", "true");
+            contentStreamUpdateRequest.setParam("f." + mvField + ".separator", MULTIPLE_VALUES_SPLITTER);
+        }
+        contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
+        if (file.getName().endsWith(GZIP_SUFFIX)) {
+            // decompressed while it is sent, so that the file is never held in memory or on disk uncompressed
+            ContentStreamBase.FileStream stream = new ContentStreamBase.FileStream(file) {
+                @Override
+                public InputStream getStream() throws IOException {
+                    return new GZIPInputStream(super.getStream());
+                }
+
+                @Override
+                public Long getSize() {
+                    return null;
+                }
+            };
+            stream.setContentType("text/csv;charset=utf-8");
+            contentStreamUpdateRequest.addContentStream(stream);
+        } else {
+            contentStreamUpdateRequest.addFile(file, "text/csv;charset=utf-8");
+        }
+
+        solr.request(contentStreamUpdateRequest);
     }
 
     /**
@@ -478,8 +612,8 @@ public class SolrImportExport {
     }
 
     /**
-     * Exports documents from the given index to the specified target directory in batches of #ROWS_PER_FILE,
-     * starting at fromWhen (or all documents).
+     * Exports documents from the given index to the specified target directory in uncompressed files of
+     * #ROWS_PER_FILE documents, starting at fromWhen (or all documents), one month at a time.
      * See #makeExportFilename for the file names that are generated.
      *
      * @param indexName The index to export.
@@ -497,6 +631,59 @@ public class SolrImportExport {
     public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
                                    boolean overwrite)
         throws SolrServerException, IOException, SolrImportExportException {
+        exportIndex(indexName, toDir, solrUrl, timeField, fromWhen, overwrite, 1, false, false);
+    }
+
+    /**
+     * Exports documents from the given index to the specified target directory in gzip compressed files of
+     * #ROWS_PER_FILE documents, starting at fromWhen (or all documents).
+     * See {@link #exportIndex(String, File, String, String, String, boolean, int, boolean, boolean)}.
+     *
+     * @param indexName The index to export.
+     * @param toDir     The target directory for the export. Will be created if it doesn't exist yet. The directory
+     *                  must be writeable.
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param timeField The time field to use for splitting the export in months. Must not be null.
+     * @param fromWhen  Optionally, from when to export. See options for allowed values. If null or empty, all
+     *                  documents will be exported.
+     * @param overwrite If set, allow export files to be overwritten
+     * @param threads   The number of months exported in parallel.
+     * @param resume    If set, skip the months completed by a previous export, and export the others again.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem in communicating with Solr.
+     */
+    public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
+                                   boolean overwrite, int threads, boolean resume)
+        throws SolrServerException, IOException, SolrImportExportException {
+        exportIndex(indexName, toDir, solrUrl, timeField, fromWhen, overwrite, threads, resume, true);
+    }
+
+    /**
+     * Exports documents from the given index to the specified target directory in files of #ROWS_PER_FILE
+     * documents, starting at fromWhen (or all documents).
+     * The months are exported in parallel, each one paged with a cursor so that reading the end of a large month
+     * costs the same as reading its start. See #makeExportFilename for the file names that are generated.
+     *
+     * @param indexName The index to export.
+     * @param toDir     The target directory for the export. Will be created if it doesn't exist yet. The directory
+     *                  must be writeable.
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param timeField The time field to use for splitting the export in months. Must not be null.
+     * @param fromWhen  Optionally, from when to export. See options for allowed values. If null or empty, all
+     *                  documents will be exported.
+     * @param overwrite If set, allow export files to be overwritten
+     * @param threads   The number of months exported in parallel.
+     * @param resume    If set, skip the months completed by a previous export, and export the others again
+     *                  after deleting the files left by the previous export of that month.
+     * @param compress  If set, compress the files with gzip.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem in communicating with Solr.
+     */
+    public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
+                                   boolean overwrite, int threads, boolean resume, boolean compress)
+        throws SolrServerException, IOException, SolrImportExportException {
         log.info(String.format("Export Index [%s] to [%s] using [%s] Time Field[%s] FromWhen[%s]", indexName, toDir,
                                solrUrl, timeField, fromWhen));
         if (StringUtils.isBlank(solrUrl)) {
@@ -552,51 +739,195 @@ public class SolrImportExport {
 
         List<RangeFacet.Count> monthFacets = solr.query(query).getFacetRanges().get(0).getCounts();
 
-        for (RangeFacet.Count monthFacet : monthFacets) {
-            YearMonth monthStartDate;
-            String monthStart = monthFacet.getValue();
-            try {
-                monthStartDate = YearMonth.parse(monthStart);
-            } catch (DateTimeParseException e) {
-                throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart, e);
+        // the cursor needs a sort on the unique key of the index
+        String uniqueKey = new SchemaRequest.UniqueKey().process(solr).getUniqueKey();
+
+        ExecutorService executor = makeExecutor(threads, "solr-export-");
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (RangeFacet.Count monthFacet : monthFacets) {
+                String monthStart = monthFacet.getValue();
+                YearMonth monthStartDate;
+                try {
+                    monthStartDate = YearMonth.parse(monthStart);
+                } catch (DateTimeParseException e) {
+                    throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart,
+                                                        e);
+                }
+                File doneFile = new File(toDir.getCanonicalPath(),
+                                         makeExportFilename(indexName, monthStartDate, 0, 0) + DONE_SUFFIX);
+                if (resume && doneFile.exists()) {
+                    log.info(String.format("Solr export of Index [%s] Month [%s] already complete, skipping",
+                                           indexName, monthStart));
+                    continue;
+                }
+                if (resume) {
+                    // the chunk names depend on the number of documents of the month, which may have changed since
+                    deleteMonthFiles(toDir, indexName, monthStartDate);
+                }
+                futures.add(executor.submit(() -> {
+                    exportMonth(indexName, toDir, solr, solrUrl, timeField, uniqueKey, monthStart, monthStartDate,
+                                monthFacet.getCount(), overwrite, compress);
+                    FileUtils.touch(doneFile);
+                    return null;
+                }));
+            }
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Exports the documents of a month, in files of #ROWS_PER_FILE documents read with a cursor.
+     *
+     * @param indexName      The index to export.
+     * @param toDir          The target directory for the export.
+     * @param solr           The solr server of the index.
+     * @param solrUrl        The solr URL for the index to export.
+     * @param timeField      The time field of the index.
+     * @param uniqueKey      The unique key field of the index.
+     * @param monthStart     The start of the month, as returned by the month facet.
+     * @param monthStartDate The month.
+     * @param docsThisMonth  The number of documents of the month.
+     * @param overwrite      If set, allow export files to be overwritten
+     * @param compress       If set, compress the files with gzip.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if an export file cannot be created.
+     */
+    private static void exportMonth(String indexName, File toDir, HttpSolrClient solr, String solrUrl,
+                                    String timeField, String uniqueKey, String monthStart, YearMonth monthStartDate,
+                                    int docsThisMonth, boolean overwrite, boolean compress)
+        throws SolrServerException, IOException, SolrImportExportException {
+        String monthFilter = timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH}";
+
+        SolrQuery monthQuery = new SolrQuery("*:*");
+        monthQuery.setRows(ROWS_PER_FILE);
+        monthQuery.set("wt", "csv");
+        monthQuery.set("fl", "*");
+        monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
+        monthQuery.addFilterQuery(monthFilter);
+        monthQuery.setSort(uniqueKey, SolrQuery.ORDER.asc);
+
+        // the CSV response does not give the next cursor mark, it is read from the same page of unique keys
+        SolrQuery keyQuery = new SolrQuery("*:*");
+        keyQuery.setRows(ROWS_PER_FILE);
+        keyQuery.setFields(uniqueKey);
+        keyQuery.addFilterQuery(monthFilter);
+        keyQuery.setSort(uniqueKey, SolrQuery.ORDER.asc);
+
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        for (int i = 0; ; i += ROWS_PER_FILE) {
+            keyQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse keyResponse = solr.query(keyQuery);
+            if (keyResponse.getResults().isEmpty()) {
+                break;
             }
-            int docsThisMonth = monthFacet.getCount();
-
-            SolrQuery monthQuery = new SolrQuery("*:*");
-            monthQuery.setRows(ROWS_PER_FILE);
-            monthQuery.set("wt", "csv");
-            monthQuery.set("fl", "*");
-            monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
-
-            monthQuery.addFilterQuery(timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH]");
-
-            for (int i = 0; i < docsThisMonth; i += ROWS_PER_FILE) {
-                monthQuery.setStart(i);
-                URL url = new URL(solrUrl + "/select?" + monthQuery.toString());
-
-                File file = new File(toDir.getCanonicalPath(),
-                                     makeExportFilename(indexName, monthStartDate, docsThisMonth, i));
-                if (file.createNewFile() || overwrite) {
-                    FileUtils.copyURLToFile(url, file);
-                    String message = String.format(
-                        "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    log.info(message);
-                } else if (file.exists()) {
-                    String message = String.format(
-                        "Solr export file [%s] already exists.  Export failed for Index [%s] Month [%s] Batch [%d] " +
-                            "Num Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    throw new SolrImportExportException(message);
-                } else {
-                    String message = String.format(
-                        "Cannot create solr export file [%s].  Export failed for Index [%s] Month [%s] Batch [%d] Num" +
-                            " Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    throw new
-                        SolrImportExportException(message);
+
+            monthQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            URL url = new URL(solrUrl + "/select?" + monthQuery.toString());
+
+            File file = new File(toDir.getCanonicalPath(),
+                                 makeExportFilename(indexName, monthStartDate, docsThisMonth, i)
+                                     + (compress ? GZIP_SUFFIX : ""));
+            if (file.createNewFile() || overwrite) {
+                // written next to the file then renamed, so that an interrupted export never leaves a partial file
+                File partFile = new File(file.getPath() + ".part");
+                try (InputStream in = url.openStream();
+                     OutputStream out = compress ? new GZIPOutputStream(new FileOutputStream(partFile))
+                                                 : new FileOutputStream(partFile)) {
+                    IOUtils.copy(in, out);
                 }
+                Files.move(partFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                String message = String.format(
+                    "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
+                    file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
+                log.info(message);
+            } else if (file.exists()) {
+                String message = String.format(
+                    "Solr export file [%s] already exists.  Export failed for Index [%s] Month [%s] Batch [%d] " +
+                        "Num Docs [%d]",
+                    file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
+                throw new SolrImportExportException(message);
+            } else {
+                String message = String.format(
+                    "Cannot create solr export file [%s].  Export failed for Index [%s] Month [%s] Batch [%d] Num" +
+                        " Docs [%d]",
+                    file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
+                throw new
+                    SolrImportExportException(message);
+            }
+
+            String nextCursorMark = keyResponse.getNextCursorMark();
+            if (cursorMark.equals(nextCursorMark)) {
+                break;
+            }
+            cursorMark = nextCursorMark;
+        }
+    }
+
+    /**
+     * Delete the export files of a month, including a file left partially written, but not its .done marker.
+     *
+     * @param dir       the export directory.
+     * @param indexName the exported index.
+     * @param month     the month.
+     */
+    static void deleteMonthFiles(File dir, String indexName, YearMonth month) {
+        String monthPrefix = StringUtils.removeEnd(makeExportFilename(indexName, month, 0, 0), CSV_SUFFIX);
+        File[] files = dir.listFiles((d, name) -> (name.startsWith(monthPrefix + CSV_SUFFIX)
+            || name.startsWith(monthPrefix + "_")) && !name.endsWith(DONE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                log.info("Deleting the file " + file.getName() + " of an incomplete export");
+                FileUtils.deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Create the pool running the months of an export or the files of an import.
+     *
+     * @param threads      the number of threads.
+     * @param threadPrefix the prefix of the names of the threads.
+     * @return the pool
+     */
+    private static ExecutorService makeExecutor(int threads, String threadPrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadPrefix);
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(Math.max(1, threads), threadFactory);
+    }
+
+    /**
+     * Wait for tasks to complete, cancelling the others as soon as one fails.
+     *
+     * @param futures the tasks
+     * @throws SolrServerException       if a task failed communicating with Solr.
+     * @throws IOException               if a task failed reading or writing a file, or if interrupted.
+     * @throws SolrImportExportException if a task failed for another reason.
+     */
+    private static void awaitAll(List<Future<?>> futures)
+        throws SolrServerException, IOException, SolrImportExportException {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the import or export", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof SolrServerException) {
+                throw (SolrServerException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof SolrImportExportException) {
+                throw (SolrImportExportException) cause;
             }
+            throw new SolrImportExportException("Import or export failed: " + cause.getMessage(), cause);
         }
     }
 
@@ -656,7 +987,7 @@ public class SolrImportExport {
             + EXPORT_SEP
             + DateTimeFormatter.ofPattern("yyyy-MM").format(exportStart)
             + (StringUtils.isNotBlank(exportFileNumber) ? "_" + exportFileNumber : "")
-            + ".csv";
+            + CSV_SUFFIX;
     }
 
     /**
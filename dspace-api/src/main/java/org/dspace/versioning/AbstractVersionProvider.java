@@ -9,14 +9,20 @@ package org.dspace.versioning;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataSchema;
@@ -48,6 +54,8 @@ public abstract class AbstractVersionProvider {
     protected BundleService bundleService;
     @Autowired(required = true)
     protected ItemService itemService;
+    @Autowired(required = true)
+    protected ResourcePolicyService resourcePolicyService;
 
     protected void copyMetadata(Context context, Item itemNew, Item nativeItem) throws SQLException {
         List<MetadataValue> md = itemService.getMetadata(nativeItem, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
@@ -62,52 +70,52 @@ public abstract class AbstractVersionProvider {
                 continue;
             }
 
-            itemService.addMetadata(
-                context,
-                itemNew,
-                metadataField.getMetadataSchema().getName(),
-                metadataField.getElement(),
-                metadataField.getQualifier(),
-                aMd.getLanguage(),
-                aMd.getValue(),
-                aMd.getAuthority(),
-                aMd.getConfidence(),
-                aMd.getPlace()
-            );
+            itemService.addMetadata(context, itemNew, metadataField, aMd.getLanguage(), aMd.getValue(),
+                                    aMd.getAuthority(), aMd.getConfidence(), aMd.getPlace());
         }
     }
 
+    /**
+     * Copy the bundles of the old item to the new item. The new bitstreams reference the files of the old ones.
+     * <p>
+     * Items may have thousands of bitstreams, so the custom policies of all the bundles and bitstreams are read
+     * in one go, and the bitstreams of each bundle are added together.
+     * </p>
+     * @param c the DSpace context.
+     * @param itemNew the new version of the item.
+     * @param nativeItem the old version of the item.
+     */
     protected void createBundlesAndAddBitstreams(Context c, Item itemNew, Item nativeItem)
         throws SQLException, AuthorizeException, IOException {
+        // DSpace knows several types of resource policies (see the class
+        // org.dspace.authorize.ResourcePolicy): Submission, Workflow, Custom
+        // and inherited. Submission, Workflow and Inherited policies will be
+        // set automatically as necessary. We need to copy the custom policies
+        // only to preserve customly set policies and embargoes (which are
+        // realized by custom policies with a start date).
+        Map<UUID, List<ResourcePolicy>> customPolicies = findCustomPolicies(c, nativeItem);
+
         for (Bundle nativeBundle : nativeItem.getBundles()) {
             Bundle bundleNew = bundleService.create(c, itemNew, nativeBundle.getName());
-            // DSpace knows several types of resource policies (see the class
-            // org.dspace.authorize.ResourcePolicy): Submission, Workflow, Custom
-            // and inherited. Submission, Workflow and Inherited policies will be
-            // set automatically as necessary. We need to copy the custom policies
-            // only to preserve customly set policies and embargoes (which are
-            // realized by custom policies with a start date).
-            List<ResourcePolicy> bundlePolicies =
-                authorizeService.findPoliciesByDSOAndType(c, nativeBundle, ResourcePolicy.TYPE_CUSTOM);
-            authorizeService.addPolicies(c, bundlePolicies, bundleNew);
-
-            for (Bitstream nativeBitstream : nativeBundle.getBitstreams()) {
+            authorizeService.addPolicies(c, getPolicies(customPolicies, nativeBundle), bundleNew);
+
+            List<Bitstream> nativeBitstreams = nativeBundle.getBitstreams();
+            List<Bitstream> bitstreamsNew = new ArrayList<>(nativeBitstreams.size());
+            for (Bitstream nativeBitstream : nativeBitstreams) {
                 // Metadata and additional information like internal identifier,
                 // file size, checksum, and checksum algorithm are set by the bitstreamStorageService.clone(...)
                 // and respectively bitstreamService.clone(...) method.
-                Bitstream bitstreamNew =  bitstreamStorageService.clone(c, nativeBitstream);
-
-                bundleService.addBitstream(c, bundleNew, bitstreamNew);
+                bitstreamsNew.add(bitstreamStorageService.clone(c, nativeBitstream));
+            }
 
-                // NOTE: bundle.addBitstream() causes Bundle policies to be inherited by default.
-                // So, we need to REMOVE any inherited TYPE_CUSTOM policies before copying over the correct ones.
-                authorizeService.removeAllPoliciesByDSOAndType(c, bitstreamNew, ResourcePolicy.TYPE_CUSTOM);
+            // NOTE: bundle.addBitstreams() makes the bitstreams inherit the Bundle policies, but never the
+            // TYPE_CUSTOM ones, so we only have to add the TYPE_CUSTOM policies of the old bitstreams.
+            bundleService.addBitstreams(c, bundleNew, bitstreamsNew);
 
-                // Now, we need to copy the TYPE_CUSTOM resource policies from old bitstream
-                // to the new bitstream, like we did above for bundles
-                List<ResourcePolicy> bitstreamPolicies =
-                    authorizeService.findPoliciesByDSOAndType(c, nativeBitstream, ResourcePolicy.TYPE_CUSTOM);
-                authorizeService.addPolicies(c, bitstreamPolicies, bitstreamNew);
+            for (int i = 0; i < nativeBitstreams.size(); i++) {
+                Bitstream nativeBitstream = nativeBitstreams.get(i);
+                Bitstream bitstreamNew = bitstreamsNew.get(i);
+                authorizeService.addPolicies(c, getPolicies(customPolicies, nativeBitstream), bitstreamNew);
 
                 if (nativeBundle.getPrimaryBitstream() != null && nativeBundle.getPrimaryBitstream()
                                                                               .equals(nativeBitstream)) {
@@ -119,6 +127,26 @@ public abstract class AbstractVersionProvider {
         }
     }
 
+    /**
+     * @return the TYPE_CUSTOM policies of all the bundles and bitstreams of the item, by object id
+     */
+    private Map<UUID, List<ResourcePolicy>> findCustomPolicies(Context c, Item item) throws SQLException {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (Bundle bundle : item.getBundles()) {
+            dsos.add(bundle);
+            dsos.addAll(bundle.getBitstreams());
+        }
+        Map<UUID, List<ResourcePolicy>> policies = new HashMap<>();
+        for (ResourcePolicy policy : resourcePolicyService.find(c, dsos, ResourcePolicy.TYPE_CUSTOM)) {
+            policies.computeIfAbsent(policy.getdSpaceObject().getID(), id -> new ArrayList<>()).add(policy);
+        }
+        return policies;
+    }
+
+    private List<ResourcePolicy> getPolicies(Map<UUID, List<ResourcePolicy>> policies, DSpaceObject dso) {
+        return policies.getOrDefault(dso.getID(), List.of());
+    }
+
 
     public void setIgnoredMetadataFields(Set<String> ignoredMetadataFields) {
         this.ignoredMetadataFields = ignoredMetadataFields;
@@ -0,0 +1,132 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.versioning.script;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.dspace.versioning.Version;
+import org.dspace.versioning.VersionHistory;
+import org.dspace.versioning.factory.VersionServiceFactory;
+import org.dspace.versioning.service.VersionHistoryService;
+import org.dspace.versioning.service.VersioningService;
+import org.dspace.workflow.WorkflowItemService;
+import org.dspace.workflow.factory.WorkflowServiceFactory;
+
+/**
+ * Script creating a new version of an item. Copying a large item (many bitstreams, policies and relationships)
+ * can take a long time, so the REST API runs it as a process whose status can be polled instead of creating the
+ * version within the request.
+ * <p>
+ * When started from the command line, the version is created on behalf of the submitter of the item. As through
+ * the versions endpoint, no version is created when versioning is disabled, or while the latest version of the item
+ * is still in the workspace or in the workflow.
+ * </p>
+ */
+public class CreateVersion extends DSpaceRunnable<CreateVersionScriptConfiguration<CreateVersion>> {
+
+    private ItemService itemService;
+
+    private VersioningService versioningService;
+
+    private VersionHistoryService versionHistoryService;
+
+    private WorkspaceItemService workspaceItemService;
+
+    private WorkflowItemService<?> workflowItemService;
+
+    private UUID itemId;
+
+    private String summary;
+
+    @Override
+    public void setup() throws ParseException {
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        versioningService = VersionServiceFactory.getInstance().getVersionService();
+        versionHistoryService = VersionServiceFactory.getInstance().getVersionHistoryService();
+        workspaceItemService = ContentServiceFactory.getInstance().getWorkspaceItemService();
+        workflowItemService = WorkflowServiceFactory.getInstance().getWorkflowItemService();
+        try {
+            itemId = UUID.fromString(commandLine.getOptionValue('i'));
+        } catch (IllegalArgumentException e) {
+            throw new ParseException("Invalid item uuid: " + commandLine.getOptionValue('i'));
+        }
+        summary = commandLine.getOptionValue('s');
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        Context context = new Context();
+        try {
+            if (!DSpaceServicesFactory.getInstance().getConfigurationService()
+                                      .getBooleanProperty("versioning.enabled", true)) {
+                throw new IllegalStateException("Versioning is disabled");
+            }
+            if (getEpersonIdentifier() != null) {
+                context.setCurrentUser(EPersonServiceFactory.getInstance().getEPersonService()
+                                                            .find(context, getEpersonIdentifier()));
+            }
+            Item item = itemService.find(context, itemId);
+            if (item == null) {
+                throw new IllegalArgumentException("No item found with uuid " + itemId);
+            }
+            if (isLatestVersionInSubmission(context, item)) {
+                throw new IllegalStateException("It is not possible to create a new version of item " + itemId
+                                                    + " while its latest version is in submission");
+            }
+            if (context.getCurrentUser() == null) {
+                context.setCurrentUser(item.getSubmitter());
+                context.turnOffAuthorisationSystem();
+            }
+
+            handler.logInfo("Creating a new version of item " + itemId);
+            Version version = summary != null ?
+                versioningService.createNewVersion(context, item, summary) :
+                versioningService.createNewVersion(context, item);
+            handler.logInfo("Created version " + version.getVersionNumber() + " (id " + version.getID()
+                                + ") as item " + version.getItem().getID());
+            context.complete();
+        } catch (Exception e) {
+            context.abort();
+            handler.handleException(e);
+        }
+    }
+
+    /**
+     * @return true if the latest version of the item (or the item itself, if it has no versions) is still in the
+     * workspace or in the workflow
+     */
+    private boolean isLatestVersionInSubmission(Context context, Item item) throws SQLException {
+        Item latest = item;
+        VersionHistory versionHistory = versionHistoryService.findByItem(context, item);
+        if (versionHistory != null) {
+            Version lastVersion = versionHistoryService.getLatestVersion(context, versionHistory);
+            if (lastVersion != null) {
+                latest = lastVersion.getItem();
+            }
+        }
+        return latest != null && (workspaceItemService.findByItem(context, latest) != null
+            || workflowItemService.findByItem(context, latest) != null);
+    }
+
+    @Override
+    public CreateVersionScriptConfiguration<CreateVersion> getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("create-version",
+            CreateVersionScriptConfiguration.class);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.versioning.script;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.apache.commons.cli.Options;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceCommandLineParameter;
+import org.dspace.scripts.configuration.ScriptConfiguration;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.UUIDUtils;
+
+/**
+ * Script configuration for {@link CreateVersion}. Nobody may run it when "versioning.enabled" is false. Otherwise,
+ * besides administrators, the submitter of an item may create a new version of it when
+ * "versioning.submitterCanCreateNewVersion" is true.
+ *
+ * @param <T> the CreateVersion type
+ */
+public class CreateVersionScriptConfiguration<T extends CreateVersion> extends ScriptConfiguration<T> {
+
+    private Class<T> dspaceRunnableClass;
+
+    @Override
+    public Class<T> getDspaceRunnableClass() {
+        return dspaceRunnableClass;
+    }
+
+    @Override
+    public void setDspaceRunnableClass(Class<T> dspaceRunnableClass) {
+        this.dspaceRunnableClass = dspaceRunnableClass;
+    }
+
+    @Override
+    public boolean isAllowedToExecute(Context context, List<DSpaceCommandLineParameter> commandLineParameters) {
+        try {
+            if (!DSpaceServicesFactory.getInstance().getConfigurationService()
+                                      .getBooleanProperty("versioning.enabled", true)) {
+                return false;
+            }
+            if (authorizeService.isAdmin(context)) {
+                return true;
+            }
+            if (commandLineParameters == null) {
+                // only list the script for the administrators of some items
+                return authorizeService.isItemAdmin(context);
+            }
+            for (DSpaceCommandLineParameter parameter : commandLineParameters) {
+                if ("-i".equals(parameter.getName()) || "--item".equals(parameter.getName())) {
+                    UUID itemId = UUIDUtils.fromString(parameter.getValue());
+                    Item item = itemId != null ?
+                        ContentServiceFactory.getInstance().getItemService().find(context, itemId) : null;
+                    if (item == null) {
+                        return false;
+                    }
+                    return authorizeService.isAdmin(context, item) || (canSubmitterCreateVersion()
+                        && Objects.equals(item.getSubmitter(), context.getCurrentUser()));
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Options getOptions() {
+        if (options == null) {
+            Options options = new Options();
+
+            options.addOption("i", "item", true, "uuid of the item to create a new version of");
+            options.getOption("i").setType(String.class);
+            options.getOption("i").setRequired(true);
+
+            options.addOption("s", "summary", true, "summary of the changes of the new version");
+            options.getOption("s").setType(String.class);
+            options.getOption("s").setRequired(false);
+
+            super.options = options;
+        }
+        return options;
+    }
+
+    private boolean canSubmitterCreateVersion() {
+        return DSpaceServicesFactory.getInstance().getConfigurationService()
+                                    .getBooleanProperty("versioning.submitterCanCreateNewVersion");
+    }
+}
@@ -9,8 +9,8 @@ package org.dspace.xmlworkflow.storedcomponents;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -56,27 +56,37 @@ public class PoolTaskServiceImpl implements PoolTaskService {
     @Override
     public List<PoolTask> findByEperson(Context context, EPerson ePerson)
         throws SQLException, AuthorizeException, IOException {
-        List<PoolTask> result = poolTaskDAO.findByEPerson(context, ePerson);
-        //Get all PoolTasks for groups of which this eperson is a member
-        List<Group> groups = groupService.allMemberGroups(context, ePerson);
-        result.addAll(findByGroups(context, ePerson, groups));
-        return result;
-    }
-
-    protected List<PoolTask> findByGroups(Context context, EPerson ePerson, List<Group> groups) throws SQLException {
-        List<PoolTask> result = new ArrayList<PoolTask>();
-        for (Group group : groups) {
-            List<PoolTask> groupTasks = poolTaskDAO.findByGroup(context, group);
-            for (PoolTask poolTask : groupTasks) {
-                XmlWorkflowItem workflowItem = poolTask.getWorkflowItem();
-                if (inProgressUserService.findByWorkflowItemAndEPerson(context, workflowItem, ePerson) == null) {
-                    result.add(poolTask);
-                }
-            }
-        }
-        return result;
+        return findByEperson(context, ePerson, -1, -1);
+    }
+
+    @Override
+    public List<PoolTask> findByEperson(Context context, EPerson ePerson, int limit, int offset)
+        throws SQLException {
+        return poolTaskDAO.findByEPersonAndMemberGroups(context, ePerson, getImplicitGroups(context, ePerson),
+                                                        limit, offset);
     }
 
+    @Override
+    public int countByEperson(Context context, EPerson ePerson) throws SQLException {
+        return poolTaskDAO.countByEPersonAndMemberGroups(context, ePerson, getImplicitGroups(context, ePerson));
+    }
+
+    /**
+     * Get the groups an EPerson belongs to without a membership stored in the database, as computed by
+     * {@link GroupService#allMemberGroupsSet(Context, EPerson)}: the anonymous group, and the special groups when
+     * the EPerson is the current user.
+     */
+    protected Set<Group> getImplicitGroups(Context context, EPerson ePerson) throws SQLException {
+        Set<Group> groups = new HashSet<>();
+        if ((context.getCurrentUser() == null) || (context.getCurrentUser().equals(ePerson))) {
+            groups.addAll(context.getSpecialGroups());
+        }
+        Group anonymous = groupService.findByName(context, Group.ANONYMOUS);
+        if (anonymous != null) {
+            groups.add(anonymous);
+        }
+        return groups;
+    }
 
     @Override
     public List<PoolTask> find(Context context, XmlWorkflowItem workflowItem) throws SQLException {
@@ -9,6 +9,7 @@ package org.dspace.xmlworkflow.storedcomponents.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
@@ -31,6 +32,35 @@ public interface PoolTaskDAO extends GenericDAO<PoolTask> {
 
     public List<PoolTask> findByGroup(Context context, Group group) throws SQLException;
 
+    /**
+     * Find the pool tasks available to an EPerson in a single query: the tasks assigned to the EPerson, and the
+     * tasks assigned to a group the EPerson is a member of (directly, through the given groups, or through a
+     * parent group) unless the EPerson is already working on their workflow item.
+     *
+     * @param context the DSpace context
+     * @param ePerson the EPerson
+     * @param groups  the groups the EPerson belongs to without a membership in the database (e.g. anonymous
+     *                and special groups)
+     * @param limit   the maximum number of tasks to return, -1 for no limit
+     * @param offset  the offset of the first task to return, -1 for no offset
+     * @return the pool tasks, ordered by identifier
+     * @throws SQLException if database error
+     */
+    public List<PoolTask> findByEPersonAndMemberGroups(Context context, EPerson ePerson, Set<Group> groups,
+                                                       int limit, int offset) throws SQLException;
+
+    /**
+     * Count the pool tasks returned by {@link #findByEPersonAndMemberGroups(Context, EPerson, Set, int, int)}.
+     *
+     * @param context the DSpace context
+     * @param ePerson the EPerson
+     * @param groups  the groups the EPerson belongs to without a membership in the database
+     * @return the number of pool tasks
+     * @throws SQLException if database error
+     */
+    public int countByEPersonAndMemberGroups(Context context, EPerson ePerson, Set<Group> groups)
+        throws SQLException;
+
     public List<PoolTask> findByWorkflowItem(Context context, XmlWorkflowItem workflowItem) throws SQLException;
 
     public PoolTask findByWorkflowItemAndEPerson(Context context, XmlWorkflowItem workflowItem, EPerson ePerson)
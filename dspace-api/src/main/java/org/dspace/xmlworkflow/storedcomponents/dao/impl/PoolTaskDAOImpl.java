@@ -9,7 +9,9 @@ package org.dspace.xmlworkflow.storedcomponents.dao.impl;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -55,6 +57,51 @@ public class PoolTaskDAOImpl extends AbstractHibernateDAO<PoolTask> implements P
         return list(context, criteriaQuery, false, PoolTask.class, -1, -1);
     }
 
+    @Override
+    public List<PoolTask> findByEPersonAndMemberGroups(Context context, EPerson ePerson, Set<Group> groups,
+                                                       int limit, int offset) throws SQLException {
+        Query query = createQuery(context, "SELECT pt FROM PoolTask pt " + getEPersonAndMemberGroupsClause(groups)
+            + " ORDER BY pt.id");
+        setEPersonAndMemberGroupsParameters(query, ePerson, groups);
+        if (offset > 0) {
+            query.setFirstResult(offset);
+        }
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return list(query);
+    }
+
+    @Override
+    public int countByEPersonAndMemberGroups(Context context, EPerson ePerson, Set<Group> groups)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT count(pt) FROM PoolTask pt "
+            + getEPersonAndMemberGroupsClause(groups));
+        setEPersonAndMemberGroupsParameters(query, ePerson, groups);
+        return count(query);
+    }
+
+    private String getEPersonAndMemberGroupsClause(Set<Group> groups) {
+        String memberGroups = "pt.group IN (SELECT g FROM Group g JOIN g.epeople e WHERE e = :eperson)"
+            + " OR pt.group IN (SELECT c.parent FROM Group2GroupCache c JOIN c.child ch JOIN ch.epeople e"
+            + " WHERE e = :eperson)";
+        if (!groups.isEmpty()) {
+            memberGroups += " OR pt.group IN (:groups)"
+                + " OR pt.group IN (SELECT c.parent FROM Group2GroupCache c WHERE c.child IN (:groups))";
+        }
+        // tasks of the groups are hidden from the members already working on the item
+        return "WHERE pt.ePerson = :eperson OR ((" + memberGroups + ") AND NOT EXISTS ("
+            + "SELECT ipu FROM InProgressUser ipu WHERE ipu.workflowItem = pt.workflowItem"
+            + " AND ipu.ePerson = :eperson))";
+    }
+
+    private void setEPersonAndMemberGroupsParameters(Query query, EPerson ePerson, Set<Group> groups) {
+        query.setParameter("eperson", ePerson);
+        if (!groups.isEmpty()) {
+            query.setParameter("groups", groups);
+        }
+    }
+
     @Override
     public List<PoolTask> findByWorkflowItem(Context context, XmlWorkflowItem workflowItem) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -33,6 +33,30 @@ public interface PoolTaskService extends DSpaceCRUDService<PoolTask> {
     public List<PoolTask> findByEperson(Context context, EPerson ePerson)
         throws SQLException, AuthorizeException, IOException;
 
+    /**
+     * Find a page of the pool tasks available to an EPerson: the tasks assigned to them, and the tasks of their
+     * groups for the workflow items they are not already working on.
+     *
+     * @param context the DSpace context
+     * @param ePerson the EPerson
+     * @param limit   the maximum number of tasks to return, -1 for no limit
+     * @param offset  the offset of the first task to return, -1 for no offset
+     * @return the pool tasks, ordered by identifier
+     * @throws SQLException if database error
+     */
+    public List<PoolTask> findByEperson(Context context, EPerson ePerson, int limit, int offset)
+        throws SQLException;
+
+    /**
+     * Count the pool tasks available to an EPerson.
+     *
+     * @param context the DSpace context
+     * @param ePerson the EPerson
+     * @return the number of pool tasks returned by {@link #findByEperson(Context, EPerson)}
+     * @throws SQLException if database error
+     */
+    public int countByEperson(Context context, EPerson ePerson) throws SQLException;
+
     public List<PoolTask> find(Context context, XmlWorkflowItem workflowItem) throws SQLException;
 
     public PoolTask findByWorkflowIdAndEPerson(Context context, XmlWorkflowItem workflowItem, EPerson ePerson)
@@ -0,0 +1,22 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table iiif_manifest_invalidation, the stored IIIF manifests to regenerate
+-- (a row without item_id invalidates every stored manifest)
+-----------------------------------------------------------------------------------
+
+CREATE TABLE iiif_manifest_invalidation (
+  id UUID NOT NULL,
+  item_id UUID,
+  invalidated TIMESTAMP NOT NULL,
+  CONSTRAINT pk_iiif_manifest_invalidation PRIMARY KEY (id)
+);
+
+CREATE INDEX iiif_manifest_invalidation_item_idx ON iiif_manifest_invalidation(item_id);
+CREATE INDEX iiif_manifest_invalidation_date_idx ON iiif_manifest_invalidation(invalidated);
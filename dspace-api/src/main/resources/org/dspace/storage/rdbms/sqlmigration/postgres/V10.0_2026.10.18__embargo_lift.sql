@@ -0,0 +1,25 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table embargo_lift, the parsed lift date of embargoed items
+-- (filled by "dspace embargo-lifter --reindex" for existing items)
+-----------------------------------------------------------------------------------
+
+CREATE TABLE embargo_lift (
+  item_id UUID NOT NULL,
+  lift_date TIMESTAMP NOT NULL,
+  CONSTRAINT pk_embargo_lift PRIMARY KEY (item_id)
+);
+
+ALTER TABLE embargo_lift
+ADD CONSTRAINT fk_embargo_lift_item
+    FOREIGN KEY (item_id)
+    REFERENCES item (uuid) ON DELETE CASCADE;
+
+CREATE INDEX embargo_lift_date_idx ON embargo_lift(lift_date);
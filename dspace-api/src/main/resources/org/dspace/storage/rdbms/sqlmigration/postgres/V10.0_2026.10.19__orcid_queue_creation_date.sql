@@ -0,0 +1,14 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Add the creation date of the ORCID queue records, to measure how long they wait
+-- before being synchronized (the records queued before this migration have none)
+-----------------------------------------------------------------------------------
+
+ALTER TABLE orcid_queue ADD COLUMN IF NOT EXISTS creation_date TIMESTAMP;
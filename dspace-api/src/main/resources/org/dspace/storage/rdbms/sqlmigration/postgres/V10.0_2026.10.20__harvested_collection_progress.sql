@@ -0,0 +1,17 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Add the position of a harvest run in slices by the harvest scheduler, so that a
+-- harvest waiting for its next slice resumes from there after a restart
+-----------------------------------------------------------------------------------
+
+ALTER TABLE harvested_collection ADD COLUMN IF NOT EXISTS resumption_token VARCHAR;
+ALTER TABLE harvested_collection ADD COLUMN IF NOT EXISTS resumption_start_time TIMESTAMP WITH TIME ZONE;
+ALTER TABLE harvested_collection ADD COLUMN IF NOT EXISTS resumption_record BIGINT;
+ALTER TABLE harvested_collection ADD COLUMN IF NOT EXISTS resumption_list_size BIGINT;
@@ -18,6 +18,8 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -326,6 +328,72 @@ public class DefaultAccessStatusHelperTest  extends AbstractUnitTest {
         assertThat("testWithEmbargo 4", bitstreamAvailabilityDate, equalTo(startDate));
     }
 
+    /**
+     * Test for the access status of several items calculated at once
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testWithMultipleItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bundle openBundle = bundleService.create(context, itemWithBitstream, Constants.CONTENT_BUNDLE_NAME);
+        Bitstream openBitstream = bitstreamService.create(context, openBundle,
+                new ByteArrayInputStream("1".getBytes(StandardCharsets.UTF_8)));
+        openBitstream.setName(context, "primary");
+        openBundle.setPrimaryBitstreamID(openBitstream);
+        Bundle embargoBundle = bundleService.create(context, itemWithEmbargo, Constants.CONTENT_BUNDLE_NAME);
+        Bitstream embargoBitstream = bitstreamService.create(context, embargoBundle,
+                new ByteArrayInputStream("1".getBytes(StandardCharsets.UTF_8)));
+        embargoBitstream.setName(context, "primary");
+        embargoBundle.setPrimaryBitstreamID(embargoBitstream);
+        List<ResourcePolicy> policies = new ArrayList<>();
+        Group group = groupService.findByName(context, Group.ANONYMOUS);
+        ResourcePolicy policy = resourcePolicyService.create(context, null, group);
+        policy.setRpName("Embargo");
+        policy.setAction(Constants.READ);
+        LocalDate startDate = LocalDate.of(9999, 12, 31);
+        policy.setStartDate(startDate);
+        policies.add(policy);
+        authorizeService.removeAllPolicies(context, embargoBitstream);
+        authorizeService.addPolicies(context, policies, embargoBitstream);
+        context.restoreAuthSystemState();
+        // getAccessStatusFromItems
+        Map<UUID, AccessStatus> accessStatuses = helper.getAccessStatusFromItems(context,
+                List.of(itemWithBitstream, itemWithEmbargo, itemWithoutBundle), threshold,
+                DefaultAccessStatusHelper.STATUS_FOR_ANONYMOUS);
+        assertThat("testWithMultipleItems 0", accessStatuses.get(itemWithBitstream.getID()).getStatus(),
+                equalTo(DefaultAccessStatusHelper.OPEN_ACCESS));
+        assertThat("testWithMultipleItems 1", accessStatuses.get(itemWithEmbargo.getID()).getStatus(),
+                equalTo(DefaultAccessStatusHelper.EMBARGO));
+        assertThat("testWithMultipleItems 2", accessStatuses.get(itemWithEmbargo.getID()).getAvailabilityDate(),
+                equalTo(startDate));
+        assertThat("testWithMultipleItems 3", accessStatuses.get(itemWithoutBundle.getID()).getStatus(),
+                equalTo(DefaultAccessStatusHelper.METADATA_ONLY));
+        // getAccessStatusFromBitstreams
+        Map<UUID, AccessStatus> bitstreamStatuses = helper.getAccessStatusFromBitstreams(context,
+                List.of(openBitstream, embargoBitstream), threshold, DefaultAccessStatusHelper.STATUS_FOR_ANONYMOUS);
+        assertThat("testWithMultipleItems 4", bitstreamStatuses.get(openBitstream.getID()).getStatus(),
+                equalTo(DefaultAccessStatusHelper.OPEN_ACCESS));
+        assertThat("testWithMultipleItems 5", bitstreamStatuses.get(embargoBitstream.getID()).getStatus(),
+                equalTo(DefaultAccessStatusHelper.EMBARGO));
+        // getAccessStatusFromItems for the current user gives the statuses calculated for each item
+        List<Item> items = List.of(itemWithBitstream, itemWithEmbargo, itemWithoutBundle);
+        Map<UUID, AccessStatus> userStatuses = helper.getAccessStatusFromItems(context, items, threshold,
+                DefaultAccessStatusHelper.STATUS_FOR_CURRENT_USER);
+        for (Item item : items) {
+            AccessStatus accessStatus = helper.getAccessStatusFromItem(context, item, threshold,
+                    DefaultAccessStatusHelper.STATUS_FOR_CURRENT_USER);
+            assertThat("testWithMultipleItems 6", userStatuses.get(item.getID()).getStatus(),
+                    equalTo(accessStatus.getStatus()));
+            assertThat("testWithMultipleItems 7", userStatuses.get(item.getID()).getAvailabilityDate(),
+                    equalTo(accessStatus.getAvailabilityDate()));
+        }
+        // getAnonymousAccessStatusFromItems
+        Map<UUID, AccessStatus> anonymousStatuses = helper.getAnonymousAccessStatusFromItems(context, items,
+                threshold);
+        assertThat("testWithMultipleItems 8", anonymousStatuses.get(itemWithEmbargo.getID()).getStatus(),
+                equalTo(DefaultAccessStatusHelper.EMBARGO));
+    }
+
     /**
      * Test for an item with an anonymous date restriction
      * @throws java.lang.Exception passed through.
@@ -0,0 +1,122 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the value browses answered by the {@link SolrBrowseDAO} from the {@link BrowseValueStore}.
+ */
+public class BrowseValueStoreIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final IndexingService indexingService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexingService.class.getName(), IndexingService.class);
+
+    private Collection collection;
+
+    @Before
+    public void createCollection() {
+        configurationService.setProperty("browse.value-store.enabled", true);
+        configurationService.setProperty("browse.value-store.refresh-interval", 0);
+        configurationService.setProperty("browse.value-store.max-age", 3600);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        ItemBuilder.createItem(context, collection).withTitle("First item").withAuthor("Adams, Ann").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void restoreConfiguration() {
+        configurationService.setProperty("browse.value-store.enabled", null);
+        configurationService.setProperty("browse.value-store.refresh-interval", null);
+        configurationService.setProperty("browse.value-store.max-age", null);
+    }
+
+    /**
+     * Indexing items marks the value lists stale, and they are rebuilt once the refresh interval has elapsed.
+     */
+    @Test
+    public void testIndexedItemsMarkListsStale() throws Exception {
+        assertEquals(1, browseAuthors());
+
+        configurationService.setProperty("browse.value-store.refresh-interval", 3600);
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, collection).withTitle("Second item").withAuthor("Baker, Bob").build();
+        context.restoreAuthSystemState();
+        assertEquals(1, browseAuthors());
+
+        configurationService.setProperty("browse.value-store.refresh-interval", 0);
+        assertEquals(2, awaitAuthors(2));
+    }
+
+    /**
+     * Items indexed by another process do not mark the value lists stale, which are rebuilt once they are older
+     * than the maximum age.
+     */
+    @Test
+    public void testItemsIndexedElsewhere() throws Exception {
+        assertEquals(1, browseAuthors());
+
+        context.turnOffAuthorisationSystem();
+        context.setDispatcher("noindex");
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Second item").withAuthor("Baker, Bob")
+                               .build();
+        context.restoreAuthSystemState();
+        indexingService.indexContent(context, new IndexableItem(item), true, true);
+        assertEquals(1, browseAuthors());
+
+        configurationService.setProperty("browse.value-store.max-age", 0);
+        assertEquals(2, awaitAuthors(2));
+    }
+
+    /**
+     * Browse the authors of the collection as an anonymous user, whose browses are answered from the store.
+     *
+     * @return the number of authors
+     */
+    private int browseAuthors() throws Exception {
+        context.setCurrentUser(null);
+        BrowserScope scope = new BrowserScope(context);
+        scope.setBrowseIndex(BrowseIndex.getBrowseIndex("author"));
+        scope.setCollection(collection);
+        scope.setResultsPerPage(20);
+        BrowseInfo browseInfo = new BrowseEngine(context).browse(scope);
+        assertEquals(browseInfo.getTotal(), browseInfo.getStringResults().length);
+        return browseInfo.getTotal();
+    }
+
+    /**
+     * Browse the authors until the stale value list has been rebuilt in the background.
+     */
+    private int awaitAuthors(int expected) throws Exception {
+        int count = browseAuthors();
+        for (int i = 0; i < 100 && count != expected; i++) {
+            Thread.sleep(100);
+            count = browseAuthors();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.discovery.DiscoverResult.FacetResult;
+import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the value lists of {@link BrowseValueStore}
+ */
+public class BrowseValueStoreTest {
+
+    private BrowseValueStore.ValueList valueList;
+
+    @Before
+    public void setUp() {
+        List<FacetResult> values = new ArrayList<>();
+        for (String value : new String[] {"adams", "baker", "bakerson", "brown", "clark", "davis"}) {
+            values.add(new FacetResult(value, value, null, value, 1, DiscoveryConfigurationParameters.TYPE_TEXT));
+        }
+        valueList = new BrowseValueStore.ValueList(values, 0);
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(6, valueList.count(null));
+        assertEquals(3, valueList.count("b"));
+        assertEquals(2, valueList.count("baker"));
+        assertEquals(0, valueList.count("z"));
+    }
+
+    @Test
+    public void testGetPage() {
+        assertEquals(List.of("baker", "bakerson"), getSortValues(valueList.getPage(null, true, 1, 2)));
+        assertEquals(List.of("davis", "clark"), getSortValues(valueList.getPage(null, false, 0, 2)));
+        assertEquals(List.of("bakerson", "brown"), getSortValues(valueList.getPage("b", true, 1, -1)));
+        assertEquals(List.of("brown", "bakerson"), getSortValues(valueList.getPage("b", false, 0, 2)));
+        assertEquals(List.of(), getSortValues(valueList.getPage(null, true, 10, 2)));
+    }
+
+    @Test
+    public void testGetOffset() {
+        assertEquals(1, valueList.getOffset(null, "b", true));
+        assertEquals(3, valueList.getOffset(null, "bc", true));
+        assertEquals(3, valueList.getOffset(null, "bc", false));
+        assertEquals(6, valueList.getOffset(null, "z", true));
+        assertEquals(2, valueList.getOffset("b", "brown", true));
+    }
+
+    private List<String> getSortValues(List<FacetResult> facetResults) {
+        List<String> sortValues = new ArrayList<>();
+        for (FacetResult facetResult : facetResults) {
+            sortValues.add(facetResult.getSortValue());
+        }
+        return sortValues;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the cached item counts of the {@link ItemCounter}, and their maintenance by the {@link ItemCountConsumer}.
+ */
+public class ItemCounterIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private final ItemCounter itemCounter = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(ItemCounter.class.getName(), ItemCounter.class);
+
+    private Community community;
+    private Collection collection;
+
+    @Before
+    public void createCollection() {
+        configurationService.setProperty("webui.strengths.show", true);
+        configurationService.setProperty("webui.strengths.cache", true);
+        itemCounter.invalidate();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        community = CommunityBuilder.createSubCommunity(context, parentCommunity).build();
+        collection = CollectionBuilder.createCollection(context, community).build();
+        ItemBuilder.createItem(context, collection).withTitle("First item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void invalidateCounts() {
+        configurationService.setProperty("webui.strengths.show", null);
+        configurationService.setProperty("webui.strengths.cache", null);
+        itemCounter.invalidate();
+    }
+
+    /**
+     * Once loaded, the counts of the collection and of all the communities above it follow the items installed,
+     * withdrawn and reinstated.
+     */
+    @Test
+    public void testConsumerAdjustsCounts() throws Exception {
+        assertCounts(1);
+        assertTrue(itemCounter.isLoaded());
+
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Second item").build();
+        context.restoreAuthSystemState();
+        assertTrue(itemCounter.isLoaded());
+        assertCounts(2);
+
+        context.setCurrentUser(admin);
+        context.turnOffAuthorisationSystem();
+        itemService.withdraw(context, item);
+        context.dispatchEvents();
+        assertCounts(1);
+
+        itemService.reinstate(context, item);
+        context.dispatchEvents();
+        context.restoreAuthSystemState();
+        assertCounts(2);
+    }
+
+    /**
+     * The counts are shared by all the users, so they include the items the current user cannot read.
+     */
+    @Test
+    public void testReconcileCountsAllItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group readers = GroupBuilder.createGroup(context).withName("Readers").build();
+        ItemBuilder.createItem(context, collection).withTitle("Private item").withReaderGroup(readers).build();
+        ItemBuilder.createItem(context, collection).withTitle("Hidden item").makeUnDiscoverable().build();
+        context.restoreAuthSystemState();
+
+        context.setCurrentUser(null);
+        assertEquals(Integer.valueOf(2), itemCounter.reconcile(context).get(collection.getID()));
+        assertFalse(context.ignoreAuthorization());
+        assertCounts(2);
+    }
+
+    /**
+     * A failed load is reported, instead of returning (and caching) empty counts.
+     */
+    @Test
+    public void testFailedLoad() throws Exception {
+        ItemCountDAOSolr dao = new ItemCountDAOSolr();
+        dao.searchService = mock(SearchService.class);
+        when(dao.searchService.search(any(), any(DiscoverQuery.class)))
+            .thenThrow(new SearchServiceException("Solr is down"));
+
+        try {
+            dao.getCounts(context);
+            fail("The counts were loaded although Solr failed");
+        } catch (BrowseException e) {
+            assertTrue(e.getCause() instanceof SearchServiceException);
+        }
+    }
+
+    private void assertCounts(int expected) {
+        assertEquals(expected, itemCounter.getCount(context, collection));
+        assertEquals(expected, itemCounter.getCount(context, community));
+        assertEquals(expected, itemCounter.getCount(context, parentCommunity));
+    }
+}
@@ -220,6 +220,35 @@ public class ItemTest extends AbstractDSpaceObjectTest {
         assertTrue("testFindAll 1", added);
     }
 
+    /**
+     * Test of findAllInRange and findIdBoundaries methods, of class Item.
+     */
+    @Test
+    public void testFindAllInRange() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 4; i++) {
+            createItem();
+        }
+        context.restoreAuthSystemState();
+
+        List<UUID> all = new ArrayList<>();
+        itemService.findAll(context).forEachRemaining(item -> all.add(item.getID()));
+
+        List<UUID> boundaries = itemService.findIdBoundaries(context, 3);
+        assertEquals("testFindAllInRange 0", 2, boundaries.size());
+
+        List<UUID> ranges = new ArrayList<>();
+        UUID after = null;
+        for (int i = 0; i <= boundaries.size(); i++) {
+            UUID upTo = i < boundaries.size() ? boundaries.get(i) : null;
+            Iterator<Item> range = itemService.findAllInRange(context, after, upTo);
+            assertTrue("testFindAllInRange 1", range.hasNext());
+            range.forEachRemaining(item -> ranges.add(item.getID()));
+            after = upTo;
+        }
+        assertEquals("testFindAllInRange 2", all, ranges);
+    }
+
     /**
      * Test of findBySubmitter method, of class Item.
      */
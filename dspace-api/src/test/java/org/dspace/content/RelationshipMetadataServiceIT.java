@@ -36,6 +36,7 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.core.Context;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -235,6 +236,34 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
         assertThat(rightList.get(1).getAuthority(), equalTo("virtual::" + relationship.getID()));
     }
 
+    @Test
+    public void testGetRelationshipMetadataCachedInReadOnlyContext() throws Exception {
+        initPublicationAuthor();
+        context.setMode(Context.Mode.READ_ONLY);
+        try {
+            List<RelationshipMetadataValue> leftList = relationshipMetadataService
+                .getRelationshipMetadata(context, leftItem, true);
+            assertThat(leftList.size(), equalTo(3));
+            assertThat(leftList.get(1).getValue(), equalTo("familyName, firstName"));
+            assertThat(context.getCachedRelationshipMetadata(leftItem, true).size(), equalTo(3));
+
+            // the second call is answered from the cache with copies bound to the item
+            List<RelationshipMetadataValue> cachedList = relationshipMetadataService
+                .getRelationshipMetadata(context, leftItem, true);
+            assertThat(cachedList.size(), equalTo(3));
+            for (int i = 0; i < leftList.size(); i++) {
+                assertThat(cachedList.get(i).getValue(), equalTo(leftList.get(i).getValue()));
+                assertThat(cachedList.get(i).getAuthority(), equalTo(leftList.get(i).getAuthority()));
+                assertThat(cachedList.get(i).getMetadataField(), equalTo(leftList.get(i).getMetadataField()));
+                assertThat(cachedList.get(i).getDSpaceObject(), equalTo(leftItem));
+            }
+        } finally {
+            context.setMode(Context.Mode.READ_WRITE);
+        }
+        // leaving the read-only mode clears the cache
+        assertNull(context.getCachedRelationshipMetadata(leftItem, true));
+    }
+
     @Test
     public void testDeleteAuthorRelationshipCopyToLeftItem() throws Exception {
         initPublicationAuthor();
@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.crosswalk;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.core.service.PluginService;
+import org.jdom2.output.XMLOutputter;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link XSLTDisseminationCrosswalk}.
+ */
+public class XSLTDisseminationCrosswalkIT extends AbstractIntegrationTestWithDatabase {
+
+    private final PluginService pluginService = CoreServiceFactory.getInstance().getPluginService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    /**
+     * The plugin instance is shared, e.g. by the threads of the DOI organiser: every thread must get the result of
+     * its own item and parameters.
+     */
+    @Test
+    public void testConcurrentDissemination() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        List<UUID> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            items.add(ItemBuilder.createItem(context, collection)
+                                 .withTitle("Item " + i)
+                                 .withAuthor("Author, " + i)
+                                 .withIssueDate("2020")
+                                 .build().getID());
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        ParameterizedDisseminationCrosswalk crosswalk = (ParameterizedDisseminationCrosswalk) pluginService
+            .getNamedPlugin(DisseminationCrosswalk.class, "DataCite");
+
+        Map<UUID, String> expected = new HashMap<>();
+        for (UUID item : items) {
+            expected.put(item, disseminate(context, crosswalk, item));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<UUID> disseminated = new ArrayList<>();
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 80; i++) {
+                UUID item = items.get(i % items.size());
+                disseminated.add(item);
+                results.add(executor.submit(() -> {
+                    try (Context threadContext = new Context()) {
+                        return disseminate(threadContext, crosswalk, item);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(expected.get(disseminated.get(i)), results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String disseminate(Context context, ParameterizedDisseminationCrosswalk crosswalk, UUID id)
+        throws Exception {
+        Item item = itemService.find(context, id);
+        Map<String, String> parameters = Map.of("publisher", "Publisher of " + id,
+                                                "hostinginstitution", "Institution of " + id);
+        return new XMLOutputter().outputString(crosswalk.disseminateElement(context, item, parameters));
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Period;
+import java.util.List;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.access.status.DefaultAccessStatusHelper;
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the access statuses indexed by the {@link SolrServiceIndexAccessStatusPlugin}.
+ */
+public class SolrServiceIndexAccessStatusPluginIT extends AbstractIntegrationTestWithDatabase {
+
+    private SolrServiceIndexAccessStatusPlugin plugin;
+
+    private AccessStatusService accessStatusService;
+
+    private Item openItem;
+
+    private Item embargoedItem;
+
+    @Before
+    public void createItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        openItem = ItemBuilder.createItem(context, collection).withTitle("Open item").build();
+        BitstreamBuilder.createBitstream(context, openItem, toInputStream("open")).build();
+        embargoedItem = ItemBuilder.createItem(context, collection).withTitle("Embargoed item").build();
+        BitstreamBuilder.createBitstream(context, embargoedItem, toInputStream("embargoed"))
+                        .withEmbargoPeriod(Period.ofMonths(6)).build();
+        context.restoreAuthSystemState();
+
+        plugin = new SolrServiceIndexAccessStatusPlugin();
+        accessStatusService = spy(plugin.accessStatusService);
+        plugin.accessStatusService = accessStatusService;
+    }
+
+    /**
+     * The access statuses of the items prepared together are calculated at once.
+     */
+    @Test
+    public void testPreparedItems() throws Exception {
+        plugin.prepareIndex(context, List.of(new IndexableItem(openItem), new IndexableItem(embargoedItem)));
+        assertEquals(DefaultAccessStatusHelper.OPEN_ACCESS, indexAccessStatus(openItem));
+        assertEquals(DefaultAccessStatusHelper.EMBARGO, indexAccessStatus(embargoedItem));
+        verify(accessStatusService, times(1)).getItemsAccessStatus(any(), any());
+        verify(accessStatusService, never()).getAccessStatus(any(), any(Item.class));
+
+        // a prepared status is only used once
+        assertEquals(DefaultAccessStatusHelper.OPEN_ACCESS, indexAccessStatus(openItem));
+        verify(accessStatusService, times(1)).getAccessStatus(any(), eq(openItem));
+    }
+
+    /**
+     * Releasing the prepared items calculates their access status again.
+     */
+    @Test
+    public void testReleasedItems() throws Exception {
+        plugin.prepareIndex(context, List.of(new IndexableItem(openItem)));
+        plugin.prepareIndex(context, List.of());
+        assertEquals(DefaultAccessStatusHelper.OPEN_ACCESS, indexAccessStatus(openItem));
+        verify(accessStatusService, times(1)).getAccessStatus(any(), eq(openItem));
+    }
+
+    private String indexAccessStatus(Item item) {
+        SolrInputDocument document = new SolrInputDocument();
+        plugin.additionalIndex(context, new IndexableItem(item), document);
+        assertEquals(document.getFieldValue("access_status_keyword"), document.getFieldValue("access_status_filter"));
+        return (String) document.getFieldValue("access_status_filter");
+    }
+
+    private ByteArrayInputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
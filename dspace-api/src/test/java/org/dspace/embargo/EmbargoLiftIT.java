@@ -0,0 +1,131 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.embargo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.MetadataFieldBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.DCDate;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.embargo.dao.EmbargoLiftDAO;
+import org.dspace.embargo.factory.EmbargoServiceFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.rdbms.migration.V10_0_2026_10_18_1__Embargo_Lift_Backfill;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the lift date index of the embargo lifter.
+ */
+public class EmbargoLiftIT extends AbstractIntegrationTestWithDatabase {
+
+    private final EmbargoServiceImpl embargoService
+        = (EmbargoServiceImpl) EmbargoServiceFactory.getInstance().getEmbargoService();
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private final EmbargoLiftDAO embargoLiftDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(EmbargoLiftDAO.class).get(0);
+
+    private Collection collection;
+
+    private String[] liftField;
+
+    @Before
+    public void configureLiftField() throws Exception {
+        context.turnOffAuthorisationSystem();
+        MetadataFieldBuilder.createMetadataField(context, "embargo", "lift", null).build();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+
+        liftField = new String[] {embargoService.lift_schema, embargoService.lift_element,
+            embargoService.lift_qualifier};
+        embargoService.lift_schema = "dc";
+        embargoService.lift_element = "embargo";
+        embargoService.lift_qualifier = "lift";
+    }
+
+    @After
+    public void restoreLiftField() {
+        embargoService.lift_schema = liftField[0];
+        embargoService.lift_element = liftField[1];
+        embargoService.lift_qualifier = liftField[2];
+    }
+
+    /**
+     * Lift dates edited outside of setEmbargo are reflected in the index.
+     */
+    @Test
+    public void testEditedLiftDate() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Embargoed item").build();
+        assertNull(embargoLiftDAO.findByID(context, EmbargoLift.class, item.getID()));
+
+        setLiftDate(item, "2999-01-01");
+        assertEquals(List.of(item), embargoService.findEmbargoedItems(context, Instant.now(), null, 10));
+        assertEquals(List.of(), embargoService.findItemsToLift(context, Instant.now(), null, 10));
+
+        setLiftDate(item, "2000-01-01");
+        assertEquals(List.of(), embargoService.findEmbargoedItems(context, Instant.now(), null, 10));
+        assertEquals(List.of(item), embargoService.findItemsToLift(context, Instant.now(), null, 10));
+
+        embargoService.liftEmbargo(context, item);
+        context.dispatchEvents();
+        context.restoreAuthSystemState();
+        assertNull(embargoLiftDAO.findByID(context, EmbargoLift.class, item.getID()));
+    }
+
+    /**
+     * The lift dates of the Items embargoed before the index existed are filled by the migration.
+     */
+    @Test
+    public void testBackfill() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Embargoed item")
+                               .withMetadata("dc", "embargo", "lift", null, "2999-01-01").build();
+        embargoLiftDAO.delete(context, embargoLiftDAO.findByID(context, EmbargoLift.class, item.getID()));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        DataSource dataSource = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                     .getServiceByName("dataSource", DataSource.class);
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(1, V10_0_2026_10_18_1__Embargo_Lift_Backfill.backfill(connection, "dc", "embargo",
+                                                                                 "lift"));
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+
+        context.uncacheEntities();
+        EmbargoLift embargoLift = embargoLiftDAO.findByID(context, EmbargoLift.class, item.getID());
+        assertNotNull(embargoLift);
+        assertEquals(new DCDate("2999-01-01").toDate().toInstant(), embargoLift.getLiftDate());
+    }
+
+    private void setLiftDate(Item item, String liftDate) throws Exception {
+        itemService.clearMetadata(context, item, "dc", "embargo", "lift", Item.ANY);
+        itemService.addMetadata(context, item, "dc", "embargo", "lift", null, liftDate);
+        itemService.update(context, item);
+        context.dispatchEvents();
+    }
+}
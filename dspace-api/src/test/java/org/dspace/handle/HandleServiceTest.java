@@ -8,19 +8,26 @@
 package org.dspace.handle;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 import org.dspace.AbstractUnitTest;
+import org.dspace.content.Community;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CommunityService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.utils.DSpace;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 public class HandleServiceTest extends AbstractUnitTest {
     protected HandleService handleService = HandleServiceFactory.getInstance().getHandleService();
     protected ConfigurationService configurationService = new DSpace().getConfigurationService();
+    protected CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
 
     @Before
     @Override
@@ -70,4 +77,71 @@ public class HandleServiceTest extends AbstractUnitTest {
         assertEquals("111222333/111", handleService.parseHandle("https://whatever/handle/111222333/111"));
         assertEquals("111222333/111", handleService.parseHandle("http://whatever/handle/111222333/111"));
     }
+
+    @Test
+    public void testResolveHandleCreatedAfterUnknownLookup() throws Exception {
+        configurationService.setProperty("handle.resolution.cache.enabled", true);
+        String handle = "123456789/resolution-cache-test";
+        // the unknown handle is now in the negative cache
+        assertNull(handleService.resolveToObject(context, handle));
+        assertNull(handleService.resolveToURL(context, handle));
+
+        context.turnOffAuthorisationSystem();
+        Community community = communityService.create(null, context, handle);
+        try {
+            assertEquals(community, handleService.resolveToObject(context, handle));
+            assertNotNull(handleService.resolveToURL(context, handle));
+            context.commit();
+            // cached once committed
+            assertEquals(community.getID(), handleService.resolveToObject(context, handle).getID());
+            assertNotNull(getCache(HandleServiceImpl.CACHE_NAME).get(handle));
+        } finally {
+            communityService.delete(context, context.reloadEntity(community));
+            context.restoreAuthSystemState();
+            configurationService.setProperty("handle.resolution.cache.enabled", null);
+        }
+    }
+
+    /**
+     * A handle created by a transaction is not cached before this transaction ends, so it is not resolved any
+     * more once the transaction is rolled back.
+     */
+    @Test
+    public void testResolveHandleOfRolledBackTransaction() throws Exception {
+        configurationService.setProperty("handle.resolution.cache.enabled", true);
+        String handle = "123456789/resolution-cache-rollback";
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = communityService.create(null, context, handle);
+            assertEquals(community.getID(), handleService.resolveToObject(context, handle).getID());
+            assertNotNull(handleService.resolveToURL(context, handle));
+            context.restoreAuthSystemState();
+            context.rollback();
+
+            assertNull(handleService.resolveToObject(context, handle));
+            assertNull(handleService.resolveToURL(context, handle));
+        } finally {
+            configurationService.setProperty("handle.resolution.cache.enabled", null);
+        }
+    }
+
+    @Test
+    public void testResolutionCacheDisabledByDefault() throws Exception {
+        String handle = "123456789/resolution-cache-disabled";
+        assertNull(handleService.resolveToObject(context, handle));
+        assertNull(getCache(HandleServiceImpl.UNKNOWN_CACHE_NAME).get(handle));
+
+        configurationService.setProperty("handle.resolution.cache.enabled", true);
+        try {
+            assertNull(handleService.resolveToObject(context, handle));
+            assertNotNull(getCache(HandleServiceImpl.UNKNOWN_CACHE_NAME).get(handle));
+        } finally {
+            configurationService.setProperty("handle.resolution.cache.enabled", null);
+            getCache(HandleServiceImpl.UNKNOWN_CACHE_NAME).evict(handle);
+        }
+    }
+
+    private Cache getCache(String name) {
+        return new DSpace().getServiceManager().getServiceByName("cacheManager", CacheManager.class).getCache(name);
+    }
 }
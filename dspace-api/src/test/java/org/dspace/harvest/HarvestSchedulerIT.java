@@ -0,0 +1,316 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.harvest.factory.HarvestServiceFactory;
+import org.dspace.harvest.service.HarvestedCollectionService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the queue of the {@link HarvestScheduler}, with harvests which do not contact any OAI-PMH provider, and with
+ * a real harvest from a stub OAI-PMH provider.
+ */
+public class HarvestSchedulerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final HarvestedCollectionService harvestedCollectionService
+        = HarvestServiceFactory.getInstance().getHarvestedCollectionService();
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    @After
+    public void stopScheduler() {
+        configurationService.setProperty("oai.harvester.maxThreads", null);
+        configurationService.setProperty("oai.harvester.maxThreadsPerHost", null);
+        configurationService.setProperty("oai.harvester.maxPagesPerSlice", null);
+        synchronized (HarvestScheduler.class) {
+            if (HarvestScheduler.harvestExecutor != null) {
+                HarvestScheduler.harvestExecutor.shutdownNow();
+            }
+            if (HarvestScheduler.harvestThreads != null) {
+                HarvestScheduler.harvestThreads.clear();
+            }
+        }
+    }
+
+    /**
+     * The collections harvested the longest time ago are harvested first.
+     */
+    @Test
+    public void testStalestHarvestFirst() throws Exception {
+        createScheduler(1, 1);
+        long completed = HarvestScheduler.getCompletedCount();
+        List<String> runs = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+
+        queue(new FakeHarvest("recent", "a.example.org", "2020-01-01T00:00:00Z", 1, runs, done, null));
+        queue(new FakeHarvest("oldest", "b.example.org", "2010-01-01T00:00:00Z", 1, runs, done, null));
+        queue(new FakeHarvest("middle", "c.example.org", "2015-01-01T00:00:00Z", 1, runs, done, null));
+        HarvestScheduler.dispatch();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("oldest", "middle", "recent"), runs);
+        assertEquals(completed + 3, HarvestScheduler.getCompletedCount());
+    }
+
+    /**
+     * A free thread skips the harvests from a host which already has "oai.harvester.maxThreadsPerHost" harvests
+     * running, and the metrics show the harvests running for each host.
+     */
+    @Test
+    public void testMaxThreadsPerHost() throws Exception {
+        createScheduler(3, 1);
+        List<String> runs = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+
+        queue(new FakeHarvest("a1", "a.example.org", "2010-01-01T00:00:00Z", 1, runs, done, release));
+        queue(new FakeHarvest("a2", "a.example.org", "2011-01-01T00:00:00Z", 1, runs, done, release));
+        queue(new FakeHarvest("b1", "b.example.org", "2012-01-01T00:00:00Z", 1, runs, done, release));
+        HarvestScheduler.dispatch();
+
+        try {
+            assertEquals(2, HarvestScheduler.getActiveCount());
+            assertEquals(1, HarvestScheduler.getQueuedCount());
+            assertEquals(Map.of("a.example.org", 1, "b.example.org", 1), HarvestScheduler.getActiveCountByHost());
+            assertNotNull(HarvestScheduler.getOldestQueuedTime());
+
+            ObjectName name = new ObjectName(HarvestSchedulerMXBean.OBJECT_NAME);
+            assertEquals(2, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ActiveCount"));
+            assertEquals(1, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "QueuedCount"));
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(runs.indexOf("a2") > runs.indexOf("a1"));
+        assertEquals(0, HarvestScheduler.getQueuedCount());
+    }
+
+    /**
+     * A harvest which ends with a slice is queued again behind the harvests already waiting.
+     */
+    @Test
+    public void testSlicedHarvestQueuedAgain() throws Exception {
+        createScheduler(1, 1);
+        long slices = HarvestScheduler.getSliceCount();
+        List<String> runs = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+
+        queue(new FakeHarvest("large", "a.example.org", "2010-01-01T00:00:00Z", 3, runs, done, null));
+        queue(new FakeHarvest("small", "b.example.org", "2015-01-01T00:00:00Z", 1, runs, done, null));
+        HarvestScheduler.dispatch();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("large", "small", "large", "large"), runs);
+        assertEquals(slices + 2, HarvestScheduler.getSliceCount());
+    }
+
+    /**
+     * The position of a harvest waiting for its next slice is stored with the collection, which is queued again
+     * by a new scheduler.
+     */
+    @Test
+    public void testRequeueSuspendedHarvest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        HarvestedCollection harvestedCollection = harvestedCollectionService.create(context, collection);
+        harvestedCollection.setHarvestParams(HarvestedCollection.TYPE_DMD, "https://oai.example.org/request",
+                                             "all", "dc");
+        harvestedCollection.setHarvestStatus(HarvestedCollection.STATUS_QUEUED);
+        harvestedCollection.setResumption("token-2", Instant.parse("2026-01-01T00:00:00Z"), 200, 1000);
+        harvestedCollectionService.update(context, harvestedCollection);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        context.uncacheEntity(harvestedCollection);
+        HarvestedCollection stored = harvestedCollectionService.find(context, context.reloadEntity(collection));
+        assertEquals("token-2", stored.getResumptionToken());
+        assertEquals(Instant.parse("2026-01-01T00:00:00Z"), stored.getResumptionStartTime());
+        assertEquals(200, stored.getResumptionRecord());
+        assertEquals(1000, stored.getResumptionListSize());
+
+        HarvestScheduler scheduler = createScheduler(1, 1);
+        scheduler.requeue(context);
+
+        assertEquals(1, HarvestScheduler.getQueuedCount());
+        HarvestThread queued = HarvestScheduler.harvestThreads.first();
+        assertEquals(collection.getID(), queued.getCollectionId());
+        assertEquals("oai.example.org", queued.getHost());
+    }
+
+    /**
+     * A real harvest run in slices is queued again after its first slice, and the collection is ready once the
+     * last slice is harvested.
+     */
+    @Test
+    public void testSlicedOAIHarvest() throws Exception {
+        MockWebServer mockServer = new MockWebServer();
+        mockServer.setDispatcher(new StubOAIProvider());
+        mockServer.start();
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context).build();
+            Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+            HarvestedCollection harvestedCollection = harvestedCollectionService.create(context, collection);
+            harvestedCollection.setHarvestParams(HarvestedCollection.TYPE_DMD,
+                                                 mockServer.url("/oai/request").toString(), "all", "dc");
+            harvestedCollection.setHarvestStatus(HarvestedCollection.STATUS_READY);
+            harvestedCollectionService.update(context, harvestedCollection);
+            context.restoreAuthSystemState();
+            context.commit();
+
+            configurationService.setProperty("oai.harvester.maxPagesPerSlice", 1);
+            createScheduler(1, 1);
+            long completed = HarvestScheduler.getCompletedCount();
+            long slices = HarvestScheduler.getSliceCount();
+            queue(new HarvestThread(collection.getID(), mockServer.getHostName(), Instant.EPOCH));
+            HarvestScheduler.dispatch();
+
+            long timeout = System.currentTimeMillis() + 30000;
+            while (HarvestScheduler.getCompletedCount() == completed && System.currentTimeMillis() < timeout) {
+                Thread.sleep(100);
+            }
+            assertEquals(completed + 1, HarvestScheduler.getCompletedCount());
+            assertEquals(slices + 1, HarvestScheduler.getSliceCount());
+
+            context.uncacheEntity(harvestedCollection);
+            collection = context.reloadEntity(collection);
+            HarvestedCollection stored = harvestedCollectionService.find(context, collection);
+            assertEquals(HarvestedCollection.STATUS_READY, stored.getHarvestStatus());
+            assertNull(stored.getResumptionToken());
+            assertEquals(2, itemService.countItems(context, collection));
+        } finally {
+            mockServer.shutdown();
+        }
+    }
+
+    private HarvestScheduler createScheduler(int maxThreads, int maxThreadsPerHost) throws Exception {
+        configurationService.setProperty("oai.harvester.maxThreads", maxThreads);
+        configurationService.setProperty("oai.harvester.maxThreadsPerHost", maxThreadsPerHost);
+        return new HarvestScheduler();
+    }
+
+    private void queue(HarvestThread ht) {
+        synchronized (HarvestScheduler.class) {
+            HarvestScheduler.harvestThreads.add(ht);
+        }
+    }
+
+    /**
+     * A harvest running in the given number of slices, which records its runs.
+     */
+    private static class FakeHarvest extends HarvestThread {
+        private final String name;
+        private final List<String> runs;
+        private final CountDownLatch done;
+        private final CountDownLatch release;
+        private int slicesLeft;
+
+        FakeHarvest(String name, String host, String priority, int slices, List<String> runs,
+                    CountDownLatch done, CountDownLatch release) {
+            super(UUID.randomUUID(), host, Instant.parse(priority));
+            this.name = name;
+            this.slicesLeft = slices;
+            this.runs = runs;
+            this.done = done;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            runs.add(name);
+            try {
+                if (release != null) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            suspended = --slicesLeft > 0;
+            failed = false;
+            HarvestScheduler.harvestFinished(this);
+            if (!suspended) {
+                done.countDown();
+            }
+        }
+    }
+
+    /**
+     * OAI-PMH provider listing two records, one page each.
+     */
+    private static class StubOAIProvider extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String verb = request.getRequestUrl().queryParameter("verb");
+            String body;
+            if ("Identify".equals(verb)) {
+                body = "<Identify><repositoryName>Stub</repositoryName><baseURL>http://localhost/oai/request</baseURL>"
+                    + "<protocolVersion>2.0</protocolVersion><adminEmail>admin@example.org</adminEmail>"
+                    + "<earliestDatestamp>2000-01-01T00:00:00Z</earliestDatestamp><deletedRecord>no</deletedRecord>"
+                    + "<granularity>YYYY-MM-DDThh:mm:ssZ</granularity></Identify>";
+            } else if ("ListMetadataFormats".equals(verb)) {
+                body = "<ListMetadataFormats><metadataFormat><metadataPrefix>oai_dc</metadataPrefix>"
+                    + "<schema>http://www.openarchives.org/OAI/2.0/oai_dc.xsd</schema>"
+                    + "<metadataNamespace>http://www.openarchives.org/OAI/2.0/oai_dc/</metadataNamespace>"
+                    + "</metadataFormat></ListMetadataFormats>";
+            } else if ("token-1".equals(request.getRequestUrl().queryParameter("resumptionToken"))) {
+                body = "<ListRecords>" + record("oai:test:2")
+                    + "<resumptionToken completeListSize=\"2\" cursor=\"1\"/></ListRecords>";
+            } else {
+                body = "<ListRecords>" + record("oai:test:1")
+                    + "<resumptionToken completeListSize=\"2\" cursor=\"0\">token-1</resumptionToken></ListRecords>";
+            }
+            return new MockResponse().setResponseCode(200).addHeader("Content-Type", "text/xml")
+                .setBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+                    + "<responseDate>2024-01-01T00:00:00Z</responseDate>"
+                    + "<request verb=\"" + verb + "\">http://localhost/oai/request</request>"
+                    + body + "</OAI-PMH>");
+        }
+
+        private String record(String identifier) {
+            return "<record><header><identifier>" + identifier + "</identifier>"
+                + "<datestamp>2024-01-01T00:00:00Z</datestamp></header>"
+                + "<metadata><oai_dc:dc xmlns:oai_dc=\"http://www.openarchives.org/OAI/2.0/oai_dc/\""
+                + " xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><dc:title>" + identifier + "</dc:title>"
+                + "</oai_dc:dc></metadata></record>";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.concurrent.Future;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.http.impl.client.HttpClients;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link OAIListRecordsReader}, against a stub OAI-PMH provider.
+ */
+public class OAIListRecordsReaderTest {
+
+    private static final Namespace OAI_NS = Namespace.getNamespace("http://www.openarchives.org/OAI/2.0/");
+
+    private MockWebServer mockServer;
+
+    private OAIListRecordsReader reader;
+
+    @Before
+    public void init() throws Exception {
+        mockServer = new MockWebServer();
+        mockServer.start();
+        reader = new OAIListRecordsReader(HttpClients.createDefault(), mockServer.url("/oai/request").toString());
+    }
+
+    @After
+    public void destroy() throws Exception {
+        reader.close();
+        mockServer.shutdown();
+    }
+
+    @Test
+    public void testFetchPagesWithResumptionToken() throws Exception {
+        mockServer.enqueue(xmlResponse(listRecords(record("oai:test:1") + record("oai:test:2"),
+            "<resumptionToken completeListSize=\"3\" cursor=\"0\">token-1</resumptionToken>")));
+        mockServer.enqueue(xmlResponse(listRecords(record("oai:test:3"),
+            "<resumptionToken completeListSize=\"3\" cursor=\"2\"/>")));
+
+        OAIListRecordsReader.Page page = reader.fetch("2024-01-01", "2024-12-31", null, "oai_dc");
+        RecordedRequest request = mockServer.takeRequest();
+        assertThat(request.getRequestUrl().queryParameter("verb"), is("ListRecords"));
+        assertThat(request.getRequestUrl().queryParameter("from"), is("2024-01-01"));
+        assertThat(request.getRequestUrl().queryParameter("until"), is("2024-12-31"));
+        assertThat(request.getRequestUrl().queryParameter("set"), nullValue());
+        assertThat(request.getRequestUrl().queryParameter("metadataPrefix"), is("oai_dc"));
+
+        assertThat(page.getErrors(), empty());
+        assertThat(page.getRecords(), hasSize(2));
+        assertThat(getIdentifier(page.getRecords().get(0)), is("oai:test:1"));
+        assertThat(getIdentifier(page.getRecords().get(1)), is("oai:test:2"));
+        assertThat(page.getRecords().get(1).getChild("metadata", OAI_NS).getChildren(), hasSize(1));
+        assertThat(page.getResumptionToken(), is("token-1"));
+        assertThat(page.getCompleteListSize(), is(3L));
+
+        Future<OAIListRecordsReader.Page> nextPage = reader.prefetch(page.getResumptionToken());
+        page = nextPage.get();
+        request = mockServer.takeRequest();
+        assertThat(request.getRequestUrl().queryParameter("resumptionToken"), is("token-1"));
+        assertThat(request.getRequestUrl().queryParameter("metadataPrefix"), nullValue());
+
+        assertThat(page.getRecords(), hasSize(1));
+        assertThat(getIdentifier(page.getRecords().get(0)), is("oai:test:3"));
+        assertThat(page.getResumptionToken(), nullValue());
+        assertThat(page.getCompleteListSize(), is(3L));
+    }
+
+    @Test
+    public void testFetchErrors() throws Exception {
+        mockServer.enqueue(xmlResponse("<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+            + "<responseDate>2024-01-01T00:00:00Z</responseDate>"
+            + "<request verb=\"ListRecords\">http://localhost/oai/request</request>"
+            + "<error code=\"noRecordsMatch\">No matching records</error>"
+            + "</OAI-PMH>"));
+
+        OAIListRecordsReader.Page page = reader.fetch(null, null, "col_1", "oai_dc");
+
+        assertThat(mockServer.takeRequest().getRequestUrl().queryParameter("set"), is("col_1"));
+        assertThat(page.getErrors(), contains("noRecordsMatch"));
+        assertThat(page.getRecords(), empty());
+        assertThat(page.getResumptionToken(), nullValue());
+        assertThat(page.getCompleteListSize(), is(-1L));
+    }
+
+    @Test
+    public void testRetryWhenUnavailable() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+        mockServer.enqueue(xmlResponse(listRecords(record("oai:test:1"), "")));
+
+        OAIListRecordsReader.Page page = reader.fetch("token-1");
+
+        assertThat(mockServer.getRequestCount(), is(2));
+        assertThat(page.getRecords(), hasSize(1));
+        assertThat(page.getResumptionToken(), nullValue());
+    }
+
+    private MockResponse xmlResponse(String body) {
+        return new MockResponse().setResponseCode(200).addHeader("Content-Type", "text/xml").setBody(body);
+    }
+
+    private String listRecords(String records, String resumptionToken) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+            + "<responseDate>2024-01-01T00:00:00Z</responseDate>"
+            + "<request verb=\"ListRecords\">http://localhost/oai/request</request>"
+            + "<ListRecords>" + records + resumptionToken + "</ListRecords>"
+            + "</OAI-PMH>";
+    }
+
+    private String record(String identifier) {
+        return "<record><header><identifier>" + identifier + "</identifier>"
+            + "<datestamp>2024-01-01T00:00:00Z</datestamp></header>"
+            + "<metadata><oai_dc:dc xmlns:oai_dc=\"http://www.openarchives.org/OAI/2.0/oai_dc/\""
+            + " xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><dc:title>Title</dc:title></oai_dc:dc></metadata>"
+            + "</record>";
+    }
+
+    private String getIdentifier(Element record) {
+        return record.getChild("header", OAI_NS).getChildText("identifier", OAI_NS);
+    }
+}
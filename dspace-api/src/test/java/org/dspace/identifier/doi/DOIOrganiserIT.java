@@ -0,0 +1,124 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.DOIBuilder;
+import org.dspace.core.Context;
+import org.dspace.identifier.DOI;
+import org.dspace.identifier.DOIIdentifierProvider;
+import org.dspace.identifier.factory.IdentifierServiceFactory;
+import org.dspace.identifier.service.DOIService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Integration tests of the batches and of the worker pool of {@link DOIOrganiser}.
+ */
+public class DOIOrganiserIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final DOIService doiService = IdentifierServiceFactory.getInstance().getDOIService();
+
+    @After
+    public void resetConfiguration() {
+        configurationService.setProperty(DOIOrganiser.CFG_THREADS, null);
+        configurationService.setProperty(DOIOrganiser.CFG_BATCH_SIZE, null);
+    }
+
+    @Test
+    public void testProcessAllInBatches() throws Exception {
+        configurationService.setProperty(DOIOrganiser.CFG_BATCH_SIZE, 3);
+        List<DOI> dois = createDOIs(7);
+
+        AtomicInteger committedBeforeFifth = new AtomicInteger(-1);
+        new DOIOrganiser(context, null).processAll(dois, "reservation", (worker, doi) -> {
+            if (doi.getDoi().equals(dois.get(4).getDoi())) {
+                committedBeforeFifth.set(countReserved());
+            }
+            doi.setStatus(DOIIdentifierProvider.IS_RESERVED);
+        });
+
+        // the first batch of three DOIs is committed, the fourth one is not yet
+        assertEquals(3, committedBeforeFifth.get());
+        assertEquals(7, countReserved());
+    }
+
+    @Test
+    public void testProcessAllConcurrently() throws Exception {
+        configurationService.setProperty(DOIOrganiser.CFG_THREADS, 4);
+        configurationService.setProperty(DOIOrganiser.CFG_BATCH_SIZE, 2);
+        List<DOI> dois = createDOIs(20);
+
+        Map<String, Integer> processed = new ConcurrentHashMap<>();
+        new DOIOrganiser(context, null).processAll(dois, "reservation", (worker, doi) -> {
+            processed.merge(doi.getDoi(), 1, Integer::sum);
+            doi.setStatus(DOIIdentifierProvider.IS_RESERVED);
+        });
+
+        assertEquals(20, processed.size());
+        for (Integer count : processed.values()) {
+            assertEquals(Integer.valueOf(1), count);
+        }
+        assertEquals(20, countReserved());
+    }
+
+    @Test
+    public void testProcessAllKeepsTheBatchOfAFailure() throws Exception {
+        configurationService.setProperty(DOIOrganiser.CFG_BATCH_SIZE, 100);
+        List<DOI> dois = createDOIs(5);
+
+        new DOIOrganiser(context, null).processAll(dois, "reservation", (worker, doi) -> {
+            if (doi.getDoi().equals(dois.get(2).getDoi())) {
+                throw new RuntimeException("Connection reset");
+            }
+            doi.setStatus(DOIIdentifierProvider.IS_RESERVED);
+        });
+
+        // the DOIs reserved before the failure are not rolled back
+        assertEquals(4, countReserved());
+        try (Context readContext = new Context()) {
+            assertEquals(DOIIdentifierProvider.TO_BE_RESERVED,
+                         doiService.findByDoi(readContext, dois.get(2).getDoi()).getStatus());
+        }
+    }
+
+    private List<DOI> createDOIs(int number) throws Exception {
+        List<DOI> dois = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            dois.add(DOIBuilder.createDOI(context)
+                               .withDoi("10.5072/dspace-organiser-" + i)
+                               .withStatus(DOIIdentifierProvider.TO_BE_RESERVED)
+                               .build());
+        }
+        context.commit();
+        return dois;
+    }
+
+    /**
+     * @return the number of DOIs reserved in the database, read with a new Context
+     */
+    private int countReserved() throws SQLException {
+        try (Context readContext = new Context()) {
+            return doiService.getDOIsByStatus(readContext, List.of(DOIIdentifierProvider.IS_RESERVED)).size();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the retries and the rate limit of {@link DataCiteConnector}, against a stub DataCite server.
+ */
+public class DataCiteConnectorTest extends AbstractDSpaceTest {
+
+    private static final String DOI = "doi:10.5072/dspace-1";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private MockWebServer mockServer;
+
+    private DataCiteConnector connector;
+
+    @Before
+    public void init() throws Exception {
+        mockServer = new MockWebServer();
+        mockServer.start();
+        configurationService.setProperty(DataCiteConnector.CFG_USER, "user");
+        configurationService.setProperty(DataCiteConnector.CFG_PASSWORD, "password");
+        configurationService.setProperty(DataCiteConnector.CFG_RETRIES, 3);
+        configurationService.setProperty(DataCiteConnector.CFG_RETRY_BACKOFF, 10);
+
+        connector = new DataCiteConnector();
+        connector.setConfigurationService(configurationService);
+        connector.setDATACITE_SCHEME("http");
+        connector.setDATACITE_HOST(mockServer.getHostName() + ":" + mockServer.getPort());
+        connector.setDATACITE_DOI_PATH("/doi/");
+        connector.setDATACITE_METADATA_PATH("/metadata/");
+    }
+
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty(DataCiteConnector.CFG_RETRIES, null);
+        configurationService.setProperty(DataCiteConnector.CFG_RETRY_BACKOFF, null);
+        configurationService.setProperty(DataCiteConnector.CFG_RATE, null);
+        mockServer.shutdown();
+    }
+
+    @Test
+    public void testRetryTransientFailures() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse().setResponseCode(429));
+        mockServer.enqueue(new MockResponse().setResponseCode(500));
+        mockServer.enqueue(new MockResponse().setResponseCode(200).setBody("https://example.org/handle/1"));
+
+        assertTrue(connector.isDOIRegistered(null, DOI));
+        assertEquals(4, mockServer.getRequestCount());
+        assertEquals("/doi/10.5072/dspace-1", mockServer.takeRequest().getPath());
+    }
+
+    @Test
+    public void testGiveUpAfterRetries() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        try {
+            connector.isDOIRegistered(null, DOI);
+            fail("An internal error of DataCite should be reported after the retries");
+        } catch (DOIIdentifierException e) {
+            assertEquals(DOIIdentifierException.INTERNAL_ERROR, e.getCode());
+        }
+        assertEquals(4, mockServer.getRequestCount());
+    }
+
+    @Test
+    public void testNoRetryOnDefinitiveAnswer() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(404));
+        mockServer.enqueue(new MockResponse().setResponseCode(403));
+
+        assertFalse(connector.isDOIRegistered(null, DOI));
+        assertEquals(1, mockServer.getRequestCount());
+        try {
+            connector.isDOIRegistered(null, DOI);
+            fail("A foreign DOI should not be retried");
+        } catch (DOIIdentifierException e) {
+            assertEquals(DOIIdentifierException.FOREIGN_DOI, e.getCode());
+        }
+        assertEquals(2, mockServer.getRequestCount());
+    }
+
+    @Test
+    public void testRateLimit() throws Exception {
+        configurationService.setProperty(DataCiteConnector.CFG_RATE, 20);
+        for (int i = 0; i < 5; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(404));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertFalse(connector.isDOIRegistered(null, DOI));
+        }
+        // the first request is sent at once, the next ones every 50 milliseconds
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 150);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.rdbms.migration.V10_0_2026_10_21_1__IIIF_Manifest_Store_Backfill;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the invalidations of the stored IIIF manifests recorded outside of the web application, as by the command
+ * line scripts.
+ */
+public class ManifestInvalidationIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private final ManifestInvalidationService manifestInvalidationService = DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServicesByType(ManifestInvalidationService.class).get(0);
+
+    private Item item;
+
+    private Item otherItem;
+
+    @Before
+    public void createItems() throws Exception {
+        // start without the invalidation recorded by the migration
+        deleteInvalidations();
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("IIIF item").enableIIIF().build();
+        otherItem = ItemBuilder.createItem(context, collection).withTitle("Other IIIF item").enableIIIF().build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void deleteInvalidations() throws Exception {
+        configurationService.setProperty("iiif.manifest.store.enabled", null);
+        manifestInvalidationService.delete(context, manifestInvalidationService.findInvalidations(context, 1000));
+        context.commit();
+    }
+
+    /**
+     * The IIIF event consumer records the modified Items when the store is enabled.
+     */
+    @Test
+    public void testModifiedItem() throws Exception {
+        configurationService.setProperty("iiif.manifest.store.enabled", true);
+        Instant stored = Instant.now();
+        setAbstract(item, "Modified");
+
+        assertTrue(manifestInvalidationService.isInvalidated(context, item.getID(), stored));
+        assertFalse(manifestInvalidationService.isInvalidated(context, otherItem.getID(), stored));
+        assertFalse(manifestInvalidationService.isInvalidated(context, item.getID(), Instant.now()));
+    }
+
+    /**
+     * Nothing is recorded when the store is disabled.
+     */
+    @Test
+    public void testDisabledStore() throws Exception {
+        setAbstract(item, "Modified");
+
+        assertEquals(0, manifestInvalidationService.findInvalidations(context, 1000).size());
+    }
+
+    /**
+     * The manifests stored before the invalidations were recorded are invalidated by the migration.
+     */
+    @Test
+    public void testBackfill() throws Exception {
+        Instant stored = Instant.now().minusSeconds(60);
+        DataSource dataSource = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                     .getServiceByName("dataSource", DataSource.class);
+        try (Connection connection = dataSource.getConnection()) {
+            V10_0_2026_10_21_1__IIIF_Manifest_Store_Backfill.backfill(connection, Instant.now());
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+
+        assertTrue(manifestInvalidationService.isInvalidated(context, UUID.randomUUID(), stored));
+        assertFalse(manifestInvalidationService.isInvalidated(context, UUID.randomUUID(),
+                                                              Instant.now().plusSeconds(60)));
+    }
+
+    private void setAbstract(Item item, String value) throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, item, "dc", "description", "abstract", null, value);
+        itemService.update(context, item);
+        context.dispatchEvents();
+        context.restoreAuthSystemState();
+    }
+}
@@ -580,6 +580,59 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
 
     }
 
+    @Test
+    public void processCollectionWithThreads() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // Create new Items
+        iiifItem = ItemBuilder.createItem(context, col1)
+                              .withTitle("Test Item")
+                              .withIssueDate("2017-10-17")
+                              .enableIIIF()
+                              .build();
+        iiifItem2 = ItemBuilder.createItem(context, col1)
+                               .withTitle("Test Item2")
+                               .withIssueDate("2017-10-17")
+                               .enableIIIF()
+                               .build();
+
+        // Add jpeg image bitstreams (300 x 200)
+        InputStream input = this.getClass().getResourceAsStream("cat.jpg");
+        bitstream = BitstreamBuilder
+            .createBitstream(context, iiifItem, input)
+            .withName("Bitstream.jpg")
+            .withMimeType("image/jpeg")
+            .build();
+
+        input = this.getClass().getResourceAsStream("cat.jpg");
+        bitstream2 = BitstreamBuilder
+            .createBitstream(context, iiifItem2, input)
+            .withName("Bitstream2.jpg")
+            .withMimeType("image/jpeg")
+            .build();
+        // the worker threads read the bitstreams with their own Context
+        context.commit();
+        context.restoreAuthSystemState();
+
+        String id = col1.getID().toString();
+        execCanvasScriptWithThreads(id);
+
+        // Both bitstreams are read by the workers and updated in a single batch.
+        assertTrue(bitstream.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
+                            .anyMatch(m -> m.getValue().contentEquals("400")));
+        assertTrue(bitstream.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                            .anyMatch(m -> m.getValue().contentEquals("600")));
+        assertTrue(bitstream2.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
+                            .anyMatch(m -> m.getValue().contentEquals("400")));
+        assertTrue(bitstream2.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                            .anyMatch(m -> m.getValue().contentEquals("600")));
+        Pattern regex = Pattern.compile(".*2 IIIF items were processed", Pattern.DOTALL);
+        assertTrue(regex.matcher(StringUtils.chomp(outContent.toString())).find());
+    }
+
     private void execCanvasScript(String id) throws Exception {
         runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id);
     }
@@ -597,4 +650,8 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
         runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-s", skip, "-f");
     }
 
+    private void execCanvasScriptWithThreads(String id) throws Exception {
+        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-t", "2", "-b", "10");
+    }
+
 }
@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.script;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AdaptiveRateLimiter}.
+ */
+public class AdaptiveRateLimiterTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testThrottledAndRecovered() {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(20, 2);
+        assertEquals(20, rateLimiter.getRate(), DELTA);
+
+        rateLimiter.onThrottled();
+        assertEquals(10, rateLimiter.getRate(), DELTA);
+        rateLimiter.onThrottled();
+        rateLimiter.onThrottled();
+        assertEquals(2.5, rateLimiter.getRate(), DELTA);
+        rateLimiter.onThrottled();
+        assertEquals(2, rateLimiter.getRate(), DELTA);
+
+        rateLimiter.onSuccess();
+        assertEquals(3, rateLimiter.getRate(), DELTA);
+        for (int i = 0; i < 30; i++) {
+            rateLimiter.onSuccess();
+        }
+        assertEquals(20, rateLimiter.getRate(), DELTA);
+    }
+}
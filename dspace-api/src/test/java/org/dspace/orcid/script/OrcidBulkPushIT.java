@@ -215,6 +215,45 @@ public class OrcidBulkPushIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testWithSupersededOrcidQueueRecords() throws Exception {
+
+        Item profileItem = createProfileItemItem("0000-1111-2222-3333", eperson, BATCH);
+        Item entity = createPublication("First publication");
+
+        when(orcidClientMock.update(any(), eq("0000-1111-2222-3333"), any(), eq("98765")))
+            .thenReturn(updatedResponse("98765"));
+
+        createOrcidQueue(context, profileItem, entity);
+        createOrcidQueue(context, profileItem, entity, "98765");
+
+        context.commit();
+
+        TestDSpaceRunnableHandler handler = runBulkSynchronization(false);
+
+        String profileItemId = profileItem.getID().toString();
+
+        assertThat(handler.getInfoMessages(), hasSize(4));
+        assertThat(handler.getInfoMessages(), containsInAnyOrder(
+            "Found 2 queue records to synchronize with ORCID",
+            "Removed 1 queue records superseded by a later change",
+            "Update of Publication for profile with ID: " + profileItemId + " by put code 98765",
+            "History record created with status 200. The operation was completed successfully"));
+
+        assertThat(handler.getErrorMessages(), empty());
+        assertThat(handler.getWarningMessages(), empty());
+
+        verify(orcidClientMock).update(any(), eq("0000-1111-2222-3333"), any(), eq("98765"));
+
+        verifyNoMoreInteractions(orcidClientMock);
+
+        assertThat(orcidQueueService.findAll(context), empty());
+
+        List<OrcidHistory> historyRecords = orcidHistoryService.findAll(context);
+        assertThat(historyRecords, hasSize(1));
+        assertThat(historyRecords, hasItem(matches(history(profileItem, entity, 200, UPDATE))));
+    }
+
     @Test
     public void testWithVeryLongTitleQueueRecords() throws Exception {
         Item firstProfileItem = createProfileItemItem("0000-1111-2222-3333", eperson, BATCH);
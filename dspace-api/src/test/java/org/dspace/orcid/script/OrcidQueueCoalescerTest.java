@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.script;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.orcid.OrcidOperation;
+import org.dspace.orcid.OrcidQueue;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link OrcidQueueCoalescer}.
+ */
+public class OrcidQueueCoalescerTest {
+
+    private final Item firstProfile = item();
+
+    private final Item secondProfile = item();
+
+    private final Item firstEntity = item();
+
+    private final Item secondEntity = item();
+
+    @Test
+    public void testCoalesceRepeatedChanges() {
+        OrcidQueue insertion = record(1, firstProfile, firstEntity, null, OrcidOperation.INSERT);
+        OrcidQueue otherEntity = record(2, firstProfile, secondEntity, null, OrcidOperation.INSERT);
+        OrcidQueue update = record(3, firstProfile, firstEntity, "12345", OrcidOperation.UPDATE);
+        OrcidQueue otherProfile = record(4, secondProfile, firstEntity, null, OrcidOperation.INSERT);
+        OrcidQueue lastUpdate = record(5, firstProfile, firstEntity, "12345", OrcidOperation.UPDATE);
+
+        List<OrcidQueue> superseded = new ArrayList<>();
+        List<OrcidQueue> coalesced = OrcidQueueCoalescer.coalesce(
+            List.of(lastUpdate, insertion, otherEntity, update, otherProfile), superseded);
+
+        assertThat(coalesced, contains(otherEntity, otherProfile, lastUpdate));
+        assertThat(superseded, contains(insertion, update));
+    }
+
+    @Test
+    public void testCoalesceDeletions() {
+        OrcidQueue deletion = record(1, firstProfile, null, "11111", OrcidOperation.DELETE);
+        OrcidQueue sameDeletion = record(2, firstProfile, null, "11111", OrcidOperation.DELETE);
+        OrcidQueue otherDeletion = record(3, firstProfile, null, "22222", OrcidOperation.DELETE);
+
+        List<OrcidQueue> superseded = new ArrayList<>();
+        List<OrcidQueue> coalesced = OrcidQueueCoalescer.coalesce(List.of(deletion, sameDeletion, otherDeletion),
+            superseded);
+
+        assertThat(coalesced, contains(sameDeletion, otherDeletion));
+        assertThat(superseded, contains(deletion));
+    }
+
+    @Test
+    public void testKeepDeletionOfAnotherPutCode() {
+        OrcidQueue deletion = profileRecord(1, "signature", "11111", OrcidOperation.DELETE);
+        OrcidQueue insertion = profileRecord(2, "signature", null, OrcidOperation.INSERT);
+        OrcidQueue otherSignature = profileRecord(3, "other", null, OrcidOperation.INSERT);
+
+        List<OrcidQueue> superseded = new ArrayList<>();
+        List<OrcidQueue> coalesced = OrcidQueueCoalescer.coalesce(List.of(deletion, insertion, otherSignature),
+            superseded);
+
+        assertThat(coalesced, contains(deletion, insertion, otherSignature));
+        assertThat(superseded, empty());
+    }
+
+    @Test
+    public void testGroupByProfileItem() {
+        OrcidQueue first = record(1, firstProfile, firstEntity, null, OrcidOperation.INSERT);
+        OrcidQueue second = record(2, secondProfile, firstEntity, null, OrcidOperation.INSERT);
+        OrcidQueue third = record(3, firstProfile, secondEntity, null, OrcidOperation.INSERT);
+
+        Map<UUID, List<OrcidQueue>> recordsByProfileItem =
+            OrcidQueueCoalescer.groupByProfileItem(List.of(first, second, third));
+
+        assertThat(recordsByProfileItem.keySet(), contains(firstProfile.getID(), secondProfile.getID()));
+        assertThat(recordsByProfileItem.get(firstProfile.getID()), contains(first, third));
+        assertThat(recordsByProfileItem.get(secondProfile.getID()), contains(second));
+    }
+
+    private OrcidQueue record(int id, Item profileItem, Item entity, String putCode, OrcidOperation operation) {
+        OrcidQueue record = new OrcidQueue();
+        record.setID(id);
+        record.setProfileItem(profileItem);
+        record.setEntity(entity);
+        record.setPutCode(putCode);
+        record.setRecordType("Publication");
+        record.setOperation(operation);
+        return record;
+    }
+
+    private OrcidQueue profileRecord(int id, String signature, String putCode, OrcidOperation operation) {
+        OrcidQueue record = record(id, firstProfile, firstProfile, putCode, operation);
+        record.setRecordType("KEYWORDS");
+        record.setMetadata(signature);
+        return record;
+    }
+
+    private Item item() {
+        Item item = mock(Item.class);
+        UUID id = UUID.randomUUID();
+        when(item.getID()).thenReturn(id);
+        return item;
+    }
+}
@@ -10,6 +10,9 @@ package org.dspace.statistics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.io.Writer;
@@ -19,13 +22,24 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.content.Community;
@@ -34,6 +48,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.statistics.service.SolrLoggerService.DocumentUpdater;
 import org.dspace.utils.DSpace;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -303,4 +318,193 @@ public class SolrLoggerServiceImplIT
         }
         assertEquals("Wrong number of documents remaining --", 1, nDocs);
     }
+
+    /**
+     * Test of bulkUpdate method, of class SolrLoggerServiceImpl: the documents of several years are read with a
+     * cursor in small batches, by several threads, and only the requested fields are changed.
+     *
+     * @throws Exception passed through.
+     */
+    @Test
+    public void testBulkUpdate()
+            throws Exception {
+        SolrLoggerServiceImpl instance = createInstance();
+
+        String[] times = { "2019-05-01T10:00:00Z", "2021-05-01T10:00:00Z", Instant.now().toString() };
+        SolrClient client = new EmbeddedSolrClientFactory().getClient(cfg.getProperty("solr-statistics.server"));
+        for (int i = 0; i < 12; i++) {
+            SolrInputDocument doc = new SolrInputDocument();
+            doc.setField(F_STATISTICS_TYPE, SolrLoggerServiceImpl.StatisticsType.VIEW);
+            doc.setField(F_TYPE, String.valueOf(i % 4 == 0 ? Constants.ITEM : Constants.COMMUNITY));
+            doc.setField(F_IP, NOT_BOT_IP);
+            doc.setField(F_DNS, NOT_BOT_DNS);
+            doc.setField(F_AGENT, NOT_BOT_AGENT);
+            doc.setField(F_TIME, times[i % 3]);
+            client.add(doc);
+        }
+        client.commit(true, true);
+
+        AtomicInteger batches = new AtomicInteger();
+        long updated = instance.bulkUpdate(F_TYPE + ":" + Constants.COMMUNITY, List.of(F_DNS), 2, 2,
+            new DocumentUpdater() {
+                @Override
+                public SolrInputDocument update(SolrDocument document) {
+                    assertEquals(NOT_BOT_DNS, document.getFieldValue(F_DNS));
+                    SolrInputDocument update = new SolrInputDocument();
+                    update.addField(F_DNS, Map.of("set", BOT_DNS));
+                    return update;
+                }
+
+                @Override
+                public void afterBatch() {
+                    batches.incrementAndGet();
+                }
+            });
+
+        assertEquals("Wrong number of updated documents", 9, updated);
+        // three documents per year, read two at a time
+        assertTrue("The documents are not read in batches", batches.get() >= 6);
+
+        QueryResponse response = client.query(new SolrQuery(Q_ALL).setRows(20));
+        assertEquals(12, response.getResults().getNumFound());
+        for (SolrDocument document : response.getResults()) {
+            boolean community = String.valueOf(Constants.COMMUNITY).equals(String.valueOf(document.get(F_TYPE)));
+            assertEquals(community ? BOT_DNS : NOT_BOT_DNS, document.getFieldValue(F_DNS));
+            // the other fields are kept by the atomic updates
+            assertEquals(NOT_BOT_IP, document.getFieldValue(F_IP));
+            assertEquals(NOT_BOT_AGENT, document.getFieldValue(F_AGENT));
+        }
+    }
+
+    /**
+     * Test of update method, of class SolrLoggerServiceImpl, which changes the matching documents in place.
+     *
+     * @throws Exception passed through.
+     */
+    @Test
+    public void testUpdate()
+            throws Exception {
+        SolrLoggerServiceImpl instance = createInstance();
+
+        SolrClient client = new EmbeddedSolrClientFactory().getClient(cfg.getProperty("solr-statistics.server"));
+        for (String ip : List.of(NOT_BOT_IP, BOT_IP)) {
+            SolrInputDocument doc = new SolrInputDocument();
+            doc.setField(F_STATISTICS_TYPE, SolrLoggerServiceImpl.StatisticsType.VIEW);
+            doc.setField(F_TYPE, String.valueOf(Constants.COMMUNITY));
+            doc.setField(F_IP, ip);
+            doc.setField(F_DNS, NOT_BOT_DNS);
+            doc.setField(F_TIME, Instant.now().toString());
+            client.add(doc);
+        }
+        client.commit(true, true);
+
+        instance.update(F_IP + ":\"" + BOT_IP + "\"", "replace", List.of(F_DNS), List.of(List.of(BOT_DNS)));
+
+        QueryResponse response = client.query(new SolrQuery(Q_ALL).setRows(10));
+        assertEquals(2, response.getResults().getNumFound());
+        for (SolrDocument document : response.getResults()) {
+            Object dns = document.getFieldValue(F_DNS);
+            String expected = BOT_IP.equals(document.getFieldValue(F_IP)) ? BOT_DNS : NOT_BOT_DNS;
+            assertEquals(expected, dns instanceof List ? ((List<?>) dns).get(0) : dns);
+        }
+    }
+
+    /**
+     * Test of the counts of a facet field answered from the daily rollups and from the views which are not rolled
+     * up yet: a value among the most viewed of one part only also gets its views of the other part.
+     *
+     * @throws Exception passed through.
+     */
+    @Test
+    public void testQueryFacetFieldFromRollups()
+            throws Exception {
+        Instant watermark = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant();
+        SolrClient rollupClient = mock(SolrClient.class);
+        when(rollupClient.query(any(SolrParams.class))).thenAnswer(invocation -> {
+            SolrParams params = invocation.getArgument(0);
+            List<String> filterQueries = Arrays.asList(params.getParams(CommonParams.FQ));
+            assertTrue("The rollups are not restricted to the days rolled up",
+                       filterQueries.contains("time:[* TO " + watermark + "}"));
+            if (filterQueries.stream().anyMatch(filterQuery -> filterQuery.startsWith(F_ID + ":("))) {
+                return rollupResponse(Map.of("B", 10L, "D", 5L, "A", 1L));
+            }
+            return rollupResponse(Map.of("B", 10L, "D", 5L));
+        });
+        SolrLoggerServiceImpl instance = initialize(new SolrLoggerServiceImpl() {
+            @Override
+            protected SolrClient getRollupClient() {
+                return rollupClient;
+            }
+
+            @Override
+            protected Instant getRollupWatermark(boolean refresh) {
+                return watermark;
+            }
+        });
+
+        // the views of today, which are not rolled up
+        SolrClient client = new EmbeddedSolrClientFactory().getClient(cfg.getProperty("solr-statistics.server"));
+        for (String id : List.of("A", "A", "A", "B", "C", "C")) {
+            SolrInputDocument doc = new SolrInputDocument();
+            doc.setField(F_STATISTICS_TYPE, SolrLoggerServiceImpl.StatisticsType.VIEW.text());
+            doc.setField(F_TYPE, String.valueOf(Constants.ITEM));
+            doc.setField(F_ID, id);
+            doc.setField(F_TIME, Instant.now().toString());
+            client.add(doc);
+        }
+        client.commit(true, true);
+
+        ObjectCount[] counts = instance.queryFacetField("*:*", StatisticsRollup.VIEWS_FILTER, F_ID, 2, true, null, 1);
+
+        assertEquals(3, counts.length);
+        // B is not among the two most viewed today, but its views of today are counted
+        assertEquals("B", counts[0].getValue());
+        assertEquals(11, counts[0].getCount());
+        assertEquals("D", counts[1].getValue());
+        assertEquals(5, counts[1].getCount());
+        assertEquals("total", counts[2].getValue());
+        assertEquals(21, counts[2].getCount());
+    }
+
+    /**
+     * @return a response of the rollup core to a json.facet counting the views of the values of a field
+     */
+    private QueryResponse rollupResponse(Map<String, Long> views) {
+        List<NamedList<Object>> buckets = new ArrayList<>();
+        for (Map.Entry<String, Long> value : views.entrySet()) {
+            NamedList<Object> bucket = new NamedList<>();
+            bucket.add("val", value.getKey());
+            bucket.add("count", 1L);
+            bucket.add("views", value.getValue());
+            buckets.add(bucket);
+        }
+        NamedList<Object> values = new NamedList<>();
+        values.add("buckets", buckets);
+        NamedList<Object> facets = new NamedList<>();
+        facets.add("count", (long) views.size());
+        facets.add("views", views.values().stream().mapToLong(Long::longValue).sum());
+        facets.add("values", values);
+        NamedList<Object> response = new NamedList<>();
+        response.add("response", new SolrDocumentList());
+        response.add("facets", facets);
+        return new QueryResponse(response, null);
+    }
+
+    private SolrLoggerServiceImpl createInstance() throws Exception {
+        return initialize(new SolrLoggerServiceImpl());
+    }
+
+    private SolrLoggerServiceImpl initialize(SolrLoggerServiceImpl instance) throws Exception {
+        ContentServiceFactory csf = ContentServiceFactory.getInstance();
+        DSpace dspace = new DSpace();
+
+        instance.bitstreamService = csf.getBitstreamService();
+        instance.contentServiceFactory = csf;
+        instance.configurationService = cfg;
+        instance.clientInfoService = CoreServiceFactory.getInstance().getClientInfoService();
+        instance.geoIpService = dspace.getSingletonService(GeoIpService.class);
+        instance.solrStatisticsCore = dspace.getSingletonService(SolrStatisticsCore.class);
+        instance.afterPropertiesSet();
+        return instance;
+    }
 }
@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+
+import org.dspace.statistics.StatisticsPartition.Granularity;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link StatisticsPartition}.
+ */
+public class StatisticsPartitionTest {
+
+    private static final Instant TIME = Instant.parse("2024-05-17T10:15:30Z");
+
+    @Test
+    public void testForTime() {
+        StatisticsPartition year = StatisticsPartition.forTime("statistics", TIME, Granularity.YEAR);
+        assertEquals("statistics-2024", year.getCoreName());
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), year.getStart());
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z"), year.getEnd());
+
+        StatisticsPartition month = StatisticsPartition.forTime("statistics", TIME, Granularity.MONTH);
+        assertEquals("statistics-2024-05", month.getCoreName());
+        assertEquals(Instant.parse("2024-05-01T00:00:00Z"), month.getStart());
+        assertEquals(Instant.parse("2024-06-01T00:00:00Z"), month.getEnd());
+
+        assertEquals("statistics-2025-01",
+                     StatisticsPartition.forTime("statistics", Instant.parse("2024-12-15T00:00:00Z"), Granularity.MONTH)
+                                        .next(Granularity.MONTH).getCoreName());
+        assertEquals("statistics-2025", year.next(Granularity.YEAR).getCoreName());
+    }
+
+    @Test
+    public void testForCoreName() {
+        StatisticsPartition year = StatisticsPartition.forCoreName("statistics", "statistics-2023");
+        assertEquals(Instant.parse("2023-01-01T00:00:00Z"), year.getStart());
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), year.getEnd());
+
+        StatisticsPartition month = StatisticsPartition.forCoreName("statistics", "statistics-2023-02");
+        assertEquals(Instant.parse("2023-02-01T00:00:00Z"), month.getStart());
+        assertEquals(Instant.parse("2023-03-01T00:00:00Z"), month.getEnd());
+
+        StatisticsPartition other = StatisticsPartition.forCoreName("statistics", "statistics-temp");
+        assertNull(other.getStart());
+        assertNull(other.next(Granularity.YEAR));
+        assertTrue(other.overlaps(TIME, TIME));
+    }
+
+    @Test
+    public void testOverlaps() {
+        StatisticsPartition month = StatisticsPartition.forTime("statistics", TIME, Granularity.MONTH);
+        assertTrue(month.overlaps(null, null));
+        assertTrue(month.overlaps(Instant.parse("2024-01-01T00:00:00Z"), null));
+        assertTrue(month.overlaps(null, Instant.parse("2024-05-01T00:00:00Z")));
+        assertTrue(month.overlaps(Instant.parse("2024-05-31T23:59:59Z"), Instant.parse("2024-07-01T00:00:00Z")));
+        assertFalse(month.overlaps(Instant.parse("2024-06-01T00:00:00Z"), null));
+        assertFalse(month.overlaps(null, Instant.parse("2024-04-30T23:59:59Z")));
+        assertFalse(month.overlaps(Instant.parse("2023-01-01T00:00:00Z"), Instant.parse("2023-12-31T00:00:00Z")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGranularityFromConfig() {
+        assertNull(Granularity.fromConfig(null));
+        assertNull(Granularity.fromConfig("none"));
+        assertEquals(Granularity.YEAR, Granularity.fromConfig("year"));
+        assertEquals(Granularity.MONTH, Granularity.fromConfig(" Month "));
+        Granularity.fromConfig("week");
+    }
+}
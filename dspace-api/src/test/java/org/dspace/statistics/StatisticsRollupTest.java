@@ -0,0 +1,98 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link StatisticsRollup}.
+ */
+public class StatisticsRollupTest {
+
+    private static final String ITEM_VIEWS = "type:2 AND id:0f8bf5c4-ff21-4b6c-a5a3-44c5b0cb2b3a";
+
+    @Test
+    public void testAdd() {
+        StatisticsRollup rollup = new StatisticsRollup(LocalDate.of(2024, 5, 17));
+        rollup.add(view("item-1", "BE", "coll-1", "coll-2"));
+        rollup.add(view("item-1", "BE", "coll-2", "coll-1"));
+        rollup.add(view("item-1", "FR", "coll-1", "coll-2"));
+        rollup.add(view("item-2", "BE", "coll-1"));
+
+        List<SolrInputDocument> documents = rollup.getDocuments();
+        assertEquals(3, documents.size());
+        long total = 0;
+        for (SolrInputDocument document : documents) {
+            assertTrue(((String) document.getFieldValue("uid")).startsWith("2024-05-17-"));
+            assertEquals(Date.from(Instant.parse("2024-05-17T12:00:00Z")), document.getFieldValue("time"));
+            assertEquals("view", document.getFieldValue("statistics_type"));
+            long count = (Long) document.getFieldValue(StatisticsRollup.COUNT_FIELD);
+            if ("item-1".equals(document.getFieldValue("id")) && "BE".equals(document.getFieldValue("countryCode"))) {
+                assertEquals(2, count);
+                assertEquals(2, document.getFieldValues("owningColl").size());
+            }
+            total += count;
+        }
+        assertEquals(4, total);
+    }
+
+    @Test
+    public void testGetDayRange() {
+        assertEquals("time:[2024-05-17T00:00:00Z TO 2024-05-18T00:00:00Z}",
+                     StatisticsRollup.getDayRange(LocalDate.of(2024, 5, 17)));
+    }
+
+    @Test
+    public void testSupports() {
+        String views = StatisticsRollup.VIEWS_FILTER;
+        assertTrue(StatisticsRollup.supports(ITEM_VIEWS, views, null, null, null));
+        assertTrue(StatisticsRollup.supports(ITEM_VIEWS, views, "countryCode", null, null));
+        assertTrue(StatisticsRollup.supports(ITEM_VIEWS, views, null, "MONTH", null));
+        assertTrue(StatisticsRollup.supports("owningComm:c1", "(time:[2024-01-01T00:00:00Z TO 2024-06-01T00:00:00Z])"
+            + " AND " + views, "id", null, List.of("bundleName:ORIGINAL AND type:0")));
+        assertTrue(StatisticsRollup.supports("owningColl:c1", "time:[NOW/MONTH-6MONTHS TO NOW/DAY+1DAY] AND " + views,
+                                             null, null, null));
+
+        // not restricted to the views
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, null, null, null, null));
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, "statistics_type:search", null, null, null));
+        // fields which are not rolled up
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, views, "city", null, null));
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS + " AND -ip:127.0.0.1", views, null, null, null));
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, views, null, null, List.of("epersonid:e1")));
+        // finer than a day
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, views, null, "HOUR", null));
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, "time:[2024-01-01T10:00:00Z TO *] AND " + views,
+                                              null, null, null));
+        assertFalse(StatisticsRollup.supports(ITEM_VIEWS, "time:[NOW-1DAY TO NOW] AND " + views, null, null, null));
+    }
+
+    private SolrDocument view(String id, String countryCode, String... owningColls) {
+        SolrDocument view = new SolrDocument();
+        view.addField("uid", id + "-" + countryCode + "-" + owningColls.length);
+        view.addField("type", 2);
+        view.addField("id", id);
+        view.addField("countryCode", countryCode);
+        for (String owningColl : owningColls) {
+            view.addField("owningColl", owningColl);
+        }
+        view.addField("isBot", false);
+        return view;
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.statistics.Dataset;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Test the cache of the datasets of {@link StatisticsDataVisits}.
+ */
+public class StatisticsDataVisitsIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String CACHE_ENABLED = "usage-statistics.dataset.cache.enabled";
+
+    // not in the spider lists
+    private static final String IP = "192.168.1.1";
+    private static final String AGENT = "Firefox";
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final SolrLoggerService solrLoggerService
+        = StatisticsServiceFactory.getInstance().getSolrLoggerService();
+
+    @After
+    public void clearCache() {
+        configurationService.setProperty(CACHE_ENABLED, null);
+        DSpaceServicesFactory.getInstance().getServiceManager()
+                             .getServiceByName("cacheManager", CacheManager.class)
+                             .getCache(StatisticsDataVisits.DATASET_CACHE).clear();
+    }
+
+    /**
+     * A report asked again is served from the cache, while a report with other generators is computed.
+     */
+    @Test
+    public void testDatasetCache() throws Exception {
+        configurationService.setProperty(CACHE_ENABLED, true);
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Visited").build();
+        context.restoreAuthSystemState();
+
+        solrLoggerService.postView(item, IP, AGENT, null, null);
+        solrLoggerService.commit();
+        assertEquals("1", getTotalVisits(item, 10));
+
+        solrLoggerService.postView(item, IP, AGENT, null, null);
+        solrLoggerService.commit();
+        assertEquals("1", getTotalVisits(item, 10));
+        assertEquals("2", getTotalVisits(item, 5));
+    }
+
+    /**
+     * The key of a dataset depends on all the generators and their parameters, not only on the first one.
+     */
+    @Test
+    public void testCacheKeyIncludesAllGenerators() {
+        StatisticsDataVisits visits = new StatisticsDataVisits();
+        visits.addDatasetGenerator(makeTimeAxis());
+        visits.addDatasetGenerator(makeDsoAxis(10, -1));
+
+        StatisticsDataVisits same = new StatisticsDataVisits();
+        same.addDatasetGenerator(makeTimeAxis());
+        same.addDatasetGenerator(makeDsoAxis(10, -1));
+
+        StatisticsDataVisits otherMax = new StatisticsDataVisits();
+        otherMax.addDatasetGenerator(makeTimeAxis());
+        otherMax.addDatasetGenerator(makeDsoAxis(5, -1));
+
+        StatisticsDataVisits otherNameLength = new StatisticsDataVisits();
+        otherNameLength.addDatasetGenerator(makeTimeAxis());
+        otherNameLength.addDatasetGenerator(makeDsoAxis(10, 20));
+
+        String key = visits.getCacheKey(List.of(), false, "", 0);
+        assertEquals(key, same.getCacheKey(List.of(), false, "", 0));
+        assertNotEquals(key, otherMax.getCacheKey(List.of(), false, "", 0));
+        assertNotEquals(key, otherNameLength.getCacheKey(List.of(), false, "", 0));
+    }
+
+    private String getTotalVisits(Item item, int max) throws Exception {
+        StatisticsListing listing = new StatisticsListing(new StatisticsDataVisits(item));
+        listing.addDatasetGenerator(makeDsoAxis(max, -1));
+        Dataset dataset = listing.getDataset(context, 1);
+        return dataset.getMatrix()[0][0];
+    }
+
+    private DatasetTimeGenerator makeTimeAxis() {
+        DatasetTimeGenerator timeAxis = new DatasetTimeGenerator();
+        timeAxis.setDateInterval("month", "-6", "+1");
+        return timeAxis;
+    }
+
+    private DatasetDSpaceObjectGenerator makeDsoAxis(int max, int nameLength) {
+        DatasetDSpaceObjectGenerator dsoAxis = new DatasetDSpaceObjectGenerator();
+        dsoAxis.addDsoChild(Constants.ITEM, max, false, nameLength);
+        return dsoAxis;
+    }
+}
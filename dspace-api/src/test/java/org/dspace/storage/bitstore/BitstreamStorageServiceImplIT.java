@@ -10,12 +10,18 @@ package org.dspace.storage.bitstore;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
@@ -185,6 +191,113 @@ public class BitstreamStorageServiceImplIT extends AbstractIntegrationTestWithDa
         assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(3));
     }
 
+    /**
+     * Test a migration with several threads, verifying and removing the source copies
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testParallelMigration() throws Exception {
+        Context context = this.context;
+
+        DSBitStoreService destinationStore = new DSBitStoreService();
+        destinationStore.setBaseDir(tempStoreDir.newFolder("dest"));
+        bitstreamStorageService.getStores().put(DEST_STORE, destinationStore);
+
+        createBitstreams(context, 5);
+        context.commit();
+
+        context.turnOffAuthorisationSystem();
+        bitstreamStorageService.migrate(context, SOURCE_STORE, DEST_STORE, true, 1, 2, true, 0, null);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertThat(bitstreamService.countByStoreNumber(context, SOURCE_STORE).intValue(), equalTo(0));
+        assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(5));
+
+        Iterator<Bitstream> bitstreams = bitstreamService.findByStoreNumber(context, DEST_STORE);
+        while (bitstreams.hasNext()) {
+            Bitstream bitstream = bitstreams.next();
+            try (InputStream in = bitstreamStorageService.retrieve(context, bitstream)) {
+                assertThat(IOUtils.toString(in, UTF_8), startsWith("Test bitstream "));
+            }
+            assertThat(bitstreamStorageService.getStores().get(SOURCE_STORE)
+                                              .about(bitstream, List.of("size_bytes")), nullValue());
+        }
+    }
+
+    /**
+     * Test that an interrupted migration using a ledger does not copy the verified bitstreams again
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testResumeMigrationWithLedger() throws Exception {
+        Context context = this.context;
+
+        // Destination assetstore fails after two bitstreams have been copied
+        LimitedTempDSBitStoreService destinationStore = new LimitedTempDSBitStoreService(tempStoreDir, 2);
+        bitstreamStorageService.getStores().put(DEST_STORE, destinationStore);
+        Path ledger = tempStoreDir.getRoot().toPath().resolve("migration.ledger");
+
+        createBitstreams(context, 5);
+        context.commit();
+
+        context.turnOffAuthorisationSystem();
+        try {
+            bitstreamStorageService.migrate(context, SOURCE_STORE, DEST_STORE, false, 3, 1, false, 0, ledger);
+            fail("IOException should have been thrown");
+        } catch (IOException ioe) {
+            context.rollback();
+        }
+
+        // The first batch was not committed, but two copies were recorded
+        assertThat(bitstreamService.countByStoreNumber(context, SOURCE_STORE).intValue(), equalTo(5));
+        assertThat(Files.readAllLines(ledger).size(), equalTo(2));
+
+        destinationStore.maxPuts = Integer.MAX_VALUE;
+        bitstreamStorageService.migrate(context, SOURCE_STORE, DEST_STORE, false, 3, 1, false, 0, ledger);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(5));
+        // only the three bitstreams missing from the ledger were copied on the second run
+        assertThat(destinationStore.putCallCount, equalTo(6));
+    }
+
+    /**
+     * Test the set-based cleanup of deleted bitstreams
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testCleanupWithThreads() throws Exception {
+        Context context = this.context;
+        DSBitStoreService sourceStore = (DSBitStoreService) bitstreamStorageService.getStores().get(SOURCE_STORE);
+
+        context.turnOffAuthorisationSystem();
+        Bitstream kept = createBitstream("Kept bitstream");
+        List<Bitstream> deleted = List.of(createBitstream("Deleted bitstream 1"),
+                                          createBitstream("Deleted bitstream 2"),
+                                          createBitstream("Deleted bitstream 3"));
+        for (Bitstream bitstream : deleted) {
+            bitstreamService.delete(context, bitstream);
+            // files younger than an hour are left for the next run
+            assertThat(sourceStore.getFile(bitstream).setLastModified(0), equalTo(true));
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(bitstreamService.countDeletedBitstreams(context), equalTo(3));
+
+        bitstreamStorageService.cleanup(true, false, 2);
+
+        assertThat(bitstreamService.countDeletedBitstreams(context), equalTo(0));
+        for (Bitstream bitstream : deleted) {
+            assertThat(sourceStore.getFile(bitstream).exists(), equalTo(false));
+        }
+        assertThat(sourceStore.getFile(kept).exists(), equalTo(true));
+    }
+
     private void createBitstreams(Context context, int numBitstreams)
         throws SQLException {
         context.turnOffAuthorisationSystem();
@@ -0,0 +1,126 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.subscriptions;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.crosswalk.StreamDisseminationCrosswalk;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.subscriptions.service.SubscriptionGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Test the runs of the {@link ContentGenerator}.
+ */
+public class ContentGeneratorIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private ContentGenerator contentGenerator;
+
+    private StreamDisseminationCrosswalk crosswalk;
+
+    private Item item;
+
+    private EPerson subscriber1;
+
+    private EPerson subscriber2;
+
+    @Before
+    public void setUpGenerator() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("New item").build();
+        subscriber1 = EPersonBuilder.createEPerson(context).withEmail("subscriber1@example.org").build();
+        subscriber2 = EPersonBuilder.createEPerson(context).withEmail("subscriber2@example.org").build();
+        context.restoreAuthSystemState();
+
+        crosswalk = mock(StreamDisseminationCrosswalk.class);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("New item".getBytes(UTF_8));
+            return null;
+        }).when(crosswalk).disseminate(any(), any(), any());
+
+        contentGenerator = new ContentGenerator();
+        ReflectionTestUtils.setField(contentGenerator, "itemService",
+                                     ContentServiceFactory.getInstance().getItemService());
+        ReflectionTestUtils.setField(contentGenerator, "configurationService", configurationService);
+        contentGenerator.setEntityType2Disseminator(Map.of("Item", crosswalk));
+    }
+
+    @After
+    public void restoreThreads() {
+        configurationService.setProperty("subscription.email.threads", null);
+    }
+
+    /**
+     * An item is rendered once for all its subscribers within a run.
+     */
+    @Test
+    public void testItemRenderedOncePerRun() throws Exception {
+        SubscriptionGenerator.Run<IndexableObject> run = contentGenerator.startRun(context);
+        run.notifyForSubscriptions(subscriber1, List.of(), List.of(new IndexableItem(item)));
+        run.notifyForSubscriptions(subscriber2, List.of(), List.of(new IndexableItem(item)));
+        run.finish();
+        verify(crosswalk, times(1)).disseminate(any(), eq(item), any());
+
+        // the next run renders the item again
+        run = contentGenerator.startRun(context);
+        run.notifyForSubscriptions(subscriber1, List.of(), List.of(new IndexableItem(item)));
+        run.finish();
+        verify(crosswalk, times(2)).disseminate(any(), eq(item), any());
+    }
+
+    /**
+     * Runs in progress at the same time keep their own rendered items and senders: finishing one run does not
+     * affect the other.
+     */
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        configurationService.setProperty("subscription.email.threads", 2);
+        SubscriptionGenerator.Run<IndexableObject> run1 = contentGenerator.startRun(context);
+        SubscriptionGenerator.Run<IndexableObject> run2 = contentGenerator.startRun(context);
+
+        run1.notifyForSubscriptions(subscriber1, List.of(), List.of(new IndexableItem(item)));
+        run2.notifyForSubscriptions(subscriber1, List.of(), List.of(new IndexableItem(item)));
+        verify(crosswalk, times(2)).disseminate(any(), eq(item), any());
+
+        run1.finish();
+        run2.notifyForSubscriptions(subscriber2, List.of(), List.of(new IndexableItem(item)));
+        run2.finish();
+        verify(crosswalk, times(2)).disseminate(any(), eq(item), any());
+    }
+}
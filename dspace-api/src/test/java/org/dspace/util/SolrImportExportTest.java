@@ -0,0 +1,66 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+import org.dspace.AbstractDSpaceTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link SolrImportExport}.
+ */
+public class SolrImportExportTest extends AbstractDSpaceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A resumed export must delete the chunks written for an incomplete month, whose names depend on the number of
+     * documents of the month when they were written, so that they are not imported along with the new chunks.
+     */
+    @Test
+    public void testDeleteMonthFiles() throws IOException {
+        File dir = folder.getRoot();
+        String[] kept = {
+            "statistics_export_2020-01.csv.gz.done",
+            "statistics_export_2020-02.csv.gz",
+            "statistics_export_2020-010.csv",
+            "statistics-temp_export_2020-01.csv.gz",
+            "statistics_import.progress"
+        };
+        String[] deleted = {
+            "statistics_export_2020-01.csv",
+            "statistics_export_2020-01.csv.gz",
+            "statistics_export_2020-01_0.csv.gz",
+            "statistics_export_2020-01_1.csv.gz",
+            "statistics_export_2020-01_01.csv.gz.part"
+        };
+        for (String name : kept) {
+            new File(dir, name).createNewFile();
+        }
+        for (String name : deleted) {
+            new File(dir, name).createNewFile();
+        }
+
+        SolrImportExport.deleteMonthFiles(dir, "statistics", YearMonth.of(2020, 1));
+
+        String[] remaining = dir.list();
+        Arrays.sort(remaining);
+        String[] expected = kept.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, remaining);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.versioning.script;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.VersionBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.scripts.DSpaceCommandLineParameter;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.dspace.versioning.Version;
+import org.dspace.versioning.VersionHistory;
+import org.dspace.versioning.factory.VersionServiceFactory;
+import org.dspace.versioning.service.VersionHistoryService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the "create-version" script, which must enforce the same rules as the versions endpoint.
+ */
+public class CreateVersionIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private final VersionHistoryService versionHistoryService
+        = VersionServiceFactory.getInstance().getVersionHistoryService();
+
+    private Item item;
+
+    @Before
+    public void createItem() {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Versioned item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void restoreVersioning() {
+        configurationService.setProperty("versioning.enabled", null);
+    }
+
+    @Test
+    public void testCreateVersion() throws Exception {
+        assertEquals(0, runDSpaceScript("create-version", "-i", item.getID().toString(), "-s", "summary"));
+
+        Version version = getLatestVersion();
+        assertEquals(2, version.getVersionNumber());
+        assertEquals("summary", version.getSummary());
+        VersionBuilder.delete(version.getID());
+    }
+
+    /**
+     * No version is created while the latest version is still in the workspace.
+     */
+    @Test
+    public void testLatestVersionInSubmission() throws Exception {
+        context.turnOffAuthorisationSystem();
+        VersionBuilder.createVersion(context, item, "in workspace").build();
+        context.restoreAuthSystemState();
+
+        try {
+            runDSpaceScript("create-version", "-i", item.getID().toString());
+            fail("A version was created while the latest version is in submission");
+        } catch (IllegalStateException e) {
+            assertEquals(2, getLatestVersion().getVersionNumber());
+        }
+    }
+
+    @Test
+    public void testVersioningDisabled() throws Exception {
+        configurationService.setProperty("versioning.enabled", false);
+        context.setCurrentUser(admin);
+        assertFalse(getConfiguration().isAllowedToExecute(context, List.of(
+            new DSpaceCommandLineParameter("-i", item.getID().toString()))));
+
+        try {
+            runDSpaceScript("create-version", "-i", item.getID().toString());
+            fail("A version was created while versioning is disabled");
+        } catch (IllegalStateException e) {
+            assertNull(versionHistoryService.findByItem(context, context.reloadEntity(item)));
+        }
+    }
+
+    /**
+     * A malformed or unknown item id does not allow the script, and does not fail either.
+     */
+    @Test
+    public void testIsAllowedToExecuteWithInvalidItem() throws Exception {
+        context.setCurrentUser(eperson);
+        assertFalse(getConfiguration().isAllowedToExecute(context, List.of(
+            new DSpaceCommandLineParameter("-i", "not-a-uuid"))));
+        assertFalse(getConfiguration().isAllowedToExecute(context, List.of(
+            new DSpaceCommandLineParameter("-i", "00000000-0000-0000-0000-000000000000"))));
+
+        context.setCurrentUser(admin);
+        assertTrue(getConfiguration().isAllowedToExecute(context, List.of(
+            new DSpaceCommandLineParameter("-i", item.getID().toString()))));
+    }
+
+    private Version getLatestVersion() throws Exception {
+        VersionHistory versionHistory = versionHistoryService.findByItem(context, context.reloadEntity(item));
+        return versionHistoryService.getLatestVersion(context, versionHistory);
+    }
+
+    private CreateVersionScriptConfiguration<?> getConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("create-version",
+                                                                 CreateVersionScriptConfiguration.class);
+    }
+}
@@ -13,6 +13,7 @@ import java.util.UUID;
 import org.dspace.app.iiif.service.AnnotationListService;
 import org.dspace.app.iiif.service.CanvasLookupService;
 import org.dspace.app.iiif.service.ManifestService;
+import org.dspace.app.iiif.service.ManifestStoreService;
 import org.dspace.app.iiif.service.SearchService;
 import org.dspace.app.iiif.service.utils.IIIFUtils;
 import org.dspace.content.Item;
@@ -52,6 +53,9 @@ public class IIIFServiceFacade {
     @Autowired
     CanvasLookupService canvasLookupService;
 
+    @Autowired
+    ManifestStoreService manifestStoreService;
+
     @Autowired
     IIIFUtils utils;
 
@@ -62,7 +66,9 @@ public class IIIFServiceFacade {
      * includes the descriptive, rights and linking information for the object. It then embeds
      * the sequence(s) of canvases that should be rendered to the user.
      *
-     * Returns manifest for single DSpace item.
+     * Returns manifest for single DSpace item. When the manifest store is enabled, the precomputed
+     * manifest is returned if available, otherwise the manifest is generated anonymously and stored.
+     * The manifests of items which are not anonymously readable are never stored.
      *
      * @param id DSpace Item uuid
      * @return manifest as JSON
@@ -80,6 +86,17 @@ public class IIIFServiceFacade {
         if (item == null || !utils.isIIIFEnabled(item)) {
             throw new ResourceNotFoundException("IIIF manifest for  id " + id + " not found");
         }
+        if (manifestStoreService.isEnabled()) {
+            String manifest;
+            try {
+                manifest = manifestStoreService.getManifest(context, id);
+            } catch (SQLException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            if (manifest != null) {
+                return manifest;
+            }
+        }
         return manifestService.getManifest(item, context);
     }
 
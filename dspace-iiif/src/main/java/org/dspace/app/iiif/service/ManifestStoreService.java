@@ -0,0 +1,342 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.iiif.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.iiif.service.utils.IIIFUtils;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.iiif.ManifestInvalidation;
+import org.dspace.iiif.ManifestInvalidationService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.AbstractRequestAttributes;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Persistent store of precomputed IIIF manifests. Every manifest is stored as a JSON document named after the
+ * Item uuid in the directory configured by "iiif.manifest.store.dir".
+ * <p>
+ * Stored manifests are always generated anonymously, within their own request scope and with an anonymous
+ * read-only Context, so that they never depend on the user who first requested them. The manifests of Items
+ * which are not anonymously readable are not stored.
+ * </p>
+ * <p>
+ * The IIIF event consumer of every DSpace process records the modified Items through the
+ * {@link ManifestInvalidationService}. A stored manifest invalidated after it was written is regenerated before
+ * being served, and the recorded invalidations are processed every "iiif.manifest.store.delay" seconds by a bounded
+ * pool of "iiif.manifest.store.threads" workers. Documents are replaced atomically so readers never see a partial
+ * manifest.
+ * </p>
+ */
+@Service
+public class ManifestStoreService {
+
+    private static final Logger log = LogManager.getLogger(ManifestStoreService.class);
+
+    // The ehcache region which also holds the manifests, see IIIFServiceFacade.getManifest
+    private static final String CACHE_NAME = "manifests";
+
+    private static final String FILE_SUFFIX = ".json";
+
+    // Number of invalidations processed per transaction
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    AuthorizeService authorizeService;
+
+    @Autowired
+    ManifestService manifestService;
+
+    @Autowired
+    ManifestInvalidationService manifestInvalidationService;
+
+    @Autowired
+    IIIFUtils utils;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ConfigurationService configurationService;
+
+    private ExecutorService executor;
+
+    /**
+     * @return true if manifests should be read from and maintained in the store
+     */
+    public boolean isEnabled() {
+        return manifestInvalidationService.isEnabled();
+    }
+
+    /**
+     * Get the stored manifest of an Item. The manifest is generated and stored first if it is not stored yet or if
+     * it has been invalidated since it was stored.
+     *
+     * @param context the DSpace context, used to check the invalidations
+     * @param itemId  the Item uuid
+     * @return the manifest as JSON, or null if the manifest of the Item cannot be stored
+     * @throws SQLException if a database error occurs
+     */
+    public String getManifest(Context context, UUID itemId) throws SQLException {
+        Path path = getPath(itemId);
+        try {
+            if (Files.exists(path) && !manifestInvalidationService.isInvalidated(context, itemId,
+                Files.getLastModifiedTime(path).toInstant())) {
+                return Files.readString(path, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            log.error("Unable to read the stored IIIF manifest of item {}", itemId, e);
+        }
+        return regenerate(itemId);
+    }
+
+    /**
+     * Generate the manifest of an Item anonymously and store it, replacing any previous version. The stored
+     * document is removed if the Item no longer exists, is no longer IIIF enabled or is not anonymously readable.
+     *
+     * @param itemId the Item uuid
+     * @return the manifest as JSON, or null if no manifest is stored for the Item
+     */
+    public String regenerate(UUID itemId) {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        // the scope of the current HTTP request, if any, is restored after the generation
+        RequestAttributes currentAttributes = RequestContextHolder.getRequestAttributes();
+        ManifestRequestAttributes requestAttributes = new ManifestRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            String manifest = null;
+            Item item = itemService.find(context, itemId);
+            if (item != null && utils.isIIIFEnabled(item)
+                && authorizeService.authorizeActionBoolean(context, item, Constants.READ)) {
+                manifest = manifestService.getManifest(item, context);
+                storeManifest(itemId, manifest);
+            } else {
+                Files.deleteIfExists(getPath(itemId));
+            }
+            // make sure a stale copy read while we were generating is not kept in the cache
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.evictIfPresent(itemId.toString());
+            }
+            return manifest;
+        } catch (SQLException | IOException | RuntimeException e) {
+            log.error("Unable to regenerate the IIIF manifest of item {}", itemId, e);
+            return null;
+        } finally {
+            requestAttributes.requestCompleted();
+            if (currentAttributes != null) {
+                RequestContextHolder.setRequestAttributes(currentAttributes);
+            } else {
+                RequestContextHolder.resetRequestAttributes();
+            }
+            context.abort();
+        }
+    }
+
+    /**
+     * Regenerate the manifests invalidated by any DSpace process, oldest invalidations first. An invalidation of
+     * every manifest regenerates all the stored ones. The invalidations are removed once processed.
+     */
+    @Scheduled(fixedDelayString = "${iiif.manifest.store.delay:60}", timeUnit = TimeUnit.SECONDS)
+    public void processInvalidations() {
+        if (!isEnabled()) {
+            return;
+        }
+        Context context = new Context();
+        try {
+            List<ManifestInvalidation> invalidations;
+            do {
+                invalidations = manifestInvalidationService.findInvalidations(context, BATCH_SIZE);
+                Set<UUID> itemIds = new LinkedHashSet<>();
+                boolean all = false;
+                for (ManifestInvalidation invalidation : invalidations) {
+                    if (invalidation.getItemId() == null) {
+                        all = true;
+                    } else {
+                        itemIds.add(invalidation.getItemId());
+                    }
+                }
+                if (all) {
+                    itemIds.addAll(getStoredItemIds());
+                }
+                regenerate(itemIds);
+                manifestInvalidationService.delete(context, invalidations);
+                context.commit();
+            } while (invalidations.size() == BATCH_SIZE);
+        } catch (SQLException | IOException e) {
+            log.error("Unable to process the IIIF manifest invalidations", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            context.abort();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Store the manifest of an Item, replacing any previous version.
+     *
+     * @param itemId   the Item uuid
+     * @param manifest the manifest as JSON
+     * @throws IOException if the manifest cannot be written
+     */
+    private void storeManifest(UUID itemId, String manifest) throws IOException {
+        Path path = getPath(itemId);
+        Files.createDirectories(path.getParent());
+        Path tmp = Files.createTempFile(path.getParent(), itemId.toString(), ".tmp");
+        Files.writeString(tmp, manifest, StandardCharsets.UTF_8);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void regenerate(Set<UUID> itemIds) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(itemIds.size());
+        for (UUID itemId : itemIds) {
+            tasks.add(() -> regenerate(itemId));
+        }
+        getExecutor().invokeAll(tasks);
+    }
+
+    private Set<UUID> getStoredItemIds() throws IOException {
+        Set<UUID> itemIds = new LinkedHashSet<>();
+        Path dir = getStoreDirectory();
+        if (!Files.isDirectory(dir)) {
+            return itemIds;
+        }
+        try (Stream<Path> files = Files.walk(dir, 2)) {
+            files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).forEach(file -> {
+                String name = StringUtils.removeEnd(file.getFileName().toString(), FILE_SUFFIX);
+                try {
+                    itemIds.add(UUID.fromString(name));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring unexpected file {} in the IIIF manifest store", file);
+                }
+            });
+        }
+        return itemIds;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, configurationService.getIntProperty("iiif.manifest.store.threads", 2));
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("iiif-manifest-store-"));
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    private Path getStoreDirectory() {
+        return Paths.get(configurationService.getProperty("iiif.manifest.store.dir",
+            configurationService.getProperty("dspace.dir") + "/iiif/manifests"));
+    }
+
+    private Path getPath(UUID itemId) {
+        // spread documents over 256 sub-directories
+        String name = itemId.toString();
+        return getStoreDirectory().resolve(name.substring(0, 2)).resolve(name + FILE_SUFFIX);
+    }
+
+    /**
+     * Minimal request scope used while generating manifests.
+     */
+    private static class ManifestRequestAttributes extends AbstractRequestAttributes {
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+            removeRequestDestructionCallback(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+            if (scope == RequestAttributes.SCOPE_REQUEST) {
+                registerRequestDestructionCallback(name, callback);
+            }
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return "";
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            return this;
+        }
+
+        @Override
+        protected void updateAccessedSessionAttributes() {
+        }
+    }
+}
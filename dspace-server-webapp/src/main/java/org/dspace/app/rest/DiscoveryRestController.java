@@ -28,6 +28,7 @@ import org.dspace.app.rest.model.hateoas.FacetConfigurationResource;
 import org.dspace.app.rest.model.hateoas.FacetResultsResource;
 import org.dspace.app.rest.model.hateoas.FacetsResource;
 import org.dspace.app.rest.model.hateoas.SearchConfigurationResource;
+import org.dspace.app.rest.model.hateoas.SearchResultEntryResource;
 import org.dspace.app.rest.model.hateoas.SearchResultsResource;
 import org.dspace.app.rest.model.hateoas.SearchSupportResource;
 import org.dspace.app.rest.parameter.SearchFilter;
@@ -157,7 +158,15 @@ public class DiscoveryRestController implements InitializingBean {
                 configuration, searchFilters, page, utils.obtainProjection());
 
             //Convert the Search JSON results to paginated HAL resources
-            SearchResultsResource searchResultsResource = new SearchResultsResource(searchResultsRest, utils, page);
+            SearchResultsResource searchResultsResource;
+            if (utils.isStreamingResponse(page)) {
+                // the result entries are only converted while the response is written
+                searchResultsResource = new SearchResultsResource(searchResultsRest, page,
+                    entry -> (SearchResultEntryResource) halLinkService
+                        .addLinks(new SearchResultEntryResource(entry, utils)));
+            } else {
+                searchResultsResource = new SearchResultsResource(searchResultsRest, utils, page);
+            }
             halLinkService.addLinks(searchResultsResource, page);
             return searchResultsResource;
         } catch (IllegalArgumentException e) {
@@ -48,6 +48,8 @@ import org.dspace.app.rest.model.RestModel;
 import org.dspace.app.rest.model.hateoas.DSpaceResource;
 import org.dspace.app.rest.model.hateoas.EmbeddedPage;
 import org.dspace.app.rest.model.hateoas.HALResource;
+import org.dspace.app.rest.model.hateoas.StreamingPagedResource;
+import org.dspace.app.rest.model.hateoas.StreamingResourceList;
 import org.dspace.app.rest.model.patch.Patch;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.repository.LinkRestRepository;
@@ -58,6 +60,7 @@ import org.dspace.util.UUIDUtils;
 import org.springframework.aop.AopInvocationException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -70,6 +73,7 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.LinkRelationProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -118,6 +122,10 @@ public class RestResourceController implements InitializingBean {
     @Autowired
     ConverterService converter;
 
+    @Autowired
+    @Qualifier("dspaceLinkRelationProvider")
+    LinkRelationProvider linkRelationProvider;
+
     @Override
     public void afterPropertiesSet() {
         List<Link> links = new ArrayList<>();
@@ -976,7 +984,7 @@ public class RestResourceController implements InitializingBean {
      */
     @RequestMapping(method = RequestMethod.GET, value = {"", "/"})
     @SuppressWarnings("unchecked")
-    public <T extends RestAddressableModel> PagedModel<DSpaceResource<T>> findAll(@PathVariable String apiCategory,
+    public <T extends RestAddressableModel> RepresentationModel findAll(@PathVariable String apiCategory,
             @PathVariable String model, Pageable page, PagedResourcesAssembler assembler, HttpServletResponse response,
             @RequestParam MultiValueMap<String, Object> parameters) {
 
@@ -984,19 +992,48 @@ public class RestResourceController implements InitializingBean {
         DSpaceRestRepository<T, ?> repository = utils.getResourceRepository(apiCategory, model);
         Link link = linkTo(this.getClass(), apiCategory, model).slash(encodedParameterString).withSelfRel();
 
-        Page<DSpaceResource<T>> resources;
+        Page<T> restObjects;
         try {
-            resources = repository.findAll(page).map(converter::toResource);
+            restObjects = repository.findAll(page);
         } catch (PaginationException pe) {
-            resources = new PageImpl<>(new ArrayList<>(), page, pe.getTotal());
+            restObjects = new PageImpl<>(new ArrayList<>(), page, pe.getTotal());
         }
-        PagedModel<DSpaceResource<T>> result = assembler.toModel(resources, link);
+        RepresentationModel result = toPagedModel(repository.getDomainClass(), restObjects, page, assembler, link);
         if (repositoryUtils.haveSearchMethods(repository)) {
             result.add(linkTo(this.getClass(), apiCategory, model).slash("search").withRel("search"));
         }
         return result;
     }
 
+    /**
+     * Convert a page of rest objects to the paged HAL model returned by the collection endpoints. When streaming is
+     * enabled for the requested page (see {@link Utils#isStreamingResponse(Pageable)}) the page content is converted
+     * lazily while the response is written, otherwise all the resources are built before returning.
+     *
+     * @param restClass   the rest class managed by the repository
+     * @param restObjects the page of rest objects
+     * @param pageable    the requested page
+     * @param assembler   the assembler used to build the links and page metadata
+     * @param link        the self link
+     * @return the paged model
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends RestAddressableModel> RepresentationModel toPagedModel(Class<T> restClass, Page<T> restObjects,
+            Pageable pageable, PagedResourcesAssembler assembler, Link link) {
+        if (!utils.isStreamingResponse(pageable) || !restObjects.getPageable().isPaged()) {
+            Page<DSpaceResource<T>> resources = restObjects.map(converter::toResource);
+            return assembler.toModel(resources, link);
+        }
+        // let the assembler compute links and page metadata only, the content is embedded separately
+        Page<DSpaceResource<T>> header = new PageImpl<>(new ArrayList<>(), restObjects.getPageable(),
+                                                        restObjects.getTotalElements());
+        PagedModel<?> pagedModel = assembler.toModel(header, link);
+        String rel = linkRelationProvider.getCollectionResourceRelFor(converter.getResourceClass(restClass)).value();
+        List<DSpaceResource<T>> content = new StreamingResourceList<>(restObjects.getContent(),
+                                                                     restObject -> converter.toResource(restObject));
+        return new StreamingPagedResource(rel, content, pagedModel);
+    }
+
     /**
      * Check that the model is specified in its plural form
      *
@@ -1062,13 +1099,13 @@ public class RestResourceController implements InitializingBean {
         returnPage = searchMethod.getReturnType().isAssignableFrom(Page.class);
         RepresentationModel result = null;
         if (returnPage) {
-            Page<DSpaceResource<T>> resources;
+            Page<T> restObjects;
             if (searchResult == null) {
-                resources = new PageImpl(new ArrayList(), pageable, 0);
+                restObjects = new PageImpl(new ArrayList(), pageable, 0);
             } else {
-                resources = ((Page<T>) searchResult).map(converter::toResource);
+                restObjects = (Page<T>) searchResult;
             }
-            result = assembler.toModel(resources, link);
+            result = toPagedModel(repository.getDomainClass(), restObjects, pageable, assembler, link);
         } else {
             if (searchResult == null) {
                 response.setStatus(HttpServletResponse.SC_NO_CONTENT);
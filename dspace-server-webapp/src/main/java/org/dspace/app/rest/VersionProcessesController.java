@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.dspace.app.rest.converter.ConverterService;
+import org.dspace.app.rest.model.ProcessRest;
+import org.dspace.app.rest.model.VersionRest;
+import org.dspace.app.rest.model.hateoas.ProcessResource;
+import org.dspace.app.rest.repository.VersionRestRepository;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.app.rest.utils.Utils;
+import org.dspace.core.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.ControllerUtils;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This controller allows to create a new version of an item in the background, through the "create-version" script.
+ * It accepts the same request as a POST to the versions endpoint:
+ * <pre>
+ * curl -X POST -H "Content-Type:text/uri-list" \
+ *   http://<dspace.server.url>/api/versioning/versions/processes?summary=... \
+ *   --data "http://<dspace.server.url>/api/core/items/{uuid}"
+ * </pre>
+ * and answers with the started process, whose status can be polled from /api/system/processes/{id}.
+ */
+@RestController
+@RequestMapping("/api/" + VersionRest.CATEGORY + "/" + VersionRest.PLURAL_NAME + "/processes")
+public class VersionProcessesController {
+
+    @Autowired
+    private ConverterService converter;
+
+    @Autowired
+    private VersionRestRepository versionRestRepository;
+
+    @Autowired
+    private Utils utils;
+
+    @RequestMapping(method = RequestMethod.POST, consumes = {"text/uri-list"})
+    @PreAuthorize("hasAuthority('AUTHENTICATED')")
+    public ResponseEntity<RepresentationModel<?>> createVersion(HttpServletRequest request) throws Exception {
+        Context context = ContextUtil.obtainContext(request);
+        List<String> stringList = utils.getStringListFromRequest(request);
+        ProcessRest processRest = versionRestRepository.createInBackground(context, stringList);
+        ProcessResource processResource = converter.toResource(processRest);
+        context.complete();
+        return ControllerUtils.toResponseEntity(HttpStatus.ACCEPTED, new HttpHeaders(), processResource);
+    }
+}
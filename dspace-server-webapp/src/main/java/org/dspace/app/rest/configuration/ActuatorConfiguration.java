@@ -14,6 +14,7 @@ import java.util.Arrays;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
+import org.dspace.app.rest.health.OrcidQueueHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
@@ -95,6 +96,13 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("orcidQueue")
+    @ConditionalOnProperty(value = "orcid.synchronization-enabled", matchIfMissing = true)
+    public OrcidQueueHealthIndicator orcidQueueHealthIndicator() {
+        return new OrcidQueueHealthIndicator();
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
@@ -312,6 +312,21 @@ public class ConverterService {
         return halResource;
     }
 
+    /**
+     * Gets the {@link HALResource} subclass that {@link #toResource(RestModel)} creates for the given rest class.
+     *
+     * @param restClass the rest class.
+     * @return the resource class.
+     * @throws IllegalArgumentException if there is no compatible resource class.
+     */
+    public Class<?> getResourceClass(Class<? extends RestModel> restClass) {
+        Constructor constructor = resourceConstructors.get(restClass);
+        if (constructor == null) {
+            throw new IllegalArgumentException("No constructor found to get resource class from " + restClass);
+        }
+        return constructor.getDeclaringClass();
+    }
+
     /**
      * Gets the projection with the given name, or the default (no-op) projection if null is given.
      *
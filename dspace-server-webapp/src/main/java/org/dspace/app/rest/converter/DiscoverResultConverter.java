@@ -9,17 +9,20 @@ package org.dspace.app.rest.converter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.app.rest.converter.query.SearchQueryConverter;
 import org.dspace.app.rest.model.RestAddressableModel;
 import org.dspace.app.rest.model.SearchResultEntryRest;
 import org.dspace.app.rest.model.SearchResultsRest;
 import org.dspace.app.rest.parameter.SearchFilter;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.IndexableObject;
@@ -47,6 +50,8 @@ public class DiscoverResultConverter {
     private DiscoverFacetsConverter facetConverter;
     @Autowired
     private SearchFilterToAppliedFilterConverter searchFilterToAppliedFilterConverter;
+    @Autowired
+    private AccessStatusService accessStatusService;
 
     public SearchResultsRest convert(final Context context, final String query, final List<String> dsoTypes,
                                      final String configurationName, final String scope,
@@ -59,7 +64,7 @@ public class DiscoverResultConverter {
 
         setRequestInformation(context, query, dsoTypes, configurationName, scope, searchFilters, page, resultsRest);
 
-        addSearchResults(searchResult, resultsRest, projection);
+        addSearchResults(context, searchResult, resultsRest, projection);
 
         addFacetValues(context, searchResult, resultsRest, configuration, projection);
 
@@ -73,8 +78,15 @@ public class DiscoverResultConverter {
         facetConverter.addFacetValues(context, searchResult, resultsRest, configuration, projection);
     }
 
-    private void addSearchResults(final DiscoverResult searchResult, final SearchResultsRest resultsRest,
-                                  final Projection projection) {
+    private void addSearchResults(final Context context, final DiscoverResult searchResult,
+                                  final SearchResultsRest resultsRest, final Projection projection) {
+        // If the access status of the items is embedded, compute it for the whole page at once
+        accessStatusService.prefetchAccessStatus(context,
+            CollectionUtils.emptyIfNull(searchResult.getIndexableObjects()).stream()
+                           .map(IndexableObject::getIndexedObject)
+                           .filter(Item.class::isInstance)
+                           .map(Item.class::cast)
+                           .collect(Collectors.toList()));
         for (IndexableObject dspaceObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
             SearchResultEntryRest resultEntry = new SearchResultEntryRest();
             resultEntry.setProjection(projection);
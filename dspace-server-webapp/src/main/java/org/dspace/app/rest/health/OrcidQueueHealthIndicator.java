@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.dspace.core.Context;
+import org.dspace.orcid.service.OrcidQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that exposes the depth of the ORCID
+ * queue and the time waited by its oldest record, reporting issues if the
+ * records wait longer than "orcid.bulk-synchronization.max-queue-latency"
+ * seconds.
+ */
+public class OrcidQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private OrcidQueueService orcidQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            builder.up().withDetail("depth", orcidQueueService.countAll(context));
+
+            Optional<Instant> oldest = orcidQueueService.findOldestCreationDate(context);
+            if (oldest.isEmpty()) {
+                return;
+            }
+
+            long latency = Duration.between(oldest.get(), Instant.now()).getSeconds();
+            builder.withDetail("oldest", oldest.get().toString()).withDetail("latency", latency);
+
+            long maxLatency = configurationService.getLongProperty("orcid.bulk-synchronization.max-queue-latency", 0);
+            if (maxLatency > 0 && latency > maxLatency) {
+                builder.status(UP_WITH_ISSUES_STATUS)
+                    .withDetail("reason", "The oldest record waits in the ORCID queue since " + latency + " seconds");
+            }
+        } finally {
+            context.abort();
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.rest.model.hateoas.EmbeddedPage;
 import org.dspace.app.rest.model.hateoas.HALResource;
+import org.dspace.app.rest.model.hateoas.StreamingResourceList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.domain.Pageable;
@@ -53,7 +54,10 @@ public class HalLinkService {
         halResource.add(links);
 
         for (Object obj : halResource.getEmbeddedResources().values()) {
-            if (obj instanceof Collection) {
+            if (obj instanceof StreamingResourceList) {
+                // streamed elements are linked by their converter while they are written
+                continue;
+            } else if (obj instanceof Collection) {
                 for (Object subObj : (Collection) obj) {
                     if (subObj instanceof HALResource) {
                         addLinks((HALResource) subObj);
@@ -67,6 +71,9 @@ public class HalLinkService {
                 }
             } else if (obj instanceof EmbeddedPage) {
                 for (Map.Entry<String, List> pageContent : ((EmbeddedPage) obj).getPageContent().entrySet()) {
+                    if (pageContent.getValue() instanceof StreamingResourceList) {
+                        continue;
+                    }
                     for (Object subObj : CollectionUtils.emptyIfNull(pageContent.getValue())) {
                         if (subObj instanceof HALResource) {
                             addLinks((HALResource) subObj);
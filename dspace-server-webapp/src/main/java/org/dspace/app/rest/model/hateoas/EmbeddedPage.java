@@ -36,6 +36,25 @@ public class EmbeddedPage extends EmbeddedPageHeader {
         embeddedPageContent.put(relation, page.getContent());
     }
 
+    /**
+     * Create an embedded page whose content is provided separately from the page used to build the header. This
+     * allows a {@link StreamingResourceList} to be embedded without it being copied (and thus fully converted) into
+     * the {@link Page}.
+     *
+     * @param self                 the self link of the page
+     * @param page                 the page providing number, size and total elements
+     * @param content              the content to embed
+     * @param totalElementsIsKnown whether the total number of elements is known
+     * @param relation             the relation under which the content is embedded
+     * @return the embedded page
+     */
+    public static EmbeddedPage ofContent(String self, Page page, List content, boolean totalElementsIsKnown,
+                                         String relation) {
+        EmbeddedPage embeddedPage = new EmbeddedPage(self, page, content, totalElementsIsKnown, relation);
+        embeddedPage.embeddedPageContent.put(relation, content);
+        return embeddedPage;
+    }
+
     @JsonProperty(value = "_embedded")
     public Map<String, List> getPageContent() {
         return embeddedPageContent;
@@ -7,8 +7,10 @@
  */
 package org.dspace.app.rest.model.hateoas;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.collections4.CollectionUtils;
@@ -36,6 +38,22 @@ public class SearchResultsResource extends HALResource<SearchResultsRest> {
         addEmbeds(data, utils, pageable);
 
     }
+
+    /**
+     * Create a search results resource whose search result entries are only converted while the response is
+     * written, see {@link StreamingResourceList}.
+     *
+     * @param data          the search results
+     * @param pageable      the requested page
+     * @param entryConverter function building a fully linked resource from a single search result entry
+     */
+    public SearchResultsResource(final SearchResultsRest data, Pageable pageable,
+                                 final Function<SearchResultEntryRest, SearchResultEntryResource> entryConverter) {
+        super(data);
+        embedStreamingSearchResults(data, pageable, entryConverter);
+        embedFacetResults(data);
+    }
+
     private void addEmbeds(final SearchResultsRest data, final Utils utils, Pageable pageable) {
         embedSearchResults(data, utils, pageable);
 
@@ -62,4 +80,18 @@ public class SearchResultsResource extends HALResource<SearchResultsRest> {
                 page, entryResources, "objects");
         embedResource("searchResult", embeddedPage);
     }
+    private void embedStreamingSearchResults(final SearchResultsRest data, Pageable pageable,
+                                             final Function<SearchResultEntryRest, SearchResultEntryResource>
+                                                 entryConverter) {
+        List<SearchResultEntryRest> entries = data.getSearchResults() != null ? data.getSearchResults()
+            : Collections.emptyList();
+        entryResources = new StreamingResourceList<>(entries, entryConverter);
+
+        Page page = new PageImpl<>(Collections.emptyList(), pageable, data.getTotalNumberOfResults());
+
+        SearchResultsResourceHalLinkFactory linkFactory = new SearchResultsResourceHalLinkFactory();
+        EmbeddedPage embeddedPage = EmbeddedPage.ofContent(linkFactory.buildSearchBaseLink(data).toUriString(),
+                page, entryResources, true, "objects");
+        embedResource("searchResult", embeddedPage);
+    }
 }
@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.model.hateoas;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Paged collection resource whose embedded content is a {@link StreamingResourceList}.
+ * <p>
+ * It renders the same HAL document as the {@link PagedModel} produced by the
+ * {@link org.springframework.data.web.PagedResourcesAssembler} ("_embedded", "_links" and "page"), but the embedded
+ * collection is serialized as a plain list so that the elements are converted one by one while the response is
+ * written, rather than all being materialized up-front.
+ * </p>
+ */
+public class StreamingPagedResource extends RepresentationModel<StreamingPagedResource> {
+
+    private final Map<String, List> embedded;
+
+    private final PagedModel.PageMetadata pageMetadata;
+
+    /**
+     * @param rel          the collection relation used as key inside "_embedded"
+     * @param content      the lazily converted page content
+     * @param pagedModel   a paged model (usually without content) providing the links and page metadata
+     */
+    public StreamingPagedResource(String rel, List content, PagedModel<?> pagedModel) {
+        this.embedded = content.isEmpty() ? Collections.emptyMap() : Collections.singletonMap(rel, content);
+        this.pageMetadata = pagedModel.getMetadata();
+        add(pagedModel.getLinks());
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonProperty("_embedded")
+    public Map<String, List> getEmbeddedResources() {
+        return embedded;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("page")
+    public PagedModel.PageMetadata getPageMetadata() {
+        return pageMetadata;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.model.hateoas;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A read-only list view that converts the elements of an underlying list into HAL resources on access.
+ * <p>
+ * Converted elements are never retained: every call to {@link #get(int)} runs the conversion again. When this list
+ * is handed to Jackson, each resource (including its embeds) is therefore built just before it is written to the
+ * response and becomes garbage right after, so that only one element's object graph is held in memory at a time
+ * instead of the whole page.
+ * </p><p>
+ * Because of this, callers must not iterate this list outside of serialization, and any link decoration has to be
+ * part of the conversion function (see {@link org.dspace.app.rest.link.HalLinkService}, which skips these lists).
+ * </p>
+ *
+ * @param <S> the type of the source elements
+ * @param <R> the type of the converted resources
+ */
+public class StreamingResourceList<S, R> extends AbstractList<R> implements RandomAccess {
+
+    private final List<S> source;
+
+    private final Function<S, R> converter;
+
+    public StreamingResourceList(List<S> source, Function<S, R> converter) {
+        this.source = source;
+        this.converter = converter;
+    }
+
+    @Override
+    public R get(int index) {
+        return converter.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
@@ -8,13 +8,16 @@
 package org.dspace.app.rest.repository;
 
 import java.sql.SQLException;
+import java.util.List;
 import java.util.UUID;
 
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
+import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.BundleRest;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.BundleService;
@@ -39,6 +42,9 @@ public class BundleBitstreamLinkRepository extends AbstractDSpaceRestRepository
     @Autowired
     BundleService bundleService;
 
+    @Autowired
+    AccessStatusService accessStatusService;
+
     @PreAuthorize("hasPermission(#bundleId, 'BUNDLE', 'READ')")
     public Page<BitstreamRest> getBitstreams(@Nullable HttpServletRequest request,
                                              UUID bundleId,
@@ -51,7 +57,12 @@ public class BundleBitstreamLinkRepository extends AbstractDSpaceRestRepository
                 throw new ResourceNotFoundException("No such bundle: " + bundleId);
             }
             Pageable pageable = utils.getPageable(optionalPageable);
-            return converter.toRestPage(bundle.getBitstreams(), pageable, projection);
+            List<Bitstream> bitstreams = bundle.getBitstreams();
+            // If the access status of the bitstreams is embedded, compute it for the whole page at once
+            int from = (int) Math.min(pageable.getOffset(), bitstreams.size());
+            int to = Math.min(from + pageable.getPageSize(), bitstreams.size());
+            accessStatusService.prefetchAccessStatus(context, bitstreams.subList(from, to));
+            return converter.toRestPage(bitstreams, pageable, projection);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -106,14 +106,14 @@ public class PoolTaskRestRepository extends DSpaceRestRepository<PoolTaskRest, I
             }
             if (authorizeService.isAdmin(context) || userID.equals(currentUser.getID())) {
                 EPerson ep = epersonService.find(context, userID);
-                List<PoolTask> tasks = poolTaskService.findByEperson(context, ep);
-                return converter.toRestPage(tasks, pageable, utils.obtainProjection());
+                List<PoolTask> tasks = poolTaskService.findByEperson(context, ep, pageable.getPageSize(),
+                                                                     Math.toIntExact(pageable.getOffset()));
+                long total = poolTaskService.countByEperson(context, ep);
+                return converter.toRestPage(tasks, pageable, total, utils.obtainProjection());
             } else {
                 throw new RESTAuthorizationException("Only administrators can search for pool tasks of other users");
             }
-        } catch (AuthorizeException e) {
-            throw new RESTAuthorizationException(e);
-        } catch (SQLException | IOException e) {
+        } catch (SQLException e) {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
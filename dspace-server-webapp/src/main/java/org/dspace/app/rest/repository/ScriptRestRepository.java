@@ -102,6 +102,23 @@ public class ScriptRestRepository extends DSpaceRestRepository<ScriptRest, Strin
         String properties = requestService.getCurrentRequest().getServletRequest().getParameter("properties");
         List<DSpaceCommandLineParameter> dSpaceCommandLineParameters =
             processPropertiesToDSpaceCommandLineParameters(properties);
+        return startProcess(context, scriptName, dSpaceCommandLineParameters, files);
+    }
+
+    /**
+     * Start a process for the given script with the given parameters, e.g. for a long running operation of another
+     * endpoint which can then be followed from the processes endpoint.
+     * @param scriptName                  The name of the script to start
+     * @param dSpaceCommandLineParameters The parameters of the script
+     * @param files                       Any files that need to be passed to the script, or null
+     * @return A ProcessRest object representing the started process for this script
+     * @throws SQLException If something goes wrong
+     * @throws IOException  If something goes wrong
+     */
+    public ProcessRest startProcess(Context context, String scriptName,
+                                    List<DSpaceCommandLineParameter> dSpaceCommandLineParameters,
+                                    List<MultipartFile> files)
+        throws SQLException, IOException, AuthorizeException, IllegalAccessException, InstantiationException {
         ScriptConfiguration scriptToExecute = scriptService.getScriptConfiguration(scriptName);
 
         if (scriptToExecute == null) {
@@ -6,7 +6,9 @@
  * http://www.dspace.org/license/
  */
 package org.dspace.app.rest.repository;
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -17,6 +19,7 @@ import org.dspace.app.rest.converter.ConverterService;
 import org.dspace.app.rest.exception.DSpaceBadRequestException;
 import org.dspace.app.rest.exception.RepositoryMethodNotImplementedException;
 import org.dspace.app.rest.exception.UnprocessableEntityException;
+import org.dspace.app.rest.model.ProcessRest;
 import org.dspace.app.rest.model.VersionRest;
 import org.dspace.app.rest.model.patch.Operation;
 import org.dspace.app.rest.model.patch.Patch;
@@ -29,6 +32,7 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
+import org.dspace.scripts.DSpaceCommandLineParameter;
 import org.dspace.services.ConfigurationService;
 import org.dspace.versioning.Version;
 import org.dspace.versioning.VersionHistory;
@@ -78,6 +82,9 @@ public class VersionRestRepository extends DSpaceRestRepository<VersionRest, Int
     @Autowired
     private WorkspaceItemService workspaceItemService;
 
+    @Autowired
+    private ScriptRestRepository scriptRestRepository;
+
     @SuppressWarnings("rawtypes")
     @Autowired(required = true)
     protected WorkflowItemService workflowItemService;
@@ -104,7 +111,43 @@ public class VersionRestRepository extends DSpaceRestRepository<VersionRest, Int
 
         HttpServletRequest req = getRequestService().getCurrentRequest().getHttpServletRequest();
         String summary = req.getParameter("summary");
+        Item item = findItemToVersion(context, req, stringList);
+
+        Version version = StringUtils.isNotBlank(summary) ?
+                          versioningService.createNewVersion(context, item, summary) :
+                          versioningService.createNewVersion(context, item);
+        return converter.toRest(version, utils.obtainProjection());
+    }
+
+    /**
+     * Start a process creating a new version of the item referenced by the given uri list. Copying a large item
+     * may take longer than a request, so the version is created in the background and the returned process can be
+     * polled until it is completed. Its output gives the id of the new version.
+     *
+     * @param context    the DSpace context
+     * @param stringList the uri list, referencing a single item
+     * @return the process creating the version
+     */
+    @PreAuthorize("@versioningSecurity.isEnableVersioning() && hasAuthority('AUTHENTICATED')")
+    public ProcessRest createInBackground(Context context, List<String> stringList)
+        throws AuthorizeException, SQLException, IOException, IllegalAccessException, InstantiationException {
+        HttpServletRequest req = getRequestService().getCurrentRequest().getHttpServletRequest();
+        String summary = req.getParameter("summary");
+        Item item = findItemToVersion(context, req, stringList);
+
+        List<DSpaceCommandLineParameter> parameters = new ArrayList<>();
+        parameters.add(new DSpaceCommandLineParameter("-i", item.getID().toString()));
+        if (StringUtils.isNotBlank(summary)) {
+            parameters.add(new DSpaceCommandLineParameter("-s", summary));
+        }
+        return scriptRestRepository.startProcess(context, "create-version", parameters, null);
+    }
 
+    /**
+     * Resolve the item to create a new version of, and check that the current user can create it.
+     */
+    private Item findItemToVersion(Context context, HttpServletRequest req, List<String> stringList)
+        throws AuthorizeException, SQLException {
         Item item = uriListHandlerService.handle(context, req, stringList, Item.class);
         if (Objects.isNull(item)) {
             throw new UnprocessableEntityException("The given URI list could not be properly parsed to one result");
@@ -136,11 +179,7 @@ public class VersionRestRepository extends DSpaceRestRepository<VersionRest, Int
             throw new UnprocessableEntityException("It is not possible to create a new version"
                                                          + " if the latest one in submisssion!");
         }
-
-        Version version = StringUtils.isNotBlank(summary) ?
-                          versioningService.createNewVersion(context, item, summary) :
-                          versioningService.createNewVersion(context, item);
-        return converter.toRest(version, utils.obtainProjection());
+        return item;
     }
 
     @Override
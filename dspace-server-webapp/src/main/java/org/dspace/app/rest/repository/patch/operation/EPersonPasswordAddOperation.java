@@ -19,6 +19,7 @@ import org.dspace.app.rest.exception.UnprocessableEntityException;
 import org.dspace.app.rest.exception.WrongCurrentPasswordException;
 import org.dspace.app.rest.model.patch.JsonValueEvaluator;
 import org.dspace.app.rest.model.patch.Operation;
+import org.dspace.app.rest.security.jwt.JWTValidatedTokenCache;
 import org.dspace.app.util.AuthorizeUtil;
 import org.dspace.authenticate.service.AuthenticationService;
 import org.dspace.authorize.AuthorizeException;
@@ -68,6 +69,9 @@ public class EPersonPasswordAddOperation<R> extends PatchOperation<R> {
     @Autowired
     private AuthenticationService authenticationService;
 
+    @Autowired
+    private JWTValidatedTokenCache validatedTokenCache;
+
     @Override
     public R perform(Context context, R object, Operation operation) {
 
@@ -98,6 +102,8 @@ public class EPersonPasswordAddOperation<R> extends PatchOperation<R> {
         }
 
         ePersonService.setPassword(eperson, newPassword);
+        // tokens validated with the old password must be verified again
+        validatedTokenCache.evict(eperson.getID());
 
         return object;
     }
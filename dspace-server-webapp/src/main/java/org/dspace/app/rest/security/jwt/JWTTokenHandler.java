@@ -76,6 +76,9 @@ public abstract class JWTTokenHandler {
     @Autowired
     private ClientInfoService clientInfoService;
 
+    @Autowired
+    private JWTValidatedTokenCache validatedTokenCache;
+
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
@@ -125,6 +128,15 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        long start = System.nanoTime();
+        boolean cacheEnabled = validatedTokenCache.isEnabled();
+        if (cacheEnabled) {
+            EPerson ePerson = parseEPersonFromValidatedToken(token, request, context);
+            if (ePerson != null) {
+                validatedTokenCache.recordValidation(true, System.nanoTime() - start);
+                return ePerson;
+            }
+        }
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -141,6 +153,10 @@ public abstract class JWTTokenHandler {
                 jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
             }
 
+            if (cacheEnabled) {
+                validatedTokenCache.put(getTokenSecretConfigurationKey(), token, jwtClaimsSet, ePerson);
+                validatedTokenCache.recordValidation(false, System.nanoTime() - start);
+            }
             return ePerson;
         } else {
             log.warn("{} tried to use an expired or non-valid token", getIpAddress(request));
@@ -148,6 +164,34 @@ public abstract class JWTTokenHandler {
         }
     }
 
+    /**
+     * Retrieve the EPerson from a token which was already validated, without parsing or verifying it again.
+     * The cached claims are only used if the session salt of the EPerson did not change since the validation.
+     *
+     * @param token token as a string
+     * @param request current request
+     * @param context current Context
+     * @return the EPerson of the token, or null if the token is not in the validated token cache
+     * @throws SQLException
+     */
+    private EPerson parseEPersonFromValidatedToken(String token, HttpServletRequest request, Context context)
+        throws SQLException {
+        JWTValidatedTokenCache.ValidatedToken validatedToken =
+            validatedTokenCache.get(getTokenSecretConfigurationKey(), token);
+        if (validatedToken == null) {
+            return null;
+        }
+        EPerson ePerson = ePersonService.find(context, validatedToken.getEPersonId());
+        if (!validatedToken.isValidFor(ePerson)) {
+            validatedTokenCache.evict(getTokenSecretConfigurationKey(), token);
+            return null;
+        }
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, validatedToken.getJwtClaimsSet());
+        }
+        return ePerson;
+    }
+
     /**
      * Create a JWT with the EPerson details in it
      *
@@ -198,6 +242,7 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
+                validatedTokenCache.evict(ePerson.getID());
             }
 
         }
@@ -416,6 +461,7 @@ public abstract class JWTTokenHandler {
                 log.debug("Regenerating auth token as session salt was either empty or expired..");
                 ePerson.setSessionSalt(generateRandomKey());
                 ePersonService.update(context, ePerson);
+                validatedTokenCache.evict(ePerson.getID());
             }
 
         } catch (AuthorizeException e) {
@@ -0,0 +1,227 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security.jwt;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of JSON Web Tokens which have already been decrypted and verified, keyed on a hash of the token.
+ * <p>
+ * A hit lets {@link JWTTokenHandler} skip parsing, decryption and signature verification of the token and reuse
+ * the claims (EPerson id, special groups, authentication method...) it read the first time. The only remaining
+ * lookup is the EPerson itself, which is served by the Hibernate second level cache. A cached token is only accepted
+ * while it is not expired and while the session salt of its EPerson is the one it was signed with, so any salt change
+ * (login with a new salt, logout) invalidates it even when it happens on another node. Entries are also evicted
+ * explicitly on logout and password change through {@link #evict(UUID)}.
+ * </p><p>
+ * The cache is backed by the "jwt.validatedTokens" cache in ehcache.xml, and is disabled unless
+ * "jwt.validation.cache.enabled" is true. The time spent validating tokens is recorded in the
+ * "dspace.rest.jwt.validation" timer, tagged with cache=hit or cache=miss, so that the time saved can be estimated
+ * from the number of hits and the mean duration of a miss.
+ * </p>
+ */
+@Component
+public class JWTValidatedTokenCache {
+
+    private static final Logger log = LogManager.getLogger();
+
+    static final String CACHE_NAME = "jwt.validatedTokens";
+
+    static final String METRIC_NAME = "dspace.rest.jwt.validation";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("jwt.validation.cache.enabled", false);
+    }
+
+    /**
+     * Look up a previously validated token.
+     *
+     * @param namespace namespace of the token handler, so that different kinds of tokens never share entries
+     * @param token     the serialized token
+     * @return the cached validation, or null if the token was not validated before (or its entry expired)
+     */
+    public ValidatedToken get(String namespace, String token) {
+        Cache cache = getCache();
+        if (cache == null) {
+            return null;
+        }
+        ValidatedToken validatedToken = cache.get(getKey(namespace, token), ValidatedToken.class);
+        if (validatedToken != null && validatedToken.isExpired()) {
+            cache.evict(getKey(namespace, token));
+            return null;
+        }
+        return validatedToken;
+    }
+
+    /**
+     * Store the result of a successful validation of the given token.
+     *
+     * @param namespace    namespace of the token handler
+     * @param token        the serialized token
+     * @param jwtClaimsSet the verified claims of the token
+     * @param ePerson      the EPerson the token was signed for
+     */
+    public void put(String namespace, String token, JWTClaimsSet jwtClaimsSet, EPerson ePerson) {
+        Cache cache = getCache();
+        if (cache == null || jwtClaimsSet.getExpirationTime() == null) {
+            return;
+        }
+        cache.put(getKey(namespace, token), new ValidatedToken(jwtClaimsSet, ePerson));
+    }
+
+    /**
+     * Remove a single token from the cache.
+     *
+     * @param namespace namespace of the token handler
+     * @param token     the serialized token
+     */
+    public void evict(String namespace, String token) {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.evict(getKey(namespace, token));
+        }
+    }
+
+    /**
+     * Remove all the tokens of the given EPerson from the cache, e.g. after a logout or a password change.
+     *
+     * @param ePersonId the id of the EPerson
+     */
+    @SuppressWarnings("unchecked")
+    public void evict(UUID ePersonId) {
+        Cache cache = getCache();
+        if (cache == null || ePersonId == null) {
+            return;
+        }
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof javax.cache.Cache) {
+            Iterator<javax.cache.Cache.Entry<Object, Object>> entries =
+                ((javax.cache.Cache<Object, Object>) nativeCache).iterator();
+            while (entries.hasNext()) {
+                javax.cache.Cache.Entry<Object, Object> entry = entries.next();
+                if (entry.getValue() instanceof ValidatedToken
+                    && ePersonId.equals(((ValidatedToken) entry.getValue()).getEPersonId())) {
+                    entries.remove();
+                }
+            }
+        } else {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Record the time spent to validate a token.
+     *
+     * @param hit         whether the validation was answered from the cache
+     * @param nanoseconds the duration of the validation
+     */
+    public void recordValidation(boolean hit, long nanoseconds) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder(METRIC_NAME)
+                 .description("Time spent to validate JSON Web Tokens")
+                 .tag("cache", hit ? "hit" : "miss")
+                 .register(registry)
+                 .record(nanoseconds, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Cache getCache() {
+        if (!isEnabled()) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            log.warn("JWT validation cache is enabled but no {} cache is configured", CACHE_NAME);
+        }
+        return cache;
+    }
+
+    private String getKey(String namespace, String token) {
+        return namespace + ":" + DigestUtils.sha256Hex(token);
+    }
+
+    /**
+     * The outcome of a successful token validation.
+     */
+    public static class ValidatedToken implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JWTClaimsSet jwtClaimsSet;
+
+        private final UUID ePersonId;
+
+        private final String sessionSaltHash;
+
+        private final Instant expirationTime;
+
+        ValidatedToken(JWTClaimsSet jwtClaimsSet, EPerson ePerson) {
+            this.jwtClaimsSet = jwtClaimsSet;
+            this.ePersonId = ePerson.getID();
+            this.sessionSaltHash = DigestUtils.sha256Hex(ePerson.getSessionSalt());
+            this.expirationTime = jwtClaimsSet.getExpirationTime().toInstant();
+        }
+
+        public JWTClaimsSet getJwtClaimsSet() {
+            return jwtClaimsSet;
+        }
+
+        public UUID getEPersonId() {
+            return ePersonId;
+        }
+
+        public boolean isExpired() {
+            return !Instant.now().isBefore(expirationTime);
+        }
+
+        /**
+         * Check that the token is still valid for the given (freshly loaded) EPerson, i.e. that it is the EPerson
+         * the token was issued for and that its session salt did not change since the token was validated.
+         *
+         * @param ePerson the EPerson identified by the token
+         * @return true if the cached validation can be trusted
+         */
+        public boolean isValidFor(EPerson ePerson) {
+            return ePerson != null
+                && Objects.equals(ePersonId, ePerson.getID())
+                && StringUtils.isNotBlank(ePerson.getSessionSalt())
+                && sessionSaltHash.equals(DigestUtils.sha256Hex(ePerson.getSessionSalt()))
+                && !isExpired();
+        }
+    }
+}
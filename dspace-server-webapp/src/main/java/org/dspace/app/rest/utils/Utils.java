@@ -195,6 +195,24 @@ public class Utils {
         return pageContent;
     }
 
+    /**
+     * Whether the given page should be rendered in streaming mode, i.e. with its elements converted to HAL resources
+     * one by one while the response is written (see
+     * {@link org.dspace.app.rest.model.hateoas.StreamingResourceList}). Streaming is enabled by the
+     * "rest.response.streaming.enabled" property and only applies to pages of at least
+     * "rest.response.streaming.min-page-size" elements.
+     *
+     * @param pageable the requested page, may be {@code null}
+     * @return true if the page should be streamed
+     */
+    public boolean isStreamingResponse(@Nullable Pageable pageable) {
+        if (!configurationService.getBooleanProperty("rest.response.streaming.enabled", false)) {
+            return false;
+        }
+        int pageSize = getPageable(pageable).getPageSize();
+        return pageSize >= configurationService.getIntProperty("rest.response.streaming.min-page-size", 50);
+    }
+
     /**
      * Convenience method to get a default pageable instance if needed.
      *
@@ -67,7 +67,8 @@ public class HealthIndicatorsIT extends AbstractControllerIntegrationTest {
                 match("solrSearchCore", Status.UP, Map.of("status", 0, "detectedPathType", "root")),
                 match("solrStatisticsCore", Status.UP, Map.of("status", 0, "detectedPathType", "root")),
                 match("geoIp", UP_WITH_ISSUES_STATUS,
-                    Map.of("reason", "The required 'dbfile' configuration is missing in usage-statistics.cfg!"))
+                    Map.of("reason", "The required 'dbfile' configuration is missing in usage-statistics.cfg!")),
+                match("orcidQueue", Status.UP, Map.of("depth", 0))
                 )));
 
     }
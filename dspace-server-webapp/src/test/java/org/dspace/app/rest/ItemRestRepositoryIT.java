@@ -199,6 +199,59 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
         ;
     }
 
+    @Test
+    public void findAllStreamingTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 1").build();
+
+        List<Item> items = new ArrayList();
+        Comparator<Item> compareByUUID = Comparator.comparing(i -> i.getID().toString());
+        items.add(ItemBuilder.createItem(context, col1).withTitle("Public item 1").withIssueDate("2017-10-17")
+                             .build());
+        items.add(ItemBuilder.createItem(context, col1).withTitle("Public item 2").withIssueDate("2016-02-13")
+                             .build());
+        items.add(ItemBuilder.createItem(context, col1).withTitle("Public item 3").withIssueDate("2016-02-13")
+                             .build());
+        items.sort(compareByUUID);
+
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("rest.response.streaming.enabled", true);
+        configurationService.setProperty("rest.response.streaming.min-page-size", 2);
+
+        String token = getAuthToken(admin.getEmail(), password);
+
+        // a streamed page has the same layout as a regular one, with or without embeds
+        getClient(token).perform(get("/api/core/items").param("size", "2"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.items", Matchers.contains(
+                       ItemMatcher.matchItemProperties(items.get(0)),
+                       ItemMatcher.matchItemProperties(items.get(1))
+                   )))
+                   .andExpect(jsonPath("$._links.self.href", Matchers.containsString("/api/core/items")))
+                   .andExpect(jsonPath("$._links.next.href", Matchers.containsString("page=1")))
+                   .andExpect(jsonPath("$.page.size", is(2)))
+                   .andExpect(jsonPath("$.page.totalElements", is(3)))
+                   .andExpect(jsonPath("$.page.totalPages", is(2)));
+
+        getClient(token).perform(get("/api/core/items").param("size", "2").param("page", "1")
+                                                        .param("embed", "owningCollection"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.items", Matchers.contains(
+                       ItemMatcher.matchItemProperties(items.get(2))
+                   )))
+                   .andExpect(jsonPath("$._embedded.items[0]._embedded.owningCollection.uuid",
+                                       is(col1.getID().toString())))
+                   .andExpect(jsonPath("$._links.prev.href", Matchers.containsString("page=0")))
+                   .andExpect(jsonPath("$.page.number", is(1)))
+                   .andExpect(jsonPath("$.page.totalElements", is(3)));
+    }
+
     @Test
     public void findAllForbiddenTest() throws Exception {
         String tokenEperson = getAuthToken(eperson.getEmail(), password);
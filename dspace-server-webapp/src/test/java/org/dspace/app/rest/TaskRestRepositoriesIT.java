@@ -404,6 +404,18 @@ public class TaskRestRepositoriesIT extends AbstractControllerIntegrationTest {
             .andExpect(jsonPath("$._links.self.href", Matchers.containsString("/api/workflow/pooltasks")))
             .andExpect(jsonPath("$.page.size", is(20)))
             .andExpect(jsonPath("$.page.totalElements", is(2)));
+
+        // the tasks of reviewer1 are paged in the database
+        getClient(authReviewer1).perform(get("/api/workflow/pooltasks/search/findByUser")
+                .param("uuid", reviewer1.getID().toString())
+                .param("size", "2")
+                .param("page", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$._embedded.pooltasks", Matchers.hasSize(1)))
+            .andExpect(jsonPath("$.page.size", is(2)))
+            .andExpect(jsonPath("$.page.number", is(1)))
+            .andExpect(jsonPath("$.page.totalPages", is(2)))
+            .andExpect(jsonPath("$.page.totalElements", is(3)));
     }
 
     @Test
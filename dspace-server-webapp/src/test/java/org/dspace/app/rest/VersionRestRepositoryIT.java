@@ -36,6 +36,7 @@ import org.dspace.app.rest.authorization.impl.CanDeleteVersionFeature;
 import org.dspace.app.rest.converter.VersionConverter;
 import org.dspace.app.rest.matcher.AuthorizationMatcher;
 import org.dspace.app.rest.matcher.ItemMatcher;
+import org.dspace.app.rest.matcher.ProcessMatcher;
 import org.dspace.app.rest.matcher.VersionMatcher;
 import org.dspace.app.rest.model.VersionRest;
 import org.dspace.app.rest.model.patch.AddOperation;
@@ -51,6 +52,7 @@ import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.EPersonBuilder;
 import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.ProcessBuilder;
 import org.dspace.builder.VersionBuilder;
 import org.dspace.builder.WorkflowItemBuilder;
 import org.dspace.builder.WorkspaceItemBuilder;
@@ -58,13 +60,16 @@ import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
+import org.dspace.content.ProcessStatus;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.service.InstallItemService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.eperson.EPerson;
+import org.dspace.scripts.DSpaceCommandLineParameter;
 import org.dspace.services.ConfigurationService;
 import org.dspace.versioning.Version;
+import org.dspace.versioning.service.VersionHistoryService;
 import org.dspace.versioning.service.VersioningService;
 import org.dspace.xmlworkflow.storedcomponents.XmlWorkflowItem;
 import org.hamcrest.Matchers;
@@ -89,6 +94,9 @@ public class VersionRestRepositoryIT extends AbstractControllerIntegrationTest {
     @Autowired
     private VersioningService versioningService;
 
+    @Autowired
+    private VersionHistoryService versionHistoryService;
+
     @Autowired
     private VersionConverter versionConverter;
 
@@ -324,6 +332,75 @@ public class VersionRestRepositoryIT extends AbstractControllerIntegrationTest {
         }
     }
 
+    @Test
+    public void createFirstVersionInBackgroundTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection test")
+                                          .build();
+
+        Item item = ItemBuilder.createItem(context, col)
+                               .withTitle("Public test item")
+                               .withIssueDate("2021-04-27")
+                               .build();
+
+        context.restoreAuthSystemState();
+
+        AtomicReference<Integer> idRef = new AtomicReference<Integer>();
+        String adminToken = getAuthToken(admin.getEmail(), password);
+
+        try {
+            getClient(adminToken).perform(post("/api/versioning/versions/processes")
+                                 .param("summary", "test summary!")
+                                 .contentType(MediaType.parseMediaType(RestMediaTypes.TEXT_URI_LIST_VALUE))
+                                 .content("/api/core/items/" + item.getID()))
+                                 .andExpect(status().isAccepted())
+                                 .andExpect(jsonPath("$", ProcessMatcher.matchProcess("create-version",
+                                            String.valueOf(admin.getID()),
+                                            List.of(new DSpaceCommandLineParameter("-i", item.getID().toString()),
+                                                    new DSpaceCommandLineParameter("-s", "test summary!")),
+                                            ProcessStatus.COMPLETED)))
+                                 .andDo(result -> idRef.set(read(result.getResponse().getContentAsString(),
+                                                                 "$.processId")));
+
+            Version version = versionHistoryService.getLatestVersion(context,
+                                  versionHistoryService.findByItem(context, context.reloadEntity(item)));
+            Assert.assertEquals(2, version.getVersionNumber());
+            Assert.assertEquals("test summary!", version.getSummary());
+            VersionBuilder.delete(version.getID());
+        } finally {
+            ProcessBuilder.deleteProcess(idRef.get());
+        }
+    }
+
+    @Test
+    public void createFirstVersionInBackgroundForbiddenTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection test")
+                                          .build();
+
+        Item item = ItemBuilder.createItem(context, col)
+                               .withTitle("Public test item")
+                               .build();
+
+        context.restoreAuthSystemState();
+
+        String epersonToken = getAuthToken(eperson.getEmail(), password);
+        getClient(epersonToken).perform(post("/api/versioning/versions/processes")
+                               .contentType(MediaType.parseMediaType(RestMediaTypes.TEXT_URI_LIST_VALUE))
+                               .content("/api/core/items/" + item.getID()))
+                               .andExpect(status().isForbidden());
+    }
+
     @Test
     public void createFirstVersionWithoutSummaryTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -8,6 +8,9 @@
 package org.dspace.app.rest.iiif;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -16,11 +19,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
 
 import jakarta.ws.rs.core.MediaType;
 import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.dspace.app.iiif.service.ManifestStoreService;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.BundleBuilder;
@@ -36,6 +44,7 @@ import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.iiif.ManifestInvalidationService;
 import org.dspace.services.ConfigurationService;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -51,6 +60,12 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private ManifestStoreService manifestStoreService;
+
+    @Autowired
+    private ManifestInvalidationService manifestInvalidationService;
+
     @Test
     public void disabledTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -80,6 +95,153 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
                 .andExpect(status().is(404));
     }
 
+    @Test
+    public void manifestStoreTest() throws Exception {
+        Path storeDir = Files.createTempDirectory("iiif-manifests");
+        configurationService.setProperty("iiif.manifest.store.enabled", true);
+        configurationService.setProperty("iiif.manifest.store.dir", storeDir.toString());
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                    .withName("Parent Community")
+                    .build();
+            Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                    .withName("Collection 1").build();
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                    .withTitle("Public item 1")
+                    .withIssueDate("2017-10-17")
+                    .enableIIIF()
+                    .build();
+            context.restoreAuthSystemState();
+
+            // the first request generates the manifest and puts it in the store
+            String manifest = getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.label", is("Public item 1")))
+                    .andReturn().getResponse().getContentAsString();
+
+            String id = publicItem1.getID().toString();
+            Path stored = storeDir.resolve(id.substring(0, 2)).resolve(id + ".json");
+            assertTrue(Files.exists(stored));
+            assertEquals(manifest, Files.readString(stored, StandardCharsets.UTF_8));
+            assertEquals(manifest, manifestStoreService.getManifest(context, publicItem1.getID()));
+        } finally {
+            configurationService.setProperty("iiif.manifest.store.enabled", null);
+            manifestInvalidationService.delete(context, manifestInvalidationService.findInvalidations(context, 10));
+            context.commit();
+            FileUtils.deleteDirectory(storeDir.toFile());
+        }
+    }
+
+    @Test
+    public void manifestStoreAnonymousTest() throws Exception {
+        Path storeDir = Files.createTempDirectory("iiif-manifests");
+        String[] metadataFields = configurationService.getArrayProperty("iiif.metadata.item");
+        configurationService.setProperty("iiif.manifest.store.enabled", true);
+        configurationService.setProperty("iiif.manifest.store.dir", storeDir.toString());
+        configurationService.setProperty("iiif.metadata.item",
+                new String[] {"dc.title", "dc.description.provenance"});
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                    .withName("Parent Community")
+                    .build();
+            Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                    .withName("Collection 1").build();
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                    .withTitle("Public item 1")
+                    .withProvenanceData("Hidden provenance")
+                    .enableIIIF()
+                    .build();
+            Group staffGroup = GroupBuilder.createGroup(context)
+                    .withName("Staff")
+                    .build();
+            EPerson staffEperson = EPersonBuilder.createEPerson(context).withEmail("staff@example.com")
+                    .withPassword(password).withGroupMembership(staffGroup).build();
+            Item restrictedItem1 = ItemBuilder.createItem(context, col1)
+                    .withTitle("Restricted item 1")
+                    .enableIIIF()
+                    .withReaderGroup(staffGroup)
+                    .build();
+            context.restoreAuthSystemState();
+
+            // the manifest stored on the request of an administrator does not expose the hidden metadata
+            getClient(getAuthToken(admin.getEmail(), password))
+                    .perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.label", is("Public item 1")));
+            String id = publicItem1.getID().toString();
+            String stored = Files.readString(storeDir.resolve(id.substring(0, 2)).resolve(id + ".json"),
+                    StandardCharsets.UTF_8);
+            assertTrue(stored.contains("Public item 1"));
+            assertFalse(stored.contains("Hidden provenance"));
+
+            // the manifest of an item which is not anonymously readable is generated but not stored
+            getClient(getAuthToken(staffEperson.getEmail(), password))
+                    .perform(get("/iiif/" + restrictedItem1.getID() + "/manifest"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.label", is("Restricted item 1")));
+            id = restrictedItem1.getID().toString();
+            assertFalse(Files.exists(storeDir.resolve(id.substring(0, 2)).resolve(id + ".json")));
+        } finally {
+            configurationService.setProperty("iiif.manifest.store.enabled", null);
+            configurationService.setProperty("iiif.metadata.item", metadataFields);
+            manifestInvalidationService.delete(context, manifestInvalidationService.findInvalidations(context, 10));
+            context.commit();
+            FileUtils.deleteDirectory(storeDir.toFile());
+        }
+    }
+
+    @Test
+    public void manifestStoreInvalidationTest() throws Exception {
+        Path storeDir = Files.createTempDirectory("iiif-manifests");
+        configurationService.setProperty("iiif.manifest.store.enabled", true);
+        configurationService.setProperty("iiif.manifest.store.dir", storeDir.toString());
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                    .withName("Parent Community")
+                    .build();
+            Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                    .withName("Collection 1").build();
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                    .withTitle("Public item 1")
+                    .enableIIIF()
+                    .build();
+            context.restoreAuthSystemState();
+
+            getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.label", is("Public item 1")));
+
+            // the modification is recorded by the event consumer, as it would be by a command line script
+            context.turnOffAuthorisationSystem();
+            itemService.clearMetadata(context, publicItem1, "dc", "title", null, Item.ANY);
+            itemService.addMetadata(context, publicItem1, "dc", "title", null, null, "Modified item 1");
+            itemService.update(context, publicItem1);
+            context.commit();
+            context.restoreAuthSystemState();
+            assertFalse(manifestInvalidationService.findInvalidations(context, 10).isEmpty());
+
+            // the invalidated manifest is regenerated on request
+            getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.label", is("Modified item 1")));
+
+            // and by the background job, which removes the processed invalidations
+            manifestStoreService.processInvalidations();
+            assertTrue(manifestInvalidationService.findInvalidations(context, 10).isEmpty());
+            String id = publicItem1.getID().toString();
+            assertTrue(Files.readString(storeDir.resolve(id.substring(0, 2)).resolve(id + ".json"),
+                    StandardCharsets.UTF_8).contains("Modified item 1"));
+        } finally {
+            configurationService.setProperty("iiif.manifest.store.enabled", null);
+            manifestInvalidationService.delete(context, manifestInvalidationService.findInvalidations(context, 10));
+            context.commit();
+            FileUtils.deleteDirectory(storeDir.toFile());
+        }
+    }
+
     @Test
     public void notFoundTest() throws Exception {
         // Status 404
@@ -9,6 +9,9 @@ package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -17,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -71,6 +75,9 @@ public class JWTTokenHandlerTest {
     @Mock
     protected ClientInfoService clientInfoService;
 
+    @Mock
+    protected JWTValidatedTokenCache validatedTokenCache;
+
     @Spy
     protected List<JWTClaimProvider> jwtClaimProviders = new ArrayList<>();
 
@@ -153,4 +160,47 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testValidatedTokenCacheHit() throws Exception {
+        UUID ePersonId = UUID.randomUUID();
+        JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder().claim("eid", ePersonId.toString()).build();
+        JWTValidatedTokenCache.ValidatedToken validatedToken =
+            Mockito.mock(JWTValidatedTokenCache.ValidatedToken.class);
+        when(validatedToken.getEPersonId()).thenReturn(ePersonId);
+        when(validatedToken.getJwtClaimsSet()).thenReturn(jwtClaimsSet);
+        when(validatedToken.isValidFor(ePerson)).thenReturn(true);
+        when(validatedTokenCache.isEnabled()).thenReturn(true);
+        when(validatedTokenCache.get("jwt.login.token.secret", "not.a.token")).thenReturn(validatedToken);
+        when(ePersonService.find(context, ePersonId)).thenReturn(ePerson);
+
+        // the token is not parsed nor verified again, only its cached claims are applied
+        EPerson parsed = loginJWTTokenHandler.parseEPersonFromToken("not.a.token", httpServletRequest, context);
+        assertEquals(ePerson, parsed);
+        verify(ePersonClaimProvider).parseClaim(context, httpServletRequest, jwtClaimsSet);
+        verify(validatedTokenCache).recordValidation(eq(true), anyLong());
+    }
+
+    @Test
+    public void testValidatedTokenCacheRejectedAfterSaltChange() throws Exception {
+        when(validatedTokenCache.isEnabled()).thenReturn(true);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        UUID ePersonId = UUID.randomUUID();
+        JWTValidatedTokenCache.ValidatedToken validatedToken =
+            Mockito.mock(JWTValidatedTokenCache.ValidatedToken.class);
+        when(validatedToken.getEPersonId()).thenReturn(ePersonId);
+        when(validatedToken.isValidFor(ePerson)).thenReturn(false);
+        when(validatedTokenCache.get("jwt.login.token.secret", token)).thenReturn(validatedToken);
+        when(ePersonService.find(context, ePersonId)).thenReturn(ePerson);
+
+        // a stale cache entry is evicted and the token is fully verified (and cached) again
+        EPerson parsed = loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context);
+        assertEquals(ePerson, parsed);
+        verify(validatedTokenCache).evict("jwt.login.token.secret", token);
+        verify(validatedTokenCache).put(eq("jwt.login.token.secret"), eq(token), any(JWTClaimsSet.class), eq(ePerson));
+    }
+
 }